@@ -0,0 +1,186 @@
+package com.pawnshop.cache;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Small in-process cache bounded by entry count (least recently used is evicted first)
+ * with a per-entry time to live. Counts hits, misses and evictions.
+ * <p>
+ * Reads take no lock: entries live in a {@link ConcurrentHashMap} and a hit only stamps the
+ * entry's access time. When an insert takes the cache over its size, one thread evicts the least
+ * recently used entries, a tenth of the cache at a time so that the sort is paid once per many
+ * inserts rather than on every miss.
+ */
+public class TtlCache<K, V> {
+    /** TTL for entries that should only leave the cache through eviction or invalidation. */
+    public static final long NO_EXPIRY = Long.MAX_VALUE;
+
+    private static final int EVICTION_FRACTION = 10;
+
+    private final String name;
+    private final int maxSize;
+    private final ConcurrentHashMap<K, Entry<V>> entries = new ConcurrentHashMap<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    // Bumped by every invalidation so loads that raced with one are not cached
+    private final AtomicLong generation = new AtomicLong();
+
+    @FunctionalInterface
+    public interface Loader<V, E extends Exception> {
+        V load() throws E;
+    }
+
+    public TtlCache(String name, int maxSize) {
+        this.name = name;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Return the cached value, or load, cache and return it. The loader runs without any lock,
+     * so concurrent misses for one key may load twice; the last load wins.
+     */
+    public <E extends Exception> V getOrLoad(K key, long ttlMillis, Loader<V, E> loader) throws E {
+        Entry<V> entry = entries.get(key);
+        if (entry != null) {
+            if (!entry.isExpired(System.currentTimeMillis())) {
+                entry.lastAccess = System.nanoTime();
+                hits.increment();
+                return entry.value;
+            }
+            entries.remove(key, entry);
+        }
+        misses.increment();
+        long loadGeneration = generation.get();
+
+        V value = loader.load();
+
+        if (value != null) {
+            Entry<V> loaded = new Entry<>(value, expiresAt(ttlMillis));
+            // Invalidation bumps the generation before removing, so a load that started before it
+            // either sees the new generation here or is removed by it
+            entries.compute(key, (k, current) -> generation.get() == loadGeneration ? loaded : current);
+            if (entries.size() > maxSize) {
+                evict();
+            }
+        }
+        return value;
+    }
+
+    public void invalidate(K key) {
+        generation.incrementAndGet();
+        entries.remove(key);
+    }
+
+    public void invalidateAll() {
+        generation.incrementAndGet();
+        entries.clear();
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    public Stats stats() {
+        return new Stats(name, size(), hits.sum(), misses.sum(), evictions.sum());
+    }
+
+    /**
+     * Drop the least recently used entries until the cache is a tenth below its size. Another
+     * thread already evicting is enough, so this never waits for the lock.
+     */
+    private void evict() {
+        if (!evictionLock.tryLock()) {
+            return;
+        }
+        try {
+            int excess = entries.size() - (maxSize - maxSize / EVICTION_FRACTION);
+            if (excess <= 0) {
+                return;
+            }
+            List<Map.Entry<K, Entry<V>>> candidates = new ArrayList<>(entries.entrySet());
+            candidates.sort(Comparator.comparingLong(candidate -> candidate.getValue().lastAccess));
+            for (int i = 0; i < excess && i < candidates.size(); i++) {
+                Map.Entry<K, Entry<V>> candidate = candidates.get(i);
+                if (entries.remove(candidate.getKey(), candidate.getValue())) {
+                    evictions.increment();
+                }
+            }
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private static long expiresAt(long ttlMillis) {
+        if (ttlMillis == NO_EXPIRY) {
+            return NO_EXPIRY;
+        }
+        long now = System.currentTimeMillis();
+        return ttlMillis > NO_EXPIRY - now ? NO_EXPIRY : now + ttlMillis;
+    }
+
+    private static final class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+        private volatile long lastAccess = System.nanoTime();
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+
+        private boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    public static final class Stats {
+        private final String name;
+        private final int size;
+        private final long hits;
+        private final long misses;
+        private final long evictions;
+
+        private Stats(String name, int size, long hits, long misses, long evictions) {
+            this.name = name;
+            this.size = size;
+            this.hits = hits;
+            this.misses = misses;
+            this.evictions = evictions;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public int getSize() {
+            return size;
+        }
+
+        public long getHits() {
+            return hits;
+        }
+
+        public long getMisses() {
+            return misses;
+        }
+
+        public long getEvictions() {
+            return evictions;
+        }
+
+        public double getHitRatio() {
+            long total = hits + misses;
+            return total == 0 ? 0.0 : (double) hits / total;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.pawnshop.config;
 
+import com.pawnshop.metrics.InstrumentedDataSource;
+import com.pawnshop.metrics.JdbcMetrics;
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
 import org.slf4j.Logger;
@@ -8,11 +10,49 @@ import org.slf4j.LoggerFactory;
 import javax.sql.DataSource;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Properties;
 
+/**
+ * Connection pools built from database.properties.
+ * <p>
+ * Every key can be overridden without rebuilding the WAR, first by a JVM system property of the same
+ * name ({@code -Ddb.pool.maxSize=40}) and then by an environment variable with the key upper-cased and
+ * dots replaced by underscores ({@code DB_POOL_MAXSIZE=40}). Driver properties are set with
+ * {@code db.driver.<name>} ({@code DB_DRIVER_<NAME>} for the built-in ones). Without configured
+ * sizes a pool holds at most 10 connections and keeps 2 open when idle.
+ */
 public class DatabaseConfig {
     private static final Logger logger = LoggerFactory.getLogger(DatabaseConfig.class);
+    private static final String DRIVER_PREFIX = "db.driver.";
+    // Pool size is bound by what the database can run at once, not by this host's cores
+    private static final int DEFAULT_POOL_SIZE = 10;
+    private static final int DEFAULT_MIN_IDLE = 2;
+
+    // MySQL Connector/J defaults; each can be overridden through db.driver.<name>
+    private static final Map<String, String> DEFAULT_DRIVER_PROPERTIES = new LinkedHashMap<>();
+
+    static {
+        DEFAULT_DRIVER_PROPERTIES.put("cachePrepStmts", "true");
+        DEFAULT_DRIVER_PROPERTIES.put("prepStmtCacheSize", "250");
+        DEFAULT_DRIVER_PROPERTIES.put("prepStmtCacheSqlLimit", "2048");
+        DEFAULT_DRIVER_PROPERTIES.put("useServerPrepStmts", "true");
+        DEFAULT_DRIVER_PROPERTIES.put("useLocalSessionState", "true");
+        DEFAULT_DRIVER_PROPERTIES.put("rewriteBatchedStatements", "true");
+        DEFAULT_DRIVER_PROPERTIES.put("cacheResultSetMetadata", "true");
+        DEFAULT_DRIVER_PROPERTIES.put("cacheServerConfiguration", "true");
+        DEFAULT_DRIVER_PROPERTIES.put("elideSetAutoCommits", "true");
+        DEFAULT_DRIVER_PROPERTIES.put("maintainTimeStats", "false");
+    }
+
+    private static Properties settings = new Properties();
     private static HikariDataSource dataSource;
+    private static HikariDataSource replicaDataSource;
+    private static DataSource writeDataSource;
+    private static DataSource readDataSource;
+    private static boolean metricsEnabled;
 
     static {
         initializeDataSource();
@@ -21,37 +61,25 @@ public class DatabaseConfig {
     private static void initializeDataSource() {
         try {
             Properties props = loadProperties();
+            settings = props;
+
+            HikariConfig config = newPoolConfig(props, "pawnshop-primary", "db.pool.",
+                    setting(props, "db.url", "jdbc:mysql://localhost:3306/pawnshop"),
+                    setting(props, "db.username", "root"),
+                    setting(props, "db.password", ""));
 
-            HikariConfig config = new HikariConfig();
-            config.setJdbcUrl(props.getProperty("db.url", "jdbc:mysql://localhost:3306/pawnshop"));
-            config.setUsername(props.getProperty("db.username", "root"));
-            config.setPassword(props.getProperty("db.password", ""));
-            config.setDriverClassName("com.mysql.cj.jdbc.Driver");
-
-            // Connection pool settings
-            config.setMaximumPoolSize(10);
-            config.setMinimumIdle(2);
-            config.setConnectionTimeout(30000);
-            config.setIdleTimeout(600000);
-            config.setMaxLifetime(1800000);
-
-            // Connection test query
-            config.setConnectionTestQuery("SELECT 1");
-
-            // Additional MySQL optimizations
-            config.addDataSourceProperty("cachePrepStmts", "true");
-            config.addDataSourceProperty("prepStmtCacheSize", "250");
-            config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-            config.addDataSourceProperty("useServerPrepStmts", "true");
-            config.addDataSourceProperty("useLocalSessionState", "true");
-            config.addDataSourceProperty("rewriteBatchedStatements", "true");
-            config.addDataSourceProperty("cacheResultSetMetadata", "true");
-            config.addDataSourceProperty("cacheServerConfiguration", "true");
-            config.addDataSourceProperty("elideSetAutoCommits", "true");
-            config.addDataSourceProperty("maintainTimeStats", "false");
+            metricsEnabled = Boolean.parseBoolean(setting(props, "db.metrics.enabled", "true"));
 
             dataSource = new HikariDataSource(config);
+            writeDataSource = instrument(dataSource);
+            readDataSource = writeDataSource;
             logger.info("Database connection pool initialized successfully");
+            logEffectiveSettings(config);
+
+            String replicaUrl = setting(props, "db.replica.url", "").trim();
+            if (!replicaUrl.isEmpty()) {
+                initializeReplica(props, replicaUrl);
+            }
 
         } catch (Exception e) {
             logger.error("Failed to initialize database connection pool", e);
@@ -59,6 +87,114 @@ public class DatabaseConfig {
         }
     }
 
+    private static void initializeReplica(Properties props, String replicaUrl) {
+        HikariConfig config = newPoolConfig(props, "pawnshop-replica", "db.replica.pool.", replicaUrl,
+                setting(props, "db.replica.username", setting(props, "db.username", "root")),
+                setting(props, "db.replica.password", setting(props, "db.password", "")));
+
+        // Short, so reads fall back to the primary quickly when the replica is down
+        config.setConnectionTimeout(longSetting(props, "db.replica.pool.connectionTimeout", 1000));
+        config.setReadOnly(true);
+        // Start even if the replica is unreachable; reads use the primary until it comes up
+        config.setInitializationFailTimeout(-1);
+
+        replicaDataSource = new HikariDataSource(config);
+        readDataSource = new ReadRoutingDataSource(writeDataSource, instrument(replicaDataSource),
+                longSetting(props, "db.replica.retryAfterMillis", 30000));
+        logger.info("Read replica pool initialized: url={}", replicaUrl);
+        logEffectiveSettings(config);
+    }
+
+    /**
+     * With db.metrics.enabled (the default) connections are handed out through
+     * {@link InstrumentedDataSource}, which feeds /api/admin/metrics.
+     */
+    private static DataSource instrument(HikariDataSource pool) {
+        return metricsEnabled ? new InstrumentedDataSource(pool, JdbcMetrics.getInstance()) : pool;
+    }
+
+    /**
+     * Pool settings are read under {@code prefix} (db.pool. or db.replica.pool.). Connections are
+     * validated with JDBC4 {@code Connection.isValid()}, so no test query is configured.
+     */
+    private static HikariConfig newPoolConfig(Properties props, String poolName, String prefix,
+                                              String url, String username, String password) {
+        HikariConfig config = new HikariConfig();
+        config.setPoolName(poolName);
+        config.setJdbcUrl(url);
+        config.setUsername(username);
+        config.setPassword(password);
+        config.setDriverClassName(setting(props, "db.driverClassName", "com.mysql.cj.jdbc.Driver"));
+
+        // Connection pool settings
+        int maxSize = intSetting(props, prefix + "maxSize", DEFAULT_POOL_SIZE);
+        config.setMaximumPoolSize(maxSize);
+        // Connections above minIdle are closed after idleTimeout; set minIdle = maxSize for a fixed-size pool
+        config.setMinimumIdle(intSetting(props, prefix + "minIdle", Math.min(DEFAULT_MIN_IDLE, maxSize)));
+        config.setConnectionTimeout(longSetting(props, prefix + "connectionTimeout", 30000));
+        config.setIdleTimeout(longSetting(props, prefix + "idleTimeout", 600000));
+        config.setMaxLifetime(longSetting(props, prefix + "maxLifetime", 1800000));
+        config.setKeepaliveTime(longSetting(props, prefix + "keepaliveTime", 0));
+        config.setValidationTimeout(longSetting(props, prefix + "validationTimeout", 5000));
+        config.setLeakDetectionThreshold(longSetting(props, prefix + "leakDetectionThreshold", 0));
+
+        Map<String, String> driverProperties = new LinkedHashMap<>(DEFAULT_DRIVER_PROPERTIES);
+        for (String key : props.stringPropertyNames()) {
+            if (key.startsWith(DRIVER_PREFIX)) {
+                driverProperties.put(key.substring(DRIVER_PREFIX.length()), props.getProperty(key).trim());
+            }
+        }
+        for (Map.Entry<String, String> property : driverProperties.entrySet()) {
+            config.addDataSourceProperty(property.getKey(),
+                    setting(props, DRIVER_PREFIX + property.getKey(), property.getValue()));
+        }
+
+        return config;
+    }
+
+    private static void logEffectiveSettings(HikariConfig config) {
+        logger.info("Pool {}: url={}, username={}, maxSize={}, minIdle={}, connectionTimeout={}ms, " +
+                        "idleTimeout={}ms, maxLifetime={}ms, keepaliveTime={}ms, validationTimeout={}ms, " +
+                        "leakDetectionThreshold={}ms",
+                config.getPoolName(), config.getJdbcUrl(), config.getUsername(), config.getMaximumPoolSize(),
+                config.getMinimumIdle(), config.getConnectionTimeout(), config.getIdleTimeout(),
+                config.getMaxLifetime(), config.getKeepaliveTime(), config.getValidationTimeout(),
+                config.getLeakDetectionThreshold());
+        logger.info("Pool {} driver properties: {}", config.getPoolName(), config.getDataSourceProperties());
+    }
+
+    /**
+     * System property, then environment variable, then database.properties, then {@code defaultValue}.
+     */
+    private static String setting(Properties props, String key, String defaultValue) {
+        String value = System.getProperty(key);
+        if (value == null) {
+            value = System.getenv(key.toUpperCase(Locale.ROOT).replace('.', '_'));
+        }
+        if (value == null) {
+            value = props.getProperty(key);
+        }
+        return value != null ? value : defaultValue;
+    }
+
+    private static int intSetting(Properties props, String key, int defaultValue) {
+        String value = setting(props, key, "").trim();
+        try {
+            return value.isEmpty() ? defaultValue : Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid integer for " + key + ": '" + value + "'", e);
+        }
+    }
+
+    private static long longSetting(Properties props, String key, long defaultValue) {
+        String value = setting(props, key, "").trim();
+        try {
+            return value.isEmpty() ? defaultValue : Long.parseLong(value);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid number for " + key + ": '" + value + "'", e);
+        }
+    }
+
     private static Properties loadProperties() {
         Properties props = new Properties();
         try (InputStream input = DatabaseConfig.class.getClassLoader()
@@ -72,14 +208,44 @@ public class DatabaseConfig {
         return props;
     }
 
+    /**
+     * A database.properties setting with the same override order as the pool settings, for jobs
+     * that run against the database (e.g. sweeper.*).
+     */
+    public static String getSetting(String key, String defaultValue) {
+        return setting(settings, key, defaultValue);
+    }
+
+    public static int getIntSetting(String key, int defaultValue) {
+        return intSetting(settings, key, defaultValue);
+    }
+
+    public static long getLongSetting(String key, long defaultValue) {
+        return longSetting(settings, key, defaultValue);
+    }
+
     public static DataSource getDataSource() {
-        return dataSource;
+        return writeDataSource;
+    }
+
+    /**
+     * Connections for read-only queries that can tolerate replication lag: lists, searches and
+     * reports. Routed to the read replica when db.replica.url is set, otherwise the primary.
+     * Writes, transactions and reads that must see the caller's own writes (lookups by id,
+     * uniqueness checks, login) use {@link #getDataSource()}.
+     */
+    public static DataSource getReadDataSource() {
+        return readDataSource;
     }
 
     public static void close() {
+        if (replicaDataSource != null && !replicaDataSource.isClosed()) {
+            replicaDataSource.close();
+            logger.info("Read replica connection pool closed");
+        }
         if (dataSource != null && !dataSource.isClosed()) {
             dataSource.close();
             logger.info("Database connection pool closed");
         }
     }
-}
\ No newline at end of file
+}
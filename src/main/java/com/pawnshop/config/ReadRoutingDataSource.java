@@ -0,0 +1,132 @@
+package com.pawnshop.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * DataSource for read-only queries: hands out replica connections and falls back to the primary
+ * when the replica cannot supply one. After a connection failure (the replica cannot be reached)
+ * the replica is skipped for {@code retryAfterMillis}, so an outage costs one connection timeout
+ * per window rather than one per request. A replica pool that is merely saturated only sends that
+ * one request to the primary.
+ */
+public class ReadRoutingDataSource implements DataSource {
+    private static final Logger logger = LoggerFactory.getLogger(ReadRoutingDataSource.class);
+    private static final String CONNECTION_EXCEPTION_CLASS = "08";
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final long retryAfterMillis;
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryFallbacks = new LongAdder();
+    private volatile long replicaDownUntil;
+
+    public ReadRoutingDataSource(DataSource primary, DataSource replica, long retryAfterMillis) {
+        this.primary = primary;
+        this.replica = replica;
+        this.retryAfterMillis = retryAfterMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (System.currentTimeMillis() >= replicaDownUntil) {
+            try {
+                Connection conn = replica.getConnection();
+                replicaReads.increment();
+                return conn;
+            } catch (SQLException e) {
+                if (isConnectionFailure(e)) {
+                    replicaDownUntil = System.currentTimeMillis() + retryAfterMillis;
+                    logger.warn("Read replica unavailable, using primary for {} ms: {}", retryAfterMillis, e.getMessage());
+                } else {
+                    logger.debug("Read replica busy, using primary for this request: {}", e.getMessage());
+                }
+            }
+        }
+
+        primaryFallbacks.increment();
+        return primary.getConnection();
+    }
+
+    /**
+     * True when {@code e} or one of its causes says the server could not be reached: an SQLState of
+     * class 08 (connection exception) or an I/O error. Hikari reports a pool timeout with the last
+     * connection failure as its cause and SQLState, and with neither when every connection is busy.
+     */
+    static boolean isConnectionFailure(Throwable e) {
+        for (Throwable cause = e; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException) {
+                String sqlState = ((SQLException) cause).getSQLState();
+                if (sqlState != null && sqlState.startsWith(CONNECTION_EXCEPTION_CLASS)) {
+                    return true;
+                }
+            } else if (cause instanceof IOException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    public boolean isReplicaAvailable() {
+        return System.currentTimeMillis() >= replicaDownUntil;
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getPrimaryFallbacks() {
+        return primaryFallbacks.sum();
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return primary.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        primary.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        primary.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return primary.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return primary.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(this)) {
+            return iface.cast(this);
+        }
+        throw new SQLException("Not a wrapper for " + iface.getName());
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) {
+        return iface.isInstance(this);
+    }
+}
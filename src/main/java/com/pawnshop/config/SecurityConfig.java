@@ -0,0 +1,64 @@
+package com.pawnshop.config;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Properties;
+
+/**
+ * Settings from security.properties on the classpath. Missing file or keys fall back to defaults.
+ */
+public class SecurityConfig {
+    private static final Logger logger = LoggerFactory.getLogger(SecurityConfig.class);
+    private static final Properties properties = loadProperties();
+
+    private SecurityConfig() {
+    }
+
+    public static String getString(String key, String defaultValue) {
+        return properties.getProperty(key, defaultValue);
+    }
+
+    public static int getInt(String key, int defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid integer for {}: '{}', using {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    public static long getLong(String key, long defaultValue) {
+        String value = properties.getProperty(key);
+        if (value == null || value.trim().isEmpty()) {
+            return defaultValue;
+        }
+        try {
+            return Long.parseLong(value.trim());
+        } catch (NumberFormatException e) {
+            logger.warn("Invalid number for {}: '{}', using {}", key, value, defaultValue);
+            return defaultValue;
+        }
+    }
+
+    private static Properties loadProperties() {
+        Properties props = new Properties();
+        try (InputStream input = SecurityConfig.class.getClassLoader()
+                .getResourceAsStream("security.properties")) {
+            if (input != null) {
+                props.load(input);
+            } else {
+                logger.warn("security.properties not found, using defaults");
+            }
+        } catch (IOException e) {
+            logger.warn("security.properties could not be read, using defaults", e);
+        }
+        return props;
+    }
+}
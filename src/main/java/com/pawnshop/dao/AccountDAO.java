@@ -6,28 +6,44 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class AccountDAO {
     private static final Logger logger = LoggerFactory.getLogger(AccountDAO.class);
 
+    private static final RowMapper<Account> ACCOUNT_MAPPER = RowMapper.builder(Account::new)
+            .column("account_id", RowMapper.INT, Account::setAccountId)
+            .column("username", RowMapper.STRING, Account::setUsername)
+            .column("password_hash", RowMapper.STRING, Account::setPasswordHash)
+            .column("role", (rs, index) -> Account.Role.fromString(rs.getString(index)), Account::setRole)
+            .column("is_active", RowMapper.BOOLEAN, Account::setActive)
+            .column("token_version", RowMapper.INT, Account::setTokenVersion)
+            .column("created_at", RowMapper.LOCAL_DATE_TIME, Account::setCreatedAt)
+            .column("updated_at", RowMapper.LOCAL_DATE_TIME, Account::setUpdatedAt)
+            .build();
+
+    private static final String SELECT_ACCOUNT = "SELECT " + ACCOUNT_MAPPER.columnList() + " FROM account ";
+
     private static final String INSERT_ACCOUNT =
             "INSERT INTO account (username, password_hash, role, is_active) VALUES (?, ?, ?, ?)";
 
     private static final String SELECT_BY_ID =
-            "SELECT * FROM account WHERE account_id = ?";
+            SELECT_ACCOUNT + "WHERE account_id = ?";
 
     private static final String SELECT_BY_USERNAME =
-            "SELECT * FROM account WHERE username = ?";
+            SELECT_ACCOUNT + "WHERE username = ?";
 
     private static final String SELECT_ALL =
-            "SELECT * FROM account ORDER BY created_at DESC";
+            SELECT_ACCOUNT + "ORDER BY created_at DESC";
 
     private static final String UPDATE_ACCOUNT =
             "UPDATE account SET username = ?, role = ?, is_active = ? WHERE account_id = ?";
 
+    private static final String INCREMENT_TOKEN_VERSION =
+            "UPDATE account SET token_version = token_version + 1 WHERE account_id = ?";
+
     private static final String UPDATE_PASSWORD =
             "UPDATE account SET password_hash = ? WHERE account_id = ?";
 
@@ -38,8 +54,16 @@ public class AccountDAO {
             "SELECT COUNT(*) FROM account WHERE username = ? AND account_id != ?";
 
     public Integer create(Account account) throws SQLException {
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(INSERT_ACCOUNT, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            return create(conn, account);
+        }
+    }
+
+    /**
+     * Insert on the caller's connection, so it can be part of a {@link UnitOfWork}.
+     */
+    public Integer create(Connection conn, Account account) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_ACCOUNT, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setString(1, account.getUsername());
             stmt.setString(2, account.getPasswordHash());
@@ -72,12 +96,9 @@ public class AccountDAO {
             stmt.setInt(1, accountId);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToAccount(rs));
-                }
+                return ACCOUNT_MAPPER.first(rs);
             }
         }
-        return Optional.empty();
     }
 
     public Optional<Account> findByUsername(String username) throws SQLException {
@@ -87,27 +108,34 @@ public class AccountDAO {
             stmt.setString(1, username);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToAccount(rs));
-                }
+                return ACCOUNT_MAPPER.first(rs);
             }
         }
-        return Optional.empty();
     }
 
     public List<Account> findAll() throws SQLException {
-        List<Account> accounts = new ArrayList<>();
-
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL);
              ResultSet rs = stmt.executeQuery()) {
+            return ACCOUNT_MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Stream all accounts to {@code action} one row at a time. The MySQL driver only streams
+     * (instead of buffering the whole result) with a forward-only cursor and Integer.MIN_VALUE fetch size.
+     */
+    public void forEachAccount(Consumer<Account> action) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ALL,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(Integer.MIN_VALUE);
 
-            while (rs.next()) {
-                accounts.add(mapResultSetToAccount(rs));
+            try (ResultSet rs = stmt.executeQuery()) {
+                ACCOUNT_MAPPER.forEach(rs, action);
             }
         }
-
-        return accounts;
     }
 
     public boolean update(Account account) throws SQLException {
@@ -125,6 +153,21 @@ public class AccountDAO {
         }
     }
 
+    /**
+     * Invalidate every auth token issued to the account so far.
+     */
+    public boolean incrementTokenVersion(Integer accountId) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INCREMENT_TOKEN_VERSION)) {
+
+            stmt.setInt(1, accountId);
+
+            int affectedRows = stmt.executeUpdate();
+            logger.info("Token version incremented for account ID: {}", accountId);
+            return affectedRows > 0;
+        }
+    }
+
     public boolean updatePassword(Integer accountId, String newPasswordHash) throws SQLException {
         try (Connection conn = DatabaseConfig.getDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(UPDATE_PASSWORD)) {
@@ -164,25 +207,4 @@ public class AccountDAO {
         }
         return false;
     }
-
-    private Account mapResultSetToAccount(ResultSet rs) throws SQLException {
-        Account account = new Account();
-        account.setAccountId(rs.getInt("account_id"));
-        account.setUsername(rs.getString("username"));
-        account.setPasswordHash(rs.getString("password_hash"));
-        account.setRole(Account.Role.fromString(rs.getString("role")));
-        account.setActive(rs.getBoolean("is_active"));
-
-        Timestamp createdAt = rs.getTimestamp("created_at");
-        if (createdAt != null) {
-            account.setCreatedAt(createdAt.toLocalDateTime());
-        }
-
-        Timestamp updatedAt = rs.getTimestamp("updated_at");
-        if (updatedAt != null) {
-            account.setUpdatedAt(updatedAt.toLocalDateTime());
-        }
-
-        return account;
-    }
 }
\ No newline at end of file
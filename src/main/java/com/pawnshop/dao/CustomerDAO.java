@@ -1,43 +1,92 @@
 package com.pawnshop.dao;
 
 import com.pawnshop.config.DatabaseConfig;
+import com.pawnshop.dto.CustomerStatsDTO;
 import com.pawnshop.model.Customer;
+import com.pawnshop.model.CustomerTransaction;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 
 public class CustomerDAO {
     private static final Logger logger = LoggerFactory.getLogger(CustomerDAO.class);
 
+    private static final RowMapper<Customer> CUSTOMER_MAPPER = RowMapper.builder(Customer::new)
+            .column("c.customer_id", RowMapper.INT, Customer::setCustomerId)
+            .column("c.account_id", RowMapper.INT, Customer::setAccountId)
+            .column("c.full_name", RowMapper.STRING, Customer::setFullName)
+            .column("c.citizen_number", RowMapper.STRING, Customer::setCitizenNumber)
+            .column("c.phone_number", RowMapper.STRING, Customer::setPhoneNumber)
+            .column("c.address", RowMapper.STRING, Customer::setAddress)
+            .column("c.email", RowMapper.STRING, Customer::setEmail)
+            .column("c.dob", RowMapper.LOCAL_DATE, Customer::setDob)
+            .column("c.created_at", RowMapper.LOCAL_DATE_TIME, Customer::setCreatedAt)
+            .column("c.updated_at", RowMapper.LOCAL_DATE_TIME, Customer::setUpdatedAt)
+            // Joined account info
+            .column("a.username", RowMapper.STRING, Customer::setUsername)
+            .column("a.role", RowMapper.STRING, Customer::setRole)
+            .column("a.is_active", RowMapper.BOOLEAN, Customer::setActive)
+            .build();
+
+    private static final String CUSTOMER_COLUMNS = CUSTOMER_MAPPER.columnList();
+
+    private static final RowMapper<CustomerTransaction> TRANSACTION_MAPPER = RowMapper.builder(CustomerTransaction::new)
+            .column("txn_type", RowMapper.STRING,
+                    (txn, type) -> txn.setType(CustomerTransaction.Type.fromString(type)))
+            .column("contract_id", RowMapper.INT, CustomerTransaction::setContractId)
+            .column("txn_date", RowMapper.LOCAL_DATE, CustomerTransaction::setTransactionDate)
+            .column("amount", RowMapper.DECIMAL, CustomerTransaction::setAmount)
+            .build();
+
     private static final String INSERT_CUSTOMER =
             "INSERT INTO customer (account_id, full_name, citizen_number, phone_number, " +
                     "address, email, dob) VALUES (?, ?, ?, ?, ?, ?, ?)";
 
     private static final String SELECT_BY_ID =
-            "SELECT c.*, a.username, a.role, a.is_active FROM customer c " +
+            "SELECT " + CUSTOMER_COLUMNS + " FROM customer c " +
                     "JOIN account a ON c.account_id = a.account_id " +
                     "WHERE c.customer_id = ?";
 
     private static final String SELECT_BY_ACCOUNT_ID =
-            "SELECT c.*, a.username, a.role, a.is_active FROM customer c " +
+            "SELECT " + CUSTOMER_COLUMNS + " FROM customer c " +
                     "JOIN account a ON c.account_id = a.account_id " +
                     "WHERE c.account_id = ?";
 
     private static final String SELECT_ALL =
-            "SELECT c.*, a.username, a.role, a.is_active FROM customer c " +
+            "SELECT " + CUSTOMER_COLUMNS + " FROM customer c " +
                     "JOIN account a ON c.account_id = a.account_id " +
                     "ORDER BY c.created_at DESC";
 
     private static final String SELECT_ACTIVE =
-            "SELECT c.*, a.username, a.role, a.is_active FROM customer c " +
+            "SELECT " + CUSTOMER_COLUMNS + " FROM customer c " +
                     "JOIN account a ON c.account_id = a.account_id " +
                     "WHERE a.is_active = TRUE " +
                     "ORDER BY c.full_name";
 
+    private static final String SELECT_PAGE =
+            "SELECT " + CUSTOMER_COLUMNS + " FROM customer c " +
+                    "JOIN account a ON c.account_id = a.account_id ";
+
+    private static final String KEYSET_AFTER =
+            "(c.created_at < ? OR (c.created_at = ? AND c.customer_id < ?))";
+
+    private static final String KEYSET_ORDER =
+            " ORDER BY c.created_at DESC, c.customer_id DESC LIMIT ?";
+
+    private static final String SELECT_SUGGEST_FIELDS =
+            "SELECT customer_id, full_name, phone_number, citizen_number FROM customer ORDER BY customer_id";
+
     private static final String UPDATE_CUSTOMER =
             "UPDATE customer SET full_name = ?, citizen_number = ?, phone_number = ?, " +
                     "address = ?, email = ?, dob = ? WHERE customer_id = ?";
@@ -45,12 +94,44 @@ public class CustomerDAO {
     private static final String DELETE_CUSTOMER =
             "DELETE FROM customer WHERE customer_id = ?";
 
-    private static final String SEARCH_CUSTOMERS =
-            "SELECT c.*, a.username, a.role, a.is_active FROM customer c " +
-                    "JOIN account a ON c.account_id = a.account_id " +
-                    "WHERE (c.full_name LIKE ? OR c.phone_number LIKE ? OR c.email LIKE ? " +
-                    "OR c.citizen_number LIKE ? OR c.address LIKE ?) " +
-                    "ORDER BY c.full_name";
+    // Search paths, one per kind of keyword. Each reads a single index and returns a search_rank column.
+    private static final String SEARCH_BY_IDENTIFIER =
+            "SELECT " + CUSTOMER_COLUMNS + ", " +
+                    "  CASE WHEN c.phone_number = ? OR c.citizen_number = ? THEN 2 ELSE 1 END AS search_rank " +
+                    "FROM customer c JOIN account a ON c.account_id = a.account_id " +
+                    "WHERE c.phone_number LIKE ? OR c.citizen_number LIKE ? " +
+                    "ORDER BY search_rank DESC, c.full_name LIMIT ?";
+
+    private static final String SEARCH_BY_EMAIL =
+            "SELECT " + CUSTOMER_COLUMNS + ", " +
+                    "  CASE WHEN c.email = ? THEN 2 ELSE 1 END AS search_rank " +
+                    "FROM customer c JOIN account a ON c.account_id = a.account_id " +
+                    "WHERE c.email LIKE ? " +
+                    "ORDER BY search_rank DESC, c.full_name LIMIT ?";
+
+    private static final String SEARCH_BY_TEXT =
+            "SELECT " + CUSTOMER_COLUMNS + ", " +
+                    "  MATCH (c.full_name, c.address) AGAINST (? IN BOOLEAN MODE) AS search_rank " +
+                    "FROM customer c JOIN account a ON c.account_id = a.account_id " +
+                    "WHERE MATCH (c.full_name, c.address) AGAINST (? IN BOOLEAN MODE)";
+
+    // Only when every word is too short for the FULLTEXT index: a scan, stopped at the limit
+    private static final String SEARCH_BY_SHORT_WORDS =
+            "SELECT " + CUSTOMER_COLUMNS + ", 1 AS search_rank " +
+                    "FROM customer c JOIN account a ON c.account_id = a.account_id " +
+                    "WHERE TRUE";
+
+    // A word shorter than the FULLTEXT token size, matched as the start of any word of name or address
+    private static final String SHORT_WORD_CONDITION =
+            " AND (c.full_name LIKE ? OR c.full_name LIKE ? OR c.address LIKE ? OR c.address LIKE ?)";
+
+    private static final String SEARCH_TEXT_ORDER = " ORDER BY search_rank DESC, c.full_name LIMIT ?";
+
+    // innodb_ft_min_token_size default; shorter words (Le, Do, Vu, Ho, Ly) are never indexed
+    private static final int FULLTEXT_MIN_TOKEN_SIZE = 3;
+
+    private static final Pattern IDENTIFIER_KEYWORD = Pattern.compile("\\+?[0-9][0-9 .-]*");
+    private static final Pattern FULLTEXT_OPERATORS = Pattern.compile("[+\\-<>()~*\"@]+");
 
     private static final String CHECK_CITIZEN_EXISTS =
             "SELECT COUNT(*) FROM customer WHERE citizen_number = ? AND customer_id != ?";
@@ -58,12 +139,45 @@ public class CustomerDAO {
     private static final String CHECK_PHONE_EXISTS =
             "SELECT COUNT(*) FROM customer WHERE phone_number = ? AND customer_id != ?";
 
+    // One pass over customer joined to account for the list page's stat cards
+    private static final String SELECT_STATS =
+            "SELECT COUNT(*), COALESCE(SUM(a.is_active), 0), COALESCE(SUM(c.created_at >= ?), 0) " +
+                    "FROM customer c JOIN account a ON c.account_id = a.account_id";
+
     private static final String COUNT_CONTRACTS =
             "SELECT COUNT(*) FROM pawn_contract WHERE customer_id = ?";
 
+    private static final String COUNT_CONTRACTS_BY_CUSTOMER_IDS =
+            "SELECT customer_id, COUNT(*) AS contract_count FROM pawn_contract " +
+                    "WHERE customer_id IN (%s) GROUP BY customer_id";
+
+    // Loans paid out and collateral sold, newest first. Each branch is cut to the limit on its own
+    // so neither reads more of the customer's history than the merged result can use.
+    private static final String SELECT_RECENT_TRANSACTIONS =
+            "(SELECT 'loan' AS txn_type, contract_id, start_date AS txn_date, loan_amount AS amount " +
+                    "FROM pawn_contract WHERE customer_id = ? " +
+                    "ORDER BY start_date DESC, contract_id DESC LIMIT ?) " +
+                    "UNION ALL " +
+                    "(SELECT 'liquidation', l.contract_id, l.liquidation_date, l.price " +
+                    "FROM liquidation_contract l JOIN pawn_contract pc ON l.contract_id = pc.contract_id " +
+                    "WHERE pc.customer_id = ? " +
+                    "ORDER BY l.liquidation_date DESC, l.contract_id DESC LIMIT ?) " +
+                    "ORDER BY txn_date DESC, contract_id DESC LIMIT ?";
+
+    // Upper bound on IN-list size so a single statement stays well below packet/placeholder limits
+    private static final int COUNT_CONTRACTS_BATCH_SIZE = 1000;
+
     public Integer create(Customer customer) throws SQLException {
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(INSERT_CUSTOMER, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            return create(conn, customer);
+        }
+    }
+
+    /**
+     * Insert on the caller's connection, so it can be part of a {@link UnitOfWork}.
+     */
+    public Integer create(Connection conn, Customer customer) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_CUSTOMER, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setInt(1, customer.getAccountId());
             stmt.setString(2, customer.getFullName());
@@ -93,18 +207,22 @@ public class CustomerDAO {
     }
 
     public Optional<Customer> findById(Integer customerId) throws SQLException {
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID)) {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            return findById(conn, customerId);
+        }
+    }
 
+    /**
+     * Look up on the caller's connection, so it can be part of a {@link UnitOfWork}.
+     */
+    public Optional<Customer> findById(Connection conn, Integer customerId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID)) {
             stmt.setInt(1, customerId);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToCustomer(rs));
-                }
+                return CUSTOMER_MAPPER.first(rs);
             }
         }
-        return Optional.empty();
     }
 
     public Optional<Customer> findByAccountId(Integer accountId) throws SQLException {
@@ -114,65 +232,182 @@ public class CustomerDAO {
             stmt.setInt(1, accountId);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToCustomer(rs));
-                }
+                return CUSTOMER_MAPPER.first(rs);
             }
         }
-        return Optional.empty();
     }
 
     public List<Customer> findAll() throws SQLException {
-        List<Customer> customers = new ArrayList<>();
-
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL);
              ResultSet rs = stmt.executeQuery()) {
+            return CUSTOMER_MAPPER.list(rs);
+        }
+    }
+
+    public List<Customer> findActive() throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_ACTIVE);
+             ResultSet rs = stmt.executeQuery()) {
+            return CUSTOMER_MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Keyset page ordered by newest first. Pass a null {@code afterCreatedAt} for the first page;
+     * otherwise rows strictly after the (created_at, customer_id) position are returned.
+     */
+    public List<Customer> findPage(boolean activeOnly, LocalDateTime afterCreatedAt, Integer afterCustomerId,
+                                   int limit) throws SQLException {
+        List<String> conditions = new ArrayList<>();
+        if (activeOnly) {
+            conditions.add("a.is_active = TRUE");
+        }
+        if (afterCreatedAt != null) {
+            conditions.add(KEYSET_AFTER);
+        }
+
+        String sql = SELECT_PAGE
+                + (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions))
+                + KEYSET_ORDER;
+
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-            while (rs.next()) {
-                customers.add(mapResultSetToCustomer(rs));
+            int index = 1;
+            if (afterCreatedAt != null) {
+                Timestamp after = Timestamp.valueOf(afterCreatedAt);
+                stmt.setTimestamp(index++, after);
+                stmt.setTimestamp(index++, after);
+                stmt.setInt(index++, afterCustomerId);
             }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return CUSTOMER_MAPPER.list(rs);
+            }
+        }
+    }
+
+    /**
+     * Ranked customer search capped at {@code limit} rows. Digit-only keywords are matched as a
+     * prefix of phone or citizen number, keywords containing '@' as a prefix of email, and anything
+     * else against the FULLTEXT index on full name and address. Exact matches rank first.
+     */
+    public List<Customer> search(String keyword, int limit) throws SQLException {
+        if (IDENTIFIER_KEYWORD.matcher(keyword).matches()) {
+            String identifier = keyword.replaceAll("[ .-]", "");
+            String prefix = escapeLike(identifier) + "%";
+            return searchRanked(SEARCH_BY_IDENTIFIER, limit, identifier, identifier, prefix, prefix);
         }
 
-        return customers;
+        if (keyword.indexOf('@') >= 0) {
+            return searchRanked(SEARCH_BY_EMAIL, limit, keyword, escapeLike(keyword) + "%");
+        }
+
+        TextSearch textSearch = TextSearch.of(keyword);
+        if (textSearch == null) {
+            return new ArrayList<>();
+        }
+        return searchRanked(textSearch.sql, limit, textSearch.params.toArray(new String[0]));
     }
 
-    public List<Customer> findActive() throws SQLException {
-        List<Customer> customers = new ArrayList<>();
+    private List<Customer> searchRanked(String sql, int limit, String... params) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SELECT_ACTIVE);
-             ResultSet rs = stmt.executeQuery()) {
+            int index = 1;
+            for (String param : params) {
+                stmt.setString(index++, param);
+            }
+            stmt.setInt(index, limit);
 
-            while (rs.next()) {
-                customers.add(mapResultSetToCustomer(rs));
+            try (ResultSet rs = stmt.executeQuery()) {
+                return CUSTOMER_MAPPER.list(rs);
             }
         }
+    }
+
+    /**
+     * Statement and parameters for a free-text keyword. Every word must match as a prefix: words
+     * the FULLTEXT index holds go to MATCH ("nguyen van" becomes "+nguyen* +van*"), shorter ones are
+     * filtered with LIKE, so "Le Van Nam" still finds Le Van Nam. Null when no word is left.
+     */
+    static final class TextSearch {
+        final String sql;
+        final List<String> params;
+
+        private TextSearch(String sql, List<String> params) {
+            this.sql = sql;
+            this.params = params;
+        }
+
+        static TextSearch of(String keyword) {
+            StringBuilder booleanQuery = new StringBuilder();
+            StringBuilder shortWordConditions = new StringBuilder();
+            List<String> likeParams = new ArrayList<>();
 
-        return customers;
+            for (String term : FULLTEXT_OPERATORS.matcher(keyword).replaceAll(" ").trim().split("\\s+")) {
+                if (term.isEmpty()) {
+                    continue;
+                }
+                if (term.codePointCount(0, term.length()) >= FULLTEXT_MIN_TOKEN_SIZE) {
+                    if (booleanQuery.length() > 0) {
+                        booleanQuery.append(' ');
+                    }
+                    booleanQuery.append('+').append(term).append('*');
+                } else {
+                    String prefix = escapeLike(term) + "%";
+                    shortWordConditions.append(SHORT_WORD_CONDITION);
+                    likeParams.add(prefix);
+                    likeParams.add("% " + prefix);
+                    likeParams.add(prefix);
+                    likeParams.add("% " + prefix);
+                }
+            }
+
+            List<String> params = new ArrayList<>();
+            String sql;
+            if (booleanQuery.length() > 0) {
+                params.add(booleanQuery.toString());
+                params.add(booleanQuery.toString());
+                sql = SEARCH_BY_TEXT;
+            } else if (!likeParams.isEmpty()) {
+                sql = SEARCH_BY_SHORT_WORDS;
+            } else {
+                return null;
+            }
+            params.addAll(likeParams);
+            return new TextSearch(sql + shortWordConditions + SEARCH_TEXT_ORDER, params);
+        }
     }
 
-    public List<Customer> search(String keyword) throws SQLException {
-        List<Customer> customers = new ArrayList<>();
-        String searchPattern = "%" + keyword + "%";
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(SEARCH_CUSTOMERS)) {
+    /**
+     * Stream id, name, phone and citizen number of every customer in id order, for building the
+     * in-memory suggest index. Other fields of the passed customers are left unset.
+     */
+    public void forEachSuggestFields(Consumer<Customer> action) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_SUGGEST_FIELDS,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
 
-            stmt.setString(1, searchPattern);
-            stmt.setString(2, searchPattern);
-            stmt.setString(3, searchPattern);
-            stmt.setString(4, searchPattern);
-            stmt.setString(5, searchPattern);
+            stmt.setFetchSize(Integer.MIN_VALUE);
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    customers.add(mapResultSetToCustomer(rs));
+                    Customer customer = new Customer();
+                    customer.setCustomerId(rs.getInt("customer_id"));
+                    customer.setFullName(rs.getString("full_name"));
+                    customer.setPhoneNumber(rs.getString("phone_number"));
+                    customer.setCitizenNumber(rs.getString("citizen_number"));
+                    action.accept(customer);
                 }
             }
         }
-
-        return customers;
     }
 
     public boolean update(Customer customer) throws SQLException {
@@ -244,10 +479,35 @@ public class CustomerDAO {
         return false;
     }
 
+    /**
+     * Totals over every customer; new customers are those created at or after {@code createdSince}.
+     */
+    public CustomerStatsDTO countStats(LocalDateTime createdSince) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_STATS)) {
+
+            stmt.setTimestamp(1, Timestamp.valueOf(createdSince));
+
+            CustomerStatsDTO stats = new CustomerStatsDTO();
+            try (ResultSet rs = stmt.executeQuery()) {
+                if (rs.next()) {
+                    stats.setTotalCustomers(rs.getLong(1));
+                    stats.setActiveCustomers(rs.getLong(2));
+                    stats.setNewThisMonth(rs.getLong(3));
+                }
+            }
+            return stats;
+        }
+    }
+
     public int countContracts(Integer customerId) throws SQLException {
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(COUNT_CONTRACTS)) {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            return countContracts(conn, customerId);
+        }
+    }
 
+    public int countContracts(Connection conn, Integer customerId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(COUNT_CONTRACTS)) {
             stmt.setInt(1, customerId);
 
             try (ResultSet rs = stmt.executeQuery()) {
@@ -259,36 +519,70 @@ public class CustomerDAO {
         return 0;
     }
 
-    private Customer mapResultSetToCustomer(ResultSet rs) throws SQLException {
-        Customer customer = new Customer();
-        customer.setCustomerId(rs.getInt("customer_id"));
-        customer.setAccountId(rs.getInt("account_id"));
-        customer.setFullName(rs.getString("full_name"));
-        customer.setCitizenNumber(rs.getString("citizen_number"));
-        customer.setPhoneNumber(rs.getString("phone_number"));
-        customer.setAddress(rs.getString("address"));
-        customer.setEmail(rs.getString("email"));
-
-        Date dob = rs.getDate("dob");
-        if (dob != null) {
-            customer.setDob(dob.toLocalDate());
+    /**
+     * The customer's {@code limit} most recent transactions on the caller's connection, newest first.
+     */
+    public List<CustomerTransaction> findRecentTransactions(Connection conn, Integer customerId, int limit)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_RECENT_TRANSACTIONS)) {
+            stmt.setInt(1, customerId);
+            stmt.setInt(2, limit);
+            stmt.setInt(3, customerId);
+            stmt.setInt(4, limit);
+            stmt.setInt(5, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return TRANSACTION_MAPPER.list(rs);
+            }
         }
+    }
 
-        Timestamp createdAt = rs.getTimestamp("created_at");
-        if (createdAt != null) {
-            customer.setCreatedAt(createdAt.toLocalDateTime());
+    /**
+     * Count contracts for many customers at once. Customers without contracts are absent
+     * from the returned map. All chunks run on a single connection.
+     */
+    public Map<Integer, Integer> countContractsByCustomerIds(Collection<Integer> customerIds) throws SQLException {
+        if (customerIds == null || customerIds.isEmpty()) {
+            return Collections.emptyMap();
         }
 
-        Timestamp updatedAt = rs.getTimestamp("updated_at");
-        if (updatedAt != null) {
-            customer.setUpdatedAt(updatedAt.toLocalDateTime());
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection()) {
+            return countContractsByCustomerIds(conn, customerIds);
         }
+    }
+
+    /**
+     * As {@link #countContractsByCustomerIds(Collection)}, on the caller's connection. Issues one
+     * statement per 1000 ids.
+     */
+    public Map<Integer, Integer> countContractsByCustomerIds(Connection conn, Collection<Integer> customerIds)
+            throws SQLException {
+        if (customerIds == null || customerIds.isEmpty()) {
+            return Collections.emptyMap();
+        }
+
+        List<Integer> ids = new ArrayList<>(customerIds);
+        Map<Integer, Integer> counts = new HashMap<>();
+
+        for (int from = 0; from < ids.size(); from += COUNT_CONTRACTS_BATCH_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + COUNT_CONTRACTS_BATCH_SIZE, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+
+            try (PreparedStatement stmt = conn.prepareStatement(
+                    String.format(COUNT_CONTRACTS_BY_CUSTOMER_IDS, placeholders))) {
 
-        // Set joined account info
-        customer.setUsername(rs.getString("username"));
-        customer.setRole(rs.getString("role"));
-        customer.setActive(rs.getBoolean("is_active"));
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setInt(i + 1, chunk.get(i));
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    while (rs.next()) {
+                        counts.put(rs.getInt("customer_id"), rs.getInt("contract_count"));
+                    }
+                }
+            }
+        }
 
-        return customer;
+        return counts;
     }
 }
\ No newline at end of file
@@ -6,34 +6,54 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.*;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public class EmployeeDAO {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeDAO.class);
 
+    private static final RowMapper<Employee> EMPLOYEE_MAPPER = RowMapper.builder(Employee::new)
+            .column("e.employee_id", RowMapper.INT, Employee::setEmployeeId)
+            .column("e.account_id", RowMapper.INT, Employee::setAccountId)
+            .column("e.full_name", RowMapper.STRING, Employee::setFullName)
+            .column("e.dob", RowMapper.LOCAL_DATE, Employee::setDob)
+            .column("e.phone_number", RowMapper.STRING, Employee::setPhoneNumber)
+            .column("e.salary", RowMapper.DECIMAL, Employee::setSalary)
+            .column("e.email", RowMapper.STRING, Employee::setEmail)
+            .column("e.citizen_number", RowMapper.STRING, Employee::setCitizenNumber)
+            .column("e.hire_date", RowMapper.LOCAL_DATE, Employee::setHireDate)
+            .column("e.is_active", RowMapper.BOOLEAN, Employee::setActive)
+            .column("e.created_at", RowMapper.LOCAL_DATE_TIME, Employee::setCreatedAt)
+            .column("e.updated_at", RowMapper.LOCAL_DATE_TIME, Employee::setUpdatedAt)
+            // Joined account info
+            .column("a.username", RowMapper.STRING, Employee::setUsername)
+            .column("a.role", RowMapper.STRING, Employee::setRole)
+            .build();
+
+    private static final String EMPLOYEE_COLUMNS = EMPLOYEE_MAPPER.columnList();
+
     private static final String INSERT_EMPLOYEE =
             "INSERT INTO employee (account_id, full_name, dob, phone_number, salary, email, " +
                     "citizen_number, hire_date, is_active) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)";
 
     private static final String SELECT_BY_ID =
-            "SELECT e.*, a.username, a.role FROM employee e " +
+            "SELECT " + EMPLOYEE_COLUMNS + " FROM employee e " +
                     "JOIN account a ON e.account_id = a.account_id " +
                     "WHERE e.employee_id = ?";
 
     private static final String SELECT_BY_ACCOUNT_ID =
-            "SELECT e.*, a.username, a.role FROM employee e " +
+            "SELECT " + EMPLOYEE_COLUMNS + " FROM employee e " +
                     "JOIN account a ON e.account_id = a.account_id " +
                     "WHERE e.account_id = ?";
 
     private static final String SELECT_ALL =
-            "SELECT e.*, a.username, a.role FROM employee e " +
+            "SELECT " + EMPLOYEE_COLUMNS + " FROM employee e " +
                     "JOIN account a ON e.account_id = a.account_id " +
                     "ORDER BY e.created_at DESC";
 
     private static final String SELECT_ACTIVE =
-            "SELECT e.*, a.username, a.role FROM employee e " +
+            "SELECT " + EMPLOYEE_COLUMNS + " FROM employee e " +
                     "JOIN account a ON e.account_id = a.account_id " +
                     "WHERE e.is_active = TRUE " +
                     "ORDER BY e.full_name";
@@ -56,15 +76,23 @@ public class EmployeeDAO {
             "SELECT COUNT(*) FROM employee WHERE email = ? AND employee_id != ?";
 
     private static final String SEARCH_EMPLOYEES =
-            "SELECT e.*, a.username, a.role FROM employee e " +
+            "SELECT " + EMPLOYEE_COLUMNS + " FROM employee e " +
                     "JOIN account a ON e.account_id = a.account_id " +
                     "WHERE (e.full_name LIKE ? OR e.phone_number LIKE ? OR e.email LIKE ? " +
                     "OR e.citizen_number LIKE ?) " +
                     "ORDER BY e.full_name";
 
     public Integer create(Employee employee) throws SQLException {
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(INSERT_EMPLOYEE, Statement.RETURN_GENERATED_KEYS)) {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            return create(conn, employee);
+        }
+    }
+
+    /**
+     * Insert on the caller's connection, so it can be part of a {@link UnitOfWork}.
+     */
+    public Integer create(Connection conn, Employee employee) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_EMPLOYEE, Statement.RETURN_GENERATED_KEYS)) {
 
             stmt.setInt(1, employee.getAccountId());
             stmt.setString(2, employee.getFullName());
@@ -102,12 +130,9 @@ public class EmployeeDAO {
             stmt.setInt(1, employeeId);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToEmployee(rs));
-                }
+                return EMPLOYEE_MAPPER.first(rs);
             }
         }
-        return Optional.empty();
     }
 
     public Optional<Employee> findByAccountId(Integer accountId) throws SQLException {
@@ -117,49 +142,48 @@ public class EmployeeDAO {
             stmt.setInt(1, accountId);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    return Optional.of(mapResultSetToEmployee(rs));
-                }
+                return EMPLOYEE_MAPPER.first(rs);
             }
         }
-        return Optional.empty();
     }
 
     public List<Employee> findAll() throws SQLException {
-        List<Employee> employees = new ArrayList<>();
-
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ALL);
              ResultSet rs = stmt.executeQuery()) {
-
-            while (rs.next()) {
-                employees.add(mapResultSetToEmployee(rs));
-            }
+            return EMPLOYEE_MAPPER.list(rs);
         }
-
-        return employees;
     }
 
     public List<Employee> findActive() throws SQLException {
-        List<Employee> employees = new ArrayList<>();
-
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(SELECT_ACTIVE);
              ResultSet rs = stmt.executeQuery()) {
+            return EMPLOYEE_MAPPER.list(rs);
+        }
+    }
+
+    /**
+     * Stream employees to {@code action} one row at a time, using the driver's row-streaming mode
+     * (forward-only cursor, Integer.MIN_VALUE fetch size) so the result is never buffered in full.
+     */
+    public void forEachEmployee(boolean activeOnly, Consumer<Employee> action) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(activeOnly ? SELECT_ACTIVE : SELECT_ALL,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(Integer.MIN_VALUE);
 
-            while (rs.next()) {
-                employees.add(mapResultSetToEmployee(rs));
+            try (ResultSet rs = stmt.executeQuery()) {
+                EMPLOYEE_MAPPER.forEach(rs, action);
             }
         }
-
-        return employees;
     }
 
     public List<Employee> search(String keyword) throws SQLException {
-        List<Employee> employees = new ArrayList<>();
         String searchPattern = "%" + keyword + "%";
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
              PreparedStatement stmt = conn.prepareStatement(SEARCH_EMPLOYEES)) {
 
             stmt.setString(1, searchPattern);
@@ -168,13 +192,9 @@ public class EmployeeDAO {
             stmt.setString(4, searchPattern);
 
             try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    employees.add(mapResultSetToEmployee(rs));
-                }
+                return EMPLOYEE_MAPPER.list(rs);
             }
         }
-
-        return employees;
     }
 
     public boolean update(Employee employee) throws SQLException {
@@ -255,44 +275,4 @@ public class EmployeeDAO {
         }
         return false;
     }
-
-    private Employee mapResultSetToEmployee(ResultSet rs) throws SQLException {
-        Employee employee = new Employee();
-        employee.setEmployeeId(rs.getInt("employee_id"));
-        employee.setAccountId(rs.getInt("account_id"));
-        employee.setFullName(rs.getString("full_name"));
-
-        Date dob = rs.getDate("dob");
-        if (dob != null) {
-            employee.setDob(dob.toLocalDate());
-        }
-
-        employee.setPhoneNumber(rs.getString("phone_number"));
-        employee.setSalary(rs.getBigDecimal("salary"));
-        employee.setEmail(rs.getString("email"));
-        employee.setCitizenNumber(rs.getString("citizen_number"));
-
-        Date hireDate = rs.getDate("hire_date");
-        if (hireDate != null) {
-            employee.setHireDate(hireDate.toLocalDate());
-        }
-
-        employee.setActive(rs.getBoolean("is_active"));
-
-        Timestamp createdAt = rs.getTimestamp("created_at");
-        if (createdAt != null) {
-            employee.setCreatedAt(createdAt.toLocalDateTime());
-        }
-
-        Timestamp updatedAt = rs.getTimestamp("updated_at");
-        if (updatedAt != null) {
-            employee.setUpdatedAt(updatedAt.toLocalDateTime());
-        }
-
-        // Set joined account info
-        employee.setUsername(rs.getString("username"));
-        employee.setRole(rs.getString("role"));
-
-        return employee;
-    }
 }
\ No newline at end of file
@@ -0,0 +1,94 @@
+package com.pawnshop.dao;
+
+import com.pawnshop.config.DatabaseConfig;
+import com.pawnshop.model.Liquidation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+public class LiquidationDAO {
+    private static final Logger logger = LoggerFactory.getLogger(LiquidationDAO.class);
+
+    private static final RowMapper<Liquidation> LIQUIDATION_MAPPER = RowMapper.builder(Liquidation::new)
+            .column("liquidation_id", RowMapper.INT, Liquidation::setLiquidationId)
+            .column("contract_id", RowMapper.INT, Liquidation::setContractId)
+            .column("liquidation_date", RowMapper.LOCAL_DATE, Liquidation::setLiquidationDate)
+            .column("price", RowMapper.DECIMAL, Liquidation::setPrice)
+            .build();
+
+    private static final String LIQUIDATION_COLUMNS = LIQUIDATION_MAPPER.columnList();
+
+    private static final String INSERT_LIQUIDATION =
+            "INSERT INTO liquidation_contract (contract_id, liquidation_date, price) VALUES (?, ?, ?)";
+
+    private static final String SELECT_BY_ID =
+            "SELECT " + LIQUIDATION_COLUMNS + " FROM liquidation_contract WHERE liquidation_id = ?";
+
+    // Half-open date range, newest first; a range scan on idx_liquidation_date_price (V3)
+    private static final String SELECT_BY_DATE_RANGE =
+            "SELECT " + LIQUIDATION_COLUMNS + " FROM liquidation_contract " +
+                    "WHERE liquidation_date >= ? AND liquidation_date < ? " +
+                    "ORDER BY liquidation_date DESC, liquidation_id DESC LIMIT ?";
+
+    /**
+     * Insert every liquidation as one JDBC batch on the caller's connection and set their
+     * generated ids. With the pool's rewriteBatchedStatements the batch goes to the server as
+     * multi-row INSERTs. Revenue rollup deltas must be applied in the same transaction.
+     */
+    public void insertBatch(Connection conn, List<Liquidation> liquidations) throws SQLException {
+        if (liquidations.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_LIQUIDATION, Statement.RETURN_GENERATED_KEYS)) {
+            for (Liquidation liquidation : liquidations) {
+                stmt.setInt(1, liquidation.getContractId());
+                stmt.setDate(2, Date.valueOf(liquidation.getLiquidationDate()));
+                stmt.setBigDecimal(3, liquidation.getPrice());
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+
+            // Keys come back in batch order
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                for (int i = 0; i < liquidations.size() && generatedKeys.next(); i++) {
+                    liquidations.get(i).setLiquidationId(generatedKeys.getInt(1));
+                }
+            }
+        }
+        logger.debug("Inserted {} liquidations", liquidations.size());
+    }
+
+    public Optional<Liquidation> findById(Integer liquidationId) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID)) {
+
+            stmt.setInt(1, liquidationId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return LIQUIDATION_MAPPER.first(rs);
+            }
+        }
+    }
+
+    /**
+     * Liquidations dated in [from, toExclusive), newest first, at most {@code limit}.
+     */
+    public List<Liquidation> findByDateRange(LocalDate from, LocalDate toExclusive, int limit) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_DATE_RANGE)) {
+
+            stmt.setDate(1, Date.valueOf(from));
+            stmt.setDate(2, Date.valueOf(toExclusive));
+            stmt.setInt(3, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return LIQUIDATION_MAPPER.list(rs);
+            }
+        }
+    }
+}
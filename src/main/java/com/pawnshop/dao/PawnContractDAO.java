@@ -0,0 +1,310 @@
+package com.pawnshop.dao;
+
+import com.pawnshop.config.DatabaseConfig;
+import com.pawnshop.model.PawnContract;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public class PawnContractDAO {
+    private static final Logger logger = LoggerFactory.getLogger(PawnContractDAO.class);
+
+    private static final RowMapper<PawnContract> CONTRACT_MAPPER = RowMapper.builder(PawnContract::new)
+            .column("contract_id", RowMapper.INT, PawnContract::setContractId)
+            .column("customer_id", RowMapper.INT, PawnContract::setCustomerId)
+            .column("employee_id", RowMapper.INT, PawnContract::setEmployeeId)
+            .column("loan_amount", RowMapper.DECIMAL, PawnContract::setLoanAmount)
+            .column("interest_rate", RowMapper.DECIMAL, PawnContract::setInterestRate)
+            .column("principal_paid", RowMapper.DECIMAL, PawnContract::setPrincipalPaid)
+            .column("start_date", RowMapper.LOCAL_DATE, PawnContract::setStartDate)
+            .column("due_date", RowMapper.LOCAL_DATE, PawnContract::setDueDate)
+            .column("status", RowMapper.STRING,
+                    (contract, status) -> contract.setStatus(PawnContract.Status.fromString(status)))
+            .column("created_at", RowMapper.LOCAL_DATE_TIME, PawnContract::setCreatedAt)
+            .column("updated_at", RowMapper.LOCAL_DATE_TIME, PawnContract::setUpdatedAt)
+            .build();
+
+    private static final String CONTRACT_COLUMNS = CONTRACT_MAPPER.columnList();
+
+    private static final String INSERT_CONTRACT =
+            "INSERT INTO pawn_contract (customer_id, employee_id, loan_amount, interest_rate, " +
+                    "principal_paid, start_date, due_date, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_BY_ID =
+            "SELECT " + CONTRACT_COLUMNS + " FROM pawn_contract WHERE contract_id = ?";
+
+    private static final String SELECT_BY_CUSTOMER_ID =
+            "SELECT " + CONTRACT_COLUMNS + " FROM pawn_contract WHERE customer_id = ? " +
+                    "ORDER BY start_date DESC, contract_id DESC";
+
+    private static final String SELECT_ACTIVE_BY_CUSTOMER_ID =
+            "SELECT " + CONTRACT_COLUMNS + " FROM pawn_contract WHERE customer_id = ? AND status = 'active' " +
+                    "ORDER BY due_date, contract_id";
+
+    // Range scan on idx_pawn_contract_status_due (V7)
+    private static final String SELECT_OPEN =
+            "SELECT " + CONTRACT_COLUMNS + " FROM pawn_contract WHERE status = 'active' " +
+                    "ORDER BY due_date, contract_id";
+
+    // Keyset pages over idx_pawn_contract_status_due
+    private static final String SELECT_OPEN_FIRST_PAGE =
+            "SELECT " + CONTRACT_COLUMNS + " FROM pawn_contract WHERE status = 'active' " +
+                    "ORDER BY due_date, contract_id LIMIT ?";
+
+    private static final String SELECT_OPEN_PAGE_AFTER =
+            "SELECT " + CONTRACT_COLUMNS + " FROM pawn_contract WHERE status = 'active' " +
+                    "AND (due_date > ? OR (due_date = ? AND contract_id > ?)) " +
+                    "ORDER BY due_date, contract_id LIMIT ?";
+
+    // Keyset chunk over idx_pawn_contract_status_due, locking the rows it returns
+    private static final String LOCK_EXPIRED_CHUNK =
+            "SELECT " + CONTRACT_COLUMNS + " FROM pawn_contract " +
+                    "WHERE status = 'active' AND due_date < ? " +
+                    "AND (due_date > ? OR (due_date = ? AND contract_id > ?)) " +
+                    "ORDER BY due_date, contract_id LIMIT ? FOR UPDATE";
+
+    // Sorted ids lock in primary-key order, so concurrent callers cannot deadlock each other
+    private static final String LOCK_BY_IDS =
+            "SELECT " + CONTRACT_COLUMNS + " FROM pawn_contract WHERE contract_id IN (%s) " +
+                    "ORDER BY contract_id FOR UPDATE";
+
+    private static final int LOCK_BY_IDS_BATCH_SIZE = 1000;
+
+    private static final String COUNT_OVERDUE =
+            "SELECT COUNT(*), MIN(due_date) FROM pawn_contract WHERE status = 'active' AND due_date < ?";
+
+    private static final String UPDATE_STATUS =
+            "UPDATE pawn_contract SET status = ? WHERE contract_id = ?";
+
+    public Integer create(PawnContract contract) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            return create(conn, contract);
+        }
+    }
+
+    /**
+     * Insert on the caller's connection, so it can be part of a {@link UnitOfWork}.
+     */
+    public Integer create(Connection conn, PawnContract contract) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(INSERT_CONTRACT, Statement.RETURN_GENERATED_KEYS)) {
+
+            stmt.setInt(1, contract.getCustomerId());
+            if (contract.getEmployeeId() != null) {
+                stmt.setInt(2, contract.getEmployeeId());
+            } else {
+                stmt.setNull(2, Types.INTEGER);
+            }
+            stmt.setBigDecimal(3, contract.getLoanAmount());
+            stmt.setBigDecimal(4, contract.getInterestRate());
+            stmt.setBigDecimal(5, contract.getPrincipalPaid());
+            stmt.setDate(6, Date.valueOf(contract.getStartDate()));
+            stmt.setDate(7, Date.valueOf(contract.getDueDate()));
+            stmt.setString(8, contract.getStatus().getValue());
+
+            int affectedRows = stmt.executeUpdate();
+
+            if (affectedRows == 0) {
+                throw new SQLException("Creating contract failed, no rows affected.");
+            }
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    Integer contractId = generatedKeys.getInt(1);
+                    contract.setContractId(contractId);
+                    logger.info("Contract created successfully with ID: {}", contractId);
+                    return contractId;
+                } else {
+                    throw new SQLException("Creating contract failed, no ID obtained.");
+                }
+            }
+        }
+    }
+
+    public Optional<PawnContract> findById(Integer contractId) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID)) {
+
+            stmt.setInt(1, contractId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return CONTRACT_MAPPER.first(rs);
+            }
+        }
+    }
+
+    public List<PawnContract> findByCustomerId(Integer customerId) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_CUSTOMER_ID)) {
+
+            stmt.setInt(1, customerId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return CONTRACT_MAPPER.list(rs);
+            }
+        }
+    }
+
+    /**
+     * The customer's active contracts in due-date order, on the caller's connection.
+     */
+    public List<PawnContract> findActiveByCustomerId(Connection conn, Integer customerId) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(SELECT_ACTIVE_BY_CUSTOMER_ID)) {
+            stmt.setInt(1, customerId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return CONTRACT_MAPPER.list(rs);
+            }
+        }
+    }
+
+    /**
+     * Stream every active contract to {@code action} in due-date order, using the driver's
+     * row-streaming mode so the open book is never buffered in full.
+     */
+    public void forEachOpenContract(Consumer<PawnContract> action) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_OPEN,
+                     ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+
+            stmt.setFetchSize(Integer.MIN_VALUE);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                CONTRACT_MAPPER.forEach(rs, action);
+            }
+        }
+    }
+
+    /**
+     * Up to {@code limit} active contracts in (due_date, contract_id) order, starting after the given
+     * key when {@code afterDueDate} is non-null.
+     */
+    public List<PawnContract> findOpenPage(LocalDate afterDueDate, Integer afterContractId, int limit)
+            throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(
+                     afterDueDate != null ? SELECT_OPEN_PAGE_AFTER : SELECT_OPEN_FIRST_PAGE)) {
+
+            int index = 1;
+            if (afterDueDate != null) {
+                stmt.setDate(index++, Date.valueOf(afterDueDate));
+                stmt.setDate(index++, Date.valueOf(afterDueDate));
+                stmt.setInt(index++, afterContractId);
+            }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return CONTRACT_MAPPER.list(rs);
+            }
+        }
+    }
+
+    /**
+     * Lock and return up to {@code limit} active contracts due before {@code cutoff} whose
+     * (due_date, contract_id) key is after the given one, in key order. Must run inside a
+     * transaction; the rows stay locked until it ends.
+     */
+    public List<PawnContract> lockExpiredChunk(Connection conn, LocalDate cutoff, LocalDate afterDueDate,
+                                               int afterContractId, int limit) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(LOCK_EXPIRED_CHUNK)) {
+
+            stmt.setDate(1, Date.valueOf(cutoff));
+            stmt.setDate(2, Date.valueOf(afterDueDate));
+            stmt.setDate(3, Date.valueOf(afterDueDate));
+            stmt.setInt(4, afterContractId);
+            stmt.setInt(5, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return CONTRACT_MAPPER.list(rs);
+            }
+        }
+    }
+
+    /**
+     * Lock the given contracts on the caller's connection and return those that exist, ordered
+     * by id. Must run inside a transaction; the rows stay locked until it ends.
+     */
+    public List<PawnContract> lockByIds(Connection conn, Collection<Integer> contractIds) throws SQLException {
+        if (contractIds.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Integer> ids = new ArrayList<>(contractIds);
+        Collections.sort(ids);
+        List<PawnContract> contracts = new ArrayList<>(ids.size());
+
+        for (int from = 0; from < ids.size(); from += LOCK_BY_IDS_BATCH_SIZE) {
+            List<Integer> chunk = ids.subList(from, Math.min(from + LOCK_BY_IDS_BATCH_SIZE, ids.size()));
+            String placeholders = String.join(", ", Collections.nCopies(chunk.size(), "?"));
+
+            try (PreparedStatement stmt = conn.prepareStatement(String.format(LOCK_BY_IDS, placeholders))) {
+                for (int i = 0; i < chunk.size(); i++) {
+                    stmt.setInt(i + 1, chunk.get(i));
+                }
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    CONTRACT_MAPPER.forEach(rs, contracts::add);
+                }
+            }
+        }
+
+        return contracts;
+    }
+
+    /**
+     * Set the status of every listed contract as one JDBC batch on the caller's connection.
+     */
+    public void updateStatusBatch(Connection conn, List<Integer> contractIds, PawnContract.Status status)
+            throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(UPDATE_STATUS)) {
+            for (Integer contractId : contractIds) {
+                stmt.setString(1, status.getValue());
+                stmt.setInt(2, contractId);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Active contracts due before {@code cutoff}: how many, and the earliest due date (null if none).
+     */
+    public OverdueBacklog findOverdueBacklog(LocalDate cutoff) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(COUNT_OVERDUE)) {
+
+            stmt.setDate(1, Date.valueOf(cutoff));
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                rs.next();
+                Date oldest = rs.getDate(2);
+                return new OverdueBacklog(rs.getLong(1), oldest != null ? oldest.toLocalDate() : null);
+            }
+        }
+    }
+
+    public static final class OverdueBacklog {
+        private final long count;
+        private final LocalDate oldestDueDate;
+
+        public OverdueBacklog(long count, LocalDate oldestDueDate) {
+            this.count = count;
+            this.oldestDueDate = oldestDueDate;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public LocalDate getOldestDueDate() {
+            return oldestDueDate;
+        }
+    }
+}
@@ -0,0 +1,239 @@
+package com.pawnshop.dao;
+
+import com.pawnshop.config.DatabaseConfig;
+import com.pawnshop.model.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class ProductDAO {
+    private static final Logger logger = LoggerFactory.getLogger(ProductDAO.class);
+
+    private static final RowMapper<Product> PRODUCT_MAPPER = RowMapper.builder(Product::new)
+            .column("product_id", RowMapper.INT, Product::setProductId)
+            .column("contract_id", RowMapper.NULLABLE_INT, Product::setContractId)
+            .column("branch_id", RowMapper.INT, Product::setBranchId)
+            .column("category", RowMapper.STRING, Product::setCategory)
+            .column("name", RowMapper.STRING, Product::setName)
+            .column("description", RowMapper.STRING, Product::setDescription)
+            .column("appraised_value", RowMapper.DECIMAL, Product::setAppraisedValue)
+            .column("status", RowMapper.STRING, (product, status) -> product.setStatus(Product.Status.fromString(status)))
+            .column("created_at", RowMapper.LOCAL_DATE_TIME, Product::setCreatedAt)
+            .column("updated_at", RowMapper.LOCAL_DATE_TIME, Product::setUpdatedAt)
+            .build();
+
+    // Projection for list views: no description (TEXT, stored off-page) and no contract link
+    private static final RowMapper<Product> SUMMARY_MAPPER = RowMapper.builder(Product::new)
+            .column("product_id", RowMapper.INT, Product::setProductId)
+            .column("branch_id", RowMapper.INT, Product::setBranchId)
+            .column("category", RowMapper.STRING, Product::setCategory)
+            .column("name", RowMapper.STRING, Product::setName)
+            .column("appraised_value", RowMapper.DECIMAL, Product::setAppraisedValue)
+            .column("status", RowMapper.STRING, (product, status) -> product.setStatus(Product.Status.fromString(status)))
+            .column("created_at", RowMapper.LOCAL_DATE_TIME, Product::setCreatedAt)
+            .build();
+
+    private static final String INSERT_PRODUCT =
+            "INSERT INTO product (contract_id, branch_id, category, name, description, appraised_value, status) " +
+                    "VALUES (?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String SELECT_BY_ID =
+            "SELECT " + PRODUCT_MAPPER.columnList() + " FROM product WHERE product_id = ?";
+
+    private static final String UPDATE_PRODUCT =
+            "UPDATE product SET contract_id = ?, branch_id = ?, category = ?, name = ?, description = ?, " +
+                    "appraised_value = ?, status = ? WHERE product_id = ?";
+
+    private static final String CREATED_KEYSET_AFTER =
+            "(created_at < ? OR (created_at = ? AND product_id < ?))";
+
+    private static final String CREATED_KEYSET_ORDER =
+            " ORDER BY created_at DESC, product_id DESC LIMIT ?";
+
+    private static final String APPRAISAL_KEYSET_AFTER =
+            "(appraised_value > ? OR (appraised_value = ? AND product_id > ?))";
+
+    private static final String APPRAISAL_KEYSET_ORDER =
+            " ORDER BY appraised_value, product_id LIMIT ?";
+
+    /**
+     * List filters. Null fields are not applied.
+     */
+    public static final class Filter {
+        private final Product.Status status;
+        private final String category;
+        private final Integer branchId;
+        private final BigDecimal minValue;
+        private final BigDecimal maxValue;
+
+        public Filter(Product.Status status, String category, Integer branchId,
+                      BigDecimal minValue, BigDecimal maxValue) {
+            this.status = status;
+            this.category = category;
+            this.branchId = branchId;
+            this.minValue = minValue;
+            this.maxValue = maxValue;
+        }
+
+        /**
+         * Whether the filter bounds the appraised value, which pages by value instead of age.
+         */
+        public boolean isAppraisalRange() {
+            return minValue != null || maxValue != null;
+        }
+    }
+
+    public Integer create(Product product) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(INSERT_PRODUCT, Statement.RETURN_GENERATED_KEYS)) {
+
+            setProductFields(stmt, product);
+
+            int affectedRows = stmt.executeUpdate();
+
+            if (affectedRows == 0) {
+                throw new SQLException("Creating product failed, no rows affected.");
+            }
+
+            try (ResultSet generatedKeys = stmt.getGeneratedKeys()) {
+                if (generatedKeys.next()) {
+                    Integer productId = generatedKeys.getInt(1);
+                    product.setProductId(productId);
+                    logger.info("Product created successfully with ID: {}", productId);
+                    return productId;
+                } else {
+                    throw new SQLException("Creating product failed, no ID obtained.");
+                }
+            }
+        }
+    }
+
+    public Optional<Product> findById(Integer productId) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_ID)) {
+
+            stmt.setInt(1, productId);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return PRODUCT_MAPPER.first(rs);
+            }
+        }
+    }
+
+    /**
+     * One page ordered by (created_at DESC, product_id DESC), starting after the given key when
+     * it is non-null. With {@code summary} only the list-view columns are read.
+     */
+    public List<Product> findPageByCreated(Filter filter, boolean summary, LocalDateTime afterCreatedAt,
+                                           Integer afterProductId, int limit) throws SQLException {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        addFilterConditions(filter, conditions, params);
+        if (afterCreatedAt != null) {
+            Timestamp after = Timestamp.valueOf(afterCreatedAt);
+            conditions.add(CREATED_KEYSET_AFTER);
+            params.add(after);
+            params.add(after);
+            params.add(afterProductId);
+        }
+
+        return queryPage(summary, conditions, params, CREATED_KEYSET_ORDER, limit);
+    }
+
+    /**
+     * One page ordered by (appraised_value, product_id), starting after the given key when it is
+     * non-null; the order of idx_product_appraisal.
+     */
+    public List<Product> findPageByAppraisal(Filter filter, boolean summary, BigDecimal afterValue,
+                                             Integer afterProductId, int limit) throws SQLException {
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+        addFilterConditions(filter, conditions, params);
+        if (afterValue != null) {
+            conditions.add(APPRAISAL_KEYSET_AFTER);
+            params.add(afterValue);
+            params.add(afterValue);
+            params.add(afterProductId);
+        }
+
+        return queryPage(summary, conditions, params, APPRAISAL_KEYSET_ORDER, limit);
+    }
+
+    public boolean update(Product product) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(UPDATE_PRODUCT)) {
+
+            setProductFields(stmt, product);
+            stmt.setInt(8, product.getProductId());
+
+            int affectedRows = stmt.executeUpdate();
+            logger.info("Product updated: ID={}, affected rows={}", product.getProductId(), affectedRows);
+            return affectedRows > 0;
+        }
+    }
+
+    private static void setProductFields(PreparedStatement stmt, Product product) throws SQLException {
+        if (product.getContractId() != null) {
+            stmt.setInt(1, product.getContractId());
+        } else {
+            stmt.setNull(1, Types.INTEGER);
+        }
+        stmt.setInt(2, product.getBranchId());
+        stmt.setString(3, product.getCategory());
+        stmt.setString(4, product.getName());
+        stmt.setString(5, product.getDescription());
+        stmt.setBigDecimal(6, product.getAppraisedValue());
+        stmt.setString(7, product.getStatus().getValue());
+    }
+
+    private static void addFilterConditions(Filter filter, List<String> conditions, List<Object> params) {
+        if (filter.status != null) {
+            conditions.add("status = ?");
+            params.add(filter.status.getValue());
+        }
+        if (filter.category != null) {
+            conditions.add("category = ?");
+            params.add(filter.category);
+        }
+        if (filter.branchId != null) {
+            conditions.add("branch_id = ?");
+            params.add(filter.branchId);
+        }
+        if (filter.minValue != null) {
+            conditions.add("appraised_value >= ?");
+            params.add(filter.minValue);
+        }
+        if (filter.maxValue != null) {
+            conditions.add("appraised_value <= ?");
+            params.add(filter.maxValue);
+        }
+    }
+
+    private List<Product> queryPage(boolean summary, List<String> conditions, List<Object> params,
+                                    String order, int limit) throws SQLException {
+        RowMapper<Product> mapper = summary ? SUMMARY_MAPPER : PRODUCT_MAPPER;
+        String sql = "SELECT " + mapper.columnList() + " FROM product "
+                + (conditions.isEmpty() ? "" : "WHERE " + String.join(" AND ", conditions))
+                + order;
+
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(sql)) {
+
+            int index = 1;
+            for (Object param : params) {
+                stmt.setObject(index++, param);
+            }
+            stmt.setInt(index, limit);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return mapper.list(rs);
+            }
+        }
+    }
+}
@@ -6,115 +6,154 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.math.BigDecimal;
+import java.math.RoundingMode;
 import java.sql.*;
+import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
 
+/**
+ * Revenue reads. Whole months come from revenue_monthly_rollup (see {@link RevenueRollupDAO});
+ * liquidation_contract is only touched for the partial months at the edges of a date range.
+ * Series have one row per calendar month of the period; months without sales are zero rows.
+ */
 public class RevenueDAO {
     private static final Logger logger = LoggerFactory.getLogger(RevenueDAO.class);
 
-    private static final String GET_MONTHLY_REVENUE =
-            "SELECT " +
-                    "  DATE_FORMAT(liquidation_date, '%Y-%m') AS month, " +
-                    "  YEAR(liquidation_date) AS year, " +
-                    "  MONTH(liquidation_date) AS month_number, " +
-                    "  COUNT(*) AS total_liquidations, " +
-                    "  SUM(price) AS total_revenue, " +
-                    "  AVG(price) AS average_revenue " +
+    private static final String GET_ROLLUP_RANGE =
+            "SELECT month_start, liquidation_count, total_revenue, revenue_sum_squares " +
+                    "FROM revenue_monthly_rollup " +
+                    "WHERE month_start >= ? AND month_start < ? AND liquidation_count > 0";
+
+    private static final String GET_ROLLUP_TOTAL =
+            "SELECT COALESCE(SUM(liquidation_count), 0) AS total_liquidations, " +
+                    "  COALESCE(SUM(total_revenue), 0) AS total_revenue " +
+                    "FROM revenue_monthly_rollup";
+
+    // Half-open range on the bare column with no grouping expression: a pure range scan of
+    // idx_liquidation_date_price. Callers bucket by month by issuing one range per month.
+    private static final String GET_RANGE_TOTALS =
+            "SELECT COUNT(*) AS total_liquidations, COALESCE(SUM(price), 0) AS total_revenue, " +
+                    "  COALESCE(SUM(price * price), 0) AS revenue_sum_squares " +
                     "FROM liquidation_contract " +
-                    "WHERE liquidation_date >= DATE_SUB(CURDATE(), INTERVAL ? MONTH) " +
-                    "GROUP BY DATE_FORMAT(liquidation_date, '%Y-%m'), YEAR(liquidation_date), MONTH(liquidation_date) " +
-                    "ORDER BY month DESC";
-
-    private static final String GET_REVENUE_BY_DATE_RANGE =
-            "SELECT " +
-                    "  DATE_FORMAT(liquidation_date, '%Y-%m') AS month, " +
-                    "  YEAR(liquidation_date) AS year, " +
-                    "  MONTH(liquidation_date) AS month_number, " +
-                    "  COUNT(*) AS total_liquidations, " +
-                    "  SUM(price) AS total_revenue, " +
-                    "  AVG(price) AS average_revenue " +
-                    "FROM liquidation_contract " +
-                    "WHERE liquidation_date BETWEEN ? AND ? " +
-                    "GROUP BY DATE_FORMAT(liquidation_date, '%Y-%m'), YEAR(liquidation_date), MONTH(liquidation_date) " +
-                    "ORDER BY month DESC";
-
-    private static final String GET_REVENUE_BY_YEAR =
-            "SELECT " +
-                    "  DATE_FORMAT(liquidation_date, '%Y-%m') AS month, " +
-                    "  YEAR(liquidation_date) AS year, " +
-                    "  MONTH(liquidation_date) AS month_number, " +
-                    "  COUNT(*) AS total_liquidations, " +
-                    "  SUM(price) AS total_revenue, " +
-                    "  AVG(price) AS average_revenue " +
-                    "FROM liquidation_contract " +
-                    "WHERE YEAR(liquidation_date) = ? " +
-                    "GROUP BY DATE_FORMAT(liquidation_date, '%Y-%m'), YEAR(liquidation_date), MONTH(liquidation_date) " +
-                    "ORDER BY month_number";
-
-    private static final String GET_TOTAL_REVENUE =
-            "SELECT " +
-                    "  COUNT(*) AS total_liquidations, " +
-                    "  COALESCE(SUM(price), 0) AS total_revenue, " +
-                    "  COALESCE(AVG(price), 0) AS average_revenue " +
-                    "FROM liquidation_contract";
-
-    private static final String GET_TOTAL_REVENUE_BY_DATE_RANGE =
-            "SELECT " +
-                    "  COUNT(*) AS total_liquidations, " +
-                    "  COALESCE(SUM(price), 0) AS total_revenue, " +
-                    "  COALESCE(AVG(price), 0) AS average_revenue " +
-                    "FROM liquidation_contract " +
-                    "WHERE liquidation_date BETWEEN ? AND ?";
+                    "WHERE liquidation_date >= ? AND liquidation_date < ?";
 
+    /**
+     * Revenue for the last {@code months} calendar months including the current one, newest first.
+     */
     public List<MonthlyRevenueDTO> getMonthlyRevenue(int months) throws SQLException {
-        List<MonthlyRevenueDTO> revenueList = new ArrayList<>();
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        LocalDate fromMonth = currentMonth.minusMonths(months - 1L);
+        LocalDate toMonthExclusive = currentMonth.plusMonths(1);
+        List<MonthlyRevenueDTO> revenueList = withEmptyMonths(
+                getRollupRange(fromMonth, toMonthExclusive), fromMonth, toMonthExclusive);
+        revenueList.sort(Comparator.comparing(MonthlyRevenueDTO::getMonth).reversed());
+        return revenueList;
+    }
+
+    /**
+     * Revenue for the inclusive day range, newest month first. Months fully inside the range are read
+     * from the rollup; partial months at either edge are aggregated from liquidation_contract.
+     */
+    public List<MonthlyRevenueDTO> getRevenueByDateRange(Date startDate, Date endDate) throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection()) {
+            return getRevenueByDateRange(conn, startDate.toLocalDate(), endDate.toLocalDate());
+        }
+    }
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(GET_MONTHLY_REVENUE)) {
+    /**
+     * As {@link #getRevenueByDateRange(Date, Date)}, on the caller's connection.
+     */
+    List<MonthlyRevenueDTO> getRevenueByDateRange(Connection conn, LocalDate start, LocalDate end)
+            throws SQLException {
+        LocalDate endExclusive = end.plusDays(1);
+        LocalDate firstFullMonth = start.getDayOfMonth() == 1 ? start : start.withDayOfMonth(1).plusMonths(1);
+        LocalDate fullMonthsEnd = endExclusive.withDayOfMonth(1);
 
-            stmt.setInt(1, months);
+        List<MonthlyRevenueDTO> revenueList = new ArrayList<>();
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    revenueList.add(mapResultSetToMonthlyRevenue(rs));
-                }
+        if (firstFullMonth.isBefore(fullMonthsEnd)) {
+            revenueList.addAll(getRollupRange(conn, firstFullMonth, fullMonthsEnd));
+            if (start.isBefore(firstFullMonth)) {
+                revenueList.addAll(getPartialMonths(conn, start, firstFullMonth));
             }
+            if (fullMonthsEnd.isBefore(endExclusive)) {
+                revenueList.addAll(getPartialMonths(conn, fullMonthsEnd, endExclusive));
+            }
+        } else {
+            revenueList.addAll(getPartialMonths(conn, start, endExclusive));
         }
 
+        withEmptyMonths(revenueList, start.withDayOfMonth(1), end.withDayOfMonth(1).plusMonths(1));
+        revenueList.sort(Comparator.comparing(MonthlyRevenueDTO::getMonth).reversed());
         return revenueList;
     }
 
-    public List<MonthlyRevenueDTO> getRevenueByDateRange(Date startDate, Date endDate) throws SQLException {
-        List<MonthlyRevenueDTO> revenueList = new ArrayList<>();
-
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(GET_REVENUE_BY_DATE_RANGE)) {
+    /**
+     * Revenue per month of the given year, in calendar order. For the current year the series ends
+     * at the current month.
+     */
+    public List<MonthlyRevenueDTO> getRevenueByYear(int year) throws SQLException {
+        LocalDate yearStart = LocalDate.of(year, 1, 1);
+        LocalDate nextMonth = LocalDate.now().withDayOfMonth(1).plusMonths(1);
+        LocalDate yearEnd = yearStart.plusYears(1).isBefore(nextMonth) ? yearStart.plusYears(1) : nextMonth;
+        List<MonthlyRevenueDTO> revenueList = withEmptyMonths(
+                getRollupRange(yearStart, yearEnd), yearStart, yearEnd);
+        revenueList.sort(Comparator.comparing(MonthlyRevenueDTO::getMonthNumber));
+        return revenueList;
+    }
 
-            stmt.setDate(1, startDate);
-            stmt.setDate(2, endDate);
+    public MonthlyRevenueDTO getTotalRevenue() throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(GET_ROLLUP_TOTAL);
+             ResultSet rs = stmt.executeQuery()) {
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    revenueList.add(mapResultSetToMonthlyRevenue(rs));
-                }
+            if (rs.next()) {
+                return toTotal(rs.getLong("total_liquidations"), rs.getBigDecimal("total_revenue"));
             }
         }
 
-        return revenueList;
+        return new MonthlyRevenueDTO();
     }
 
-    public List<MonthlyRevenueDTO> getRevenueByYear(int year) throws SQLException {
-        List<MonthlyRevenueDTO> revenueList = new ArrayList<>();
+    public MonthlyRevenueDTO getTotalRevenueByDateRange(Date startDate, Date endDate) throws SQLException {
+        long totalLiquidations = 0;
+        BigDecimal totalRevenue = BigDecimal.ZERO;
 
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(GET_REVENUE_BY_YEAR)) {
+        for (MonthlyRevenueDTO month : getRevenueByDateRange(startDate, endDate)) {
+            totalLiquidations += month.getTotalLiquidations();
+            totalRevenue = totalRevenue.add(month.getTotalRevenue());
+        }
+
+        return toTotal(totalLiquidations, totalRevenue);
+    }
+
+    private List<MonthlyRevenueDTO> getRollupRange(LocalDate fromMonth, LocalDate toMonthExclusive)
+            throws SQLException {
+        try (Connection conn = DatabaseConfig.getReadDataSource().getConnection()) {
+            return getRollupRange(conn, fromMonth, toMonthExclusive);
+        }
+    }
+
+    private List<MonthlyRevenueDTO> getRollupRange(Connection conn, LocalDate fromMonth,
+                                                   LocalDate toMonthExclusive) throws SQLException {
+        List<MonthlyRevenueDTO> revenueList = new ArrayList<>();
 
-            stmt.setInt(1, year);
+        try (PreparedStatement stmt = conn.prepareStatement(GET_ROLLUP_RANGE)) {
+            stmt.setDate(1, Date.valueOf(fromMonth));
+            stmt.setDate(2, Date.valueOf(toMonthExclusive));
 
             try (ResultSet rs = stmt.executeQuery()) {
                 while (rs.next()) {
-                    revenueList.add(mapResultSetToMonthlyRevenue(rs));
+                    MonthlyRevenueDTO dto = toMonthlyRevenue(
+                            rs.getDate("month_start").toLocalDate(),
+                            rs.getLong("liquidation_count"),
+                            rs.getBigDecimal("total_revenue"));
+                    dto.setRevenueSumSquares(rs.getBigDecimal("revenue_sum_squares"));
+                    revenueList.add(dto);
                 }
             }
         }
@@ -122,52 +161,86 @@ public class RevenueDAO {
         return revenueList;
     }
 
-    public MonthlyRevenueDTO getTotalRevenue() throws SQLException {
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(GET_TOTAL_REVENUE);
-             ResultSet rs = stmt.executeQuery()) {
+    private List<MonthlyRevenueDTO> getPartialMonths(Connection conn, LocalDate from, LocalDate toExclusive)
+            throws SQLException {
+        List<MonthlyRevenueDTO> revenueList = new ArrayList<>();
 
-            if (rs.next()) {
-                MonthlyRevenueDTO dto = new MonthlyRevenueDTO();
-                dto.setTotalLiquidations(rs.getLong("total_liquidations"));
-                dto.setTotalRevenue(rs.getBigDecimal("total_revenue"));
-                dto.setAverageRevenue(rs.getBigDecimal("average_revenue"));
-                return dto;
+        try (PreparedStatement stmt = conn.prepareStatement(GET_RANGE_TOTALS)) {
+            LocalDate bucketStart = from;
+            while (bucketStart.isBefore(toExclusive)) {
+                LocalDate nextMonth = bucketStart.withDayOfMonth(1).plusMonths(1);
+                LocalDate bucketEnd = nextMonth.isBefore(toExclusive) ? nextMonth : toExclusive;
+
+                stmt.setDate(1, Date.valueOf(bucketStart));
+                stmt.setDate(2, Date.valueOf(bucketEnd));
+
+                try (ResultSet rs = stmt.executeQuery()) {
+                    if (rs.next() && rs.getLong("total_liquidations") > 0) {
+                        MonthlyRevenueDTO dto = toMonthlyRevenue(
+                                bucketStart.withDayOfMonth(1),
+                                rs.getLong("total_liquidations"),
+                                rs.getBigDecimal("total_revenue"));
+                        dto.setRevenueSumSquares(rs.getBigDecimal("revenue_sum_squares"));
+                        revenueList.add(dto);
+                    }
+                }
+
+                bucketStart = bucketEnd;
             }
         }
 
-        return new MonthlyRevenueDTO();
+        logger.debug("Aggregated partial months from liquidation_contract: from={}, to={}", from, toExclusive);
+        return revenueList;
     }
 
-    public MonthlyRevenueDTO getTotalRevenueByDateRange(Date startDate, Date endDate) throws SQLException {
-        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
-             PreparedStatement stmt = conn.prepareStatement(GET_TOTAL_REVENUE_BY_DATE_RANGE)) {
-
-            stmt.setDate(1, startDate);
-            stmt.setDate(2, endDate);
+    /**
+     * Add a zero row for each month in [fromMonth, toMonthExclusive) that has none, so growth and
+     * per-month averages are taken over calendar months rather than months with sales.
+     */
+    private List<MonthlyRevenueDTO> withEmptyMonths(List<MonthlyRevenueDTO> revenueList, LocalDate fromMonth,
+                                                    LocalDate toMonthExclusive) {
+        Set<String> present = new HashSet<>();
+        for (MonthlyRevenueDTO month : revenueList) {
+            present.add(month.getMonth());
+        }
 
-            try (ResultSet rs = stmt.executeQuery()) {
-                if (rs.next()) {
-                    MonthlyRevenueDTO dto = new MonthlyRevenueDTO();
-                    dto.setTotalLiquidations(rs.getLong("total_liquidations"));
-                    dto.setTotalRevenue(rs.getBigDecimal("total_revenue"));
-                    dto.setAverageRevenue(rs.getBigDecimal("average_revenue"));
-                    return dto;
-                }
+        for (LocalDate month = fromMonth; month.isBefore(toMonthExclusive); month = month.plusMonths(1)) {
+            if (!present.contains(monthLabel(month))) {
+                MonthlyRevenueDTO dto = toMonthlyRevenue(month, 0, BigDecimal.ZERO);
+                dto.setRevenueSumSquares(BigDecimal.ZERO);
+                revenueList.add(dto);
             }
         }
 
-        return new MonthlyRevenueDTO();
+        return revenueList;
     }
 
-    private MonthlyRevenueDTO mapResultSetToMonthlyRevenue(ResultSet rs) throws SQLException {
+    private static String monthLabel(LocalDate monthStart) {
+        return String.format("%04d-%02d", monthStart.getYear(), monthStart.getMonthValue());
+    }
+
+    private MonthlyRevenueDTO toMonthlyRevenue(LocalDate monthStart, long liquidations, BigDecimal revenue) {
         MonthlyRevenueDTO dto = new MonthlyRevenueDTO();
-        dto.setMonth(rs.getString("month"));
-        dto.setYear(rs.getInt("year"));
-        dto.setMonthNumber(rs.getInt("month_number"));
-        dto.setTotalLiquidations(rs.getLong("total_liquidations"));
-        dto.setTotalRevenue(rs.getBigDecimal("total_revenue"));
-        dto.setAverageRevenue(rs.getBigDecimal("average_revenue"));
+        dto.setMonth(monthLabel(monthStart));
+        dto.setYear(monthStart.getYear());
+        dto.setMonthNumber(monthStart.getMonthValue());
+        dto.setTotalLiquidations(liquidations);
+        dto.setTotalRevenue(revenue);
+        dto.setAverageRevenue(average(revenue, liquidations));
         return dto;
     }
-}
\ No newline at end of file
+
+    private MonthlyRevenueDTO toTotal(long liquidations, BigDecimal revenue) {
+        MonthlyRevenueDTO dto = new MonthlyRevenueDTO();
+        dto.setTotalLiquidations(liquidations);
+        dto.setTotalRevenue(revenue);
+        dto.setAverageRevenue(average(revenue, liquidations));
+        return dto;
+    }
+
+    private BigDecimal average(BigDecimal revenue, long liquidations) {
+        return liquidations > 0
+                ? revenue.divide(BigDecimal.valueOf(liquidations), 2, RoundingMode.HALF_UP)
+                : BigDecimal.ZERO;
+    }
+}
@@ -0,0 +1,172 @@
+package com.pawnshop.dao;
+
+import com.pawnshop.config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Maintains revenue_monthly_rollup, the per-month count / sum / sum-of-squares of liquidation prices.
+ */
+public class RevenueRollupDAO {
+    private static final Logger logger = LoggerFactory.getLogger(RevenueRollupDAO.class);
+
+    private static final String APPLY_DELTA =
+            "INSERT INTO revenue_monthly_rollup " +
+                    "(month_start, liquidation_count, total_revenue, revenue_sum_squares) " +
+                    "VALUES (?, ?, ?, ?) " +
+                    "ON DUPLICATE KEY UPDATE " +
+                    "  liquidation_count = liquidation_count + VALUES(liquidation_count), " +
+                    "  total_revenue = total_revenue + VALUES(total_revenue), " +
+                    "  revenue_sum_squares = revenue_sum_squares + VALUES(revenue_sum_squares)";
+
+    private static final String DELETE_RANGE =
+            "DELETE FROM revenue_monthly_rollup WHERE month_start >= ? AND month_start < ?";
+
+    private static final String FIND_DATE_BOUNDS =
+            "SELECT MIN(liquidation_date), MAX(liquidation_date) FROM liquidation_contract " +
+                    "WHERE liquidation_date >= ? AND liquidation_date < ?";
+
+    // One month per execution over a half-open range, so each is an index range scan
+    // instead of a full scan grouped on a computed month expression.
+    private static final String REBUILD_MONTH =
+            "INSERT INTO revenue_monthly_rollup " +
+                    "(month_start, liquidation_count, total_revenue, revenue_sum_squares) " +
+                    "SELECT ?, COUNT(*), SUM(price), SUM(price * price) " +
+                    "FROM liquidation_contract " +
+                    "WHERE liquidation_date >= ? AND liquidation_date < ? " +
+                    "HAVING COUNT(*) > 0";
+
+    /**
+     * Apply several months' deltas as one JDBC batch, on the connection that writes the
+     * liquidations.
+     */
+    public void applyDeltas(Connection conn, Collection<MonthDelta> deltas) throws SQLException {
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        try (PreparedStatement stmt = conn.prepareStatement(APPLY_DELTA)) {
+            for (MonthDelta delta : deltas) {
+                stmt.setDate(1, Date.valueOf(delta.monthStart));
+                stmt.setLong(2, delta.count);
+                stmt.setBigDecimal(3, delta.totalRevenue);
+                stmt.setBigDecimal(4, delta.sumSquares);
+                stmt.addBatch();
+            }
+            stmt.executeBatch();
+        }
+    }
+
+    /**
+     * Recompute the rollup for months in [fromMonth, toMonthExclusive) from liquidation_contract.
+     * Runs in one transaction; each INSERT ... SELECT locks the liquidation rows it scans, so
+     * concurrent liquidation writes in the range wait for the rebuild instead of being lost.
+     *
+     * @return number of months rebuilt
+     */
+    public int rebuild(LocalDate fromMonth, LocalDate toMonthExclusive) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection()) {
+            return rebuild(conn, fromMonth, toMonthExclusive);
+        }
+    }
+
+    int rebuild(Connection conn, LocalDate fromMonth, LocalDate toMonthExclusive) throws SQLException {
+        Date from = Date.valueOf(fromMonth.withDayOfMonth(1));
+        Date to = Date.valueOf(toMonthExclusive.withDayOfMonth(1));
+
+        conn.setAutoCommit(false);
+        try (PreparedStatement bounds = conn.prepareStatement(FIND_DATE_BOUNDS);
+             PreparedStatement delete = conn.prepareStatement(DELETE_RANGE);
+             PreparedStatement insert = conn.prepareStatement(REBUILD_MONTH)) {
+
+            delete.setDate(1, from);
+            delete.setDate(2, to);
+            delete.executeUpdate();
+
+            // Clamp to the months that actually hold liquidations (two index lookups)
+            LocalDate firstMonth = null;
+            LocalDate lastMonth = null;
+            bounds.setDate(1, from);
+            bounds.setDate(2, to);
+            try (ResultSet rs = bounds.executeQuery()) {
+                if (rs.next() && rs.getDate(1) != null) {
+                    firstMonth = rs.getDate(1).toLocalDate().withDayOfMonth(1);
+                    lastMonth = rs.getDate(2).toLocalDate().withDayOfMonth(1);
+                }
+            }
+
+            int months = 0;
+            if (firstMonth != null) {
+                for (LocalDate month = firstMonth; !month.isAfter(lastMonth); month = month.plusMonths(1)) {
+                    Date monthStart = Date.valueOf(month);
+                    insert.setDate(1, monthStart);
+                    insert.setDate(2, monthStart);
+                    insert.setDate(3, Date.valueOf(month.plusMonths(1)));
+                    insert.addBatch();
+                }
+                for (int updated : insert.executeBatch()) {
+                    months += Math.max(updated, 0);
+                }
+            }
+
+            conn.commit();
+            logger.info("Revenue rollup rebuilt: from={}, to={}, months={}", from, to, months);
+            return months;
+        } catch (SQLException e) {
+            conn.rollback();
+            throw e;
+        } finally {
+            conn.setAutoCommit(true);
+        }
+    }
+
+    /**
+     * Accumulates liquidations into per-month deltas, so a batch of writes touches each month's
+     * rollup row once.
+     */
+    public static final class MonthDelta {
+        private final LocalDate monthStart;
+        private long count;
+        private BigDecimal totalRevenue = BigDecimal.ZERO;
+        private BigDecimal sumSquares = BigDecimal.ZERO;
+
+        private MonthDelta(LocalDate monthStart) {
+            this.monthStart = monthStart;
+        }
+
+        /**
+         * Add a liquidation to its month's delta in {@code deltas}, keyed by month start.
+         */
+        public static void accumulate(Map<LocalDate, MonthDelta> deltas, LocalDate liquidationDate,
+                                      BigDecimal price) {
+            LocalDate monthStart = liquidationDate.withDayOfMonth(1);
+            MonthDelta delta = deltas.computeIfAbsent(monthStart, MonthDelta::new);
+            delta.count++;
+            delta.totalRevenue = delta.totalRevenue.add(price);
+            delta.sumSquares = delta.sumSquares.add(price.multiply(price));
+        }
+
+        public static Map<LocalDate, MonthDelta> newMap() {
+            return new TreeMap<>();
+        }
+
+        public LocalDate getMonthStart() {
+            return monthStart;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public BigDecimal getTotalRevenue() {
+            return totalRevenue;
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.pawnshop.dao;
+
+import java.math.BigDecimal;
+import java.sql.Date;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Maps result set rows to a model through a fixed list of column bindings.
+ * <p>
+ * Each binding names a select expression ({@code "c.full_name"}), how to read it and where to put
+ * it. {@link #columnList()} renders the explicit select list for the DAO's SQL, and column labels
+ * are resolved to indexes once per result set instead of by name on every row. When the select
+ * list came from {@link #columnList()} the labels are in binding order and resolution is a single
+ * positional check per column; other shapes fall back to a scan of the metadata.
+ */
+public final class RowMapper<T> {
+
+    @FunctionalInterface
+    public interface Reader<V> {
+        V read(ResultSet rs, int index) throws SQLException;
+    }
+
+    public static final Reader<Integer> INT = ResultSet::getInt;
+    public static final Reader<Long> LONG = ResultSet::getLong;
+    // null for SQL NULL instead of INT's 0
+    public static final Reader<Integer> NULLABLE_INT = (rs, index) -> rs.getObject(index, Integer.class);
+    public static final Reader<String> STRING = ResultSet::getString;
+    public static final Reader<Boolean> BOOLEAN = ResultSet::getBoolean;
+    public static final Reader<BigDecimal> DECIMAL = ResultSet::getBigDecimal;
+
+    public static final Reader<LocalDate> LOCAL_DATE = (rs, index) -> {
+        Date date = rs.getDate(index);
+        return date != null ? date.toLocalDate() : null;
+    };
+
+    public static final Reader<LocalDateTime> LOCAL_DATE_TIME = (rs, index) -> {
+        Timestamp timestamp = rs.getTimestamp(index);
+        return timestamp != null ? timestamp.toLocalDateTime() : null;
+    };
+
+    private final Supplier<T> factory;
+    private final Column<T, ?>[] columns;
+    private final String columnList;
+
+    private RowMapper(Supplier<T> factory, List<Column<T, ?>> columns) {
+        this.factory = factory;
+        @SuppressWarnings("unchecked")
+        Column<T, ?>[] array = (Column<T, ?>[]) columns.toArray(new Column<?, ?>[0]);
+        this.columns = array;
+
+        StringBuilder list = new StringBuilder();
+        for (Column<T, ?> column : this.columns) {
+            if (list.length() > 0) {
+                list.append(", ");
+            }
+            list.append(column.expression);
+        }
+        this.columnList = list.toString();
+    }
+
+    public static <T> Builder<T> builder(Supplier<T> factory) {
+        return new Builder<>(factory);
+    }
+
+    /**
+     * The bound expressions as a select list, e.g. {@code "c.customer_id, c.full_name, a.username"}.
+     */
+    public String columnList() {
+        return columnList;
+    }
+
+    public List<T> list(ResultSet rs) throws SQLException {
+        int[] indexes = resolve(rs.getMetaData());
+        List<T> rows = new ArrayList<>();
+        while (rs.next()) {
+            rows.add(mapRow(rs, indexes));
+        }
+        return rows;
+    }
+
+    public Optional<T> first(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return Optional.empty();
+        }
+        return Optional.of(mapRow(rs, resolve(rs.getMetaData())));
+    }
+
+    public void forEach(ResultSet rs, Consumer<T> action) throws SQLException {
+        int[] indexes = resolve(rs.getMetaData());
+        while (rs.next()) {
+            action.accept(mapRow(rs, indexes));
+        }
+    }
+
+    private T mapRow(ResultSet rs, int[] indexes) throws SQLException {
+        T target = factory.get();
+        for (int i = 0; i < columns.length; i++) {
+            columns[i].apply(target, rs, indexes[i]);
+        }
+        return target;
+    }
+
+    private int[] resolve(ResultSetMetaData metaData) throws SQLException {
+        int count = metaData.getColumnCount();
+        int[] indexes = new int[columns.length];
+
+        for (int i = 0; i < columns.length; i++) {
+            String label = columns[i].label;
+            if (i < count && label.equalsIgnoreCase(metaData.getColumnLabel(i + 1))) {
+                indexes[i] = i + 1;
+            } else {
+                indexes[i] = findColumn(metaData, count, label);
+            }
+        }
+
+        return indexes;
+    }
+
+    private static int findColumn(ResultSetMetaData metaData, int count, String label) throws SQLException {
+        for (int index = 1; index <= count; index++) {
+            if (label.equalsIgnoreCase(metaData.getColumnLabel(index))) {
+                return index;
+            }
+        }
+        throw new SQLException("Column not in result set: " + label);
+    }
+
+    private static final class Column<T, V> {
+        final String expression;
+        final String label;
+        final Reader<V> reader;
+        final BiConsumer<T, V> setter;
+
+        Column(String expression, Reader<V> reader, BiConsumer<T, V> setter) {
+            this.expression = expression;
+            this.label = expression.substring(expression.lastIndexOf('.') + 1);
+            this.reader = reader;
+            this.setter = setter;
+        }
+
+        void apply(T target, ResultSet rs, int index) throws SQLException {
+            setter.accept(target, reader.read(rs, index));
+        }
+    }
+
+    public static final class Builder<T> {
+        private final Supplier<T> factory;
+        private final List<Column<T, ?>> columns = new ArrayList<>();
+
+        private Builder(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        /**
+         * Bind a column. {@code expression} is a column name, optionally qualified with a table alias;
+         * the part after the last '.' is the label it is read back by.
+         */
+        public <V> Builder<T> column(String expression, Reader<V> reader, BiConsumer<T, V> setter) {
+            columns.add(new Column<>(expression, reader, setter));
+            return this;
+        }
+
+        public RowMapper<T> build() {
+            return new RowMapper<>(factory, columns);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.pawnshop.dao;
+
+import com.pawnshop.config.DatabaseConfig;
+import com.pawnshop.model.SweepCheckpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.*;
+import java.time.LocalDate;
+import java.util.Optional;
+
+/**
+ * Persists background sweep progress in contract_sweep_checkpoint (V8), and hands out the named
+ * lock that keeps a sweep to one application node at a time.
+ */
+public class SweepCheckpointDAO {
+    private static final Logger logger = LoggerFactory.getLogger(SweepCheckpointDAO.class);
+
+    private static final RowMapper<SweepCheckpoint> CHECKPOINT_MAPPER = RowMapper.builder(SweepCheckpoint::new)
+            .column("sweeper", RowMapper.STRING, SweepCheckpoint::setSweeper)
+            .column("cutoff_date", RowMapper.LOCAL_DATE, SweepCheckpoint::setCutoffDate)
+            .column("last_due_date", RowMapper.LOCAL_DATE, SweepCheckpoint::setLastDueDate)
+            .column("last_contract_id", RowMapper.INT, SweepCheckpoint::setLastContractId)
+            .column("processed_count", RowMapper.LONG, SweepCheckpoint::setProcessedCount)
+            .column("started_at", RowMapper.LOCAL_DATE_TIME, SweepCheckpoint::setStartedAt)
+            .column("completed_at", RowMapper.LOCAL_DATE_TIME, SweepCheckpoint::setCompletedAt)
+            .build();
+
+    private static final String SELECT_BY_SWEEPER =
+            "SELECT " + CHECKPOINT_MAPPER.columnList() + " FROM contract_sweep_checkpoint WHERE sweeper = ?";
+
+    private static final String START_SWEEP =
+            "INSERT INTO contract_sweep_checkpoint (sweeper, cutoff_date, last_due_date, last_contract_id, " +
+                    "processed_count, started_at, completed_at) VALUES (?, ?, NULL, NULL, 0, NOW(), NULL) " +
+                    "ON DUPLICATE KEY UPDATE cutoff_date = VALUES(cutoff_date), last_due_date = NULL, " +
+                    "last_contract_id = NULL, processed_count = 0, started_at = NOW(), completed_at = NULL";
+
+    private static final String ADVANCE =
+            "UPDATE contract_sweep_checkpoint SET last_due_date = ?, last_contract_id = ?, " +
+                    "processed_count = processed_count + ? WHERE sweeper = ?";
+
+    private static final String COMPLETE =
+            "UPDATE contract_sweep_checkpoint SET completed_at = NOW() WHERE sweeper = ?";
+
+    // Timeout 0: a node that finds the lock taken skips this run instead of queueing behind it
+    private static final String GET_LOCK = "SELECT GET_LOCK(?, 0)";
+    private static final String RELEASE_LOCK = "SELECT RELEASE_LOCK(?)";
+
+    public Optional<SweepCheckpoint> find(String sweeper) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(SELECT_BY_SWEEPER)) {
+
+            stmt.setString(1, sweeper);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                return CHECKPOINT_MAPPER.first(rs);
+            }
+        }
+    }
+
+    /**
+     * Begin a new sweep of everything due before {@code cutoffDate}, discarding the previous one.
+     */
+    public void start(String sweeper, LocalDate cutoffDate) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(START_SWEEP)) {
+
+            stmt.setString(1, sweeper);
+            stmt.setDate(2, Date.valueOf(cutoffDate));
+            stmt.executeUpdate();
+            logger.info("Sweep started: sweeper={}, cutoff={}", sweeper, cutoffDate);
+        }
+    }
+
+    /**
+     * Record the last key of a chunk. Must run in the chunk's transaction, so the checkpoint
+     * never gets ahead of (or falls behind) the rows it covers.
+     */
+    public void advance(Connection conn, String sweeper, LocalDate lastDueDate, int lastContractId,
+                        int processed) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(ADVANCE)) {
+            stmt.setDate(1, Date.valueOf(lastDueDate));
+            stmt.setInt(2, lastContractId);
+            stmt.setInt(3, processed);
+            stmt.setString(4, sweeper);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * Take the MySQL named lock for {@code sweeper} without waiting, or empty if another node
+     * holds it. GET_LOCK belongs to a session, so the lock keeps its own connection until closed;
+     * if that connection dies the server releases the lock.
+     */
+    public Optional<SweepLock> tryLock(String sweeper) throws SQLException {
+        Connection conn = DatabaseConfig.getDataSource().getConnection();
+        try (PreparedStatement stmt = conn.prepareStatement(GET_LOCK)) {
+            stmt.setString(1, sweeper);
+
+            try (ResultSet rs = stmt.executeQuery()) {
+                // 1 acquired, 0 held elsewhere, NULL on error
+                if (rs.next() && rs.getInt(1) == 1) {
+                    return Optional.of(new SweepLock(conn, sweeper));
+                }
+            }
+        } catch (SQLException e) {
+            conn.close();
+            throw e;
+        }
+        conn.close();
+        return Optional.empty();
+    }
+
+    public void complete(String sweeper) throws SQLException {
+        try (Connection conn = DatabaseConfig.getDataSource().getConnection();
+             PreparedStatement stmt = conn.prepareStatement(COMPLETE)) {
+
+            stmt.setString(1, sweeper);
+            stmt.executeUpdate();
+        }
+    }
+
+    /**
+     * A held sweep lock. Closing it releases the lock and returns the connection to the pool.
+     */
+    public static final class SweepLock implements AutoCloseable {
+        private final Connection conn;
+        private final String sweeper;
+
+        private SweepLock(Connection conn, String sweeper) {
+            this.conn = conn;
+            this.sweeper = sweeper;
+        }
+
+        @Override
+        public void close() throws SQLException {
+            try (Connection held = conn;
+                 PreparedStatement stmt = held.prepareStatement(RELEASE_LOCK)) {
+                stmt.setString(1, sweeper);
+                stmt.executeQuery().close();
+            }
+        }
+    }
+}
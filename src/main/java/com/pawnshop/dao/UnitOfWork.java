@@ -0,0 +1,71 @@
+package com.pawnshop.dao;
+
+import com.pawnshop.config.DatabaseConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Runs several DAO calls on one pooled connection inside one transaction: a single pool
+ * checkout and a single commit, and nothing is left behind if any step fails.
+ * DAOs take part through their {@code Connection}-first overloads.
+ */
+public final class UnitOfWork {
+    private static final Logger logger = LoggerFactory.getLogger(UnitOfWork.class);
+
+    // MySQL ER_DUP_ENTRY
+    private static final int DUPLICATE_ENTRY = 1062;
+
+    @FunctionalInterface
+    public interface Work<T> {
+        T execute(Connection conn) throws SQLException;
+    }
+
+    private UnitOfWork() {
+    }
+
+    /**
+     * Run {@code work} in a transaction and commit it. Any exception rolls the transaction back
+     * and is rethrown.
+     */
+    public static <T> T inTransaction(Work<T> work) throws SQLException {
+        return inTransaction(DatabaseConfig.getDataSource(), work);
+    }
+
+    static <T> T inTransaction(DataSource dataSource, Work<T> work) throws SQLException {
+        try (Connection conn = dataSource.getConnection()) {
+            conn.setAutoCommit(false);
+            try {
+                T result = work.execute(conn);
+                conn.commit();
+                return result;
+            } catch (SQLException | RuntimeException e) {
+                try {
+                    conn.rollback();
+                } catch (SQLException rollbackError) {
+                    logger.warn("Rollback failed", rollbackError);
+                    e.addSuppressed(rollbackError);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Whether {@code e} is a unique-key violation on a key whose name contains {@code column},
+     * e.g. "Duplicate entry 'x' for key 'account.uq_account_username'" for column "username".
+     */
+    public static boolean isDuplicateKey(SQLException e, String column) {
+        for (SQLException current = e; current != null; current = current.getNextException()) {
+            if (current.getErrorCode() == DUPLICATE_ENTRY) {
+                String message = current.getMessage();
+                int keyStart = message != null ? message.lastIndexOf(" for key ") : -1;
+                return keyStart >= 0 && message.substring(keyStart).contains(column);
+            }
+        }
+        return false;
+    }
+}
@@ -5,6 +5,7 @@ public class ApiResponse<T> {
     private String message;
     private T data;
     private String error;
+    private String nextCursor;
 
     public static <T> ApiResponse<T> success(T data) {
         ApiResponse<T> response = new ApiResponse<>();
@@ -21,6 +22,12 @@ public class ApiResponse<T> {
         return response;
     }
 
+    public static <T> ApiResponse<T> page(T data, String nextCursor) {
+        ApiResponse<T> response = success(data);
+        response.setNextCursor(nextCursor);
+        return response;
+    }
+
     public static <T> ApiResponse<T> error(String error) {
         ApiResponse<T> response = new ApiResponse<>();
         response.setSuccess(false);
@@ -60,4 +67,12 @@ public class ApiResponse<T> {
     public void setError(String error) {
         this.error = error;
     }
-}
\ No newline at end of file
+
+    public String getNextCursor() {
+        return nextCursor;
+    }
+
+    public void setNextCursor(String nextCursor) {
+        this.nextCursor = nextCursor;
+    }
+}
@@ -0,0 +1,47 @@
+package com.pawnshop.dto;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (appraised_value, id) for ascending listings by value; the
+ * counterpart of {@link PageCursor} for appraisal-range queries.
+ */
+public class AppraisalCursor {
+    private final BigDecimal value;
+    private final Integer id;
+
+    public AppraisalCursor(BigDecimal value, Integer id) {
+        this.value = value;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = value.toPlainString() + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static AppraisalCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new AppraisalCursor(
+                    new BigDecimal(raw.substring(0, separator)),
+                    Integer.valueOf(raw.substring(separator + 1)));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public BigDecimal getValue() {
+        return value;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+}
@@ -0,0 +1,24 @@
+package com.pawnshop.dto;
+
+import java.util.List;
+
+public class BulkLiquidationRequestDTO {
+    private String liquidationDate; // Format: yyyy-MM-dd; applies to items without their own date
+    private List<LiquidationRequestDTO> items;
+
+    public String getLiquidationDate() {
+        return liquidationDate;
+    }
+
+    public void setLiquidationDate(String liquidationDate) {
+        this.liquidationDate = liquidationDate;
+    }
+
+    public List<LiquidationRequestDTO> getItems() {
+        return items;
+    }
+
+    public void setItems(List<LiquidationRequestDTO> items) {
+        this.items = items;
+    }
+}
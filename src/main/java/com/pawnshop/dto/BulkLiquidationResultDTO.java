@@ -0,0 +1,43 @@
+package com.pawnshop.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class BulkLiquidationResultDTO {
+    private Integer recorded;
+    private BigDecimal totalRevenue;
+    private List<MonthlyRevenueDTO> monthlyDeltas; // Added to each month's revenue rollup
+    private List<LiquidationDTO> liquidations;
+
+    public Integer getRecorded() {
+        return recorded;
+    }
+
+    public void setRecorded(Integer recorded) {
+        this.recorded = recorded;
+    }
+
+    public BigDecimal getTotalRevenue() {
+        return totalRevenue;
+    }
+
+    public void setTotalRevenue(BigDecimal totalRevenue) {
+        this.totalRevenue = totalRevenue;
+    }
+
+    public List<MonthlyRevenueDTO> getMonthlyDeltas() {
+        return monthlyDeltas;
+    }
+
+    public void setMonthlyDeltas(List<MonthlyRevenueDTO> monthlyDeltas) {
+        this.monthlyDeltas = monthlyDeltas;
+    }
+
+    public List<LiquidationDTO> getLiquidations() {
+        return liquidations;
+    }
+
+    public void setLiquidations(List<LiquidationDTO> liquidations) {
+        this.liquidations = liquidations;
+    }
+}
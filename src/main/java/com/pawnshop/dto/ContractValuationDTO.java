@@ -0,0 +1,114 @@
+package com.pawnshop.dto;
+
+import java.math.BigDecimal;
+
+public class ContractValuationDTO {
+    private Integer contractId;
+    private Integer customerId;
+    private String status;
+    private BigDecimal loanAmount;
+    private BigDecimal interestRate;
+    private BigDecimal outstandingPrincipal;
+    private BigDecimal accruedInterest;
+    private BigDecimal redemptionAmount;
+    private Long daysElapsed;
+    private String startDate;
+    private String dueDate;
+    private boolean overdue;
+
+    public Integer getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(Integer contractId) {
+        this.contractId = contractId;
+    }
+
+    public Integer getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Integer customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public BigDecimal getLoanAmount() {
+        return loanAmount;
+    }
+
+    public void setLoanAmount(BigDecimal loanAmount) {
+        this.loanAmount = loanAmount;
+    }
+
+    public BigDecimal getInterestRate() {
+        return interestRate;
+    }
+
+    public void setInterestRate(BigDecimal interestRate) {
+        this.interestRate = interestRate;
+    }
+
+    public BigDecimal getOutstandingPrincipal() {
+        return outstandingPrincipal;
+    }
+
+    public void setOutstandingPrincipal(BigDecimal outstandingPrincipal) {
+        this.outstandingPrincipal = outstandingPrincipal;
+    }
+
+    public BigDecimal getAccruedInterest() {
+        return accruedInterest;
+    }
+
+    public void setAccruedInterest(BigDecimal accruedInterest) {
+        this.accruedInterest = accruedInterest;
+    }
+
+    public BigDecimal getRedemptionAmount() {
+        return redemptionAmount;
+    }
+
+    public void setRedemptionAmount(BigDecimal redemptionAmount) {
+        this.redemptionAmount = redemptionAmount;
+    }
+
+    public Long getDaysElapsed() {
+        return daysElapsed;
+    }
+
+    public void setDaysElapsed(Long daysElapsed) {
+        this.daysElapsed = daysElapsed;
+    }
+
+    public String getStartDate() {
+        return startDate;
+    }
+
+    public void setStartDate(String startDate) {
+        this.startDate = startDate;
+    }
+
+    public String getDueDate() {
+        return dueDate;
+    }
+
+    public void setDueDate(String dueDate) {
+        this.dueDate = dueDate;
+    }
+
+    public boolean isOverdue() {
+        return overdue;
+    }
+
+    public void setOverdue(boolean overdue) {
+        this.overdue = overdue;
+    }
+}
@@ -0,0 +1,79 @@
+package com.pawnshop.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+public class CustomerOverviewDTO {
+    private String asOf;
+    private CustomerResponseDTO profile;
+    private List<ContractValuationDTO> activeContracts;
+    private Integer overdueCount;
+    private BigDecimal outstandingPrincipal;
+    private BigDecimal accruedInterest;
+    private BigDecimal outstandingBalance; // Principal plus interest to redeem every active contract on asOf
+    private List<CustomerTransactionDTO> recentTransactions; // Newest first
+
+    public String getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(String asOf) {
+        this.asOf = asOf;
+    }
+
+    public CustomerResponseDTO getProfile() {
+        return profile;
+    }
+
+    public void setProfile(CustomerResponseDTO profile) {
+        this.profile = profile;
+    }
+
+    public List<ContractValuationDTO> getActiveContracts() {
+        return activeContracts;
+    }
+
+    public void setActiveContracts(List<ContractValuationDTO> activeContracts) {
+        this.activeContracts = activeContracts;
+    }
+
+    public Integer getOverdueCount() {
+        return overdueCount;
+    }
+
+    public void setOverdueCount(Integer overdueCount) {
+        this.overdueCount = overdueCount;
+    }
+
+    public BigDecimal getOutstandingPrincipal() {
+        return outstandingPrincipal;
+    }
+
+    public void setOutstandingPrincipal(BigDecimal outstandingPrincipal) {
+        this.outstandingPrincipal = outstandingPrincipal;
+    }
+
+    public BigDecimal getAccruedInterest() {
+        return accruedInterest;
+    }
+
+    public void setAccruedInterest(BigDecimal accruedInterest) {
+        this.accruedInterest = accruedInterest;
+    }
+
+    public BigDecimal getOutstandingBalance() {
+        return outstandingBalance;
+    }
+
+    public void setOutstandingBalance(BigDecimal outstandingBalance) {
+        this.outstandingBalance = outstandingBalance;
+    }
+
+    public List<CustomerTransactionDTO> getRecentTransactions() {
+        return recentTransactions;
+    }
+
+    public void setRecentTransactions(List<CustomerTransactionDTO> recentTransactions) {
+        this.recentTransactions = recentTransactions;
+    }
+}
@@ -3,7 +3,7 @@ package com.pawnshop.dto;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 
-class CustomerResponseDTO {
+public class CustomerResponseDTO {
     private Integer customerId;
     private Integer accountId;
     private String username;
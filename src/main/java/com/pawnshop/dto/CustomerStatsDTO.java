@@ -0,0 +1,31 @@
+package com.pawnshop.dto;
+
+public class CustomerStatsDTO {
+    private long totalCustomers;
+    private long activeCustomers;
+    private long newThisMonth;
+
+    public long getTotalCustomers() {
+        return totalCustomers;
+    }
+
+    public void setTotalCustomers(long totalCustomers) {
+        this.totalCustomers = totalCustomers;
+    }
+
+    public long getActiveCustomers() {
+        return activeCustomers;
+    }
+
+    public void setActiveCustomers(long activeCustomers) {
+        this.activeCustomers = activeCustomers;
+    }
+
+    public long getNewThisMonth() {
+        return newThisMonth;
+    }
+
+    public void setNewThisMonth(long newThisMonth) {
+        this.newThisMonth = newThisMonth;
+    }
+}
@@ -0,0 +1,50 @@
+package com.pawnshop.dto;
+
+public class CustomerSuggestionDTO {
+    private Integer customerId;
+    private String fullName;
+    private String phoneNumber;
+    private String citizenNumber;
+
+    public CustomerSuggestionDTO() {
+    }
+
+    public CustomerSuggestionDTO(Integer customerId, String fullName, String phoneNumber, String citizenNumber) {
+        this.customerId = customerId;
+        this.fullName = fullName;
+        this.phoneNumber = phoneNumber;
+        this.citizenNumber = citizenNumber;
+    }
+
+    public Integer getCustomerId() {
+        return customerId;
+    }
+
+    public void setCustomerId(Integer customerId) {
+        this.customerId = customerId;
+    }
+
+    public String getFullName() {
+        return fullName;
+    }
+
+    public void setFullName(String fullName) {
+        this.fullName = fullName;
+    }
+
+    public String getPhoneNumber() {
+        return phoneNumber;
+    }
+
+    public void setPhoneNumber(String phoneNumber) {
+        this.phoneNumber = phoneNumber;
+    }
+
+    public String getCitizenNumber() {
+        return citizenNumber;
+    }
+
+    public void setCitizenNumber(String citizenNumber) {
+        this.citizenNumber = citizenNumber;
+    }
+}
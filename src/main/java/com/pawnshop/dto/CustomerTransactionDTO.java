@@ -0,0 +1,42 @@
+package com.pawnshop.dto;
+
+import java.math.BigDecimal;
+
+public class CustomerTransactionDTO {
+    private String type; // loan or liquidation
+    private Integer contractId;
+    private String transactionDate; // Format: yyyy-MM-dd
+    private BigDecimal amount;
+
+    public String getType() {
+        return type;
+    }
+
+    public void setType(String type) {
+        this.type = type;
+    }
+
+    public Integer getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(Integer contractId) {
+        this.contractId = contractId;
+    }
+
+    public String getTransactionDate() {
+        return transactionDate;
+    }
+
+    public void setTransactionDate(String transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
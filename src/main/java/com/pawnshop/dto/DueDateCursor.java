@@ -0,0 +1,48 @@
+package com.pawnshop.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset cursor over (due_date, id) for ascending listings by due date; the counterpart of
+ * {@link PageCursor} for open-contract queries.
+ */
+public class DueDateCursor {
+    private final LocalDate dueDate;
+    private final Integer id;
+
+    public DueDateCursor(LocalDate dueDate, Integer id) {
+        this.dueDate = dueDate;
+        this.id = id;
+    }
+
+    public String encode() {
+        String raw = dueDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static DueDateCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            return new DueDateCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Integer.valueOf(raw.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+
+    public LocalDate getDueDate() {
+        return dueDate;
+    }
+
+    public Integer getId() {
+        return id;
+    }
+}
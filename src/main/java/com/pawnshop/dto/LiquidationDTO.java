@@ -0,0 +1,42 @@
+package com.pawnshop.dto;
+
+import java.math.BigDecimal;
+
+public class LiquidationDTO {
+    private Integer liquidationId;
+    private Integer contractId;
+    private String liquidationDate;
+    private BigDecimal price;
+
+    public Integer getLiquidationId() {
+        return liquidationId;
+    }
+
+    public void setLiquidationId(Integer liquidationId) {
+        this.liquidationId = liquidationId;
+    }
+
+    public Integer getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(Integer contractId) {
+        this.contractId = contractId;
+    }
+
+    public String getLiquidationDate() {
+        return liquidationDate;
+    }
+
+    public void setLiquidationDate(String liquidationDate) {
+        this.liquidationDate = liquidationDate;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
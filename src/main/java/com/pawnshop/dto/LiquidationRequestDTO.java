@@ -0,0 +1,31 @@
+package com.pawnshop.dto;
+
+public class LiquidationRequestDTO {
+    private Integer contractId;
+    private String liquidationDate; // Format: yyyy-MM-dd, default today
+    private String price;
+
+    public Integer getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(Integer contractId) {
+        this.contractId = contractId;
+    }
+
+    public String getLiquidationDate() {
+        return liquidationDate;
+    }
+
+    public void setLiquidationDate(String liquidationDate) {
+        this.liquidationDate = liquidationDate;
+    }
+
+    public String getPrice() {
+        return price;
+    }
+
+    public void setPrice(String price) {
+        this.price = price;
+    }
+}
@@ -0,0 +1,50 @@
+package com.pawnshop.dto;
+
+public class LoginResponseDTO {
+    private AccountResponseDTO account;
+    private String token;
+    private String tokenType;
+    private Long expiresAt;
+
+    public LoginResponseDTO() {
+    }
+
+    public LoginResponseDTO(AccountResponseDTO account, String token, String tokenType, Long expiresAt) {
+        this.account = account;
+        this.token = token;
+        this.tokenType = tokenType;
+        this.expiresAt = expiresAt;
+    }
+
+    public AccountResponseDTO getAccount() {
+        return account;
+    }
+
+    public void setAccount(AccountResponseDTO account) {
+        this.account = account;
+    }
+
+    public String getToken() {
+        return token;
+    }
+
+    public void setToken(String token) {
+        this.token = token;
+    }
+
+    public String getTokenType() {
+        return tokenType;
+    }
+
+    public void setTokenType(String tokenType) {
+        this.tokenType = tokenType;
+    }
+
+    public Long getExpiresAt() {
+        return expiresAt;
+    }
+
+    public void setExpiresAt(Long expiresAt) {
+        this.expiresAt = expiresAt;
+    }
+}
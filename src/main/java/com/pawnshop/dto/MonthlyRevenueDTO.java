@@ -11,6 +11,9 @@ public class MonthlyRevenueDTO {
     private BigDecimal averageRevenue;
     private BigDecimal growthPercentage;
 
+    // Sum of squared liquidation prices; feeds variance in the summary, not serialized
+    private transient BigDecimal revenueSumSquares;
+
     public String getMonth() {
         return month;
     }
@@ -66,4 +69,12 @@ public class MonthlyRevenueDTO {
     public void setGrowthPercentage(BigDecimal growthPercentage) {
         this.growthPercentage = growthPercentage;
     }
+
+    public BigDecimal getRevenueSumSquares() {
+        return revenueSumSquares;
+    }
+
+    public void setRevenueSumSquares(BigDecimal revenueSumSquares) {
+        this.revenueSumSquares = revenueSumSquares;
+    }
 }
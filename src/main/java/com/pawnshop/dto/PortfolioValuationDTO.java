@@ -0,0 +1,69 @@
+package com.pawnshop.dto;
+
+import java.math.BigDecimal;
+
+public class PortfolioValuationDTO {
+    private String asOf;
+    private Integer contractCount;
+    private Integer overdueCount;
+    private BigDecimal totalOutstandingPrincipal;
+    private BigDecimal totalAccruedInterest;
+    private BigDecimal totalRedemptionAmount;
+    private BigDecimal overdueRedemptionAmount;
+
+    public String getAsOf() {
+        return asOf;
+    }
+
+    public void setAsOf(String asOf) {
+        this.asOf = asOf;
+    }
+
+    public Integer getContractCount() {
+        return contractCount;
+    }
+
+    public void setContractCount(Integer contractCount) {
+        this.contractCount = contractCount;
+    }
+
+    public Integer getOverdueCount() {
+        return overdueCount;
+    }
+
+    public void setOverdueCount(Integer overdueCount) {
+        this.overdueCount = overdueCount;
+    }
+
+    public BigDecimal getTotalOutstandingPrincipal() {
+        return totalOutstandingPrincipal;
+    }
+
+    public void setTotalOutstandingPrincipal(BigDecimal totalOutstandingPrincipal) {
+        this.totalOutstandingPrincipal = totalOutstandingPrincipal;
+    }
+
+    public BigDecimal getTotalAccruedInterest() {
+        return totalAccruedInterest;
+    }
+
+    public void setTotalAccruedInterest(BigDecimal totalAccruedInterest) {
+        this.totalAccruedInterest = totalAccruedInterest;
+    }
+
+    public BigDecimal getTotalRedemptionAmount() {
+        return totalRedemptionAmount;
+    }
+
+    public void setTotalRedemptionAmount(BigDecimal totalRedemptionAmount) {
+        this.totalRedemptionAmount = totalRedemptionAmount;
+    }
+
+    public BigDecimal getOverdueRedemptionAmount() {
+        return overdueRedemptionAmount;
+    }
+
+    public void setOverdueRedemptionAmount(BigDecimal overdueRedemptionAmount) {
+        this.overdueRedemptionAmount = overdueRedemptionAmount;
+    }
+}
@@ -0,0 +1,67 @@
+package com.pawnshop.dto;
+
+public class ProductRequestDTO {
+    private Integer contractId;
+    private Integer branchId;
+    private String category;
+    private String name;
+    private String description;
+    private String appraisedValue;
+    private String status; // in_storage | for_sale | redeemed | sold; default in_storage
+
+    public Integer getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(Integer contractId) {
+        this.contractId = contractId;
+    }
+
+    public Integer getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(Integer branchId) {
+        this.branchId = branchId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public void setDescription(String description) {
+        this.description = description;
+    }
+
+    public String getAppraisedValue() {
+        return appraisedValue;
+    }
+
+    public void setAppraisedValue(String appraisedValue) {
+        this.appraisedValue = appraisedValue;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+}
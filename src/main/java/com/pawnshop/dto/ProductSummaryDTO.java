@@ -0,0 +1,69 @@
+package com.pawnshop.dto;
+
+import java.math.BigDecimal;
+
+public class ProductSummaryDTO {
+    private Integer productId;
+    private Integer branchId;
+    private String category;
+    private String name;
+    private BigDecimal appraisedValue;
+    private String status;
+    private String createdAt;
+
+    public Integer getProductId() {
+        return productId;
+    }
+
+    public void setProductId(Integer productId) {
+        this.productId = productId;
+    }
+
+    public Integer getBranchId() {
+        return branchId;
+    }
+
+    public void setBranchId(Integer branchId) {
+        this.branchId = branchId;
+    }
+
+    public String getCategory() {
+        return category;
+    }
+
+    public void setCategory(String category) {
+        this.category = category;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public void setName(String name) {
+        this.name = name;
+    }
+
+    public BigDecimal getAppraisedValue() {
+        return appraisedValue;
+    }
+
+    public void setAppraisedValue(BigDecimal appraisedValue) {
+        this.appraisedValue = appraisedValue;
+    }
+
+    public String getStatus() {
+        return status;
+    }
+
+    public void setStatus(String status) {
+        this.status = status;
+    }
+
+    public String getCreatedAt() {
+        return createdAt;
+    }
+
+    public void setCreatedAt(String createdAt) {
+        this.createdAt = createdAt;
+    }
+}
@@ -0,0 +1,32 @@
+package com.pawnshop.dto;
+
+import java.util.List;
+
+public class RevenueDashboardDTO {
+    private List<MonthlyRevenueDTO> series;
+    private RevenueSummaryDTO summary;
+
+    public RevenueDashboardDTO() {
+    }
+
+    public RevenueDashboardDTO(List<MonthlyRevenueDTO> series, RevenueSummaryDTO summary) {
+        this.series = series;
+        this.summary = summary;
+    }
+
+    public List<MonthlyRevenueDTO> getSeries() {
+        return series;
+    }
+
+    public void setSeries(List<MonthlyRevenueDTO> series) {
+        this.series = series;
+    }
+
+    public RevenueSummaryDTO getSummary() {
+        return summary;
+    }
+
+    public void setSummary(RevenueSummaryDTO summary) {
+        this.summary = summary;
+    }
+}
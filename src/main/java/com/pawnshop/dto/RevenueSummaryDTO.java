@@ -10,6 +10,10 @@ public class RevenueSummaryDTO {
     private BigDecimal highestRevenueAmount;
     private String lowestRevenueMonth;
     private BigDecimal lowestRevenueAmount;
+    private BigDecimal averagePerMonth;
+    private BigDecimal liquidationPriceVariance;
+    private BigDecimal liquidationPriceStdDev;
+    private BigDecimal latestGrowthPercentage;
 
     public BigDecimal getTotalRevenue() {
         return totalRevenue;
@@ -66,4 +70,36 @@ public class RevenueSummaryDTO {
     public void setLowestRevenueAmount(BigDecimal lowestRevenueAmount) {
         this.lowestRevenueAmount = lowestRevenueAmount;
     }
+
+    public BigDecimal getAveragePerMonth() {
+        return averagePerMonth;
+    }
+
+    public void setAveragePerMonth(BigDecimal averagePerMonth) {
+        this.averagePerMonth = averagePerMonth;
+    }
+
+    public BigDecimal getLiquidationPriceVariance() {
+        return liquidationPriceVariance;
+    }
+
+    public void setLiquidationPriceVariance(BigDecimal liquidationPriceVariance) {
+        this.liquidationPriceVariance = liquidationPriceVariance;
+    }
+
+    public BigDecimal getLiquidationPriceStdDev() {
+        return liquidationPriceStdDev;
+    }
+
+    public void setLiquidationPriceStdDev(BigDecimal liquidationPriceStdDev) {
+        this.liquidationPriceStdDev = liquidationPriceStdDev;
+    }
+
+    public BigDecimal getLatestGrowthPercentage() {
+        return latestGrowthPercentage;
+    }
+
+    public void setLatestGrowthPercentage(BigDecimal latestGrowthPercentage) {
+        this.latestGrowthPercentage = latestGrowthPercentage;
+    }
 }
\ No newline at end of file
@@ -0,0 +1,186 @@
+package com.pawnshop.filter;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Immutable prefix trie mapping request paths to the access they require. Built once from a rules
+ * file; {@link #resolve} walks the request URI in place, so a lookup allocates nothing.
+ * <p>
+ * The longest matching rule wins. An exact rule only matches the whole path and beats a prefix
+ * rule ending at the same node. Paths without a matching rule require a logged-in account.
+ */
+final class AccessRuleTrie {
+
+    enum Access {
+        PUBLIC,
+        AUTHENTICATED,
+        ADMIN,
+        ADMIN_OR_EMPLOYEE
+    }
+
+    private static final char[] NO_LABELS = new char[0];
+    private static final Node[] NO_CHILDREN = new Node[0];
+
+    private final Node root;
+    private final int ruleCount;
+
+    private AccessRuleTrie(Node root, int ruleCount) {
+        this.root = root;
+        this.ruleCount = ruleCount;
+    }
+
+    int ruleCount() {
+        return ruleCount;
+    }
+
+    /**
+     * Access required for the path that starts at {@code offset} in {@code uri} (the request URI
+     * after the context path).
+     */
+    Access resolve(String uri, int offset) {
+        Node node = root;
+        Access best = Access.AUTHENTICATED;
+
+        for (int i = offset; i < uri.length(); i++) {
+            if (node.prefixAccess != null) {
+                best = node.prefixAccess;
+            }
+            node = node.child(uri.charAt(i));
+            if (node == null) {
+                return best;
+            }
+        }
+
+        if (node.exactAccess != null) {
+            return node.exactAccess;
+        }
+        return node.prefixAccess != null ? node.prefixAccess : best;
+    }
+
+    /**
+     * Parse rules, one per line: {@code <access> <prefix|exact> <path>}. Blank lines and lines
+     * starting with '#' are ignored.
+     *
+     * @throws IllegalArgumentException on a malformed line
+     */
+    static AccessRuleTrie load(InputStream input) throws IOException {
+        Builder builder = new Builder();
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+
+            String[] fields = line.split("\\s+");
+            if (fields.length != 3 || !fields[2].startsWith("/")) {
+                throw new IllegalArgumentException("Invalid access rule at line " + lineNumber + ": " + line);
+            }
+
+            Access access;
+            try {
+                access = Access.valueOf(fields[0].toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException e) {
+                throw new IllegalArgumentException("Unknown access '" + fields[0] + "' at line " + lineNumber);
+            }
+
+            switch (fields[1].toLowerCase(Locale.ROOT)) {
+                case "prefix":
+                    builder.prefix(fields[2], access);
+                    break;
+                case "exact":
+                    builder.exact(fields[2], access);
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown match '" + fields[1] + "' at line " + lineNumber);
+            }
+        }
+
+        return builder.build();
+    }
+
+    static final class Builder {
+        private final MutableNode root = new MutableNode();
+        private int ruleCount;
+
+        Builder prefix(String path, Access access) {
+            node(path).prefixAccess = access;
+            ruleCount++;
+            return this;
+        }
+
+        Builder exact(String path, Access access) {
+            node(path).exactAccess = access;
+            ruleCount++;
+            return this;
+        }
+
+        AccessRuleTrie build() {
+            return new AccessRuleTrie(root.freeze(), ruleCount);
+        }
+
+        private MutableNode node(String path) {
+            MutableNode node = root;
+            for (int i = 0; i < path.length(); i++) {
+                node = node.children.computeIfAbsent(path.charAt(i), c -> new MutableNode());
+            }
+            return node;
+        }
+    }
+
+    private static final class MutableNode {
+        final TreeMap<Character, MutableNode> children = new TreeMap<>();
+        Access prefixAccess;
+        Access exactAccess;
+
+        Node freeze() {
+            if (children.isEmpty()) {
+                return new Node(NO_LABELS, NO_CHILDREN, prefixAccess, exactAccess);
+            }
+
+            char[] labels = new char[children.size()];
+            Node[] frozen = new Node[children.size()];
+            int i = 0;
+            for (Map.Entry<Character, MutableNode> entry : children.entrySet()) {
+                labels[i] = entry.getKey();
+                frozen[i] = entry.getValue().freeze();
+                i++;
+            }
+            return new Node(labels, frozen, prefixAccess, exactAccess);
+        }
+    }
+
+    /**
+     * Children are kept as a sorted label array next to a parallel node array.
+     */
+    private static final class Node {
+        final char[] labels;
+        final Node[] children;
+        final Access prefixAccess;
+        final Access exactAccess;
+
+        Node(char[] labels, Node[] children, Access prefixAccess, Access exactAccess) {
+            this.labels = labels;
+            this.children = children;
+            this.prefixAccess = prefixAccess;
+            this.exactAccess = exactAccess;
+        }
+
+        Node child(char label) {
+            int index = Arrays.binarySearch(labels, label);
+            return index >= 0 ? children[index] : null;
+        }
+    }
+}
@@ -1,8 +1,9 @@
 package com.pawnshop.filter;
 
-import com.google.gson.Gson;
-import com.pawnshop.dto.ApiResponse;
 import com.pawnshop.model.Account;
+import com.pawnshop.security.AuthTokenCodec;
+import com.pawnshop.service.AccountService;
+import com.pawnshop.servlet.ApiResponseWriter;
 import jakarta.servlet.*;
 import jakarta.servlet.annotation.WebFilter;
 import jakarta.servlet.http.HttpServletRequest;
@@ -12,60 +13,30 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
-import java.util.Arrays;
-import java.util.List;
+import java.io.InputStream;
+import java.util.Optional;
 
-@WebFilter("/*")
+@WebFilter(value = "/*", asyncSupported = true)
 public class AuthenticationFilter implements Filter {
     private static final Logger logger = LoggerFactory.getLogger(AuthenticationFilter.class);
-    private static final Gson gson = new Gson();
-
-    // Public endpoints that don't require authentication
-    private static final List<String> PUBLIC_ENDPOINTS = Arrays.asList(
-            "/login.jsp",
-            "/auth/login",
-            "/api/auth/login",
-            "/api/health",
-            "/css/",
-            "/js/",
-            "/images/",
-            "/error/"
-    );
-
-    // Admin-only API endpoints
-    private static final List<String> ADMIN_API_ENDPOINTS = Arrays.asList(
-            "/api/accounts/register",
-            "/api/accounts/all",
-            "/api/accounts/update",
-            "/api/accounts/delete",
-            "/api/accounts/deactivate",
-            "/api/employees/",
-            "/api/revenue/"
-    );
-
-    // Admin and Employee API endpoints
-    private static final List<String> ADMIN_EMPLOYEE_API_ENDPOINTS = Arrays.asList(
-            "/api/customers/"
-    );
-
-    // Admin-only JSP pages
-    private static final List<String> ADMIN_JSP_PAGES = Arrays.asList(
-            "/accounts.jsp",
-            "/employees.jsp",
-            "/reports.jsp"
-    );
-
-    // Admin and Employee JSP pages
-    private static final List<String> ADMIN_EMPLOYEE_JSP_PAGES = Arrays.asList(
-            "/customers.jsp",
-            "/pawn-contracts.jsp",
-            "/products.jsp",
-            "/liquidations.jsp"
-    );
+
+    private static final String DEFAULT_ACCESS_RULES = "access-rules.conf";
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private AccountService accountService;
+    private AccessRuleTrie accessRules;
+    private AuthTokenCodec tokenCodec;
 
     @Override
     public void init(FilterConfig filterConfig) throws ServletException {
-        logger.info("AuthenticationFilter initialized");
+        accountService = new AccountService();
+        accessRules = loadAccessRules(filterConfig);
+        try {
+            tokenCodec = AuthTokenCodec.fromConfig().orElse(null);
+        } catch (IllegalStateException e) {
+            throw new ServletException(e.getMessage(), e);
+        }
+        logger.info("AuthenticationFilter initialized with {} access rules", accessRules.ruleCount());
     }
 
     @Override
@@ -87,44 +58,70 @@ public class AuthenticationFilter implements Filter {
             return;
         }
 
-        String path = httpRequest.getRequestURI().substring(httpRequest.getContextPath().length());
-        boolean isApiRequest = path.startsWith("/api/");
+        // Resolve against the URI in place instead of cutting the context path off it
+        String uri = httpRequest.getRequestURI();
+        int pathStart = httpRequest.getContextPath().length();
+        AccessRuleTrie.Access access = accessRules.resolve(uri, pathStart);
+        boolean isApiRequest = uri.startsWith("/api/", pathStart);
 
         // Allow public endpoints
-        if (isPublicEndpoint(path)) {
+        if (access == AccessRuleTrie.Access.PUBLIC) {
             chain.doFilter(request, response);
             return;
         }
 
-        // Check authentication
-        HttpSession session = httpRequest.getSession(false);
-        if (session == null || session.getAttribute("account") == null) {
-            if (isApiRequest) {
-                sendUnauthorizedResponse(httpResponse, "Authentication required");
-            } else {
-                httpResponse.sendRedirect(httpRequest.getContextPath() +
-                        "/login.jsp?error=Please login to access this page");
+        Account account;
+        String authorization = isApiRequest && tokenCodec != null ? httpRequest.getHeader("Authorization") : null;
+
+        if (authorization != null && authorization.startsWith(BEARER_PREFIX)) {
+            // Stateless token mode: no session is looked up or created
+            account = authenticateToken(authorization.substring(BEARER_PREFIX.length()).trim());
+            if (account == null) {
+                sendUnauthorizedResponse(httpResponse, "Invalid or expired token");
+                return;
+            }
+        } else {
+            // Check authentication
+            HttpSession session = httpRequest.getSession(false);
+            if (session == null || session.getAttribute("account") == null) {
+                if (isApiRequest) {
+                    sendUnauthorizedResponse(httpResponse, "Authentication required");
+                } else {
+                    httpResponse.sendRedirect(httpRequest.getContextPath() +
+                            "/login.jsp?error=Please login to access this page");
+                }
+                return;
             }
-            return;
-        }
 
-        Account account = (Account) session.getAttribute("account");
+            account = (Account) session.getAttribute("account");
+
+            // The session copy is from login time; role and active flag come from the shared status
+            // cache, which account changes invalidate, so deactivation takes effect on the next request
+            try {
+                AccountService.AccountStatus status = accountService.getAccountStatus(account.getAccountId());
+                account.setActive(status.isActive());
+                if (status.getRole() != null) {
+                    account.setRole(status.getRole());
+                }
+            } catch (AccountService.ServiceException e) {
+                logger.warn("Account status unavailable, using session copy: accountId={}", account.getAccountId());
+            }
 
-        // Check if account is active
-        if (!account.isActive()) {
-            session.invalidate();
-            if (isApiRequest) {
-                sendUnauthorizedResponse(httpResponse, "Account is inactive");
-            } else {
-                httpResponse.sendRedirect(httpRequest.getContextPath() +
-                        "/login.jsp?error=Your account has been deactivated");
+            // Check if account is active
+            if (!account.isActive()) {
+                session.invalidate();
+                if (isApiRequest) {
+                    sendUnauthorizedResponse(httpResponse, "Account is inactive");
+                } else {
+                    httpResponse.sendRedirect(httpRequest.getContextPath() +
+                            "/login.jsp?error=Your account has been deactivated");
+                }
+                return;
             }
-            return;
         }
 
         // Check admin-only access
-        if ((isAdminApiEndpoint(path) || isAdminJspPage(path)) &&
-                account.getRole() != Account.Role.ADMIN) {
+        if (access == AccessRuleTrie.Access.ADMIN && account.getRole() != Account.Role.ADMIN) {
             if (isApiRequest) {
                 sendForbiddenResponse(httpResponse, "Admin access required");
             } else {
@@ -135,7 +132,7 @@ public class AuthenticationFilter implements Filter {
         }
 
         // Check admin/employee access
-        if ((isAdminEmployeeApiEndpoint(path) || isAdminEmployeeJspPage(path)) &&
+        if (access == AccessRuleTrie.Access.ADMIN_OR_EMPLOYEE &&
                 account.getRole() != Account.Role.ADMIN && account.getRole() != Account.Role.EMPLOYEE) {
             if (isApiRequest) {
                 sendForbiddenResponse(httpResponse, "Admin or Employee access required");
@@ -157,43 +154,64 @@ public class AuthenticationFilter implements Filter {
         logger.info("AuthenticationFilter destroyed");
     }
 
-    private boolean isPublicEndpoint(String path) {
-        return PUBLIC_ENDPOINTS.stream().anyMatch(path::startsWith);
-    }
+    /**
+     * Account for a bearer token, or null if the token is forged, expired, revoked (its version is
+     * behind the account's) or belongs to an inactive account. Role comes from the status cache, which
+     * is re-read from the database when the token's version is ahead of it.
+     */
+    private Account authenticateToken(String token) {
+        Optional<AuthTokenCodec.Claims> claims = tokenCodec.verify(token, System.currentTimeMillis() / 1000);
+        if (claims.isEmpty()) {
+            return null;
+        }
 
-    private boolean isAdminApiEndpoint(String path) {
-        return ADMIN_API_ENDPOINTS.stream().anyMatch(path::startsWith);
-    }
+        AccountService.AccountStatus status;
+        try {
+            status = accountService.getAccountStatus(claims.get().getAccountId(), claims.get().getTokenVersion());
+        } catch (AccountService.ServiceException e) {
+            logger.warn("Account status unavailable, rejecting token: accountId={}", claims.get().getAccountId());
+            return null;
+        }
 
-    private boolean isAdminJspPage(String path) {
-        return ADMIN_JSP_PAGES.stream().anyMatch(path::equals);
-    }
+        if (!status.isActive() || status.getTokenVersion() != claims.get().getTokenVersion()) {
+            return null;
+        }
 
-    private boolean isAdminEmployeeApiEndpoint(String path) {
-        return ADMIN_EMPLOYEE_API_ENDPOINTS.stream().anyMatch(path::startsWith);
+        Account account = new Account();
+        account.setAccountId(status.getAccountId());
+        account.setRole(status.getRole());
+        account.setActive(true);
+        account.setTokenVersion(status.getTokenVersion());
+        return account;
     }
 
-    private boolean isAdminEmployeeJspPage(String path) {
-        return ADMIN_EMPLOYEE_JSP_PAGES.stream().anyMatch(path::equals);
+    /**
+     * Compile the rules named by the "accessRules" init parameter (a classpath resource,
+     * access-rules.conf by default). Missing or malformed rules stop the application from starting.
+     */
+    private AccessRuleTrie loadAccessRules(FilterConfig filterConfig) throws ServletException {
+        String resource = filterConfig.getInitParameter("accessRules");
+        if (resource == null || resource.trim().isEmpty()) {
+            resource = DEFAULT_ACCESS_RULES;
+        }
+
+        try (InputStream input = AuthenticationFilter.class.getClassLoader().getResourceAsStream(resource.trim())) {
+            if (input == null) {
+                throw new ServletException("Access rules not found on classpath: " + resource);
+            }
+            return AccessRuleTrie.load(input);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new ServletException("Failed to load access rules from " + resource, e);
+        }
     }
 
     private void sendUnauthorizedResponse(HttpServletResponse response, String message)
             throws IOException {
-        response.setStatus(HttpServletResponse.SC_UNAUTHORIZED);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        ApiResponse<?> apiResponse = ApiResponse.error(message);
-        response.getWriter().write(gson.toJson(apiResponse));
+        ApiResponseWriter.writeError(response, HttpServletResponse.SC_UNAUTHORIZED, message);
     }
 
     private void sendForbiddenResponse(HttpServletResponse response, String message)
             throws IOException {
-        response.setStatus(HttpServletResponse.SC_FORBIDDEN);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        ApiResponse<?> apiResponse = ApiResponse.error(message);
-        response.getWriter().write(gson.toJson(apiResponse));
+        ApiResponseWriter.writeError(response, HttpServletResponse.SC_FORBIDDEN, message);
     }
 }
\ No newline at end of file
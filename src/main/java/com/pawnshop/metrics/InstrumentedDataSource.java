@@ -0,0 +1,201 @@
+package com.pawnshop.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import javax.sql.DataSource;
+import java.io.PrintWriter;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.Optional;
+
+/**
+ * Wraps a Hikari pool to record connection borrow time and, per DAO method, statement latency,
+ * rows read or affected and failures into {@link JdbcMetrics}.
+ * <p>
+ * Connections, prepared statements and result sets are JDK dynamic proxies over the driver's
+ * objects. The DAO method is found once per {@code prepareStatement} by walking the stack to the
+ * nearest {@code com.pawnshop.dao} frame; latency covers statement execution, not row fetching.
+ */
+public class InstrumentedDataSource implements DataSource {
+    private static final String DAO_PACKAGE = "com.pawnshop.dao.";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final HikariDataSource delegate;
+    private final JdbcMetrics metrics;
+    private final JdbcMetrics.PoolStats poolStats;
+
+    public InstrumentedDataSource(HikariDataSource delegate, JdbcMetrics metrics) {
+        this.delegate = delegate;
+        this.metrics = metrics;
+        metrics.registerPool(delegate);
+        this.poolStats = metrics.pool(delegate.getPoolName());
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        long start = System.nanoTime();
+        Connection conn;
+        try {
+            conn = delegate.getConnection();
+        } catch (SQLException e) {
+            poolStats.borrowErrors.increment();
+            throw e;
+        }
+        poolStats.borrowTime.record(System.nanoTime() - start);
+        return proxy(Connection.class, new ConnectionHandler(conn));
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Credentials are configured per pool");
+    }
+
+    @Override
+    public PrintWriter getLogWriter() throws SQLException {
+        return delegate.getLogWriter();
+    }
+
+    @Override
+    public void setLogWriter(PrintWriter out) throws SQLException {
+        delegate.setLogWriter(out);
+    }
+
+    @Override
+    public void setLoginTimeout(int seconds) throws SQLException {
+        delegate.setLoginTimeout(seconds);
+    }
+
+    @Override
+    public int getLoginTimeout() throws SQLException {
+        return delegate.getLoginTimeout();
+    }
+
+    @Override
+    public java.util.logging.Logger getParentLogger() throws SQLFeatureNotSupportedException {
+        return delegate.getParentLogger();
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> iface) throws SQLException {
+        if (iface.isInstance(delegate)) {
+            return iface.cast(delegate);
+        }
+        return delegate.unwrap(iface);
+    }
+
+    @Override
+    public boolean isWrapperFor(Class<?> iface) throws SQLException {
+        return iface.isInstance(delegate) || delegate.isWrapperFor(iface);
+    }
+
+    /**
+     * Simple class and method name of the nearest DAO frame, e.g. {@code CustomerDAO.findPage}.
+     */
+    private static String callingDaoMethod() {
+        Optional<StackWalker.StackFrame> frame = STACK_WALKER.walk(frames -> frames
+                .filter(f -> f.getClassName().startsWith(DAO_PACKAGE)
+                        && !f.getClassName().endsWith(".UnitOfWork")
+                        && !f.getClassName().endsWith(".RowMapper"))
+                .findFirst());
+        return frame
+                .map(f -> f.getClassName().substring(DAO_PACKAGE.length()) + "." + f.getMethodName())
+                .orElse("other");
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+        private final Connection target;
+
+        ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (result instanceof PreparedStatement && method.getName().startsWith("prepare")) {
+                JdbcMetrics.QueryStats stats = metrics.query(callingDaoMethod());
+                return proxy(PreparedStatement.class, new StatementHandler((PreparedStatement) result, stats));
+            }
+            return result;
+        }
+    }
+
+    private static final class StatementHandler implements InvocationHandler {
+        private final PreparedStatement target;
+        private final JdbcMetrics.QueryStats stats;
+
+        StatementHandler(PreparedStatement target, JdbcMetrics.QueryStats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if (!method.getName().startsWith("execute")) {
+                return InstrumentedDataSource.invoke(target, method, args);
+            }
+
+            long start = System.nanoTime();
+            Object result;
+            try {
+                result = InstrumentedDataSource.invoke(target, method, args);
+            } catch (Throwable e) {
+                stats.errors.increment();
+                throw e;
+            }
+            stats.latency.record(System.nanoTime() - start);
+
+            if (result instanceof ResultSet) {
+                return proxy(ResultSet.class, new ResultSetHandler((ResultSet) result, stats));
+            }
+            if (result instanceof Integer || result instanceof Long) {
+                stats.rows.add(Math.max(0, ((Number) result).longValue()));
+            } else if (result instanceof int[]) {
+                for (int count : (int[]) result) {
+                    stats.rows.add(Math.max(0, count));
+                }
+            }
+            return result;
+        }
+    }
+
+    private static final class ResultSetHandler implements InvocationHandler {
+        private final ResultSet target;
+        private final JdbcMetrics.QueryStats stats;
+
+        ResultSetHandler(ResultSet target, JdbcMetrics.QueryStats stats) {
+            this.target = target;
+            this.stats = stats;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            Object result = InstrumentedDataSource.invoke(target, method, args);
+            if (Boolean.TRUE.equals(result) && "next".equals(method.getName())) {
+                stats.rows.increment();
+            }
+            return result;
+        }
+    }
+}
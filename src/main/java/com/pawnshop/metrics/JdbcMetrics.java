@@ -0,0 +1,164 @@
+package com.pawnshop.metrics;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+
+import java.io.PrintWriter;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.ToIntFunction;
+
+/**
+ * Connection pool and DAO query metrics collected by {@link InstrumentedDataSource}, written in the
+ * Prometheus text exposition format so a local scraper can read them as-is.
+ */
+public final class JdbcMetrics {
+    private static final JdbcMetrics INSTANCE = new JdbcMetrics();
+
+    private final ConcurrentMap<String, PoolStats> pools = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, QueryStats> queries = new ConcurrentHashMap<>();
+
+    // Package-private so tests can record into their own instance
+    JdbcMetrics() {
+    }
+
+    public static JdbcMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public void registerPool(HikariDataSource dataSource) {
+        pools.put(dataSource.getPoolName(), new PoolStats(dataSource));
+    }
+
+    PoolStats pool(String poolName) {
+        return pools.get(poolName);
+    }
+
+    /**
+     * Stats for a DAO method, named like {@code CustomerDAO.findPage}.
+     */
+    QueryStats query(String method) {
+        return queries.computeIfAbsent(method, name -> new QueryStats());
+    }
+
+    public void writeText(PrintWriter out) {
+        double[] bounds = LatencyHistogram.boundsSeconds();
+        Map<String, PoolStats> sortedPools = new TreeMap<>(pools);
+        Map<String, QueryStats> sortedQueries = new TreeMap<>(queries);
+
+        // Every sample of a family must follow its TYPE line, so each gauge loops over the pools
+        poolGauge(out, sortedPools, "pawnshop_pool_active_connections", "Connections in use",
+                HikariPoolMXBean::getActiveConnections);
+        poolGauge(out, sortedPools, "pawnshop_pool_idle_connections", "Connections idle in the pool",
+                HikariPoolMXBean::getIdleConnections);
+        poolGauge(out, sortedPools, "pawnshop_pool_total_connections", "Connections open",
+                HikariPoolMXBean::getTotalConnections);
+        poolGauge(out, sortedPools, "pawnshop_pool_threads_waiting", "Threads waiting for a connection",
+                HikariPoolMXBean::getThreadsAwaitingConnection);
+        gaugeHeader(out, "pawnshop_pool_max_connections", "Configured maximum pool size");
+        for (Map.Entry<String, PoolStats> entry : sortedPools.entrySet()) {
+            sample(out, "pawnshop_pool_max_connections", "pool=\"" + entry.getKey() + "\"",
+                    entry.getValue().dataSource.getMaximumPoolSize());
+        }
+
+        histogramHeader(out, "pawnshop_pool_borrow_seconds", "Time to obtain a connection from the pool");
+        for (Map.Entry<String, PoolStats> entry : sortedPools.entrySet()) {
+            histogram(out, "pawnshop_pool_borrow_seconds", "pool=\"" + entry.getKey() + "\"",
+                    bounds, entry.getValue().borrowTime);
+        }
+        counterHeader(out, "pawnshop_pool_borrow_errors_total", "Failed connection borrows (timeouts)");
+        for (Map.Entry<String, PoolStats> entry : sortedPools.entrySet()) {
+            sample(out, "pawnshop_pool_borrow_errors_total", "pool=\"" + entry.getKey() + "\"",
+                    entry.getValue().borrowErrors.sum());
+        }
+
+        histogramHeader(out, "pawnshop_query_seconds", "Statement execution time per DAO method");
+        for (Map.Entry<String, QueryStats> entry : sortedQueries.entrySet()) {
+            histogram(out, "pawnshop_query_seconds", "method=\"" + entry.getKey() + "\"",
+                    bounds, entry.getValue().latency);
+        }
+        counterHeader(out, "pawnshop_query_rows_total", "Rows read or affected per DAO method");
+        for (Map.Entry<String, QueryStats> entry : sortedQueries.entrySet()) {
+            sample(out, "pawnshop_query_rows_total", "method=\"" + entry.getKey() + "\"",
+                    entry.getValue().rows.sum());
+        }
+        counterHeader(out, "pawnshop_query_errors_total", "Failed statements per DAO method");
+        for (Map.Entry<String, QueryStats> entry : sortedQueries.entrySet()) {
+            sample(out, "pawnshop_query_errors_total", "method=\"" + entry.getKey() + "\"",
+                    entry.getValue().errors.sum());
+        }
+
+        out.flush();
+    }
+
+    private static void poolGauge(PrintWriter out, Map<String, PoolStats> pools, String name, String help,
+                                  ToIntFunction<HikariPoolMXBean> value) {
+        gaugeHeader(out, name, help);
+        for (Map.Entry<String, PoolStats> entry : pools.entrySet()) {
+            // Null until the pool has started
+            HikariPoolMXBean pool = entry.getValue().dataSource.getHikariPoolMXBean();
+            if (pool != null) {
+                sample(out, name, "pool=\"" + entry.getKey() + "\"", value.applyAsInt(pool));
+            }
+        }
+    }
+
+    static void histogram(PrintWriter out, String name, String labels, double[] bounds,
+                          LatencyHistogram histogram) {
+        long[] counts = histogram.counts();
+        long cumulative = 0;
+        for (int i = 0; i < bounds.length; i++) {
+            cumulative += counts[i];
+            sample(out, name + "_bucket", labels + ",le=\"" + bounds[i] + "\"", cumulative);
+        }
+        cumulative += counts[bounds.length];
+        sample(out, name + "_bucket", labels + ",le=\"+Inf\"", cumulative);
+        out.print(name + "_sum{" + labels + "} ");
+        out.println(histogram.sumSeconds());
+        sample(out, name + "_count", labels, cumulative);
+    }
+
+    static void sample(PrintWriter out, String name, String labels, long value) {
+        out.print(name);
+        out.print('{');
+        out.print(labels);
+        out.print("} ");
+        out.println(value);
+    }
+
+    static void gaugeHeader(PrintWriter out, String name, String help) {
+        header(out, name, help, "gauge");
+    }
+
+    static void counterHeader(PrintWriter out, String name, String help) {
+        header(out, name, help, "counter");
+    }
+
+    static void histogramHeader(PrintWriter out, String name, String help) {
+        header(out, name, help, "histogram");
+    }
+
+    private static void header(PrintWriter out, String name, String help, String type) {
+        out.println("# HELP " + name + " " + help);
+        out.println("# TYPE " + name + " " + type);
+    }
+
+    static final class PoolStats {
+        final HikariDataSource dataSource;
+        final LatencyHistogram borrowTime = new LatencyHistogram();
+        final LongAdder borrowErrors = new LongAdder();
+
+        PoolStats(HikariDataSource dataSource) {
+            this.dataSource = dataSource;
+        }
+    }
+
+    static final class QueryStats {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final LongAdder rows = new LongAdder();
+        final LongAdder errors = new LongAdder();
+    }
+}
@@ -0,0 +1,70 @@
+package com.pawnshop.metrics;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Fixed-bucket latency histogram. Recording is a short scan over the bucket bounds and two
+ * {@link LongAdder} increments, so it is safe and cheap on every query and connection borrow.
+ */
+public final class LatencyHistogram {
+    // Upper bounds, 100 us to 10 s; anything slower lands in the overflow bucket
+    private static final long[] BOUNDS_NANOS = {
+            micros(100), micros(250), micros(500),
+            millis(1), micros(2500), millis(5), millis(10), millis(25), millis(50),
+            millis(100), millis(250), millis(500),
+            millis(1000), millis(2500), millis(5000), millis(10000)
+    };
+
+    private final LongAdder[] buckets = new LongAdder[BOUNDS_NANOS.length + 1];
+    private final LongAdder sumNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < buckets.length; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    public void record(long nanos) {
+        int bucket = 0;
+        while (bucket < BOUNDS_NANOS.length && nanos > BOUNDS_NANOS[bucket]) {
+            bucket++;
+        }
+        buckets[bucket].increment();
+        sumNanos.add(nanos);
+    }
+
+    /**
+     * Upper bound of each bucket in seconds; the last bucket (overflow) has no bound.
+     */
+    public static double[] boundsSeconds() {
+        double[] seconds = new double[BOUNDS_NANOS.length];
+        for (int i = 0; i < BOUNDS_NANOS.length; i++) {
+            seconds[i] = BOUNDS_NANOS[i] / 1_000_000_000.0;
+        }
+        return seconds;
+    }
+
+    /**
+     * Per-bucket counts, not cumulative. Length is {@code boundsSeconds().length + 1}.
+     */
+    public long[] counts() {
+        long[] counts = new long[buckets.length];
+        for (int i = 0; i < buckets.length; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    public double sumSeconds() {
+        return sumNanos.sum() / 1_000_000_000.0;
+    }
+
+    private static long micros(long micros) {
+        return TimeUnit.MICROSECONDS.toNanos(micros);
+    }
+
+    private static long millis(long millis) {
+        return TimeUnit.MILLISECONDS.toNanos(millis);
+    }
+}
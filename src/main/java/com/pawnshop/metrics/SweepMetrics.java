@@ -0,0 +1,127 @@
+package com.pawnshop.metrics;
+
+import java.io.PrintWriter;
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Throughput and lag of background sweepers, written alongside {@link JdbcMetrics} in the
+ * Prometheus text format. Throughput is the rate of {@code pawnshop_sweep_items_total}; lag is
+ * how long the oldest item still waiting for the sweeper has been eligible.
+ */
+public final class SweepMetrics {
+    private static final SweepMetrics INSTANCE = new SweepMetrics();
+
+    private final ConcurrentMap<String, SweeperStats> sweepers = new ConcurrentHashMap<>();
+
+    private SweepMetrics() {
+    }
+
+    public static SweepMetrics getInstance() {
+        return INSTANCE;
+    }
+
+    public SweeperStats sweeper(String name) {
+        return sweepers.computeIfAbsent(name, key -> new SweeperStats());
+    }
+
+    public void writeText(PrintWriter out) {
+        double[] bounds = LatencyHistogram.boundsSeconds();
+        Map<String, SweeperStats> sorted = new TreeMap<>(sweepers);
+        long nowSeconds = System.currentTimeMillis() / 1000;
+
+        JdbcMetrics.counterHeader(out, "pawnshop_sweep_items_total", "Items processed by the sweeper");
+        for (Map.Entry<String, SweeperStats> entry : sorted.entrySet()) {
+            JdbcMetrics.sample(out, "pawnshop_sweep_items_total", label(entry.getKey()),
+                    entry.getValue().items.sum());
+        }
+        JdbcMetrics.counterHeader(out, "pawnshop_sweep_chunks_total", "Chunks committed by the sweeper");
+        for (Map.Entry<String, SweeperStats> entry : sorted.entrySet()) {
+            JdbcMetrics.sample(out, "pawnshop_sweep_chunks_total", label(entry.getKey()),
+                    entry.getValue().chunks.sum());
+        }
+        JdbcMetrics.counterHeader(out, "pawnshop_sweep_errors_total", "Sweeper runs aborted by an error");
+        for (Map.Entry<String, SweeperStats> entry : sorted.entrySet()) {
+            JdbcMetrics.sample(out, "pawnshop_sweep_errors_total", label(entry.getKey()),
+                    entry.getValue().errors.sum());
+        }
+        JdbcMetrics.histogramHeader(out, "pawnshop_sweep_chunk_seconds", "Time to process and commit one chunk");
+        for (Map.Entry<String, SweeperStats> entry : sorted.entrySet()) {
+            JdbcMetrics.histogram(out, "pawnshop_sweep_chunk_seconds", label(entry.getKey()),
+                    bounds, entry.getValue().chunkTime);
+        }
+
+        JdbcMetrics.gaugeHeader(out, "pawnshop_sweep_backlog_items", "Items eligible but not yet processed");
+        for (Map.Entry<String, SweeperStats> entry : sorted.entrySet()) {
+            JdbcMetrics.sample(out, "pawnshop_sweep_backlog_items", label(entry.getKey()),
+                    entry.getValue().backlog);
+        }
+        JdbcMetrics.gaugeHeader(out, "pawnshop_sweep_lag_seconds",
+                "How long the oldest unprocessed item has been eligible; 0 when caught up");
+        for (Map.Entry<String, SweeperStats> entry : sorted.entrySet()) {
+            JdbcMetrics.sample(out, "pawnshop_sweep_lag_seconds", label(entry.getKey()),
+                    entry.getValue().lagSeconds(nowSeconds));
+        }
+        JdbcMetrics.gaugeHeader(out, "pawnshop_sweep_last_success_timestamp_seconds",
+                "Unix time the last sweep finished; 0 if none has");
+        for (Map.Entry<String, SweeperStats> entry : sorted.entrySet()) {
+            JdbcMetrics.sample(out, "pawnshop_sweep_last_success_timestamp_seconds", label(entry.getKey()),
+                    entry.getValue().lastSuccessSeconds);
+        }
+
+        out.flush();
+    }
+
+    private static String label(String sweeper) {
+        return "sweeper=\"" + sweeper + "\"";
+    }
+
+    public static final class SweeperStats {
+        private final LongAdder items = new LongAdder();
+        private final LongAdder chunks = new LongAdder();
+        private final LongAdder errors = new LongAdder();
+        private final LatencyHistogram chunkTime = new LatencyHistogram();
+
+        // Written by the sweeper thread only
+        private volatile long backlog;
+        private volatile long eligibleSinceSeconds;
+        private volatile long lastSuccessSeconds;
+
+        private SweeperStats() {
+        }
+
+        public void recordChunk(int processed, long nanos) {
+            items.add(processed);
+            chunks.increment();
+            chunkTime.record(nanos);
+            backlog = Math.max(0, backlog - processed);
+        }
+
+        public void recordError() {
+            errors.increment();
+        }
+
+        /**
+         * @param oldestEligibleDay first day the oldest waiting item was eligible, or null if none
+         */
+        public void recordBacklog(long count, LocalDate oldestEligibleDay) {
+            backlog = count;
+            eligibleSinceSeconds = oldestEligibleDay != null
+                    ? oldestEligibleDay.atStartOfDay(ZoneId.systemDefault()).toEpochSecond() : 0;
+        }
+
+        public void recordSuccess() {
+            lastSuccessSeconds = System.currentTimeMillis() / 1000;
+        }
+
+        private long lagSeconds(long nowSeconds) {
+            long since = eligibleSinceSeconds;
+            return backlog > 0 && since > 0 ? Math.max(0, nowSeconds - since) : 0;
+        }
+    }
+}
@@ -8,6 +8,7 @@ public class Account {
     private String passwordHash;
     private Role role;
     private boolean isActive;
+    private int tokenVersion;
     private LocalDateTime createdAt;
     private LocalDateTime updatedAt;
 
@@ -72,6 +73,14 @@ public class Account {
         this.passwordHash = passwordHash;
     }
 
+    public int getTokenVersion() {
+        return tokenVersion;
+    }
+
+    public void setTokenVersion(int tokenVersion) {
+        this.tokenVersion = tokenVersion;
+    }
+
     public Role getRole() {
         return role;
     }
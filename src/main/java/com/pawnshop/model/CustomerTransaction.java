@@ -0,0 +1,74 @@
+package com.pawnshop.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * One money movement on a customer's history: a loan paid out when a contract opens, or the
+ * sale of the collateral when it is liquidated.
+ */
+public class CustomerTransaction {
+    private Type type;
+    private Integer contractId;
+    private LocalDate transactionDate;
+    private BigDecimal amount;
+
+    public enum Type {
+        LOAN("loan"),
+        LIQUIDATION("liquidation");
+
+        private final String value;
+
+        Type(String value) {
+            this.value = value;
+        }
+
+        public String getValue() {
+            return value;
+        }
+
+        public static Type fromString(String value) {
+            for (Type type : Type.values()) {
+                if (type.value.equalsIgnoreCase(value)) {
+                    return type;
+                }
+            }
+            throw new IllegalArgumentException("Unknown transaction type: " + value);
+        }
+    }
+
+    public CustomerTransaction() {
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public void setType(Type type) {
+        this.type = type;
+    }
+
+    public Integer getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(Integer contractId) {
+        this.contractId = contractId;
+    }
+
+    public LocalDate getTransactionDate() {
+        return transactionDate;
+    }
+
+    public void setTransactionDate(LocalDate transactionDate) {
+        this.transactionDate = transactionDate;
+    }
+
+    public BigDecimal getAmount() {
+        return amount;
+    }
+
+    public void setAmount(BigDecimal amount) {
+        this.amount = amount;
+    }
+}
@@ -0,0 +1,46 @@
+package com.pawnshop.model;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+public class Liquidation {
+    private Integer liquidationId;
+    private Integer contractId;
+    private LocalDate liquidationDate;
+    private BigDecimal price;
+
+    public Liquidation() {
+    }
+
+    public Integer getLiquidationId() {
+        return liquidationId;
+    }
+
+    public void setLiquidationId(Integer liquidationId) {
+        this.liquidationId = liquidationId;
+    }
+
+    public Integer getContractId() {
+        return contractId;
+    }
+
+    public void setContractId(Integer contractId) {
+        this.contractId = contractId;
+    }
+
+    public LocalDate getLiquidationDate() {
+        return liquidationDate;
+    }
+
+    public void setLiquidationDate(LocalDate liquidationDate) {
+        this.liquidationDate = liquidationDate;
+    }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
+
+    public void setPrice(BigDecimal price) {
+        this.price = price;
+    }
+}
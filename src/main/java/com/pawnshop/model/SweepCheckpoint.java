@@ -0,0 +1,75 @@
+package com.pawnshop.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+public class SweepCheckpoint {
+    private String sweeper;
+    // Contracts due before this day are in the sweep
+    private LocalDate cutoffDate;
+    // Key of the last committed contract; null until the first chunk commits
+    private LocalDate lastDueDate;
+    private Integer lastContractId;
+    private long processedCount;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    public SweepCheckpoint() {
+    }
+
+    public String getSweeper() {
+        return sweeper;
+    }
+
+    public void setSweeper(String sweeper) {
+        this.sweeper = sweeper;
+    }
+
+    public LocalDate getCutoffDate() {
+        return cutoffDate;
+    }
+
+    public void setCutoffDate(LocalDate cutoffDate) {
+        this.cutoffDate = cutoffDate;
+    }
+
+    public LocalDate getLastDueDate() {
+        return lastDueDate;
+    }
+
+    public void setLastDueDate(LocalDate lastDueDate) {
+        this.lastDueDate = lastDueDate;
+    }
+
+    public Integer getLastContractId() {
+        return lastContractId;
+    }
+
+    public void setLastContractId(Integer lastContractId) {
+        this.lastContractId = lastContractId;
+    }
+
+    public long getProcessedCount() {
+        return processedCount;
+    }
+
+    public void setProcessedCount(long processedCount) {
+        this.processedCount = processedCount;
+    }
+
+    public LocalDateTime getStartedAt() {
+        return startedAt;
+    }
+
+    public void setStartedAt(LocalDateTime startedAt) {
+        this.startedAt = startedAt;
+    }
+
+    public LocalDateTime getCompletedAt() {
+        return completedAt;
+    }
+
+    public void setCompletedAt(LocalDateTime completedAt) {
+        this.completedAt = completedAt;
+    }
+}
@@ -0,0 +1,515 @@
+package com.pawnshop.search;
+
+import com.pawnshop.dto.CustomerSuggestionDTO;
+import com.pawnshop.model.Customer;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+
+/**
+ * Memory-resident trigram index over customer name, phone number and citizen number, used for
+ * typeahead at the counter.
+ * <p>
+ * Every field is normalized (lowercase, Vietnamese diacritics stripped; phone and citizen number
+ * reduced to letters and digits) and indexed as the trigrams of {@code " " + field}, the leading
+ * space marking the start of a word. A query of three or more characters matches anywhere in a
+ * field, a two-character query matches the start of a word. Posting lists are sorted primitive
+ * int arrays of customer ids. Lookups share a read lock and only wait while a customer is being
+ * added, changed or removed.
+ */
+public class CustomerSuggestIndex {
+    private static final int MIN_QUERY_LENGTH = 2;
+    private static final int[] NO_IDS = new int[0];
+
+    private static final int SCORE_EXACT = 3;
+    private static final int SCORE_FIELD_PREFIX = 2;
+    private static final int SCORE_WORD_PREFIX = 1;
+    private static final int SCORE_SUBSTRING = 0;
+    private static final int NO_MATCH = -1;
+
+    private static final Comparator<Match> BEST_FIRST = Comparator
+            .comparingInt((Match match) -> match.score).reversed()
+            .thenComparing(match -> match.entry.nameKey)
+            .thenComparingInt(match -> match.entry.customerId);
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Object rebuildLock = new Object();
+    private Map<Long, IntPostings> postings = new HashMap<>();
+    private Map<Integer, Entry> entries = new HashMap<>();
+    // Latest put (or null for a remove) per customer since the running rebuild started
+    private Map<Integer, Entry> changesDuringRebuild;
+    private volatile boolean loaded;
+
+    /**
+     * Producer of customers to index, typically a DAO method that walks a result set row by row.
+     */
+    @FunctionalInterface
+    public interface Source<E extends Exception> {
+        void forEach(Consumer<Customer> action) throws E;
+    }
+
+    public boolean isLoaded() {
+        return loaded;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return entries.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int trigramCount() {
+        lock.readLock().lock();
+        try {
+            return postings.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Replace the whole index with the customers produced by {@code source}. The new index is built
+     * off to the side and swapped in, so lookups keep being answered from the old one meanwhile.
+     * Puts and removes made while the source is being read are recorded and replayed onto the new
+     * index before the swap, so they are not lost to a snapshot taken before they happened.
+     */
+    public <E extends Exception> void rebuild(Source<E> source) throws E {
+        synchronized (rebuildLock) {
+            lock.writeLock().lock();
+            try {
+                changesDuringRebuild = new HashMap<>();
+            } finally {
+                lock.writeLock().unlock();
+            }
+
+            try {
+                Map<Long, IntPostings> newPostings = new HashMap<>();
+                Map<Integer, Entry> newEntries = new HashMap<>();
+
+                source.forEach(customer -> apply(newPostings, newEntries, customer.getCustomerId(),
+                        new Entry(customer)));
+                newPostings.values().forEach(IntPostings::trim);
+
+                lock.writeLock().lock();
+                try {
+                    changesDuringRebuild.forEach((customerId, entry) ->
+                            apply(newPostings, newEntries, customerId, entry));
+                    postings = newPostings;
+                    entries = newEntries;
+                    loaded = true;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            } finally {
+                lock.writeLock().lock();
+                try {
+                    changesDuringRebuild = null;
+                } finally {
+                    lock.writeLock().unlock();
+                }
+            }
+        }
+    }
+
+    /**
+     * Add a customer, or re-index it if it is already present.
+     */
+    public void put(Customer customer) {
+        Entry entry = new Entry(customer);
+
+        lock.writeLock().lock();
+        try {
+            apply(postings, entries, entry.customerId, entry);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(entry.customerId, entry);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Integer customerId) {
+        lock.writeLock().lock();
+        try {
+            apply(postings, entries, customerId, null);
+            if (changesDuringRebuild != null) {
+                changesDuringRebuild.put(customerId, null);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Index {@code entry} under {@code customerId}, replacing any previous entry, or drop the
+     * customer when {@code entry} is null.
+     */
+    private static void apply(Map<Long, IntPostings> postings, Map<Integer, Entry> entries,
+                              Integer customerId, Entry entry) {
+        Entry previous = entry != null ? entries.put(customerId, entry) : entries.remove(customerId);
+        if (previous != null) {
+            unlink(postings, previous);
+        }
+        if (entry != null) {
+            link(postings, entry);
+        }
+    }
+
+    /**
+     * Up to {@code limit} customers matching {@code query}, best first: exact field matches, then
+     * field prefixes, then word prefixes, then matches inside a word. Letters in the query are
+     * matched against the name, digits against phone and citizen number.
+     */
+    public List<CustomerSuggestionDTO> search(String query, int limit) {
+        String text = hasLetter(query) ? normalizeText(query) : "";
+        String identifier = hasDigit(query) ? normalizeIdentifier(query) : "";
+
+        if (text.length() < MIN_QUERY_LENGTH && identifier.length() < MIN_QUERY_LENGTH) {
+            return new ArrayList<>();
+        }
+
+        PriorityQueue<Match> best = new PriorityQueue<>(limit + 1, BEST_FIRST.reversed());
+
+        lock.readLock().lock();
+        try {
+            int[] candidates = union(candidates(text), candidates(identifier));
+
+            for (int customerId : candidates) {
+                Entry entry = entries.get(customerId);
+                int score = entry.score(text, identifier);
+                if (score == NO_MATCH) {
+                    continue;
+                }
+
+                best.offer(new Match(entry, score));
+                if (best.size() > limit) {
+                    best.poll();
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        List<Match> matches = new ArrayList<>(best);
+        matches.sort(BEST_FIRST);
+
+        List<CustomerSuggestionDTO> suggestions = new ArrayList<>(matches.size());
+        for (Match match : matches) {
+            Entry entry = match.entry;
+            suggestions.add(new CustomerSuggestionDTO(
+                    entry.customerId, entry.fullName, entry.phoneNumber, entry.citizenNumber));
+        }
+        return suggestions;
+    }
+
+    /**
+     * Ids present in the posting list of every trigram of {@code term}, ascending. Terms shorter
+     * than three characters are looked up as a word prefix through their space-led trigram.
+     */
+    private int[] candidates(String term) {
+        if (term.length() < MIN_QUERY_LENGTH) {
+            return NO_IDS;
+        }
+
+        long[] trigrams = term.length() < 3 ? trigrams(" " + term) : trigrams(term);
+        IntPostings[] lists = new IntPostings[trigrams.length];
+        for (int i = 0; i < trigrams.length; i++) {
+            lists[i] = postings.get(trigrams[i]);
+            if (lists[i] == null) {
+                return NO_IDS;
+            }
+        }
+
+        // Start from the rarest trigram so every later step only probes a short list
+        Arrays.sort(lists, Comparator.comparingInt(list -> list.size));
+
+        int[] result = Arrays.copyOf(lists[0].ids, lists[0].size);
+        int size = result.length;
+        for (int i = 1; i < lists.length && size > 0; i++) {
+            int kept = 0;
+            for (int j = 0; j < size; j++) {
+                if (lists[i].contains(result[j])) {
+                    result[kept++] = result[j];
+                }
+            }
+            size = kept;
+        }
+        return size == result.length ? result : Arrays.copyOf(result, size);
+    }
+
+    private static int[] union(int[] a, int[] b) {
+        if (a.length == 0) {
+            return b;
+        }
+        if (b.length == 0) {
+            return a;
+        }
+
+        int[] result = new int[a.length + b.length];
+        int i = 0;
+        int j = 0;
+        int size = 0;
+        while (i < a.length && j < b.length) {
+            if (a[i] < b[j]) {
+                result[size++] = a[i++];
+            } else if (a[i] > b[j]) {
+                result[size++] = b[j++];
+            } else {
+                result[size++] = a[i++];
+                j++;
+            }
+        }
+        while (i < a.length) {
+            result[size++] = a[i++];
+        }
+        while (j < b.length) {
+            result[size++] = b[j++];
+        }
+        return Arrays.copyOf(result, size);
+    }
+
+    private static void link(Map<Long, IntPostings> postings, Entry entry) {
+        for (long trigram : entry.trigrams()) {
+            postings.computeIfAbsent(trigram, key -> new IntPostings()).add(entry.customerId);
+        }
+    }
+
+    private static void unlink(Map<Long, IntPostings> postings, Entry entry) {
+        for (long trigram : entry.trigrams()) {
+            IntPostings list = postings.get(trigram);
+            if (list != null && list.remove(entry.customerId) && list.size == 0) {
+                postings.remove(trigram);
+            }
+        }
+    }
+
+    /**
+     * Distinct trigrams of {@code value}, each packed into a long as three 16-bit chars.
+     */
+    private static long[] trigrams(String value) {
+        if (value.length() < 3) {
+            return new long[0];
+        }
+
+        long[] trigrams = new long[value.length() - 2];
+        for (int i = 0; i < trigrams.length; i++) {
+            trigrams[i] = ((long) value.charAt(i) << 32)
+                    | ((long) value.charAt(i + 1) << 16)
+                    | value.charAt(i + 2);
+        }
+        return distinct(trigrams);
+    }
+
+    private static long[] distinct(long[] values) {
+        if (values.length < 2) {
+            return values;
+        }
+
+        Arrays.sort(values);
+        int size = 1;
+        for (int i = 1; i < values.length; i++) {
+            if (values[i] != values[size - 1]) {
+                values[size++] = values[i];
+            }
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Lowercase, strip diacritics and collapse everything but letters and digits to single spaces.
+     */
+    static String normalizeText(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        String decomposed = Normalizer.normalize(value, Normalizer.Form.NFD);
+        StringBuilder normalized = new StringBuilder(decomposed.length());
+        boolean pendingSpace = false;
+
+        for (int i = 0; i < decomposed.length(); i++) {
+            char c = decomposed.charAt(i);
+            if (Character.getType(c) == Character.NON_SPACING_MARK) {
+                continue;
+            }
+
+            c = foldChar(c);
+            if (Character.isLetterOrDigit(c)) {
+                if (pendingSpace && normalized.length() > 0) {
+                    normalized.append(' ');
+                }
+                normalized.append(c);
+                pendingSpace = false;
+            } else {
+                pendingSpace = true;
+            }
+        }
+        return normalized.toString();
+    }
+
+    /**
+     * Like {@link #normalizeText} but drops separators entirely, so "090-123 4567" and "0901234567" agree.
+     */
+    static String normalizeIdentifier(String value) {
+        if (value == null) {
+            return "";
+        }
+
+        StringBuilder normalized = new StringBuilder(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            char c = foldChar(value.charAt(i));
+            if (Character.isLetterOrDigit(c)) {
+                normalized.append(c);
+            }
+        }
+        return normalized.toString();
+    }
+
+    private static char foldChar(char c) {
+        char lower = Character.toLowerCase(c);
+        // Vietnamese d with stroke (U+0111) has no NFD decomposition
+        return lower == '\u0111' ? 'd' : lower;
+    }
+
+    private static boolean hasLetter(String value) {
+        return value != null && value.chars().anyMatch(Character::isLetter);
+    }
+
+    private static boolean hasDigit(String value) {
+        return value != null && value.chars().anyMatch(Character::isDigit);
+    }
+
+    /**
+     * Score of {@code term} against a space-led field key, or {@link #NO_MATCH}.
+     */
+    private static int fieldScore(String fieldKey, String term) {
+        if (term.length() < MIN_QUERY_LENGTH) {
+            return NO_MATCH;
+        }
+
+        String wordStart = " " + term;
+        if (fieldKey.equals(wordStart)) {
+            return SCORE_EXACT;
+        }
+        if (fieldKey.startsWith(wordStart)) {
+            return SCORE_FIELD_PREFIX;
+        }
+        if (fieldKey.contains(wordStart)) {
+            return SCORE_WORD_PREFIX;
+        }
+        if (term.length() >= 3 && fieldKey.contains(term)) {
+            return SCORE_SUBSTRING;
+        }
+        return NO_MATCH;
+    }
+
+    private static final class Entry {
+        final int customerId;
+        final String fullName;
+        final String phoneNumber;
+        final String citizenNumber;
+        final String nameKey;
+        final String phoneKey;
+        final String citizenKey;
+
+        Entry(Customer customer) {
+            this.customerId = customer.getCustomerId();
+            this.fullName = customer.getFullName();
+            this.phoneNumber = customer.getPhoneNumber();
+            this.citizenNumber = customer.getCitizenNumber();
+            this.nameKey = " " + normalizeText(customer.getFullName());
+            this.phoneKey = " " + normalizeIdentifier(customer.getPhoneNumber());
+            this.citizenKey = " " + normalizeIdentifier(customer.getCitizenNumber());
+        }
+
+        long[] trigrams() {
+            long[] name = CustomerSuggestIndex.trigrams(nameKey);
+            long[] phone = CustomerSuggestIndex.trigrams(phoneKey);
+            long[] citizen = CustomerSuggestIndex.trigrams(citizenKey);
+
+            long[] all = Arrays.copyOf(name, name.length + phone.length + citizen.length);
+            System.arraycopy(phone, 0, all, name.length, phone.length);
+            System.arraycopy(citizen, 0, all, name.length + phone.length, citizen.length);
+            return distinct(all);
+        }
+
+        int score(String text, String identifier) {
+            int score = fieldScore(nameKey, text);
+            score = Math.max(score, fieldScore(phoneKey, identifier));
+            return Math.max(score, fieldScore(citizenKey, identifier));
+        }
+    }
+
+    private static final class Match {
+        final Entry entry;
+        final int score;
+
+        Match(Entry entry, int score) {
+            this.entry = entry;
+            this.score = score;
+        }
+    }
+
+    /**
+     * Sorted, duplicate-free list of customer ids backed by a growable int array.
+     */
+    private static final class IntPostings {
+        int[] ids = new int[4];
+        int size;
+
+        void add(int id) {
+            if (size == 0 || ids[size - 1] < id) {
+                ensureCapacity();
+                ids[size++] = id;
+                return;
+            }
+
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos >= 0) {
+                return;
+            }
+            pos = -pos - 1;
+            ensureCapacity();
+            System.arraycopy(ids, pos, ids, pos + 1, size - pos);
+            ids[pos] = id;
+            size++;
+        }
+
+        boolean remove(int id) {
+            int pos = Arrays.binarySearch(ids, 0, size, id);
+            if (pos < 0) {
+                return false;
+            }
+            System.arraycopy(ids, pos + 1, ids, pos, size - pos - 1);
+            size--;
+            return true;
+        }
+
+        boolean contains(int id) {
+            return Arrays.binarySearch(ids, 0, size, id) >= 0;
+        }
+
+        void trim() {
+            if (ids.length > size) {
+                ids = Arrays.copyOf(ids, size);
+            }
+        }
+
+        private void ensureCapacity() {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, Math.max(4, size * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,158 @@
+package com.pawnshop.security;
+
+import com.pawnshop.config.SecurityConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Issues and verifies compact HMAC-SHA256 signed tokens for stateless API authentication.
+ * <p>
+ * A token is {@code base64url(payload) "." base64url(hmac(payload))} with the payload
+ * {@code "v1.<accountId>.<tokenVersion>.<expiresAtEpochSecond>"}. It carries no role: callers
+ * read role, active flag and current token version from the account status cache, so a token
+ * stops working once its account is deactivated or its token version is incremented: at once on
+ * the node that made the change, within the cache TTL on the others.
+ */
+public final class AuthTokenCodec {
+    private static final Logger logger = LoggerFactory.getLogger(AuthTokenCodec.class);
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final String FORMAT_VERSION = "v1";
+    private static final int MIN_SECRET_BYTES = 32;
+    private static final Base64.Encoder ENCODER = Base64.getUrlEncoder().withoutPadding();
+    private static final Base64.Decoder DECODER = Base64.getUrlDecoder();
+
+    private final SecretKeySpec key;
+    private final long ttlSeconds;
+    private final ThreadLocal<Mac> macs;
+
+    public AuthTokenCodec(byte[] secret, long ttlSeconds) {
+        if (secret == null || secret.length < MIN_SECRET_BYTES) {
+            throw new IllegalArgumentException("Token secret must be at least " + MIN_SECRET_BYTES + " bytes");
+        }
+        if (ttlSeconds <= 0) {
+            throw new IllegalArgumentException("Token TTL must be positive");
+        }
+        this.key = new SecretKeySpec(secret, ALGORITHM);
+        this.ttlSeconds = ttlSeconds;
+        // Mac instances are not thread-safe; one per thread avoids a provider lookup per request
+        this.macs = ThreadLocal.withInitial(this::newMac);
+    }
+
+    /**
+     * The codec configured in security.properties, or empty if auth.token.enabled is not true.
+     *
+     * @throws IllegalStateException if token mode is enabled without a usable secret
+     */
+    public static Optional<AuthTokenCodec> fromConfig() {
+        if (!Boolean.parseBoolean(SecurityConfig.getString("auth.token.enabled", "false"))) {
+            return Optional.empty();
+        }
+
+        String secret = SecurityConfig.getString("auth.token.secret", "");
+        try {
+            AuthTokenCodec codec = new AuthTokenCodec(Base64.getDecoder().decode(secret.trim()),
+                    SecurityConfig.getLong("auth.token.ttlSeconds", 900));
+            logger.info("Token authentication enabled: ttlSeconds={}", codec.ttlSeconds);
+            return Optional.of(codec);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalStateException("Invalid token configuration: " + e.getMessage(), e);
+        }
+    }
+
+    public long getTtlSeconds() {
+        return ttlSeconds;
+    }
+
+    /**
+     * Token for the account valid until {@code expiresAtEpochSecond}.
+     */
+    public String issue(int accountId, int tokenVersion, long expiresAtEpochSecond) {
+        String payload = FORMAT_VERSION + "." + accountId + "." + tokenVersion + "." + expiresAtEpochSecond;
+        byte[] payloadBytes = payload.getBytes(StandardCharsets.US_ASCII);
+        return ENCODER.encodeToString(payloadBytes) + "." + ENCODER.encodeToString(sign(payloadBytes));
+    }
+
+    /**
+     * Claims of a correctly signed, unexpired token; empty for anything else.
+     */
+    public Optional<Claims> verify(String token, long nowEpochSecond) {
+        int separator = token != null ? token.indexOf('.') : -1;
+        if (separator <= 0 || separator == token.length() - 1) {
+            return Optional.empty();
+        }
+
+        byte[] payloadBytes;
+        byte[] signature;
+        try {
+            payloadBytes = DECODER.decode(token.substring(0, separator));
+            signature = DECODER.decode(token.substring(separator + 1));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+
+        if (!MessageDigest.isEqual(sign(payloadBytes), signature)) {
+            return Optional.empty();
+        }
+
+        String[] fields = new String(payloadBytes, StandardCharsets.US_ASCII).split("\\.");
+        if (fields.length != 4 || !FORMAT_VERSION.equals(fields[0])) {
+            return Optional.empty();
+        }
+
+        try {
+            Claims claims = new Claims(Integer.parseInt(fields[1]), Integer.parseInt(fields[2]),
+                    Long.parseLong(fields[3]));
+            return claims.expiresAt > nowEpochSecond ? Optional.of(claims) : Optional.empty();
+        } catch (NumberFormatException e) {
+            return Optional.empty();
+        }
+    }
+
+    private byte[] sign(byte[] payload) {
+        Mac mac = macs.get();
+        mac.reset();
+        return mac.doFinal(payload);
+    }
+
+    private Mac newMac() {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    public static final class Claims {
+        private final int accountId;
+        private final int tokenVersion;
+        private final long expiresAt;
+
+        Claims(int accountId, int tokenVersion, long expiresAt) {
+            this.accountId = accountId;
+            this.tokenVersion = tokenVersion;
+            this.expiresAt = expiresAt;
+        }
+
+        public int getAccountId() {
+            return accountId;
+        }
+
+        public int getTokenVersion() {
+            return tokenVersion;
+        }
+
+        public long getExpiresAt() {
+            return expiresAt;
+        }
+    }
+}
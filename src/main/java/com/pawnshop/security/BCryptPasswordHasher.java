@@ -0,0 +1,127 @@
+package com.pawnshop.security;
+
+import com.pawnshop.config.SecurityConfig;
+import org.mindrot.jbcrypt.BCrypt;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * BCrypt with a work factor picked for this machine: the largest cost whose hash fits within the
+ * configured time budget. Each cost step doubles the work, so one timed hash at the lowest
+ * allowed cost is enough to estimate the rest. The cost is part of every BCrypt hash
+ * ("$2a$12$..."), which is how {@link #needsRehash} finds hashes made with another cost.
+ */
+public class BCryptPasswordHasher implements PasswordHasher {
+    private static final Logger logger = LoggerFactory.getLogger(BCryptPasswordHasher.class);
+
+    private static final int BCRYPT_MIN_COST = 4;
+    private static final int BCRYPT_MAX_COST = 31;
+    private static final String CALIBRATION_PASSWORD = "calibration-password";
+
+    private final int cost;
+
+    static final class Holder {
+        static final PasswordHasher INSTANCE = fromConfig();
+
+        private Holder() {
+        }
+    }
+
+    public BCryptPasswordHasher(int cost) {
+        if (cost < BCRYPT_MIN_COST || cost > BCRYPT_MAX_COST) {
+            throw new IllegalArgumentException("BCrypt cost must be between 4 and 31: " + cost);
+        }
+        this.cost = cost;
+    }
+
+    /**
+     * Pinned cost if password.hash.cost is set, otherwise calibrated to password.hash.targetMillis.
+     */
+    public static BCryptPasswordHasher fromConfig() {
+        int pinnedCost = SecurityConfig.getInt("password.hash.cost", -1);
+        if (pinnedCost > 0) {
+            logger.info("BCrypt cost pinned by configuration: cost={}", pinnedCost);
+            return new BCryptPasswordHasher(pinnedCost);
+        }
+
+        return calibrated(
+                SecurityConfig.getLong("password.hash.targetMillis", 250),
+                SecurityConfig.getInt("password.hash.minCost", 10),
+                SecurityConfig.getInt("password.hash.maxCost", 14));
+    }
+
+    /**
+     * Largest cost in [minCost, maxCost] whose estimated hash time is at most {@code targetMillis};
+     * minCost if even that is over budget.
+     */
+    public static BCryptPasswordHasher calibrated(long targetMillis, int minCost, int maxCost) {
+        int low = Math.max(minCost, BCRYPT_MIN_COST);
+        int high = Math.min(Math.max(maxCost, low), BCRYPT_MAX_COST);
+
+        // First run pays for class loading and JIT warm-up
+        timeHash(low);
+        double lowMillis = timeHash(low);
+
+        int cost = low;
+        double estimate = lowMillis;
+        while (cost < high && estimate * 2 <= targetMillis) {
+            cost++;
+            estimate *= 2;
+        }
+
+        logger.info("BCrypt cost calibrated: cost={}, estimatedMillis={}, targetMillis={}, measuredAtCost{}={}ms",
+                cost, Math.round(estimate), targetMillis, low, Math.round(lowMillis));
+        return new BCryptPasswordHasher(cost);
+    }
+
+    public int getCost() {
+        return cost;
+    }
+
+    @Override
+    public String hash(String password) {
+        return BCrypt.hashpw(password, BCrypt.gensalt(cost));
+    }
+
+    @Override
+    public boolean verify(String password, String hash) {
+        if (hash == null) {
+            return false;
+        }
+        try {
+            return BCrypt.checkpw(password, hash);
+        } catch (IllegalArgumentException e) {
+            logger.warn("Stored password hash is not a valid BCrypt hash");
+            return false;
+        }
+    }
+
+    @Override
+    public boolean needsRehash(String hash) {
+        return costOf(hash) != cost;
+    }
+
+    /**
+     * Cost field of a "$2a$NN$..." hash, or -1 if it cannot be read.
+     */
+    static int costOf(String hash) {
+        if (hash == null || hash.length() < 7 || hash.charAt(0) != '$') {
+            return -1;
+        }
+        int costStart = hash.indexOf('$', 1) + 1;
+        if (costStart <= 0 || costStart + 2 >= hash.length() || hash.charAt(costStart + 2) != '$') {
+            return -1;
+        }
+        try {
+            return Integer.parseInt(hash.substring(costStart, costStart + 2));
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private static double timeHash(int cost) {
+        long start = System.nanoTime();
+        BCrypt.hashpw(CALIBRATION_PASSWORD, BCrypt.gensalt(cost));
+        return (System.nanoTime() - start) / 1_000_000.0;
+    }
+}
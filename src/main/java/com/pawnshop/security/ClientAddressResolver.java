@@ -0,0 +1,71 @@
+package com.pawnshop.security;
+
+import com.pawnshop.config.SecurityConfig;
+import jakarta.servlet.http.HttpServletRequest;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Address of the client behind a request, for per-address limits. With no trusted proxies
+ * configured this is the socket peer. Behind a load balancer, X-Forwarded-For is read right to
+ * left, skipping addresses of trusted proxies; the first untrusted hop is the client. Entries
+ * left of that hop were supplied by the client and are ignored, so a forged header cannot pick
+ * the address that gets rate limited.
+ */
+public final class ClientAddressResolver {
+    private static final Logger logger = LoggerFactory.getLogger(ClientAddressResolver.class);
+    private static final String FORWARDED_FOR = "X-Forwarded-For";
+
+    private static final ClientAddressResolver INSTANCE = fromConfig();
+
+    private final Set<String> trustedProxies;
+
+    ClientAddressResolver(Collection<String> trustedProxies) {
+        this.trustedProxies = Set.copyOf(trustedProxies);
+    }
+
+    public static ClientAddressResolver getInstance() {
+        return INSTANCE;
+    }
+
+    private static ClientAddressResolver fromConfig() {
+        Set<String> trustedProxies = Stream.of(SecurityConfig.getString("client.trustedProxies", "").split(","))
+                .map(String::trim)
+                .filter(address -> !address.isEmpty())
+                .collect(Collectors.toSet());
+
+        logger.info("Client address resolution: trustedProxies={}", trustedProxies);
+        return new ClientAddressResolver(trustedProxies);
+    }
+
+    public String resolve(HttpServletRequest request) {
+        if (trustedProxies.isEmpty()) {
+            return request.getRemoteAddr();
+        }
+        return resolve(request.getRemoteAddr(), Collections.list(request.getHeaders(FORWARDED_FOR)));
+    }
+
+    /**
+     * Client address given the socket peer and every X-Forwarded-For header, in arrival order.
+     */
+    String resolve(String remoteAddr, List<String> forwardedFor) {
+        String client = remoteAddr;
+        for (int i = forwardedFor.size() - 1; i >= 0 && trustedProxies.contains(client); i--) {
+            String[] hops = forwardedFor.get(i).split(",");
+            for (int j = hops.length - 1; j >= 0 && trustedProxies.contains(client); j--) {
+                String hop = hops[j].trim();
+                if (!hop.isEmpty()) {
+                    client = hop;
+                }
+            }
+        }
+        return client;
+    }
+}
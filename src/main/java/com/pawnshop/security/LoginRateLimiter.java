@@ -0,0 +1,193 @@
+package com.pawnshop.security;
+
+import com.pawnshop.config.SecurityConfig;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token-bucket limit on login attempts per username and per client address, checked before any
+ * database or BCrypt work.
+ * <p>
+ * Each dimension is a fixed array of buckets indexed by key hash, so memory is bounded no matter
+ * how many usernames or addresses an attacker cycles through. Keys that collide share a bucket,
+ * which can only make the limit stricter. A bucket is a single {@code long} (the GCRA "theoretical
+ * arrival time") updated with compare-and-set, so the hot path takes no locks and allocates nothing.
+ */
+public final class LoginRateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(LoginRateLimiter.class);
+
+    private static final LoginRateLimiter INSTANCE = fromConfig();
+
+    private final boolean enabled;
+    private final Buckets usernames;
+    private final Buckets addresses;
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByUsername = new LongAdder();
+    private final LongAdder rejectedByAddress = new LongAdder();
+
+    LoginRateLimiter(boolean enabled, Buckets usernames, Buckets addresses) {
+        this.enabled = enabled;
+        this.usernames = usernames;
+        this.addresses = addresses;
+    }
+
+    public static LoginRateLimiter getInstance() {
+        return INSTANCE;
+    }
+
+    private static LoginRateLimiter fromConfig() {
+        boolean enabled = Boolean.parseBoolean(SecurityConfig.getString("login.limit.enabled", "true"));
+        int slots = SecurityConfig.getInt("login.limit.slots", 16384);
+        Buckets usernames = new Buckets(slots,
+                SecurityConfig.getInt("login.limit.username.burst", 5),
+                SecurityConfig.getInt("login.limit.username.perMinute", 5));
+        Buckets addresses = new Buckets(slots,
+                SecurityConfig.getInt("login.limit.ip.burst", 30),
+                SecurityConfig.getInt("login.limit.ip.perMinute", 60));
+
+        logger.info("Login rate limiter: enabled={}, slots={}, username={}/min (burst {}), ip={}/min (burst {})",
+                enabled, usernames.size(), usernames.perMinute, usernames.burst,
+                addresses.perMinute, addresses.burst);
+        return new LoginRateLimiter(enabled, usernames, addresses);
+    }
+
+    /**
+     * Take one attempt from the address bucket and then the username bucket. Either argument may be
+     * null, in which case that dimension is not checked.
+     *
+     * @return 0 if the attempt may proceed, otherwise the whole seconds to wait before retrying
+     */
+    public long tryAcquire(String username, String clientAddress) {
+        if (!enabled) {
+            return 0;
+        }
+
+        long waitNanos = clientAddress != null ? addresses.tryAcquire(clientAddress) : 0;
+        if (waitNanos > 0) {
+            rejectedByAddress.increment();
+            logger.warn("Login attempt rate limited by address: address={}", clientAddress);
+            return toRetrySeconds(waitNanos);
+        }
+
+        if (username != null && !username.isBlank()) {
+            waitNanos = usernames.tryAcquire(username.trim().toLowerCase(Locale.ROOT));
+            if (waitNanos > 0) {
+                rejectedByUsername.increment();
+                logger.warn("Login attempt rate limited by username: username={}", username);
+                return toRetrySeconds(waitNanos);
+            }
+        }
+
+        allowed.increment();
+        return 0;
+    }
+
+    public Stats stats() {
+        return new Stats(enabled, usernames.size(), allowed.sum(), rejectedByUsername.sum(),
+                rejectedByAddress.sum());
+    }
+
+    static long toRetrySeconds(long nanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(nanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Hash-indexed GCRA buckets. A slot holds the time, relative to {@code origin}, at which its
+     * bucket will be full again; an attempt is allowed while that time is less than a full burst
+     * ahead of now, and pushes it forward by one emission interval.
+     */
+    static final class Buckets {
+        final int burst;
+        final int perMinute;
+        private final AtomicLongArray theoreticalArrival;
+        private final int mask;
+        private final long intervalNanos;
+        private final long burstNanos;
+        private final long origin = System.nanoTime();
+
+        Buckets(int slots, int burst, int perMinute) {
+            if (slots <= 0 || burst <= 0 || perMinute <= 0) {
+                throw new IllegalArgumentException("Login limit settings must be positive");
+            }
+            // Round up to a power of two so the slot is a mask of the hash
+            int size = Integer.highestOneBit(slots - 1) << 1;
+            this.theoreticalArrival = new AtomicLongArray(Math.max(size, 1));
+            this.mask = theoreticalArrival.length() - 1;
+            this.burst = burst;
+            this.perMinute = perMinute;
+            this.intervalNanos = TimeUnit.MINUTES.toNanos(1) / perMinute;
+            this.burstNanos = intervalNanos * burst;
+        }
+
+        int size() {
+            return theoreticalArrival.length();
+        }
+
+        /**
+         * @return 0 if a token was taken, otherwise nanoseconds until one is available
+         */
+        long tryAcquire(String key) {
+            int slot = slotOf(key);
+            // Slots start at 0, which is never in the future on this clock
+            long now = System.nanoTime() - origin;
+
+            while (true) {
+                long current = theoreticalArrival.get(slot);
+                long next = Math.max(current, now) + intervalNanos;
+                long allowedAt = next - burstNanos;
+                if (allowedAt > now) {
+                    return allowedAt - now;
+                }
+                if (theoreticalArrival.compareAndSet(slot, current, next)) {
+                    return 0;
+                }
+            }
+        }
+
+        private int slotOf(String key) {
+            int h = key.hashCode() * 0x9E3779B9;
+            return (h ^ (h >>> 16)) & mask;
+        }
+    }
+
+    public static class Stats {
+        private final boolean enabled;
+        private final int slotsPerKeyType;
+        private final long allowed;
+        private final long rejectedByUsername;
+        private final long rejectedByAddress;
+
+        Stats(boolean enabled, int slotsPerKeyType, long allowed, long rejectedByUsername, long rejectedByAddress) {
+            this.enabled = enabled;
+            this.slotsPerKeyType = slotsPerKeyType;
+            this.allowed = allowed;
+            this.rejectedByUsername = rejectedByUsername;
+            this.rejectedByAddress = rejectedByAddress;
+        }
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public int getSlotsPerKeyType() {
+            return slotsPerKeyType;
+        }
+
+        public long getAllowed() {
+            return allowed;
+        }
+
+        public long getRejectedByUsername() {
+            return rejectedByUsername;
+        }
+
+        public long getRejectedByAddress() {
+            return rejectedByAddress;
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.pawnshop.security;
+
+/**
+ * Runs another hasher's hash and verify on the {@link PasswordHashingExecutor} hashing pool, so
+ * BCrypt work is bounded to one thread per core whichever thread asks for it. needsRehash only
+ * parses the hash and runs on the caller.
+ */
+public class OffloadedPasswordHasher implements PasswordHasher {
+    private final PasswordHasher delegate;
+    private final PasswordHashingExecutor executor;
+
+    static final class Holder {
+        static final PasswordHasher INSTANCE = new OffloadedPasswordHasher(
+                BCryptPasswordHasher.Holder.INSTANCE, PasswordHashingExecutor.getInstance());
+
+        private Holder() {
+        }
+    }
+
+    public OffloadedPasswordHasher(PasswordHasher delegate, PasswordHashingExecutor executor) {
+        this.delegate = delegate;
+        this.executor = executor;
+    }
+
+    @Override
+    public String hash(String password) {
+        return executor.compute(() -> delegate.hash(password));
+    }
+
+    @Override
+    public boolean verify(String password, String hash) {
+        return executor.compute(() -> delegate.verify(password, hash));
+    }
+
+    @Override
+    public boolean needsRehash(String hash) {
+        return delegate.needsRehash(hash);
+    }
+}
@@ -0,0 +1,28 @@
+package com.pawnshop.security;
+
+/**
+ * Hashes and verifies account passwords. Hashes carry their own parameters, so an implementation
+ * can tell when a stored hash was made with settings other than its current ones.
+ */
+public interface PasswordHasher {
+
+    String hash(String password);
+
+    /**
+     * Whether {@code password} matches {@code hash}. A malformed hash never matches.
+     */
+    boolean verify(String password, String hash);
+
+    /**
+     * Whether {@code hash} should be replaced by a fresh {@link #hash} after a successful login.
+     */
+    boolean needsRehash(String hash);
+
+    /**
+     * The shared hasher, a {@link BCryptPasswordHasher} calibrated from security.properties on first use,
+     * run on the {@link PasswordHashingExecutor} hashing pool.
+     */
+    static PasswordHasher getDefault() {
+        return OffloadedPasswordHasher.Holder.INSTANCE;
+    }
+}
@@ -0,0 +1,292 @@
+package com.pawnshop.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Bounded pools for requests that hash or verify passwords (login, registration, password
+ * changes), kept off the container's request threads.
+ * <p>
+ * {@link #execute} runs a whole request handler on a request pool with a fixed-size queue: when the
+ * queue is full it fails immediately instead of letting a login burst pile up. The handler's
+ * BCrypt calls go through {@link #compute} to a separate pool of one thread per core, since BCrypt
+ * is pure CPU. A handler waiting for a database connection therefore holds a request thread, never
+ * a hashing thread. The request pool has twice as many threads as the hashing pool, so one
+ * handler's database work overlaps another's hash. Queue wait and run time are recorded per
+ * operation.
+ */
+public final class PasswordHashingExecutor {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingExecutor.class);
+
+    private static final int REQUEST_THREADS_PER_HASHING_THREAD = 2;
+    // Roughly a few seconds of work at ~250 ms per cost-12 hash and one hashing thread per core
+    private static final int QUEUE_CAPACITY_PER_THREAD = 16;
+    private static final long SHUTDOWN_TIMEOUT_SECONDS = 10;
+
+    private static final PasswordHashingExecutor INSTANCE =
+            new PasswordHashingExecutor(Runtime.getRuntime().availableProcessors());
+
+    private final ThreadPoolExecutor executor;
+    // Unbounded queue: at most one task per request thread can be waiting
+    private final ThreadPoolExecutor hashingExecutor;
+    private final int queueCapacity;
+    private final ConcurrentMap<String, OperationStats> operations = new ConcurrentHashMap<>();
+
+    private PasswordHashingExecutor(int hashingThreads) {
+        int requestThreads = hashingThreads * REQUEST_THREADS_PER_HASHING_THREAD;
+        this.queueCapacity = hashingThreads * QUEUE_CAPACITY_PER_THREAD;
+        this.executor = new ThreadPoolExecutor(requestThreads, requestThreads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new HashingThreadFactory("password-request-"),
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashingExecutor = new ThreadPoolExecutor(hashingThreads, hashingThreads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new HashingThreadFactory("password-hashing-"));
+        logger.info("Password hashing executor started: requestThreads={}, hashingThreads={}, queueCapacity={}",
+                requestThreads, hashingThreads, queueCapacity);
+    }
+
+    public static PasswordHashingExecutor getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Queue a request handler on the request pool under the given operation name.
+     *
+     * @throws RejectedExecutionException if the queue is full or the executor is shut down
+     */
+    public void execute(String operation, Runnable task) {
+        OperationStats stats = operations.computeIfAbsent(operation, OperationStats::new);
+        long queuedAt = System.nanoTime();
+
+        try {
+            executor.execute(() -> {
+                long startedAt = System.nanoTime();
+                try {
+                    task.run();
+                } finally {
+                    stats.record(startedAt - queuedAt, System.nanoTime() - startedAt);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            stats.rejected.increment();
+            throw e;
+        }
+    }
+
+    /**
+     * Run one hash or verification on the hashing pool and wait for its result. Called by handlers
+     * running on the request pool; see {@link OffloadedPasswordHasher}.
+     *
+     * @throws RejectedExecutionException if the executor is shut down
+     */
+    public <T> T compute(Supplier<T> work) {
+        Future<T> result = hashingExecutor.submit(work::get);
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while waiting for password hashing");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    /**
+     * Stop both pools on undeploy. Handlers already running get {@value #SHUTDOWN_TIMEOUT_SECONDS}
+     * seconds to finish; new requests are rejected, which dispatch answers with 503.
+     */
+    public void shutdown() {
+        executor.shutdown();
+        try {
+            if (!executor.awaitTermination(SHUTDOWN_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Password hashing requests did not finish within {}s", SHUTDOWN_TIMEOUT_SECONDS);
+                executor.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        } finally {
+            hashingExecutor.shutdownNow();
+        }
+        logger.info("Password hashing executor stopped");
+    }
+
+    public Stats stats() {
+        List<OperationSnapshot> snapshots = new ArrayList<>();
+        for (OperationStats stats : operations.values()) {
+            snapshots.add(stats.snapshot());
+        }
+        return new Stats(executor.getMaximumPoolSize(), executor.getActiveCount(),
+                executor.getQueue().size(), queueCapacity,
+                hashingExecutor.getMaximumPoolSize(), hashingExecutor.getActiveCount(), snapshots);
+    }
+
+    private static final class HashingThreadFactory implements ThreadFactory {
+        private final String prefix;
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        HashingThreadFactory(String prefix) {
+            this.prefix = prefix;
+        }
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            // Never keeps the container from shutting down
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+
+    private static final class OperationStats {
+        final String operation;
+        final LongAdder completed = new LongAdder();
+        final LongAdder rejected = new LongAdder();
+        final LongAdder queueNanos = new LongAdder();
+        final LongAdder runNanos = new LongAdder();
+        final AtomicLong maxRunNanos = new AtomicLong();
+
+        OperationStats(String operation) {
+            this.operation = operation;
+        }
+
+        void record(long waitedNanos, long ranNanos) {
+            completed.increment();
+            queueNanos.add(waitedNanos);
+            runNanos.add(ranNanos);
+            maxRunNanos.accumulateAndGet(ranNanos, Math::max);
+        }
+
+        OperationSnapshot snapshot() {
+            long count = completed.sum();
+            return new OperationSnapshot(operation, count, rejected.sum(),
+                    count > 0 ? toMillis(queueNanos.sum() / count) : 0,
+                    count > 0 ? toMillis(runNanos.sum() / count) : 0,
+                    toMillis(maxRunNanos.get()));
+        }
+
+        private static double toMillis(long nanos) {
+            return nanos / 1_000_000.0;
+        }
+    }
+
+    public static class OperationSnapshot {
+        private final String operation;
+        private final long completed;
+        private final long rejected;
+        private final double averageQueueMillis;
+        private final double averageRunMillis;
+        private final double maxRunMillis;
+
+        OperationSnapshot(String operation, long completed, long rejected, double averageQueueMillis,
+                          double averageRunMillis, double maxRunMillis) {
+            this.operation = operation;
+            this.completed = completed;
+            this.rejected = rejected;
+            this.averageQueueMillis = averageQueueMillis;
+            this.averageRunMillis = averageRunMillis;
+            this.maxRunMillis = maxRunMillis;
+        }
+
+        public String getOperation() {
+            return operation;
+        }
+
+        public long getCompleted() {
+            return completed;
+        }
+
+        public long getRejected() {
+            return rejected;
+        }
+
+        public double getAverageQueueMillis() {
+            return averageQueueMillis;
+        }
+
+        public double getAverageRunMillis() {
+            return averageRunMillis;
+        }
+
+        public double getMaxRunMillis() {
+            return maxRunMillis;
+        }
+    }
+
+    /**
+     * threads, activeThreads and queued describe the request pool.
+     */
+    public static class Stats {
+        private final int threads;
+        private final int activeThreads;
+        private final int queued;
+        private final int queueCapacity;
+        private final int hashingThreads;
+        private final int activeHashingThreads;
+        private final List<OperationSnapshot> operations;
+
+        Stats(int threads, int activeThreads, int queued, int queueCapacity, int hashingThreads,
+              int activeHashingThreads, List<OperationSnapshot> operations) {
+            this.threads = threads;
+            this.activeThreads = activeThreads;
+            this.queued = queued;
+            this.queueCapacity = queueCapacity;
+            this.hashingThreads = hashingThreads;
+            this.activeHashingThreads = activeHashingThreads;
+            this.operations = operations;
+        }
+
+        public int getThreads() {
+            return threads;
+        }
+
+        public int getActiveThreads() {
+            return activeThreads;
+        }
+
+        public int getQueued() {
+            return queued;
+        }
+
+        public int getQueueCapacity() {
+            return queueCapacity;
+        }
+
+        public int getHashingThreads() {
+            return hashingThreads;
+        }
+
+        public int getActiveHashingThreads() {
+            return activeHashingThreads;
+        }
+
+        public List<OperationSnapshot> getOperations() {
+            return operations;
+        }
+    }
+}
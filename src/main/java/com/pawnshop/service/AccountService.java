@@ -1,29 +1,45 @@
 package com.pawnshop.service;
 
+import com.pawnshop.cache.TtlCache;
 import com.pawnshop.dao.AccountDAO;
 import com.pawnshop.dto.AccountRegistrationDTO;
 import com.pawnshop.dto.AccountResponseDTO;
 import com.pawnshop.dto.LoginRequestDTO;
 import com.pawnshop.model.Account;
-import org.mindrot.jbcrypt.BCrypt;
+import com.pawnshop.security.PasswordHasher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.sql.SQLException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class AccountService {
     private static final Logger logger = LoggerFactory.getLogger(AccountService.class);
+    private static final int STATUS_CACHE_SIZE = 10_000;
+    // Upper bound on how long a change made on another node, or straight in the database, goes unseen
+    private static final long STATUS_TTL_MS = 60_000;
+
+    // Shared across service instances; consulted by AuthenticationFilter on every request
+    private static final TtlCache<Integer, AccountStatus> STATUS_CACHE =
+            new TtlCache<>("account.status", STATUS_CACHE_SIZE);
+
     private final AccountDAO accountDAO;
+    private final PasswordHasher passwordHasher;
 
     public AccountService() {
-        this.accountDAO = new AccountDAO();
+        this(new AccountDAO());
     }
 
     public AccountService(AccountDAO accountDAO) {
+        this(accountDAO, PasswordHasher.getDefault());
+    }
+
+    public AccountService(AccountDAO accountDAO, PasswordHasher passwordHasher) {
         this.accountDAO = accountDAO;
+        this.passwordHasher = passwordHasher;
     }
 
     /**
@@ -40,7 +56,7 @@ public class AccountService {
             }
 
             // Hash password
-            String passwordHash = BCrypt.hashpw(dto.getPassword(), BCrypt.gensalt(12));
+            String passwordHash = passwordHasher.hash(dto.getPassword());
 
             // Create account
             Account account = new Account();
@@ -91,10 +107,15 @@ public class AccountService {
             }
 
             // Verify password
-            if (!BCrypt.checkpw(dto.getPassword(), account.getPasswordHash())) {
+            if (!passwordHasher.verify(dto.getPassword(), account.getPasswordHash())) {
                 throw new ServiceException("Invalid username or password");
             }
 
+            // Bring hashes made with an older work factor up to the current one
+            if (passwordHasher.needsRehash(account.getPasswordHash())) {
+                rehashPassword(account, dto.getPassword());
+            }
+
             logger.info("User logged in successfully: username={}", dto.getUsername());
             return toResponseDTO(account);
 
@@ -104,6 +125,20 @@ public class AccountService {
         }
     }
 
+    /**
+     * Store a new hash of a just-verified password. Failure only costs another rehash next login.
+     */
+    private void rehashPassword(Account account, String password) {
+        try {
+            String passwordHash = passwordHasher.hash(password);
+            accountDAO.updatePassword(account.getAccountId(), passwordHash);
+            account.setPasswordHash(passwordHash);
+            logger.info("Password rehashed with current work factor: username={}", account.getUsername());
+        } catch (SQLException e) {
+            logger.warn("Could not store rehashed password: username={}", account.getUsername(), e);
+        }
+    }
+
     /**
      * Get account by ID
      */
@@ -133,6 +168,18 @@ public class AccountService {
         }
     }
 
+    /**
+     * Stream all accounts row by row (Admin only)
+     */
+    public void streamAllAccounts(Consumer<AccountResponseDTO> action) throws ServiceException {
+        try {
+            accountDAO.forEachAccount(account -> action.accept(toResponseDTO(account)));
+        } catch (SQLException e) {
+            logger.error("Error streaming all accounts", e);
+            throw new ServiceException("Failed to fetch accounts", e);
+        }
+    }
+
     /**
      * Update account (Admin only)
      */
@@ -160,11 +207,14 @@ public class AccountService {
 
             // Update password if provided
             if (dto.getPassword() != null && !dto.getPassword().isEmpty()) {
-                String passwordHash = BCrypt.hashpw(dto.getPassword(), BCrypt.gensalt(12));
+                String passwordHash = passwordHasher.hash(dto.getPassword());
                 accountDAO.updatePassword(accountId, passwordHash);
+                // A new password ends every token issued with the old one
+                accountDAO.incrementTokenVersion(accountId);
             }
 
             accountDAO.update(existing);
+            invalidateAccountStatus(accountId);
 
             logger.info("Account updated successfully: ID={}", accountId);
             return toResponseDTO(existing);
@@ -188,6 +238,7 @@ public class AccountService {
             Account account = accountOpt.get();
             account.setActive(false);
             accountDAO.update(account);
+            invalidateAccountStatus(accountId);
 
             logger.info("Account deactivated: ID={}", accountId);
 
@@ -206,6 +257,7 @@ public class AccountService {
             if (!deleted) {
                 throw new ServiceException("Account not found or cannot be deleted");
             }
+            invalidateAccountStatus(accountId);
             logger.info("Account deleted: ID={}", accountId);
         } catch (SQLException e) {
             logger.error("Error deleting account: ID={}", accountId, e);
@@ -213,6 +265,59 @@ public class AccountService {
         }
     }
 
+    /**
+     * Revoke every auth token issued to the account, e.g. on logout in token mode.
+     */
+    public void revokeTokens(Integer accountId) throws ServiceException {
+        try {
+            accountDAO.incrementTokenVersion(accountId);
+            invalidateAccountStatus(accountId);
+        } catch (SQLException e) {
+            logger.error("Error revoking tokens: ID={}", accountId, e);
+            throw new ServiceException("Failed to revoke tokens", e);
+        }
+    }
+
+    /**
+     * Current role, active flag and token version of an account, cached for up to a minute and dropped
+     * earlier by {@link #invalidateAccountStatus}. A deleted account reports inactive.
+     */
+    public AccountStatus getAccountStatus(Integer accountId) throws ServiceException {
+        return STATUS_CACHE.getOrLoad(accountId, STATUS_TTL_MS, () -> {
+            try {
+                return accountDAO.findById(accountId)
+                        .map(account -> new AccountStatus(account.getAccountId(), account.getRole(),
+                                account.isActive(), account.getTokenVersion()))
+                        .orElseGet(() -> new AccountStatus(accountId, null, false, 0));
+            } catch (SQLException e) {
+                logger.error("Error loading account status: ID={}", accountId, e);
+                throw new ServiceException("Failed to load account status", e);
+            }
+        });
+    }
+
+    /**
+     * Status for checking a token that carries {@code tokenVersion}. A cached version behind the token's
+     * means the token was signed after a version change this node has not seen, so the status is re-read
+     * from the database instead of rejecting a valid token or trusting a stale entry.
+     */
+    public AccountStatus getAccountStatus(Integer accountId, int tokenVersion) throws ServiceException {
+        AccountStatus status = getAccountStatus(accountId);
+        if (status.getTokenVersion() < tokenVersion) {
+            invalidateAccountStatus(accountId);
+            status = getAccountStatus(accountId);
+        }
+        return status;
+    }
+
+    /**
+     * Drop the cached status of an account. Call after any change to its role, active flag or existence.
+     */
+    public static void invalidateAccountStatus(Integer accountId) {
+        STATUS_CACHE.invalidate(accountId);
+        logger.debug("Account status invalidated: ID={}", accountId);
+    }
+
     // Helper methods
     private void validateRegistration(AccountRegistrationDTO dto) throws ServiceException {
         if (dto.getUsername() == null || dto.getUsername().trim().isEmpty()) {
@@ -247,6 +352,42 @@ public class AccountService {
         return dto;
     }
 
+    /**
+     * The parts of an account that decide whether a session may keep using it.
+     */
+    public static final class AccountStatus {
+        private final Integer accountId;
+        private final Account.Role role;
+        private final boolean active;
+        private final int tokenVersion;
+
+        AccountStatus(Integer accountId, Account.Role role, boolean active, int tokenVersion) {
+            this.accountId = accountId;
+            this.role = role;
+            this.active = active;
+            this.tokenVersion = tokenVersion;
+        }
+
+        public Integer getAccountId() {
+            return accountId;
+        }
+
+        public Account.Role getRole() {
+            return role;
+        }
+
+        public boolean isActive() {
+            return active;
+        }
+
+        /**
+         * Auth tokens carrying any other version have been revoked.
+         */
+        public int getTokenVersion() {
+            return tokenVersion;
+        }
+    }
+
     public static class ServiceException extends Exception {
         public ServiceException(String message) {
             super(message);
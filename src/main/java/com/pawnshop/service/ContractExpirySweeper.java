@@ -0,0 +1,236 @@
+package com.pawnshop.service;
+
+import com.pawnshop.dao.PawnContractDAO;
+import com.pawnshop.dao.SweepCheckpointDAO;
+import com.pawnshop.dao.UnitOfWork;
+import com.pawnshop.metrics.SweepMetrics;
+import com.pawnshop.model.PawnContract;
+import com.pawnshop.model.SweepCheckpoint;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Marks active contracts whose due date (plus a grace period) has passed as expired. Expired
+ * collateral is forfeited and can be sold through the liquidation API, which records the actual
+ * sale price and revenue; the sweeper itself never books a sale.
+ * <p>
+ * A sweep walks overdue contracts in (due_date, contract_id) order over
+ * idx_pawn_contract_status_due, one chunk per transaction: lock the chunk, batch the status
+ * updates and move the checkpoint. A sweep interrupted by a restart resumes after the last
+ * committed key with its original cutoff. With several application nodes only the one holding
+ * the {@value #NAME} named lock sweeps; the others skip that run.
+ */
+public class ContractExpirySweeper {
+    private static final Logger logger = LoggerFactory.getLogger(ContractExpirySweeper.class);
+
+    static final String NAME = "contract-expiry";
+
+    // Keyset start: before any MySQL DATE
+    private static final LocalDate KEY_START = LocalDate.of(1000, 1, 1);
+
+    private final PawnContractDAO contractDAO;
+    private final SweepCheckpointDAO checkpointDAO;
+    private final int chunkSize;
+    private final int graceDays;
+    private final SweepMetrics.SweeperStats stats = SweepMetrics.getInstance().sweeper(NAME);
+
+    private ScheduledExecutorService scheduler;
+    private volatile boolean stopping;
+
+    public ContractExpirySweeper(int chunkSize, int graceDays) {
+        this(new PawnContractDAO(), new SweepCheckpointDAO(), chunkSize, graceDays);
+    }
+
+    public ContractExpirySweeper(PawnContractDAO contractDAO, SweepCheckpointDAO checkpointDAO,
+                                 int chunkSize, int graceDays) {
+        if (chunkSize < 1 || graceDays < 0) {
+            throw new IllegalArgumentException("chunkSize must be positive and graceDays non-negative");
+        }
+        this.contractDAO = contractDAO;
+        this.checkpointDAO = checkpointDAO;
+        this.chunkSize = chunkSize;
+        this.graceDays = graceDays;
+    }
+
+    /**
+     * Run {@link #sweep} on a background thread every {@code intervalMinutes}, measured from the
+     * end of the previous sweep.
+     */
+    public synchronized void start(long initialDelaySeconds, long intervalMinutes) {
+        if (scheduler != null) {
+            return;
+        }
+        stopping = false;
+        scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "contract-expiry-sweeper");
+            thread.setDaemon(true);
+            return thread;
+        });
+        scheduler.scheduleWithFixedDelay(this::runScheduled, initialDelaySeconds,
+                TimeUnit.MINUTES.toSeconds(intervalMinutes), TimeUnit.SECONDS);
+        logger.info("Contract expiry sweeper scheduled: chunkSize={}, graceDays={}, interval={}min",
+                chunkSize, graceDays, intervalMinutes);
+    }
+
+    /**
+     * Stop after the chunk in progress commits. The checkpoint lets the next start resume.
+     */
+    public synchronized void stop() {
+        if (scheduler == null) {
+            return;
+        }
+        stopping = true;
+        scheduler.shutdown();
+        try {
+            if (!scheduler.awaitTermination(30, TimeUnit.SECONDS)) {
+                logger.warn("Contract expiry sweeper did not stop within 30s");
+                scheduler.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            scheduler.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        scheduler = null;
+        logger.info("Contract expiry sweeper stopped");
+    }
+
+    private void runScheduled() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            // Not rethrown: an exception would cancel every later run
+            stats.recordError();
+            logger.error("Contract expiry sweep failed", e);
+        }
+    }
+
+    /**
+     * Expire every active contract due before today minus the grace period, or finish the sweep a
+     * restart interrupted. Does nothing while another node holds the sweep lock.
+     *
+     * @return contracts expired by this call
+     */
+    public long sweep() throws SQLException {
+        Optional<SweepCheckpointDAO.SweepLock> lock = checkpointDAO.tryLock(NAME);
+        if (lock.isEmpty()) {
+            logger.info("Contract expiry sweep skipped: another node holds the {} lock", NAME);
+            return 0;
+        }
+
+        try {
+            return sweepLocked();
+        } finally {
+            lock.get().close();
+        }
+    }
+
+    private long sweepLocked() throws SQLException {
+        SweepCheckpoint checkpoint = checkpointDAO.find(NAME).orElse(null);
+
+        LocalDate cutoff;
+        LocalDate afterDueDate = KEY_START;
+        int afterContractId = 0;
+        if (checkpoint == null || checkpoint.getCompletedAt() != null) {
+            cutoff = currentCutoff();
+            checkpointDAO.start(NAME, cutoff);
+        } else {
+            cutoff = checkpoint.getCutoffDate();
+            if (checkpoint.getLastDueDate() != null) {
+                afterDueDate = checkpoint.getLastDueDate();
+                afterContractId = checkpoint.getLastContractId();
+            }
+            logger.info("Resuming contract expiry sweep: cutoff={}, after=({}, {}), processed={}",
+                    cutoff, afterDueDate, afterContractId, checkpoint.getProcessedCount());
+        }
+
+        refreshBacklog();
+        long started = System.nanoTime();
+        long expired = 0;
+
+        while (!stopping) {
+            long chunkStarted = System.nanoTime();
+            LocalDate fromDueDate = afterDueDate;
+            int fromContractId = afterContractId;
+
+            List<PawnContract> chunk = UnitOfWork.inTransaction(conn ->
+                    expireChunk(conn, cutoff, fromDueDate, fromContractId));
+            if (chunk.isEmpty()) {
+                break;
+            }
+
+            PawnContract last = chunk.get(chunk.size() - 1);
+            afterDueDate = last.getDueDate();
+            afterContractId = last.getContractId();
+            expired += chunk.size();
+            stats.recordChunk(chunk.size(), System.nanoTime() - chunkStarted);
+
+            if (chunk.size() < chunkSize) {
+                break;
+            }
+        }
+
+        if (stopping) {
+            logger.info("Contract expiry sweep paused: expired={}, resumes after ({}, {})",
+                    expired, afterDueDate, afterContractId);
+            return expired;
+        }
+
+        checkpointDAO.complete(NAME);
+        stats.recordSuccess();
+        refreshBacklog();
+        logger.info("Contract expiry sweep finished: cutoff={}, expired={}, took={}ms",
+                cutoff, expired, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return expired;
+    }
+
+    /**
+     * One transaction: lock the next chunk, mark it expired, and advance the checkpoint past it.
+     */
+    List<PawnContract> expireChunk(Connection conn, LocalDate cutoff, LocalDate afterDueDate,
+                                   int afterContractId) throws SQLException {
+        List<PawnContract> chunk = contractDAO.lockExpiredChunk(conn, cutoff, afterDueDate, afterContractId,
+                chunkSize);
+        if (chunk.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<Integer> contractIds = new ArrayList<>(chunk.size());
+        for (PawnContract contract : chunk) {
+            contractIds.add(contract.getContractId());
+        }
+        contractDAO.updateStatusBatch(conn, contractIds, PawnContract.Status.EXPIRED);
+
+        PawnContract last = chunk.get(chunk.size() - 1);
+        checkpointDAO.advance(conn, NAME, last.getDueDate(), last.getContractId(), chunk.size());
+        return chunk;
+    }
+
+    private LocalDate currentCutoff() {
+        return LocalDate.now().minusDays(graceDays);
+    }
+
+    /**
+     * Backlog and lag for /api/admin/metrics: a contract due on day D becomes eligible on
+     * D + 1 + graceDays.
+     */
+    private void refreshBacklog() {
+        try {
+            PawnContractDAO.OverdueBacklog backlog = contractDAO.findOverdueBacklog(currentCutoff());
+            LocalDate oldestDue = backlog.getOldestDueDate();
+            stats.recordBacklog(backlog.getCount(), oldestDue != null ? oldestDue.plusDays(1 + graceDays) : null);
+        } catch (SQLException e) {
+            logger.warn("Could not measure contract expiry backlog: {}", e.getMessage());
+        }
+    }
+}
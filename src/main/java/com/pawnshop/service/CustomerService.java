@@ -2,19 +2,33 @@ package com.pawnshop.service;
 
 import com.pawnshop.dao.AccountDAO;
 import com.pawnshop.dao.CustomerDAO;
+import com.pawnshop.dao.PawnContractDAO;
+import com.pawnshop.dao.UnitOfWork;
+import com.pawnshop.dto.ContractValuationDTO;
+import com.pawnshop.dto.CustomerOverviewDTO;
 import com.pawnshop.dto.CustomerRequestDTO;
 import com.pawnshop.dto.CustomerResponseDTO;
+import com.pawnshop.dto.CustomerStatsDTO;
+import com.pawnshop.dto.CustomerSuggestionDTO;
+import com.pawnshop.dto.CustomerTransactionDTO;
+import com.pawnshop.dto.PageCursor;
+import com.pawnshop.dto.PageResult;
 import com.pawnshop.model.Account;
 import com.pawnshop.model.Customer;
-import org.mindrot.jbcrypt.BCrypt;
+import com.pawnshop.model.CustomerTransaction;
+import com.pawnshop.search.CustomerSuggestIndex;
+import com.pawnshop.security.PasswordHasher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.math.BigDecimal;
 import java.sql.SQLException;
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -22,16 +36,31 @@ public class CustomerService {
     private static final Logger logger = LoggerFactory.getLogger(CustomerService.class);
     private final CustomerDAO customerDAO;
     private final AccountDAO accountDAO;
+    private final PawnContractDAO contractDAO;
+    private final PasswordHasher passwordHasher;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
+    // Shared across service instances: every servlet builds its own CustomerService
+    private static final CustomerSuggestIndex SUGGEST_INDEX = new CustomerSuggestIndex();
+
     public CustomerService() {
-        this.customerDAO = new CustomerDAO();
-        this.accountDAO = new AccountDAO();
+        this(new CustomerDAO(), new AccountDAO());
     }
 
     public CustomerService(CustomerDAO customerDAO, AccountDAO accountDAO) {
+        this(customerDAO, accountDAO, PasswordHasher.getDefault());
+    }
+
+    public CustomerService(CustomerDAO customerDAO, AccountDAO accountDAO, PasswordHasher passwordHasher) {
+        this(customerDAO, accountDAO, new PawnContractDAO(), passwordHasher);
+    }
+
+    public CustomerService(CustomerDAO customerDAO, AccountDAO accountDAO, PawnContractDAO contractDAO,
+                           PasswordHasher passwordHasher) {
         this.customerDAO = customerDAO;
         this.accountDAO = accountDAO;
+        this.contractDAO = contractDAO;
+        this.passwordHasher = passwordHasher;
     }
 
     public CustomerResponseDTO createCustomer(CustomerRequestDTO dto) throws ServiceException {
@@ -63,6 +92,8 @@ public class CustomerService {
             Integer customerId = customerDAO.create(customer);
             customer.setCustomerId(customerId);
 
+            SUGGEST_INDEX.put(customer);
+
             logger.info("Customer created successfully: ID={}, account={}",
                     customerId, account.getUsername());
 
@@ -74,35 +105,36 @@ public class CustomerService {
         }
     }
 
+    /**
+     * Create the account and the customer profile in one transaction on one connection. Duplicate
+     * username, phone or citizen number are reported from the unique keys rather than checked first.
+     */
     public CustomerResponseDTO createCustomerWithAccount(CustomerRequestDTO dto) throws ServiceException {
-        try {
-            validateCustomerRequest(dto, null);
-
-            if (dto.getUsername() == null || dto.getUsername().trim().isEmpty()) {
-                throw new ServiceException("Username is required");
-            }
-            if (dto.getPassword() == null || dto.getPassword().length() < 6) {
-                throw new ServiceException("Password must be at least 6 characters");
-            }
+        validateCustomerFields(dto);
 
-            if (accountDAO.isUsernameExists(dto.getUsername(), null)) {
-                throw new ServiceException("Username already exists");
-            }
+        if (dto.getUsername() == null || dto.getUsername().trim().isEmpty()) {
+            throw new ServiceException("Username is required");
+        }
+        if (dto.getPassword() == null || dto.getPassword().length() < 6) {
+            throw new ServiceException("Password must be at least 6 characters");
+        }
 
-            Account account = new Account();
-            account.setUsername(dto.getUsername());
-            account.setPasswordHash(BCrypt.hashpw(dto.getPassword(), BCrypt.gensalt(12)));
-            account.setRole(Account.Role.CUSTOMER);
-            account.setActive(true);
+        // Hash before borrowing a connection so it is not held while hashing
+        Account account = new Account();
+        account.setUsername(dto.getUsername());
+        account.setPasswordHash(passwordHasher.hash(dto.getPassword()));
+        account.setRole(Account.Role.CUSTOMER);
+        account.setActive(true);
 
-            Integer accountId = accountDAO.create(account);
-            account.setAccountId(accountId);
+        Customer customer = mapDtoToCustomer(dto);
 
-            Customer customer = mapDtoToCustomer(dto);
-            customer.setAccountId(accountId);
+        try {
+            Integer customerId = UnitOfWork.inTransaction(conn -> {
+                customer.setAccountId(accountDAO.create(conn, account));
+                return customerDAO.create(conn, customer);
+            });
 
-            Integer customerId = customerDAO.create(customer);
-            customer.setCustomerId(customerId);
+            SUGGEST_INDEX.put(customer);
 
             logger.info("Customer with account created: customerId={}, username={}",
                     customerId, dto.getUsername());
@@ -110,27 +142,39 @@ public class CustomerService {
             return toResponseDTO(customer, account);
 
         } catch (SQLException e) {
+            if (UnitOfWork.isDuplicateKey(e, "username")) {
+                throw new ServiceException("Username already exists");
+            }
+            if (UnitOfWork.isDuplicateKey(e, "phone_number")) {
+                throw new ServiceException("Phone number already exists");
+            }
+            if (UnitOfWork.isDuplicateKey(e, "citizen_number")) {
+                throw new ServiceException("Citizen number already exists");
+            }
             logger.error("Database error creating customer with account", e);
             throw new ServiceException("Failed to create customer with account", e);
         }
     }
 
+    /**
+     * The profile with its account fields, which {@link CustomerDAO#findById} already joins, and
+     * the contract count, both read on one connection.
+     */
     public CustomerResponseDTO getCustomerById(Integer customerId) throws ServiceException {
         try {
-            Optional<Customer> customerOpt = customerDAO.findById(customerId);
-            if (customerOpt.isEmpty()) {
+            CustomerResponseDTO dto = UnitOfWork.inTransaction(conn -> {
+                Optional<Customer> customer = customerDAO.findById(conn, customerId);
+                if (customer.isEmpty()) {
+                    return null;
+                }
+                CustomerResponseDTO profile = toResponseDTO(customer.get());
+                profile.setContractCount(customerDAO.countContracts(conn, customerId));
+                return profile;
+            });
+
+            if (dto == null) {
                 throw new ServiceException("Customer not found");
             }
-
-            Customer customer = customerOpt.get();
-            Optional<Account> accountOpt = accountDAO.findById(customer.getAccountId());
-
-            CustomerResponseDTO dto = toResponseDTO(customer, accountOpt.orElse(null));
-
-            // Add contract count
-            int contractCount = customerDAO.countContracts(customerId);
-            dto.setContractCount(contractCount);
-
             return dto;
 
         } catch (SQLException e) {
@@ -139,46 +183,165 @@ public class CustomerService {
         }
     }
 
+    /**
+     * Everything the customer screen shows in one call: profile, active contracts priced as of
+     * today, the balance owed on them and the {@code transactionLimit} most recent transactions.
+     * All four reads share one pooled connection and one transaction, so they see the same snapshot.
+     */
+    public CustomerOverviewDTO getCustomerOverview(Integer customerId, int transactionLimit)
+            throws ServiceException {
+        LocalDate asOf = LocalDate.now();
+        CustomerOverviewDTO overview = new CustomerOverviewDTO();
+        overview.setAsOf(asOf.format(DATE_FORMATTER));
+
+        try {
+            boolean found = UnitOfWork.inTransaction(conn -> {
+                Optional<Customer> customer = customerDAO.findById(conn, customerId);
+                if (customer.isEmpty()) {
+                    return false;
+                }
+                CustomerResponseDTO profile = toResponseDTO(customer.get());
+                profile.setContractCount(customerDAO.countContracts(conn, customerId));
+                overview.setProfile(profile);
+                overview.setActiveContracts(PawnContractService.value(
+                        contractDAO.findActiveByCustomerId(conn, customerId), asOf));
+                overview.setRecentTransactions(
+                        customerDAO.findRecentTransactions(conn, customerId, transactionLimit).stream()
+                                .map(this::toTransactionDTO)
+                                .collect(Collectors.toList()));
+                return true;
+            });
+
+            if (!found) {
+                throw new ServiceException("Customer not found");
+            }
+        } catch (SQLException e) {
+            logger.error("Error fetching customer overview: ID={}", customerId, e);
+            throw new ServiceException("Failed to fetch customer overview", e);
+        }
+
+        BigDecimal principal = BigDecimal.ZERO;
+        BigDecimal interest = BigDecimal.ZERO;
+        int overdueCount = 0;
+        for (ContractValuationDTO contract : overview.getActiveContracts()) {
+            principal = principal.add(contract.getOutstandingPrincipal());
+            interest = interest.add(contract.getAccruedInterest());
+            if (contract.isOverdue()) {
+                overdueCount++;
+            }
+        }
+        overview.setOverdueCount(overdueCount);
+        overview.setOutstandingPrincipal(principal);
+        overview.setAccruedInterest(interest);
+        overview.setOutstandingBalance(principal.add(interest));
+        return overview;
+    }
+
     public List<CustomerResponseDTO> getAllCustomers() throws ServiceException {
         try {
             List<Customer> customers = customerDAO.findAll();
-            return customers.stream()
-                    .map(this::toResponseDTOWithContracts)
-                    .collect(Collectors.toList());
+            return toResponseDTOsWithContracts(customers);
         } catch (SQLException e) {
             logger.error("Error fetching all customers", e);
             throw new ServiceException("Failed to fetch customers", e);
         }
     }
 
+    /**
+     * Keyset-paginated listing, newest first. {@code cursor} is the position returned
+     * with the previous page, or null for the first page.
+     */
+    public PageResult<CustomerResponseDTO> getCustomersPage(boolean activeOnly, PageCursor cursor, int limit)
+            throws ServiceException {
+        try {
+            // Fetch one extra row to learn whether another page exists
+            List<Customer> customers = customerDAO.findPage(activeOnly,
+                    cursor != null ? cursor.getCreatedAt() : null,
+                    cursor != null ? cursor.getId() : null,
+                    limit + 1);
+
+            String nextCursor = null;
+            if (customers.size() > limit) {
+                customers = customers.subList(0, limit);
+                Customer last = customers.get(limit - 1);
+                nextCursor = new PageCursor(last.getCreatedAt(), last.getCustomerId()).encode();
+            }
+
+            return new PageResult<>(toResponseDTOsWithContracts(customers), nextCursor);
+        } catch (SQLException e) {
+            logger.error("Error fetching customer page", e);
+            throw new ServiceException("Failed to fetch customers", e);
+        }
+    }
+
+    /**
+     * Totals for the whole customer table, for the list page's stat cards; pages only hold a slice.
+     */
+    public CustomerStatsDTO getCustomerStats() throws ServiceException {
+        try {
+            return customerDAO.countStats(LocalDate.now().withDayOfMonth(1).atStartOfDay());
+        } catch (SQLException e) {
+            logger.error("Error fetching customer stats", e);
+            throw new ServiceException("Failed to fetch customer stats", e);
+        }
+    }
+
     public List<CustomerResponseDTO> getActiveCustomers() throws ServiceException {
         try {
             List<Customer> customers = customerDAO.findActive();
-            return customers.stream()
-                    .map(this::toResponseDTOWithContracts)
-                    .collect(Collectors.toList());
+            return toResponseDTOsWithContracts(customers);
         } catch (SQLException e) {
             logger.error("Error fetching active customers", e);
             throw new ServiceException("Failed to fetch active customers", e);
         }
     }
 
-    public List<CustomerResponseDTO> searchCustomers(String keyword) throws ServiceException {
+    /**
+     * Ranked search over customers, best match first, returning at most {@code limit} results.
+     */
+    public List<CustomerResponseDTO> searchCustomers(String keyword, int limit) throws ServiceException {
         try {
             if (keyword == null || keyword.trim().isEmpty()) {
                 return getAllCustomers();
             }
 
-            List<Customer> customers = customerDAO.search(keyword.trim());
-            return customers.stream()
-                    .map(this::toResponseDTOWithContracts)
-                    .collect(Collectors.toList());
+            List<Customer> customers = customerDAO.search(keyword.trim(), limit);
+            return toResponseDTOsWithContracts(customers);
         } catch (SQLException e) {
             logger.error("Error searching customers", e);
             throw new ServiceException("Failed to search customers", e);
         }
     }
 
+    /**
+     * Typeahead suggestions from the in-memory index; never touches the database once the index is loaded.
+     */
+    public List<CustomerSuggestionDTO> suggestCustomers(String query, int limit) throws ServiceException {
+        if (!SUGGEST_INDEX.isLoaded()) {
+            synchronized (SUGGEST_INDEX) {
+                if (!SUGGEST_INDEX.isLoaded()) {
+                    loadSuggestIndex();
+                }
+            }
+        }
+        return SUGGEST_INDEX.search(query, limit);
+    }
+
+    /**
+     * (Re)build the suggest index from the customer table.
+     */
+    public void loadSuggestIndex() throws ServiceException {
+        try {
+            long start = System.nanoTime();
+            SUGGEST_INDEX.rebuild(customerDAO::forEachSuggestFields);
+            logger.info("Customer suggest index loaded: customers={}, trigrams={}, took={}ms",
+                    SUGGEST_INDEX.size(), SUGGEST_INDEX.trigramCount(), (System.nanoTime() - start) / 1_000_000);
+        } catch (SQLException e) {
+            logger.error("Error loading customer suggest index", e);
+            throw new ServiceException("Failed to load customer suggest index", e);
+        }
+    }
+
     public CustomerResponseDTO updateCustomer(Integer customerId, CustomerRequestDTO dto)
             throws ServiceException {
         try {
@@ -192,18 +355,19 @@ public class CustomerService {
             validateCustomerRequest(dto, customerId);
 
             existing.setFullName(dto.getFullName());
-            existing.setCitizenNumber(dto.getCitizenNumber());
-            existing.setPhoneNumber(dto.getPhoneNumber());
+            existing.setCitizenNumber(blankToNull(dto.getCitizenNumber()));
+            existing.setPhoneNumber(blankToNull(dto.getPhoneNumber()));
             existing.setAddress(dto.getAddress());
             existing.setEmail(dto.getEmail());
             existing.setDob(parseDate(dto.getDob()));
 
             customerDAO.update(existing);
+            SUGGEST_INDEX.put(existing);
 
             logger.info("Customer updated: ID={}", customerId);
 
-            Optional<Account> accountOpt = accountDAO.findById(existing.getAccountId());
-            return toResponseDTO(existing, accountOpt.orElse(null));
+            // Account fields were joined in by findById
+            return toResponseDTO(existing);
 
         } catch (SQLException e) {
             logger.error("Error updating customer: ID={}", customerId, e);
@@ -223,6 +387,8 @@ public class CustomerService {
                 throw new ServiceException("Customer not found or cannot be deleted");
             }
 
+            SUGGEST_INDEX.remove(customerId);
+
             logger.info("Customer deleted: ID={}", customerId);
 
         } catch (SQLException e) {
@@ -234,6 +400,23 @@ public class CustomerService {
     private void validateCustomerRequest(CustomerRequestDTO dto, Integer excludeCustomerId)
             throws ServiceException, SQLException {
 
+        validateCustomerFields(dto);
+
+        if (!isBlank(dto.getPhoneNumber())
+                && customerDAO.isPhoneNumberExists(dto.getPhoneNumber(), excludeCustomerId)) {
+            throw new ServiceException("Phone number already exists");
+        }
+
+        if (!isBlank(dto.getCitizenNumber())
+                && customerDAO.isCitizenNumberExists(dto.getCitizenNumber(), excludeCustomerId)) {
+            throw new ServiceException("Citizen number already exists");
+        }
+    }
+
+    /**
+     * Format checks only, no database access. Uniqueness is left to the caller.
+     */
+    private void validateCustomerFields(CustomerRequestDTO dto) throws ServiceException {
         if (dto.getFullName() == null || dto.getFullName().trim().isEmpty()) {
             throw new ServiceException("Full name is required");
         }
@@ -246,10 +429,6 @@ public class CustomerService {
             if (!dto.getPhoneNumber().matches("^[0-9+\\-\\s()]{10,15}$")) {
                 throw new ServiceException("Invalid phone number format");
             }
-
-            if (customerDAO.isPhoneNumberExists(dto.getPhoneNumber(), excludeCustomerId)) {
-                throw new ServiceException("Phone number already exists");
-            }
         }
 
         if (dto.getEmail() != null && !dto.getEmail().trim().isEmpty()) {
@@ -262,10 +441,6 @@ public class CustomerService {
             if (dto.getCitizenNumber().length() > 20) {
                 throw new ServiceException("Citizen number cannot exceed 20 characters");
             }
-
-            if (customerDAO.isCitizenNumberExists(dto.getCitizenNumber(), excludeCustomerId)) {
-                throw new ServiceException("Citizen number already exists");
-            }
         }
 
         if (dto.getDob() != null && !dto.getDob().trim().isEmpty()) {
@@ -282,14 +457,23 @@ public class CustomerService {
     private Customer mapDtoToCustomer(CustomerRequestDTO dto) throws ServiceException {
         Customer customer = new Customer();
         customer.setFullName(dto.getFullName());
-        customer.setCitizenNumber(dto.getCitizenNumber());
-        customer.setPhoneNumber(dto.getPhoneNumber());
+        customer.setCitizenNumber(blankToNull(dto.getCitizenNumber()));
+        customer.setPhoneNumber(blankToNull(dto.getPhoneNumber()));
         customer.setAddress(dto.getAddress());
         customer.setEmail(dto.getEmail());
         customer.setDob(parseDate(dto.getDob()));
         return customer;
     }
 
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    // Blanks are stored as NULL so they never collide on the unique keys
+    private static String blankToNull(String value) {
+        return isBlank(value) ? null : value;
+    }
+
     private LocalDate parseDate(String dateStr) throws ServiceException {
         if (dateStr == null || dateStr.trim().isEmpty()) {
             return null;
@@ -330,16 +514,35 @@ public class CustomerService {
         return dto;
     }
 
-    private CustomerResponseDTO toResponseDTOWithContracts(Customer customer) {
-        CustomerResponseDTO dto = toResponseDTO(customer);
+    private CustomerTransactionDTO toTransactionDTO(CustomerTransaction transaction) {
+        CustomerTransactionDTO dto = new CustomerTransactionDTO();
+        dto.setType(transaction.getType().getValue());
+        dto.setContractId(transaction.getContractId());
+        dto.setTransactionDate(transaction.getTransactionDate().format(DATE_FORMATTER));
+        dto.setAmount(transaction.getAmount());
+        return dto;
+    }
+
+    private List<CustomerResponseDTO> toResponseDTOsWithContracts(List<Customer> customers) {
+        Map<Integer, Integer> contractCounts = loadContractCounts(customers);
+        return customers.stream()
+                .map(customer -> {
+                    CustomerResponseDTO dto = toResponseDTO(customer);
+                    dto.setContractCount(contractCounts.getOrDefault(customer.getCustomerId(), 0));
+                    return dto;
+                })
+                .collect(Collectors.toList());
+    }
+
+    private Map<Integer, Integer> loadContractCounts(List<Customer> customers) {
         try {
-            int contractCount = customerDAO.countContracts(customer.getCustomerId());
-            dto.setContractCount(contractCount);
+            return customerDAO.countContractsByCustomerIds(customers.stream()
+                    .map(Customer::getCustomerId)
+                    .collect(Collectors.toList()));
         } catch (SQLException e) {
-            logger.warn("Failed to get contract count for customer: {}", customer.getCustomerId());
-            dto.setContractCount(0);
+            logger.warn("Failed to get contract counts for {} customers", customers.size());
+            return Collections.emptyMap();
         }
-        return dto;
     }
 
     public static class ServiceException extends Exception {
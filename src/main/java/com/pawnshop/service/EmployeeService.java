@@ -2,11 +2,12 @@ package com.pawnshop.service;
 
 import com.pawnshop.dao.AccountDAO;
 import com.pawnshop.dao.EmployeeDAO;
+import com.pawnshop.dao.UnitOfWork;
 import com.pawnshop.dto.EmployeeRequestDTO;
 import com.pawnshop.dto.EmployeeResponseDTO;
 import com.pawnshop.model.Account;
 import com.pawnshop.model.Employee;
-import org.mindrot.jbcrypt.BCrypt;
+import com.pawnshop.security.PasswordHasher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -17,22 +18,28 @@ import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 
 public class EmployeeService {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeService.class);
     private final EmployeeDAO employeeDAO;
     private final AccountDAO accountDAO;
+    private final PasswordHasher passwordHasher;
     private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
 
     public EmployeeService() {
-        this.employeeDAO = new EmployeeDAO();
-        this.accountDAO = new AccountDAO();
+        this(new EmployeeDAO(), new AccountDAO());
     }
 
     public EmployeeService(EmployeeDAO employeeDAO, AccountDAO accountDAO) {
+        this(employeeDAO, accountDAO, PasswordHasher.getDefault());
+    }
+
+    public EmployeeService(EmployeeDAO employeeDAO, AccountDAO accountDAO, PasswordHasher passwordHasher) {
         this.employeeDAO = employeeDAO;
         this.accountDAO = accountDAO;
+        this.passwordHasher = passwordHasher;
     }
 
     /**
@@ -84,43 +91,37 @@ public class EmployeeService {
     }
 
     /**
-     * Create employee with new account (one transaction)
+     * Create employee with new account (one transaction, one connection). Duplicate username,
+     * phone, email or citizen number are reported from the unique keys rather than checked first.
      */
     public EmployeeResponseDTO createEmployeeWithAccount(EmployeeRequestDTO dto) throws ServiceException {
-        try {
-            // Validate employee data
-            validateEmployeeRequest(dto, null);
+        // Validate employee data
+        validateEmployeeFields(dto);
 
-            // Validate account data
-            if (dto.getUsername() == null || dto.getUsername().trim().isEmpty()) {
-                throw new ServiceException("Username is required");
-            }
-            if (dto.getPassword() == null || dto.getPassword().length() < 6) {
-                throw new ServiceException("Password must be at least 6 characters");
-            }
-
-            // Check username availability
-            if (accountDAO.isUsernameExists(dto.getUsername(), null)) {
-                throw new ServiceException("Username already exists");
-            }
-
-            // Create account first
-            Account account = new Account();
-            account.setUsername(dto.getUsername());
-            account.setPasswordHash(BCrypt.hashpw(dto.getPassword(), BCrypt.gensalt(12)));
-            account.setRole(Account.Role.EMPLOYEE);
-            account.setActive(true);
+        // Validate account data
+        if (dto.getUsername() == null || dto.getUsername().trim().isEmpty()) {
+            throw new ServiceException("Username is required");
+        }
+        if (dto.getPassword() == null || dto.getPassword().length() < 6) {
+            throw new ServiceException("Password must be at least 6 characters");
+        }
 
-            Integer accountId = accountDAO.create(account);
-            account.setAccountId(accountId);
+        // Hash before borrowing a connection so it is not held while hashing
+        Account account = new Account();
+        account.setUsername(dto.getUsername());
+        account.setPasswordHash(passwordHasher.hash(dto.getPassword()));
+        account.setRole(Account.Role.EMPLOYEE);
+        account.setActive(true);
 
-            // Create employee
-            Employee employee = mapDtoToEmployee(dto);
-            employee.setAccountId(accountId);
-            employee.setActive(true);
+        Employee employee = mapDtoToEmployee(dto);
+        employee.setActive(true);
 
-            Integer employeeId = employeeDAO.create(employee);
-            employee.setEmployeeId(employeeId);
+        try {
+            // Account first, then employee, committed together
+            Integer employeeId = UnitOfWork.inTransaction(conn -> {
+                employee.setAccountId(accountDAO.create(conn, account));
+                return employeeDAO.create(conn, employee);
+            });
 
             logger.info("Employee with account created: employeeId={}, username={}",
                     employeeId, dto.getUsername());
@@ -128,6 +129,18 @@ public class EmployeeService {
             return toResponseDTO(employee, account);
 
         } catch (SQLException e) {
+            if (UnitOfWork.isDuplicateKey(e, "username")) {
+                throw new ServiceException("Username already exists");
+            }
+            if (UnitOfWork.isDuplicateKey(e, "phone_number")) {
+                throw new ServiceException("Phone number already exists");
+            }
+            if (UnitOfWork.isDuplicateKey(e, "email")) {
+                throw new ServiceException("Email already exists");
+            }
+            if (UnitOfWork.isDuplicateKey(e, "citizen_number")) {
+                throw new ServiceException("Citizen number already exists");
+            }
             logger.error("Database error creating employee with account", e);
             throw new ServiceException("Failed to create employee with account", e);
         }
@@ -184,6 +197,18 @@ public class EmployeeService {
         }
     }
 
+    /**
+     * Stream employees row by row, optionally active ones only
+     */
+    public void streamEmployees(boolean activeOnly, Consumer<EmployeeResponseDTO> action) throws ServiceException {
+        try {
+            employeeDAO.forEachEmployee(activeOnly, employee -> action.accept(toResponseDTO(employee)));
+        } catch (SQLException e) {
+            logger.error("Error streaming employees", e);
+            throw new ServiceException("Failed to fetch employees", e);
+        }
+    }
+
     /**
      * Search employees
      */
@@ -223,9 +248,9 @@ public class EmployeeService {
             // Update fields
             existing.setFullName(dto.getFullName());
             existing.setDob(parseDate(dto.getDob()));
-            existing.setPhoneNumber(dto.getPhoneNumber());
-            existing.setEmail(dto.getEmail());
-            existing.setCitizenNumber(dto.getCitizenNumber());
+            existing.setPhoneNumber(blankToNull(dto.getPhoneNumber()));
+            existing.setEmail(blankToNull(dto.getEmail()));
+            existing.setCitizenNumber(blankToNull(dto.getCitizenNumber()));
             existing.setHireDate(parseDate(dto.getHireDate()));
 
             if (dto.getSalary() != null && !dto.getSalary().trim().isEmpty()) {
@@ -265,6 +290,7 @@ public class EmployeeService {
                 Account account = accountOpt.get();
                 account.setActive(false);
                 accountDAO.update(account);
+                AccountService.invalidateAccountStatus(account.getAccountId());
             }
 
             logger.info("Employee deactivated: ID={}", employeeId);
@@ -295,6 +321,7 @@ public class EmployeeService {
                 Account account = accountOpt.get();
                 account.setActive(true);
                 accountDAO.update(account);
+                AccountService.invalidateAccountStatus(account.getAccountId());
             }
 
             logger.info("Employee activated: ID={}", employeeId);
@@ -332,6 +359,27 @@ public class EmployeeService {
     private void validateEmployeeRequest(EmployeeRequestDTO dto, Integer excludeEmployeeId)
             throws ServiceException, SQLException {
 
+        validateEmployeeFields(dto);
+
+        if (!isBlank(dto.getPhoneNumber())
+                && employeeDAO.isPhoneNumberExists(dto.getPhoneNumber(), excludeEmployeeId)) {
+            throw new ServiceException("Phone number already exists");
+        }
+
+        if (!isBlank(dto.getEmail()) && employeeDAO.isEmailExists(dto.getEmail(), excludeEmployeeId)) {
+            throw new ServiceException("Email already exists");
+        }
+
+        if (!isBlank(dto.getCitizenNumber())
+                && employeeDAO.isCitizenNumberExists(dto.getCitizenNumber(), excludeEmployeeId)) {
+            throw new ServiceException("Citizen number already exists");
+        }
+    }
+
+    /**
+     * Format checks only, no database access. Uniqueness is left to the caller.
+     */
+    private void validateEmployeeFields(EmployeeRequestDTO dto) throws ServiceException {
         if (dto.getFullName() == null || dto.getFullName().trim().isEmpty()) {
             throw new ServiceException("Full name is required");
         }
@@ -345,10 +393,6 @@ public class EmployeeService {
             if (!dto.getPhoneNumber().matches("^[0-9+\\-\\s()]{10,15}$")) {
                 throw new ServiceException("Invalid phone number format");
             }
-
-            if (employeeDAO.isPhoneNumberExists(dto.getPhoneNumber(), excludeEmployeeId)) {
-                throw new ServiceException("Phone number already exists");
-            }
         }
 
         // Validate email
@@ -356,10 +400,6 @@ public class EmployeeService {
             if (!dto.getEmail().matches("^[A-Za-z0-9+_.-]+@[A-Za-z0-9.-]+\\.[A-Za-z]{2,}$")) {
                 throw new ServiceException("Invalid email format");
             }
-
-            if (employeeDAO.isEmailExists(dto.getEmail(), excludeEmployeeId)) {
-                throw new ServiceException("Email already exists");
-            }
         }
 
         // Validate citizen number
@@ -367,10 +407,6 @@ public class EmployeeService {
             if (dto.getCitizenNumber().length() > 20) {
                 throw new ServiceException("Citizen number cannot exceed 20 characters");
             }
-
-            if (employeeDAO.isCitizenNumberExists(dto.getCitizenNumber(), excludeEmployeeId)) {
-                throw new ServiceException("Citizen number already exists");
-            }
         }
 
         // Validate dates
@@ -411,9 +447,9 @@ public class EmployeeService {
         Employee employee = new Employee();
         employee.setFullName(dto.getFullName());
         employee.setDob(parseDate(dto.getDob()));
-        employee.setPhoneNumber(dto.getPhoneNumber());
-        employee.setEmail(dto.getEmail());
-        employee.setCitizenNumber(dto.getCitizenNumber());
+        employee.setPhoneNumber(blankToNull(dto.getPhoneNumber()));
+        employee.setEmail(blankToNull(dto.getEmail()));
+        employee.setCitizenNumber(blankToNull(dto.getCitizenNumber()));
         employee.setHireDate(parseDate(dto.getHireDate()));
 
         if (dto.getSalary() != null && !dto.getSalary().trim().isEmpty()) {
@@ -423,6 +459,15 @@ public class EmployeeService {
         return employee;
     }
 
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    // Blanks are stored as NULL so they never collide on the unique keys
+    private static String blankToNull(String value) {
+        return isBlank(value) ? null : value;
+    }
+
     private LocalDate parseDate(String dateStr) throws ServiceException {
         if (dateStr == null || dateStr.trim().isEmpty()) {
             return null;
@@ -0,0 +1,189 @@
+package com.pawnshop.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.Arrays;
+
+/**
+ * Prices a batch of pawn contracts in one pass over primitive arrays.
+ * <p>
+ * Interest is simple and daily: the outstanding principal (loan minus principal paid, never below
+ * zero) accrues the monthly rate / 30 per day from the start date, with a minimum of one day, and
+ * is rounded half-up to the cent once per contract. The redemption amount is outstanding principal
+ * plus accrued interest.
+ * <p>
+ * Amounts are held as longs in cents and monthly rates as longs in hundredths of a percent
+ * (3.25 %/month is 325), so a contract costs a few long multiplications instead of a chain of
+ * BigDecimal objects. The arithmetic is exact and gives the same result as
+ * {@link #referenceInterest}; a contract whose numbers would overflow a long is priced with the
+ * reference instead.
+ */
+final class InterestAccrualEngine {
+    static final int AMOUNT_SCALE = 2;
+    static final int RATE_SCALE = 2;
+    static final int DAYS_PER_MONTH = 30;
+
+    // cents * rate(1/100 %) * days / DIVISOR = interest in cents: 100 (percent) * 100 (rate scale) * 30 days
+    private static final long DIVISOR = 100L * 100L * DAYS_PER_MONTH;
+    private static final BigDecimal REFERENCE_DIVISOR = BigDecimal.valueOf(100L * DAYS_PER_MONTH);
+
+    private InterestAccrualEngine() {
+    }
+
+    /**
+     * Column-oriented inputs and results for a set of contracts. Inputs are appended with
+     * {@link #add}; {@link InterestAccrualEngine#accrue} fills the results.
+     */
+    static final class Batch {
+        private int size;
+        private int[] contractIds;
+        private long[] loanCents;
+        private long[] principalPaidCents;
+        private long[] rateHundredths;
+        private long[] startEpochDays;
+        private long[] dueEpochDays;
+
+        private long[] outstandingCents;
+        private long[] interestCents;
+        private long[] days;
+
+        Batch(int initialCapacity) {
+            int capacity = Math.max(initialCapacity, 16);
+            contractIds = new int[capacity];
+            loanCents = new long[capacity];
+            principalPaidCents = new long[capacity];
+            rateHundredths = new long[capacity];
+            startEpochDays = new long[capacity];
+            dueEpochDays = new long[capacity];
+        }
+
+        /**
+         * Amounts and rates must have at most two decimal places: the pawn_contract columns are
+         * DECIMAL(19, 2) / DECIMAL(5, 2) (V10) and PawnContractService rejects more on input.
+         *
+         * @throws ArithmeticException if an amount or rate has more than two decimal places
+         */
+        void add(int contractId, BigDecimal loanAmount, BigDecimal principalPaid, BigDecimal monthlyRatePercent,
+                 LocalDate startDate, LocalDate dueDate) {
+            if (size == contractIds.length) {
+                grow();
+            }
+            contractIds[size] = contractId;
+            loanCents[size] = toScaledLong(loanAmount, AMOUNT_SCALE);
+            principalPaidCents[size] = principalPaid != null ? toScaledLong(principalPaid, AMOUNT_SCALE) : 0;
+            rateHundredths[size] = toScaledLong(monthlyRatePercent, RATE_SCALE);
+            startEpochDays[size] = startDate.toEpochDay();
+            dueEpochDays[size] = dueDate != null ? dueDate.toEpochDay() : Long.MAX_VALUE;
+            size++;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int contractId(int i) {
+            return contractIds[i];
+        }
+
+        long days(int i) {
+            return days[i];
+        }
+
+        boolean isOverdue(int i, LocalDate asOf) {
+            return asOf.toEpochDay() > dueEpochDays[i];
+        }
+
+        long outstandingCents(int i) {
+            return outstandingCents[i];
+        }
+
+        long interestCents(int i) {
+            return interestCents[i];
+        }
+
+        BigDecimal outstanding(int i) {
+            return BigDecimal.valueOf(outstandingCents[i], AMOUNT_SCALE);
+        }
+
+        BigDecimal interest(int i) {
+            return BigDecimal.valueOf(interestCents[i], AMOUNT_SCALE);
+        }
+
+        BigDecimal redemption(int i) {
+            return BigDecimal.valueOf(outstandingCents[i] + interestCents[i], AMOUNT_SCALE);
+        }
+
+        private void grow() {
+            int capacity = contractIds.length * 2;
+            contractIds = Arrays.copyOf(contractIds, capacity);
+            loanCents = Arrays.copyOf(loanCents, capacity);
+            principalPaidCents = Arrays.copyOf(principalPaidCents, capacity);
+            rateHundredths = Arrays.copyOf(rateHundredths, capacity);
+            startEpochDays = Arrays.copyOf(startEpochDays, capacity);
+            dueEpochDays = Arrays.copyOf(dueEpochDays, capacity);
+        }
+    }
+
+    /**
+     * Price every contract in the batch as of the given day.
+     */
+    static void accrue(Batch batch, LocalDate asOf) {
+        long day = asOf.toEpochDay();
+        int n = batch.size;
+        long[] outstanding = new long[n];
+        long[] interest = new long[n];
+        long[] days = new long[n];
+
+        for (int i = 0; i < n; i++) {
+            long principal = Math.max(0, batch.loanCents[i] - batch.principalPaidCents[i]);
+            long elapsed = day < batch.startEpochDays[i] ? 0 : Math.max(1, day - batch.startEpochDays[i]);
+
+            outstanding[i] = principal;
+            days[i] = elapsed;
+            try {
+                interest[i] = interestCents(principal, batch.rateHundredths[i], elapsed);
+            } catch (ArithmeticException e) {
+                interest[i] = toScaledLong(referenceInterest(BigDecimal.valueOf(principal, AMOUNT_SCALE),
+                        BigDecimal.valueOf(batch.rateHundredths[i], RATE_SCALE), elapsed), AMOUNT_SCALE);
+            }
+        }
+
+        batch.outstandingCents = outstanding;
+        batch.interestCents = interest;
+        batch.days = days;
+    }
+
+    /**
+     * {@code round_half_up(principalCents * rate * days / DIVISOR)} without forming the full
+     * product: principal is split into a multiple of DIVISOR and a remainder, so the intermediate
+     * values stay far below the long range for any realistic loan.
+     *
+     * @throws ArithmeticException if a partial product still overflows
+     */
+    static long interestCents(long principalCents, long rateHundredths, long days) {
+        long factor = Math.multiplyExact(rateHundredths, days);
+        long whole = Math.multiplyExact(principalCents / DIVISOR, factor);
+        long partial = Math.multiplyExact(principalCents % DIVISOR, factor);
+
+        long interest = Math.addExact(whole, partial / DIVISOR);
+        if ((partial % DIVISOR) * 2 >= DIVISOR) {
+            interest++;
+        }
+        return interest;
+    }
+
+    /**
+     * BigDecimal definition of the accrual: principal * monthly rate % * days / (100 * 30), rounded
+     * half-up to the cent. The fixed-point path must agree with this exactly.
+     */
+    static BigDecimal referenceInterest(BigDecimal principal, BigDecimal monthlyRatePercent, long days) {
+        return principal.multiply(monthlyRatePercent)
+                .multiply(BigDecimal.valueOf(days))
+                .divide(REFERENCE_DIVISOR, AMOUNT_SCALE, RoundingMode.HALF_UP);
+    }
+
+    private static long toScaledLong(BigDecimal value, int scale) {
+        return value.setScale(scale, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,265 @@
+package com.pawnshop.service;
+
+import com.pawnshop.dao.LiquidationDAO;
+import com.pawnshop.dao.PawnContractDAO;
+import com.pawnshop.dao.RevenueRollupDAO;
+import com.pawnshop.dao.UnitOfWork;
+import com.pawnshop.dto.BulkLiquidationRequestDTO;
+import com.pawnshop.dto.BulkLiquidationResultDTO;
+import com.pawnshop.dto.LiquidationDTO;
+import com.pawnshop.dto.LiquidationRequestDTO;
+import com.pawnshop.dto.MonthlyRevenueDTO;
+import com.pawnshop.model.Liquidation;
+import com.pawnshop.model.PawnContract;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Records sales of forfeited collateral. A contract is forfeited once it is past its due date:
+ * either expired, which is what {@link ContractExpirySweeper} marks it after the grace period, or
+ * still active because the sweeper is disabled or has not reached it yet. The sale is dated after
+ * the due date in both cases and marks the contract liquidated. This is the only place a sale and
+ * its revenue are recorded: every write adds per-month deltas to the revenue rollup in the same
+ * transaction.
+ */
+public class LiquidationService {
+    private static final Logger logger = LoggerFactory.getLogger(LiquidationService.class);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    static final int MAX_BULK_ITEMS = 1000;
+    private static final int MAX_LIST_RESULTS = 1000;
+    private static final BigDecimal MAX_PRICE = new BigDecimal("999999999999.99");
+
+    private final LiquidationDAO liquidationDAO;
+    private final PawnContractDAO contractDAO;
+    private final RevenueRollupDAO revenueRollupDAO;
+
+    public LiquidationService() {
+        this(new LiquidationDAO(), new PawnContractDAO(), new RevenueRollupDAO());
+    }
+
+    public LiquidationService(LiquidationDAO liquidationDAO, PawnContractDAO contractDAO,
+                              RevenueRollupDAO revenueRollupDAO) {
+        this.liquidationDAO = liquidationDAO;
+        this.contractDAO = contractDAO;
+        this.revenueRollupDAO = revenueRollupDAO;
+    }
+
+    public LiquidationDTO recordSale(LiquidationRequestDTO dto) throws ServiceException {
+        return recordSales(null, List.of(dto)).getLiquidations().get(0);
+    }
+
+    /**
+     * Record up to {@link #MAX_BULK_ITEMS} sales, e.g. one auction, all or nothing: one
+     * transaction, one batched status update, one batched insert and one rollup delta per month.
+     */
+    public BulkLiquidationResultDTO recordBulk(BulkLiquidationRequestDTO dto) throws ServiceException {
+        if (dto.getItems() == null || dto.getItems().isEmpty()) {
+            throw new ServiceException("At least one item is required");
+        }
+        if (dto.getItems().size() > MAX_BULK_ITEMS) {
+            throw new ServiceException("A bulk request cannot exceed " + MAX_BULK_ITEMS + " items");
+        }
+        return recordSales(dto.getLiquidationDate(), dto.getItems());
+    }
+
+    public LiquidationDTO getLiquidation(Integer liquidationId) throws ServiceException {
+        try {
+            Optional<Liquidation> liquidation = liquidationDAO.findById(liquidationId);
+            if (liquidation.isEmpty()) {
+                throw new ServiceException("Liquidation not found");
+            }
+            return mapLiquidationToDto(liquidation.get());
+        } catch (SQLException e) {
+            logger.error("Error fetching liquidation", e);
+            throw new ServiceException("Failed to fetch liquidation", e);
+        }
+    }
+
+    /**
+     * Liquidations dated from {@code startDate} to {@code endDate} inclusive (yyyy-MM-dd), newest
+     * first. Defaults to the current month.
+     */
+    public List<LiquidationDTO> getLiquidations(String startDate, String endDate) throws ServiceException {
+        LocalDate today = LocalDate.now();
+        LocalDate start = isBlank(startDate) ? today.withDayOfMonth(1) : parseDate(startDate, "start date");
+        LocalDate end = isBlank(endDate) ? today : parseDate(endDate, "end date");
+        if (start.isAfter(end)) {
+            throw new ServiceException("Start date must be before end date");
+        }
+
+        try {
+            return liquidationDAO.findByDateRange(start, end.plusDays(1), MAX_LIST_RESULTS).stream()
+                    .map(this::mapLiquidationToDto)
+                    .collect(Collectors.toList());
+        } catch (SQLException e) {
+            logger.error("Error fetching liquidations", e);
+            throw new ServiceException("Failed to fetch liquidations", e);
+        }
+    }
+
+    private BulkLiquidationResultDTO recordSales(String defaultDate, List<LiquidationRequestDTO> items)
+            throws ServiceException {
+        LocalDate fallbackDate = isBlank(defaultDate) ? LocalDate.now() : parseDate(defaultDate, "liquidation date");
+        List<Liquidation> liquidations = new ArrayList<>(items.size());
+        Set<Integer> contractIds = new HashSet<>();
+        Map<LocalDate, RevenueRollupDAO.MonthDelta> deltas = RevenueRollupDAO.MonthDelta.newMap();
+
+        for (LiquidationRequestDTO item : items) {
+            Liquidation liquidation = mapDtoToLiquidation(item, fallbackDate);
+            if (!contractIds.add(liquidation.getContractId())) {
+                throw new ServiceException("Contract " + liquidation.getContractId() + " is listed more than once");
+            }
+            liquidations.add(liquidation);
+            RevenueRollupDAO.MonthDelta.accumulate(deltas, liquidation.getLiquidationDate(), liquidation.getPrice());
+        }
+
+        try {
+            UnitOfWork.inTransaction(conn -> {
+                Map<Integer, PawnContract> locked = new HashMap<>();
+                for (PawnContract contract : contractDAO.lockByIds(conn, contractIds)) {
+                    locked.put(contract.getContractId(), contract);
+                }
+                for (Liquidation liquidation : liquidations) {
+                    checkSellable(locked.get(liquidation.getContractId()), liquidation);
+                }
+
+                contractDAO.updateStatusBatch(conn, new ArrayList<>(contractIds), PawnContract.Status.LIQUIDATED);
+                liquidationDAO.insertBatch(conn, liquidations);
+                revenueRollupDAO.applyDeltas(conn, deltas.values());
+                return null;
+            });
+        } catch (SaleRejectedException e) {
+            throw new ServiceException(e.getMessage());
+        } catch (SQLException e) {
+            logger.error("Error recording liquidations", e);
+            throw new ServiceException("Failed to record liquidations", e);
+        }
+
+        RevenueService.invalidateReportCache();
+        logger.info("Recorded {} liquidations across {} month(s)", liquidations.size(), deltas.size());
+
+        BulkLiquidationResultDTO result = new BulkLiquidationResultDTO();
+        result.setRecorded(liquidations.size());
+        result.setTotalRevenue(deltas.values().stream()
+                .map(RevenueRollupDAO.MonthDelta::getTotalRevenue)
+                .reduce(BigDecimal.ZERO, BigDecimal::add));
+        result.setMonthlyDeltas(deltas.values().stream()
+                .map(this::mapDeltaToDto)
+                .collect(Collectors.toList()));
+        result.setLiquidations(liquidations.stream()
+                .map(this::mapLiquidationToDto)
+                .collect(Collectors.toList()));
+        return result;
+    }
+
+    /**
+     * Runs inside the transaction, so a rejection is a RuntimeException: it rolls back the
+     * whole request.
+     */
+    static void checkSellable(PawnContract contract, Liquidation liquidation) {
+        if (contract == null) {
+            throw new SaleRejectedException("Contract " + liquidation.getContractId() + " not found");
+        }
+        boolean open = contract.getStatus() == PawnContract.Status.EXPIRED
+                || contract.getStatus() == PawnContract.Status.ACTIVE;
+        boolean forfeited = open && contract.getDueDate().isBefore(liquidation.getLiquidationDate());
+        if (!forfeited) {
+            throw new SaleRejectedException("Contract " + contract.getContractId() + " cannot be liquidated: status "
+                    + contract.getStatus().getValue() + ", due " + contract.getDueDate().format(DATE_FORMATTER));
+        }
+    }
+
+    private Liquidation mapDtoToLiquidation(LiquidationRequestDTO item, LocalDate fallbackDate)
+            throws ServiceException {
+        if (item == null || item.getContractId() == null) {
+            throw new ServiceException("Contract ID is required");
+        }
+
+        if (isBlank(item.getPrice())) {
+            throw new ServiceException("Price is required for contract " + item.getContractId());
+        }
+        BigDecimal price;
+        try {
+            price = new BigDecimal(item.getPrice().trim());
+        } catch (NumberFormatException e) {
+            throw new ServiceException("Invalid price format for contract " + item.getContractId());
+        }
+        if (price.signum() <= 0 || price.compareTo(MAX_PRICE) > 0 || price.scale() > 2) {
+            throw new ServiceException("Invalid price for contract " + item.getContractId());
+        }
+
+        LocalDate date = isBlank(item.getLiquidationDate())
+                ? fallbackDate : parseDate(item.getLiquidationDate(), "liquidation date");
+        if (date.isAfter(LocalDate.now())) {
+            throw new ServiceException("Liquidation date cannot be in the future");
+        }
+
+        Liquidation liquidation = new Liquidation();
+        liquidation.setContractId(item.getContractId());
+        liquidation.setLiquidationDate(date);
+        liquidation.setPrice(price);
+        return liquidation;
+    }
+
+    private LiquidationDTO mapLiquidationToDto(Liquidation liquidation) {
+        LiquidationDTO dto = new LiquidationDTO();
+        dto.setLiquidationId(liquidation.getLiquidationId());
+        dto.setContractId(liquidation.getContractId());
+        dto.setLiquidationDate(liquidation.getLiquidationDate().format(DATE_FORMATTER));
+        dto.setPrice(liquidation.getPrice());
+        return dto;
+    }
+
+    private MonthlyRevenueDTO mapDeltaToDto(RevenueRollupDAO.MonthDelta delta) {
+        MonthlyRevenueDTO dto = new MonthlyRevenueDTO();
+        dto.setMonth(delta.getMonthStart().format(DateTimeFormatter.ofPattern("yyyy-MM")));
+        dto.setYear(delta.getMonthStart().getYear());
+        dto.setMonthNumber(delta.getMonthStart().getMonthValue());
+        dto.setTotalLiquidations(delta.getCount());
+        dto.setTotalRevenue(delta.getTotalRevenue());
+        return dto;
+    }
+
+    private static LocalDate parseDate(String value, String field) throws ServiceException {
+        try {
+            return LocalDate.parse(value.trim(), DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new ServiceException("Invalid " + field + ", expected yyyy-MM-dd");
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    static final class SaleRejectedException extends RuntimeException {
+        SaleRejectedException(String message) {
+            super(message);
+        }
+    }
+
+    public static class ServiceException extends Exception {
+        public ServiceException(String message) {
+            super(message);
+        }
+
+        public ServiceException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.pawnshop.service;
+
+import com.pawnshop.dao.CustomerDAO;
+import com.pawnshop.dao.PawnContractDAO;
+import com.pawnshop.dto.ContractValuationDTO;
+import com.pawnshop.dto.DueDateCursor;
+import com.pawnshop.dto.PageResult;
+import com.pawnshop.dto.PawnContractRequestDTO;
+import com.pawnshop.dto.PortfolioValuationDTO;
+import com.pawnshop.model.PawnContract;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+public class PawnContractService {
+    private static final Logger logger = LoggerFactory.getLogger(PawnContractService.class);
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+
+    private static final BigDecimal MAX_LOAN_AMOUNT = new BigDecimal("999999999999.99");
+    private static final BigDecimal MAX_MONTHLY_RATE = new BigDecimal("100");
+
+    private final PawnContractDAO contractDAO;
+    private final CustomerDAO customerDAO;
+
+    public PawnContractService() {
+        this(new PawnContractDAO(), new CustomerDAO());
+    }
+
+    public PawnContractService(PawnContractDAO contractDAO, CustomerDAO customerDAO) {
+        this.contractDAO = contractDAO;
+        this.customerDAO = customerDAO;
+    }
+
+    public ContractValuationDTO getContract(Integer contractId) throws ServiceException {
+        try {
+            Optional<PawnContract> contractOpt = contractDAO.findById(contractId);
+            if (contractOpt.isEmpty()) {
+                throw new ServiceException("Contract not found");
+            }
+            return value(List.of(contractOpt.get()), LocalDate.now()).get(0);
+        } catch (SQLException e) {
+            logger.error("Error fetching contract", e);
+            throw new ServiceException("Failed to fetch contract", e);
+        }
+    }
+
+    /**
+     * All of a customer's contracts, newest first. Active contracts are priced as of today;
+     * closed ones carry no outstanding or interest figures.
+     */
+    public List<ContractValuationDTO> getCustomerContracts(Integer customerId) throws ServiceException {
+        try {
+            return value(contractDAO.findByCustomerId(customerId), LocalDate.now());
+        } catch (SQLException e) {
+            logger.error("Error fetching customer contracts", e);
+            throw new ServiceException("Failed to fetch customer contracts", e);
+        }
+    }
+
+    /**
+     * One page of open contracts priced as of {@code asOfDate} (yyyy-MM-dd, default today), in
+     * due-date order; {@code after} is the previous page's nextCursor. Totals over the whole open
+     * book come from {@link #getPortfolioSummary}.
+     */
+    public PageResult<ContractValuationDTO> valueOpenContracts(String asOfDate, String after, int limit)
+            throws ServiceException {
+        LocalDate asOf = parseAsOf(asOfDate);
+        DueDateCursor cursor = null;
+        if (after != null && !after.trim().isEmpty()) {
+            try {
+                cursor = DueDateCursor.decode(after.trim());
+            } catch (IllegalArgumentException e) {
+                throw new ServiceException("Invalid cursor");
+            }
+        }
+
+        try {
+            // Fetch one extra row to learn whether another page exists
+            List<PawnContract> contracts = contractDAO.findOpenPage(
+                    cursor != null ? cursor.getDueDate() : null,
+                    cursor != null ? cursor.getId() : null,
+                    limit + 1);
+
+            String nextCursor = null;
+            if (contracts.size() > limit) {
+                contracts = contracts.subList(0, limit);
+                PawnContract last = contracts.get(limit - 1);
+                nextCursor = new DueDateCursor(last.getDueDate(), last.getContractId()).encode();
+            }
+            return new PageResult<>(value(contracts, asOf), nextCursor);
+        } catch (SQLException e) {
+            logger.error("Error valuing open contracts", e);
+            throw new ServiceException("Failed to value open contracts", e);
+        }
+    }
+
+    /**
+     * Totals over every open contract. Rows are streamed straight into the engine's arrays and
+     * summed in cents, so no per-contract objects are kept.
+     */
+    public PortfolioValuationDTO getPortfolioSummary(String asOfDate) throws ServiceException {
+        LocalDate asOf = parseAsOf(asOfDate);
+        InterestAccrualEngine.Batch batch = new InterestAccrualEngine.Batch(1024);
+        try {
+            contractDAO.forEachOpenContract(contract -> addToBatch(batch, contract));
+        } catch (SQLException e) {
+            logger.error("Error valuing open contracts", e);
+            throw new ServiceException("Failed to value open contracts", e);
+        }
+
+        InterestAccrualEngine.accrue(batch, asOf);
+
+        long outstanding = 0;
+        long interest = 0;
+        long overdueRedemption = 0;
+        int overdueCount = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            outstanding += batch.outstandingCents(i);
+            interest += batch.interestCents(i);
+            if (batch.isOverdue(i, asOf)) {
+                overdueCount++;
+                overdueRedemption += batch.outstandingCents(i) + batch.interestCents(i);
+            }
+        }
+
+        PortfolioValuationDTO summary = new PortfolioValuationDTO();
+        summary.setAsOf(asOf.format(DATE_FORMATTER));
+        summary.setContractCount(batch.size());
+        summary.setOverdueCount(overdueCount);
+        summary.setTotalOutstandingPrincipal(cents(outstanding));
+        summary.setTotalAccruedInterest(cents(interest));
+        summary.setTotalRedemptionAmount(cents(outstanding + interest));
+        summary.setOverdueRedemptionAmount(cents(overdueRedemption));
+        return summary;
+    }
+
+    public ContractValuationDTO createContract(PawnContractRequestDTO dto) throws ServiceException {
+        PawnContract contract = mapDtoToContract(dto);
+        try {
+            if (customerDAO.findById(contract.getCustomerId()).isEmpty()) {
+                throw new ServiceException("Customer not found");
+            }
+
+            contractDAO.create(contract);
+            logger.info("Contract created: ID={}, customer={}", contract.getContractId(), contract.getCustomerId());
+            return value(List.of(contract), LocalDate.now()).get(0);
+        } catch (SQLException e) {
+            logger.error("Error creating contract", e);
+            throw new ServiceException("Failed to create contract", e);
+        }
+    }
+
+    /**
+     * Price the active contracts in {@code contracts} in one engine pass and map every contract
+     * to a DTO in the same order.
+     */
+    static List<ContractValuationDTO> value(List<PawnContract> contracts, LocalDate asOf) {
+        InterestAccrualEngine.Batch batch = new InterestAccrualEngine.Batch(contracts.size());
+        for (PawnContract contract : contracts) {
+            if (contract.getStatus() == PawnContract.Status.ACTIVE) {
+                addToBatch(batch, contract);
+            }
+        }
+        InterestAccrualEngine.accrue(batch, asOf);
+
+        List<ContractValuationDTO> result = new ArrayList<>(contracts.size());
+        int priced = 0;
+        for (PawnContract contract : contracts) {
+            ContractValuationDTO dto = mapContractToDto(contract);
+            if (contract.getStatus() == PawnContract.Status.ACTIVE) {
+                dto.setOutstandingPrincipal(batch.outstanding(priced));
+                dto.setAccruedInterest(batch.interest(priced));
+                dto.setRedemptionAmount(batch.redemption(priced));
+                dto.setDaysElapsed(batch.days(priced));
+                dto.setOverdue(batch.isOverdue(priced, asOf));
+                priced++;
+            }
+            result.add(dto);
+        }
+        return result;
+    }
+
+    private static void addToBatch(InterestAccrualEngine.Batch batch, PawnContract contract) {
+        batch.add(contract.getContractId(), contract.getLoanAmount(), contract.getPrincipalPaid(),
+                contract.getInterestRate(), contract.getStartDate(), contract.getDueDate());
+    }
+
+    private static ContractValuationDTO mapContractToDto(PawnContract contract) {
+        ContractValuationDTO dto = new ContractValuationDTO();
+        dto.setContractId(contract.getContractId());
+        dto.setCustomerId(contract.getCustomerId());
+        dto.setStatus(contract.getStatus().getValue());
+        dto.setLoanAmount(contract.getLoanAmount());
+        dto.setInterestRate(contract.getInterestRate());
+        dto.setStartDate(contract.getStartDate() != null ? contract.getStartDate().format(DATE_FORMATTER) : null);
+        dto.setDueDate(contract.getDueDate() != null ? contract.getDueDate().format(DATE_FORMATTER) : null);
+        return dto;
+    }
+
+    private PawnContract mapDtoToContract(PawnContractRequestDTO dto) throws ServiceException {
+        if (dto.getCustomerId() == null) {
+            throw new ServiceException("Customer ID is required");
+        }
+
+        BigDecimal loanAmount = parseDecimal(dto.getLoanAmount(), "loan amount");
+        if (loanAmount.signum() <= 0) {
+            throw new ServiceException("Loan amount must be positive");
+        }
+        if (loanAmount.compareTo(MAX_LOAN_AMOUNT) > 0) {
+            throw new ServiceException("Loan amount is too large");
+        }
+        if (loanAmount.scale() > InterestAccrualEngine.AMOUNT_SCALE) {
+            throw new ServiceException("Loan amount cannot have more than 2 decimal places");
+        }
+
+        BigDecimal interestRate = parseDecimal(dto.getInterestRate(), "interest rate");
+        if (interestRate.signum() < 0 || interestRate.compareTo(MAX_MONTHLY_RATE) > 0) {
+            throw new ServiceException("Interest rate must be between 0 and 100 percent per month");
+        }
+        if (interestRate.scale() > InterestAccrualEngine.RATE_SCALE) {
+            throw new ServiceException("Interest rate cannot have more than 2 decimal places");
+        }
+
+        LocalDate startDate = dto.getStartDate() == null || dto.getStartDate().trim().isEmpty()
+                ? LocalDate.now() : parseDate(dto.getStartDate(), "start date");
+        LocalDate dueDate = parseDate(dto.getDueDate(), "due date");
+        if (!dueDate.isAfter(startDate)) {
+            throw new ServiceException("Due date must be after start date");
+        }
+
+        PawnContract contract = new PawnContract();
+        contract.setCustomerId(dto.getCustomerId());
+        contract.setEmployeeId(dto.getEmployeeId());
+        contract.setLoanAmount(loanAmount);
+        contract.setInterestRate(interestRate);
+        contract.setPrincipalPaid(BigDecimal.ZERO.setScale(InterestAccrualEngine.AMOUNT_SCALE));
+        contract.setStartDate(startDate);
+        contract.setDueDate(dueDate);
+        contract.setStatus(PawnContract.Status.ACTIVE);
+        return contract;
+    }
+
+    private LocalDate parseAsOf(String asOfDate) throws ServiceException {
+        if (asOfDate == null || asOfDate.trim().isEmpty()) {
+            return LocalDate.now();
+        }
+        return parseDate(asOfDate, "as-of date");
+    }
+
+    private static BigDecimal parseDecimal(String value, String field) throws ServiceException {
+        if (value == null || value.trim().isEmpty()) {
+            throw new ServiceException(capitalize(field) + " is required");
+        }
+        try {
+            return new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ServiceException("Invalid " + field + " format");
+        }
+    }
+
+    private static LocalDate parseDate(String value, String field) throws ServiceException {
+        if (value == null || value.trim().isEmpty()) {
+            throw new ServiceException(capitalize(field) + " is required");
+        }
+        try {
+            return LocalDate.parse(value.trim(), DATE_FORMATTER);
+        } catch (DateTimeParseException e) {
+            throw new ServiceException("Invalid " + field + ", expected yyyy-MM-dd");
+        }
+    }
+
+    private static String capitalize(String field) {
+        return Character.toUpperCase(field.charAt(0)) + field.substring(1);
+    }
+
+    private static BigDecimal cents(long amount) {
+        return BigDecimal.valueOf(amount, InterestAccrualEngine.AMOUNT_SCALE);
+    }
+
+    public static class ServiceException extends Exception {
+        public ServiceException(String message) {
+            super(message);
+        }
+
+        public ServiceException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
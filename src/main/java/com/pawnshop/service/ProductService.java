@@ -0,0 +1,274 @@
+package com.pawnshop.service;
+
+import com.pawnshop.dao.PawnContractDAO;
+import com.pawnshop.dao.ProductDAO;
+import com.pawnshop.dto.AppraisalCursor;
+import com.pawnshop.dto.PageCursor;
+import com.pawnshop.dto.PageResult;
+import com.pawnshop.dto.ProductRequestDTO;
+import com.pawnshop.dto.ProductResponseDTO;
+import com.pawnshop.dto.ProductSummaryDTO;
+import com.pawnshop.model.Product;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+public class ProductService {
+    private static final Logger logger = LoggerFactory.getLogger(ProductService.class);
+    private static final DateTimeFormatter DATE_TIME_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+    private static final BigDecimal MAX_APPRAISED_VALUE = new BigDecimal("999999999999.99");
+
+    private final ProductDAO productDAO;
+    private final PawnContractDAO contractDAO;
+
+    public ProductService() {
+        this(new ProductDAO(), new PawnContractDAO());
+    }
+
+    public ProductService(ProductDAO productDAO, PawnContractDAO contractDAO) {
+        this.productDAO = productDAO;
+        this.contractDAO = contractDAO;
+    }
+
+    /**
+     * Parse list filters from request parameters; blank parameters are not applied.
+     */
+    public ProductDAO.Filter buildFilter(String status, String category, String branchId,
+                                         String minValue, String maxValue) throws ServiceException {
+        Product.Status parsedStatus = null;
+        if (!isBlank(status)) {
+            try {
+                parsedStatus = Product.Status.fromString(status.trim());
+            } catch (IllegalArgumentException e) {
+                throw new ServiceException("Invalid status");
+            }
+        }
+
+        Integer parsedBranchId = null;
+        if (!isBlank(branchId)) {
+            try {
+                parsedBranchId = Integer.parseInt(branchId.trim());
+            } catch (NumberFormatException e) {
+                throw new ServiceException("Invalid branch ID");
+            }
+        }
+
+        BigDecimal min = isBlank(minValue) ? null : parseAmount(minValue, "minimum value");
+        BigDecimal max = isBlank(maxValue) ? null : parseAmount(maxValue, "maximum value");
+        if (min != null && max != null && min.compareTo(max) > 0) {
+            throw new ServiceException("Minimum value cannot exceed maximum value");
+        }
+
+        return new ProductDAO.Filter(parsedStatus, isBlank(category) ? null : category.trim(),
+                parsedBranchId, min, max);
+    }
+
+    /**
+     * One page of full product records. Newest first, or cheapest first when the filter has an
+     * appraisal range; {@code after} is the previous page's nextCursor.
+     */
+    public PageResult<ProductResponseDTO> getProductsPage(ProductDAO.Filter filter, String after, int limit)
+            throws ServiceException {
+        return page(filter, after, limit, false, this::mapProductToDto);
+    }
+
+    /**
+     * Like {@link #getProductsPage}, reading only the list-view columns.
+     */
+    public PageResult<ProductSummaryDTO> getProductSummaryPage(ProductDAO.Filter filter, String after, int limit)
+            throws ServiceException {
+        return page(filter, after, limit, true, this::mapProductToSummaryDto);
+    }
+
+    public ProductResponseDTO getProductById(Integer productId) throws ServiceException {
+        try {
+            Optional<Product> product = productDAO.findById(productId);
+            if (product.isEmpty()) {
+                throw new ServiceException("Product not found");
+            }
+            return mapProductToDto(product.get());
+        } catch (SQLException e) {
+            logger.error("Error fetching product", e);
+            throw new ServiceException("Failed to fetch product", e);
+        }
+    }
+
+    public ProductResponseDTO createProduct(ProductRequestDTO dto) throws ServiceException {
+        try {
+            Product product = new Product();
+            applyRequest(product, dto);
+            productDAO.create(product);
+            return getProductById(product.getProductId());
+        } catch (SQLException e) {
+            logger.error("Error creating product", e);
+            throw new ServiceException("Failed to create product", e);
+        }
+    }
+
+    public ProductResponseDTO updateProduct(Integer productId, ProductRequestDTO dto) throws ServiceException {
+        try {
+            Optional<Product> existing = productDAO.findById(productId);
+            if (existing.isEmpty()) {
+                throw new ServiceException("Product not found");
+            }
+
+            Product product = existing.get();
+            applyRequest(product, dto);
+            productDAO.update(product);
+            return getProductById(productId);
+        } catch (SQLException e) {
+            logger.error("Error updating product", e);
+            throw new ServiceException("Failed to update product", e);
+        }
+    }
+
+    private <T> PageResult<T> page(ProductDAO.Filter filter, String after, int limit, boolean summary,
+                                   Function<Product, T> mapper) throws ServiceException {
+        try {
+            List<Product> products;
+            // Fetch one extra row to learn whether another page exists
+            if (filter.isAppraisalRange()) {
+                AppraisalCursor cursor = isBlank(after) ? null : decode(after, AppraisalCursor::decode);
+                products = productDAO.findPageByAppraisal(filter, summary,
+                        cursor != null ? cursor.getValue() : null,
+                        cursor != null ? cursor.getId() : null,
+                        limit + 1);
+            } else {
+                PageCursor cursor = isBlank(after) ? null : decode(after, PageCursor::decode);
+                products = productDAO.findPageByCreated(filter, summary,
+                        cursor != null ? cursor.getCreatedAt() : null,
+                        cursor != null ? cursor.getId() : null,
+                        limit + 1);
+            }
+
+            String nextCursor = null;
+            if (products.size() > limit) {
+                products = products.subList(0, limit);
+                Product last = products.get(limit - 1);
+                nextCursor = filter.isAppraisalRange()
+                        ? new AppraisalCursor(last.getAppraisedValue(), last.getProductId()).encode()
+                        : new PageCursor(last.getCreatedAt(), last.getProductId()).encode();
+            }
+
+            return new PageResult<>(products.stream().map(mapper).collect(Collectors.toList()), nextCursor);
+        } catch (SQLException e) {
+            logger.error("Error fetching product page", e);
+            throw new ServiceException("Failed to fetch products", e);
+        }
+    }
+
+    private static <C> C decode(String cursor, Function<String, C> decoder) throws ServiceException {
+        try {
+            return decoder.apply(cursor.trim());
+        } catch (IllegalArgumentException e) {
+            throw new ServiceException("Invalid cursor");
+        }
+    }
+
+    private void applyRequest(Product product, ProductRequestDTO dto) throws ServiceException, SQLException {
+        if (isBlank(dto.getName())) {
+            throw new ServiceException("Name is required");
+        }
+        if (dto.getName().trim().length() > 200) {
+            throw new ServiceException("Name cannot exceed 200 characters");
+        }
+        if (isBlank(dto.getCategory())) {
+            throw new ServiceException("Category is required");
+        }
+        if (dto.getCategory().trim().length() > 50) {
+            throw new ServiceException("Category cannot exceed 50 characters");
+        }
+        if (dto.getBranchId() == null) {
+            throw new ServiceException("Branch ID is required");
+        }
+        if (isBlank(dto.getAppraisedValue())) {
+            throw new ServiceException("Appraised value is required");
+        }
+        if (dto.getContractId() != null && contractDAO.findById(dto.getContractId()).isEmpty()) {
+            throw new ServiceException("Contract not found");
+        }
+
+        Product.Status status = Product.Status.IN_STORAGE;
+        if (!isBlank(dto.getStatus())) {
+            try {
+                status = Product.Status.fromString(dto.getStatus().trim());
+            } catch (IllegalArgumentException e) {
+                throw new ServiceException("Invalid status");
+            }
+        }
+
+        product.setContractId(dto.getContractId());
+        product.setBranchId(dto.getBranchId());
+        product.setCategory(dto.getCategory().trim());
+        product.setName(dto.getName().trim());
+        product.setDescription(dto.getDescription());
+        product.setAppraisedValue(parseAmount(dto.getAppraisedValue(), "appraised value"));
+        product.setStatus(status);
+    }
+
+    private static BigDecimal parseAmount(String value, String field) throws ServiceException {
+        BigDecimal amount;
+        try {
+            amount = new BigDecimal(value.trim());
+        } catch (NumberFormatException e) {
+            throw new ServiceException("Invalid " + field + " format");
+        }
+        if (amount.signum() < 0 || amount.compareTo(MAX_APPRAISED_VALUE) > 0 || amount.scale() > 2) {
+            throw new ServiceException("Invalid " + field);
+        }
+        return amount;
+    }
+
+    private ProductResponseDTO mapProductToDto(Product product) {
+        ProductResponseDTO dto = new ProductResponseDTO();
+        dto.setProductId(product.getProductId());
+        dto.setContractId(product.getContractId());
+        dto.setBranchId(product.getBranchId());
+        dto.setCategory(product.getCategory());
+        dto.setName(product.getName());
+        dto.setDescription(product.getDescription());
+        dto.setAppraisedValue(product.getAppraisedValue());
+        dto.setStatus(product.getStatus().getValue());
+        dto.setCreatedAt(format(product.getCreatedAt()));
+        dto.setUpdatedAt(format(product.getUpdatedAt()));
+        return dto;
+    }
+
+    private ProductSummaryDTO mapProductToSummaryDto(Product product) {
+        ProductSummaryDTO dto = new ProductSummaryDTO();
+        dto.setProductId(product.getProductId());
+        dto.setBranchId(product.getBranchId());
+        dto.setCategory(product.getCategory());
+        dto.setName(product.getName());
+        dto.setAppraisedValue(product.getAppraisedValue());
+        dto.setStatus(product.getStatus().getValue());
+        dto.setCreatedAt(format(product.getCreatedAt()));
+        return dto;
+    }
+
+    private static String format(LocalDateTime dateTime) {
+        return dateTime != null ? dateTime.format(DATE_TIME_FORMATTER) : null;
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+
+    public static class ServiceException extends Exception {
+        public ServiceException(String message) {
+            super(message);
+        }
+
+        public ServiceException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
@@ -0,0 +1,116 @@
+package com.pawnshop.service;
+
+import com.pawnshop.dto.MonthlyRevenueDTO;
+import com.pawnshop.dto.RevenueSummaryDTO;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.List;
+
+/**
+ * Single pass over a monthly revenue series. Walks the months oldest to newest, setting each
+ * month's growth against the month before it, and accumulates the period summary on the way.
+ * The series must have a row for every calendar month of the period, zero for months without
+ * sales (as {@link com.pawnshop.dao.RevenueDAO} returns it); otherwise growth would skip over the
+ * gaps and the per-month average would leave them out.
+ */
+final class RevenueSeriesAnalyzer {
+    private static final BigDecimal ONE_HUNDRED = new BigDecimal("100");
+
+    private RevenueSeriesAnalyzer() {
+    }
+
+    /**
+     * Analyze a series sorted by month in either direction. Growth percentages are written
+     * into the series elements; the returned summary describes the whole series. Growth is null
+     * for the first month and for a month after one with no revenue.
+     */
+    static RevenueSummaryDTO analyze(List<MonthlyRevenueDTO> series) {
+        RevenueSummaryDTO summary = new RevenueSummaryDTO();
+
+        if (series.isEmpty()) {
+            summary.setTotalRevenue(BigDecimal.ZERO);
+            summary.setTotalLiquidations(0L);
+            summary.setAveragePerLiquidation(BigDecimal.ZERO);
+            return summary;
+        }
+
+        int size = series.size();
+        boolean newestFirst = series.get(0).getMonth().compareTo(series.get(size - 1).getMonth()) > 0;
+
+        BigDecimal totalRevenue = BigDecimal.ZERO;
+        BigDecimal sumSquares = BigDecimal.ZERO;
+        boolean hasSumSquares = true;
+        long totalLiquidations = 0;
+        MonthlyRevenueDTO highest = null;
+        MonthlyRevenueDTO lowest = null;
+        MonthlyRevenueDTO previous = null;
+
+        for (int i = 0; i < size; i++) {
+            MonthlyRevenueDTO month = series.get(newestFirst ? size - 1 - i : i);
+            BigDecimal revenue = month.getTotalRevenue();
+
+            month.setGrowthPercentage(previous != null ? growth(revenue, previous.getTotalRevenue()) : null);
+
+            totalRevenue = totalRevenue.add(revenue);
+            totalLiquidations += month.getTotalLiquidations();
+            if (month.getRevenueSumSquares() != null) {
+                sumSquares = sumSquares.add(month.getRevenueSumSquares());
+            } else {
+                hasSumSquares = false;
+            }
+
+            // Strict comparisons keep the earliest month on ties
+            if (highest == null || revenue.compareTo(highest.getTotalRevenue()) > 0) {
+                highest = month;
+            }
+            if (lowest == null || revenue.compareTo(lowest.getTotalRevenue()) < 0) {
+                lowest = month;
+            }
+
+            previous = month;
+        }
+
+        summary.setTotalRevenue(totalRevenue);
+        summary.setTotalLiquidations(totalLiquidations);
+        summary.setAveragePerMonth(totalRevenue.divide(BigDecimal.valueOf(size), 2, RoundingMode.HALF_UP));
+        summary.setLatestGrowthPercentage(previous.getGrowthPercentage());
+
+        if (totalLiquidations > 0) {
+            BigDecimal count = BigDecimal.valueOf(totalLiquidations);
+            summary.setAveragePerLiquidation(totalRevenue.divide(count, 2, RoundingMode.HALF_UP));
+
+            if (hasSumSquares) {
+                // Population variance of liquidation prices: (sum(x^2) - sum(x)^2 / n) / n
+                BigDecimal variance = sumSquares
+                        .subtract(totalRevenue.multiply(totalRevenue).divide(count, MathContext.DECIMAL128))
+                        .divide(count, MathContext.DECIMAL128)
+                        .max(BigDecimal.ZERO);
+                summary.setLiquidationPriceVariance(variance.setScale(2, RoundingMode.HALF_UP));
+                summary.setLiquidationPriceStdDev(
+                        variance.sqrt(MathContext.DECIMAL128).setScale(2, RoundingMode.HALF_UP));
+            }
+        } else {
+            summary.setAveragePerLiquidation(BigDecimal.ZERO);
+        }
+
+        summary.setHighestRevenueMonth(highest.getMonth());
+        summary.setHighestRevenueAmount(highest.getTotalRevenue());
+        summary.setLowestRevenueMonth(lowest.getMonth());
+        summary.setLowestRevenueAmount(lowest.getTotalRevenue());
+
+        return summary;
+    }
+
+    private static BigDecimal growth(BigDecimal current, BigDecimal previous) {
+        if (previous == null || previous.compareTo(BigDecimal.ZERO) <= 0) {
+            return null;
+        }
+        return current
+                .subtract(previous)
+                .divide(previous, 4, RoundingMode.HALF_UP)
+                .multiply(ONE_HUNDRED)
+                .setScale(2, RoundingMode.HALF_UP);
+    }
+}
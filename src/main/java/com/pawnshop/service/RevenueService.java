@@ -1,170 +1,165 @@
 package com.pawnshop.service;
 
+import com.pawnshop.cache.TtlCache;
 import com.pawnshop.dao.RevenueDAO;
+import com.pawnshop.dao.RevenueRollupDAO;
 import com.pawnshop.dto.MonthlyRevenueDTO;
+import com.pawnshop.dto.RevenueDashboardDTO;
 import com.pawnshop.dto.RevenueSummaryDTO;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.math.BigDecimal;
-import java.math.RoundingMode;
 import java.sql.Date;
 import java.sql.SQLException;
 import java.time.LocalDate;
-import java.util.Comparator;
+import java.time.YearMonth;
+import java.time.format.DateTimeParseException;
 import java.util.List;
 
 public class RevenueService {
     private static final Logger logger = LoggerFactory.getLogger(RevenueService.class);
+    private static final YearMonth EARLIEST_ROLLUP_MONTH = YearMonth.of(1970, 1);
+    private static final long OPEN_PERIOD_TTL_MS = 60_000;
+    private static final int REPORT_CACHE_SIZE = 256;
+
+    // Shared across service instances: every servlet builds its own RevenueService
+    private static final TtlCache<String, RevenueDashboardDTO> REPORT_CACHE =
+            new TtlCache<>("revenue.reports", REPORT_CACHE_SIZE);
+
     private final RevenueDAO revenueDAO;
+    private final RevenueRollupDAO revenueRollupDAO;
 
     public RevenueService() {
         this.revenueDAO = new RevenueDAO();
+        this.revenueRollupDAO = new RevenueRollupDAO();
     }
 
     public RevenueService(RevenueDAO revenueDAO) {
+        this(revenueDAO, new RevenueRollupDAO());
+    }
+
+    public RevenueService(RevenueDAO revenueDAO, RevenueRollupDAO revenueRollupDAO) {
         this.revenueDAO = revenueDAO;
+        this.revenueRollupDAO = revenueRollupDAO;
     }
 
     public List<MonthlyRevenueDTO> getMonthlyRevenue(int months) throws ServiceException {
-        try {
-            List<MonthlyRevenueDTO> revenueList = revenueDAO.getMonthlyRevenue(months);
-            calculateGrowthPercentages(revenueList);
-            return revenueList;
-        } catch (SQLException e) {
-            logger.error("Error fetching monthly revenue", e);
-            throw new ServiceException("Failed to fetch monthly revenue", e);
-        }
+        return getRevenueDashboard(months).getSeries();
     }
 
     public List<MonthlyRevenueDTO> getRevenueByYear(int year) throws ServiceException {
-        try {
-            if (year < 2000 || year > LocalDate.now().getYear()) {
-                throw new ServiceException("Invalid year");
-            }
-
-            List<MonthlyRevenueDTO> revenueList = revenueDAO.getRevenueByYear(year);
-            calculateGrowthPercentages(revenueList);
-            return revenueList;
-        } catch (SQLException e) {
-            logger.error("Error fetching revenue by year", e);
-            throw new ServiceException("Failed to fetch revenue by year", e);
-        }
+        return getRevenueDashboardByYear(year).getSeries();
     }
 
     public List<MonthlyRevenueDTO> getRevenueByDateRange(String startDateStr, String endDateStr)
             throws ServiceException {
-        try {
-            LocalDate startDate = LocalDate.parse(startDateStr);
-            LocalDate endDate = LocalDate.parse(endDateStr);
+        LocalDate startDate = LocalDate.parse(startDateStr);
+        LocalDate endDate = LocalDate.parse(endDateStr);
 
-            if (startDate.isAfter(endDate)) {
-                throw new ServiceException("Start date must be before end date");
-            }
-
-            List<MonthlyRevenueDTO> revenueList = revenueDAO.getRevenueByDateRange(
-                    Date.valueOf(startDate),
-                    Date.valueOf(endDate)
-            );
-            calculateGrowthPercentages(revenueList);
-            return revenueList;
-        } catch (SQLException e) {
-            logger.error("Error fetching revenue by date range", e);
-            throw new ServiceException("Failed to fetch revenue by date range", e);
+        if (startDate.isAfter(endDate)) {
+            throw new ServiceException("Start date must be before end date");
         }
+
+        String key = "range:" + startDate + ":" + endDate;
+        return REPORT_CACHE.getOrLoad(key, ttlFor(endDate.plusDays(1)), () -> {
+            try {
+                return analyze(revenueDAO.getRevenueByDateRange(Date.valueOf(startDate), Date.valueOf(endDate)));
+            } catch (SQLException e) {
+                logger.error("Error fetching revenue by date range", e);
+                throw new ServiceException("Failed to fetch revenue by date range", e);
+            }
+        }).getSeries();
     }
 
     public RevenueSummaryDTO getRevenueSummary(int months) throws ServiceException {
-        try {
-            List<MonthlyRevenueDTO> revenueList = revenueDAO.getMonthlyRevenue(months);
-            return calculateSummary(revenueList);
-        } catch (SQLException e) {
-            logger.error("Error fetching revenue summary", e);
-            throw new ServiceException("Failed to fetch revenue summary", e);
-        }
+        return getRevenueDashboard(months).getSummary();
     }
 
     public RevenueSummaryDTO getRevenueSummaryByYear(int year) throws ServiceException {
-        try {
-            List<MonthlyRevenueDTO> revenueList = revenueDAO.getRevenueByYear(year);
-            return calculateSummary(revenueList);
-        } catch (SQLException e) {
-            logger.error("Error fetching revenue summary by year", e);
-            throw new ServiceException("Failed to fetch revenue summary by year", e);
-        }
+        return getRevenueDashboardByYear(year).getSummary();
     }
 
-    private void calculateGrowthPercentages(List<MonthlyRevenueDTO> revenueList) {
-        for (int i = 0; i < revenueList.size(); i++) {
-            if (i < revenueList.size() - 1) {
-                MonthlyRevenueDTO current = revenueList.get(i);
-                MonthlyRevenueDTO previous = revenueList.get(i + 1);
-
-                BigDecimal currentRevenue = current.getTotalRevenue();
-                BigDecimal previousRevenue = previous.getTotalRevenue();
-
-                if (previousRevenue != null && previousRevenue.compareTo(BigDecimal.ZERO) > 0) {
-                    BigDecimal growth = currentRevenue
-                            .subtract(previousRevenue)
-                            .divide(previousRevenue, 4, RoundingMode.HALF_UP)
-                            .multiply(new BigDecimal("100"));
-
-                    current.setGrowthPercentage(growth.setScale(2, RoundingMode.HALF_UP));
-                } else {
-                    current.setGrowthPercentage(BigDecimal.ZERO);
-                }
+    /**
+     * Series and summary for the last {@code months} calendar months, built from a single
+     * rollup query. The series and summary endpoints share the same cache entry.
+     */
+    public RevenueDashboardDTO getRevenueDashboard(int months) throws ServiceException {
+        // Always includes the current month, which still changes
+        return REPORT_CACHE.getOrLoad("monthly:" + months, OPEN_PERIOD_TTL_MS, () -> {
+            try {
+                return analyze(revenueDAO.getMonthlyRevenue(months));
+            } catch (SQLException e) {
+                logger.error("Error fetching monthly revenue", e);
+                throw new ServiceException("Failed to fetch monthly revenue", e);
             }
-        }
+        });
     }
 
-    private RevenueSummaryDTO calculateSummary(List<MonthlyRevenueDTO> revenueList) {
-        RevenueSummaryDTO summary = new RevenueSummaryDTO();
-
-        if (revenueList.isEmpty()) {
-            summary.setTotalRevenue(BigDecimal.ZERO);
-            summary.setTotalLiquidations(0L);
-            summary.setAveragePerLiquidation(BigDecimal.ZERO);
-            return summary;
+    private RevenueDashboardDTO getRevenueDashboardByYear(int year) throws ServiceException {
+        if (year < 2000 || year > LocalDate.now().getYear()) {
+            throw new ServiceException("Invalid year");
         }
 
-        BigDecimal totalRevenue = BigDecimal.ZERO;
-        long totalLiquidations = 0;
-
-        MonthlyRevenueDTO highest = revenueList.stream()
-                .max(Comparator.comparing(MonthlyRevenueDTO::getTotalRevenue))
-                .orElse(null);
+        return REPORT_CACHE.getOrLoad("year:" + year, ttlFor(LocalDate.of(year + 1, 1, 1)), () -> {
+            try {
+                return analyze(revenueDAO.getRevenueByYear(year));
+            } catch (SQLException e) {
+                logger.error("Error fetching revenue by year", e);
+                throw new ServiceException("Failed to fetch revenue by year", e);
+            }
+        });
+    }
 
-        MonthlyRevenueDTO lowest = revenueList.stream()
-                .min(Comparator.comparing(MonthlyRevenueDTO::getTotalRevenue))
-                .orElse(null);
+    /**
+     * Drop every cached report. Call after any write to liquidation_contract or the rollup.
+     */
+    public static void invalidateReportCache() {
+        REPORT_CACHE.invalidateAll();
+        logger.debug("Revenue report cache invalidated");
+    }
 
-        for (MonthlyRevenueDTO revenue : revenueList) {
-            totalRevenue = totalRevenue.add(revenue.getTotalRevenue());
-            totalLiquidations += revenue.getTotalLiquidations();
-        }
+    public List<TtlCache.Stats> getCacheStats() {
+        return List.of(REPORT_CACHE.stats());
+    }
 
-        summary.setTotalRevenue(totalRevenue);
-        summary.setTotalLiquidations(totalLiquidations);
+    /**
+     * Recompute the monthly rollup from liquidation_contract for the inclusive month range
+     * (yyyy-MM). Either bound may be null: the range then extends to all history / the current month.
+     *
+     * @return number of months rebuilt
+     */
+    public int rebuildRollup(String fromMonthStr, String toMonthStr) throws ServiceException {
+        try {
+            YearMonth fromMonth = fromMonthStr != null ? YearMonth.parse(fromMonthStr) : EARLIEST_ROLLUP_MONTH;
+            YearMonth toMonth = toMonthStr != null ? YearMonth.parse(toMonthStr) : YearMonth.now();
 
-        if (totalLiquidations > 0) {
-            summary.setAveragePerLiquidation(
-                    totalRevenue.divide(new BigDecimal(totalLiquidations), 2, RoundingMode.HALF_UP)
-            );
-        } else {
-            summary.setAveragePerLiquidation(BigDecimal.ZERO);
-        }
+            if (fromMonth.isAfter(toMonth)) {
+                throw new ServiceException("Start month must be before end month");
+            }
 
-        if (highest != null) {
-            summary.setHighestRevenueMonth(highest.getMonth());
-            summary.setHighestRevenueAmount(highest.getTotalRevenue());
+            int months = revenueRollupDAO.rebuild(fromMonth.atDay(1), toMonth.plusMonths(1).atDay(1));
+            invalidateReportCache();
+            return months;
+        } catch (DateTimeParseException e) {
+            throw new ServiceException("Invalid month format. Expected: yyyy-MM");
+        } catch (SQLException e) {
+            logger.error("Error rebuilding revenue rollup", e);
+            throw new ServiceException("Failed to rebuild revenue rollup", e);
         }
+    }
 
-        if (lowest != null) {
-            summary.setLowestRevenueMonth(lowest.getMonth());
-            summary.setLowestRevenueAmount(lowest.getTotalRevenue());
-        }
+    /**
+     * Periods that ended before the current month are closed and never change, so they stay cached
+     * until invalidated; anything touching the current month is refreshed after a short TTL.
+     */
+    private static long ttlFor(LocalDate periodEndExclusive) {
+        LocalDate currentMonth = LocalDate.now().withDayOfMonth(1);
+        return periodEndExclusive.isAfter(currentMonth) ? OPEN_PERIOD_TTL_MS : TtlCache.NO_EXPIRY;
+    }
 
-        return summary;
+    private static RevenueDashboardDTO analyze(List<MonthlyRevenueDTO> revenueList) {
+        RevenueSummaryDTO summary = RevenueSeriesAnalyzer.analyze(revenueList);
+        return new RevenueDashboardDTO(List.copyOf(revenueList), summary);
     }
 
     public static class ServiceException extends Exception {
@@ -3,7 +3,8 @@ package com.pawnshop.servlet;
 import com.google.gson.Gson;
 import com.pawnshop.dto.AccountRegistrationDTO;
 import com.pawnshop.dto.AccountResponseDTO;
-import com.pawnshop.dto.ApiResponse;
+import com.pawnshop.security.LoginRateLimiter;
+import com.pawnshop.security.PasswordHashingExecutor;
 import com.pawnshop.service.AccountService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -15,9 +16,8 @@ import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.IOException;
-import java.util.List;
 
-@WebServlet("/api/accounts/*")
+@WebServlet(value = "/api/accounts/*", asyncSupported = true)
 public class AccountServlet extends HttpServlet {
     private static final Logger logger = LoggerFactory.getLogger(AccountServlet.class);
     private final Gson gson = new Gson();
@@ -39,6 +39,14 @@ public class AccountServlet extends HttpServlet {
             if (pathInfo == null || pathInfo.equals("/")) {
                 // GET /api/accounts - Get all accounts (Admin only)
                 handleGetAllAccounts(request, response);
+            } else if ("/hashing/stats".equals(pathInfo)) {
+                // GET /api/accounts/hashing/stats - Password hashing pool metrics (Admin only)
+                sendSuccessResponse(response, HttpServletResponse.SC_OK, null,
+                        PasswordHashingExecutor.getInstance().stats());
+            } else if ("/login-limits/stats".equals(pathInfo)) {
+                // GET /api/accounts/login-limits/stats - Login rate limiter counters (Admin only)
+                sendSuccessResponse(response, HttpServletResponse.SC_OK, null,
+                        LoginRateLimiter.getInstance().stats());
             } else if (pathInfo.matches("/\\d+")) {
                 // GET /api/accounts/{id} - Get account by ID
                 String accountId = pathInfo.substring(1);
@@ -62,7 +70,7 @@ public class AccountServlet extends HttpServlet {
         try {
             if ("/register".equals(pathInfo)) {
                 // POST /api/accounts/register - Register new account (Admin only)
-                handleRegisterAccount(request, response);
+                PasswordHashingDispatch.dispatch("register", request, response, this::handleRegisterAccount);
             } else {
                 sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
             }
@@ -83,7 +91,8 @@ public class AccountServlet extends HttpServlet {
             if (pathInfo != null && pathInfo.matches("/\\d+")) {
                 // PUT /api/accounts/{id} - Update account (Admin only)
                 String accountId = pathInfo.substring(1);
-                handleUpdateAccount(request, response, accountId);
+                PasswordHashingDispatch.dispatch("updateAccount", request, response,
+                        (req, resp) -> handleUpdateAccount(req, resp, accountId));
             } else if ("/deactivate".equals(pathInfo)) {
                 // PUT /api/accounts/deactivate?id={id} - Deactivate account (Admin only)
                 String accountId = request.getParameter("id");
@@ -143,8 +152,7 @@ public class AccountServlet extends HttpServlet {
             throws IOException {
 
         try {
-            List<AccountResponseDTO> accounts = accountService.getAllAccounts();
-            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, accounts);
+            ApiResponseWriter.writeStream(response, AccountResponseDTO.class, accountService::streamAllAccounts);
         } catch (AccountService.ServiceException e) {
             sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
                     e.getMessage());
@@ -243,24 +251,11 @@ public class AccountServlet extends HttpServlet {
 
     private void sendSuccessResponse(HttpServletResponse response, int status,
                                      String message, Object data) throws IOException {
-        response.setStatus(status);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        ApiResponse<Object> apiResponse = message != null
-                ? ApiResponse.success(message, data)
-                : ApiResponse.success(data);
-
-        response.getWriter().write(gson.toJson(apiResponse));
+        ApiResponseWriter.writeSuccess(response, status, message, data);
     }
 
     private void sendErrorResponse(HttpServletResponse response, int status, String error)
             throws IOException {
-        response.setStatus(status);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        ApiResponse<?> apiResponse = ApiResponse.error(error);
-        response.getWriter().write(gson.toJson(apiResponse));
+        ApiResponseWriter.writeError(response, status, error);
     }
 }
\ No newline at end of file
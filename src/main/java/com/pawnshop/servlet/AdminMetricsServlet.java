@@ -0,0 +1,52 @@
+package com.pawnshop.servlet;
+
+import com.pawnshop.metrics.JdbcMetrics;
+import com.pawnshop.metrics.SweepMetrics;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+
+/**
+ * Operational endpoints for administrators. GET /api/admin/metrics returns connection pool, DAO
+ * query and background sweeper metrics in the Prometheus text format rather than the JSON envelope.
+ */
+@WebServlet("/api/admin/*")
+public class AdminMetricsServlet extends HttpServlet {
+    private static final Logger logger = LoggerFactory.getLogger(AdminMetricsServlet.class);
+    private static final String TEXT_FORMAT = "text/plain; version=0.0.4";
+
+    @Override
+    public void init() throws ServletException {
+        logger.info("AdminMetricsServlet initialized");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        try {
+            if ("/metrics".equals(pathInfo)) {
+                // GET /api/admin/metrics - Pool, query and sweeper metrics (Admin only)
+                response.setStatus(HttpServletResponse.SC_OK);
+                response.setContentType(TEXT_FORMAT);
+                response.setCharacterEncoding("UTF-8");
+                JdbcMetrics.getInstance().writeText(response.getWriter());
+                SweepMetrics.getInstance().writeText(response.getWriter());
+            } else {
+                ApiResponseWriter.writeError(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            }
+        } catch (Exception e) {
+            logger.error("Error in GET request", e);
+            ApiResponseWriter.writeError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        }
+    }
+}
@@ -0,0 +1,194 @@
+package com.pawnshop.servlet;
+
+import com.google.gson.Gson;
+import com.pawnshop.dto.AccountResponseDTO;
+import com.pawnshop.dto.LoginRequestDTO;
+import com.pawnshop.dto.LoginResponseDTO;
+import com.pawnshop.model.Account;
+import com.pawnshop.security.AuthTokenCodec;
+import com.pawnshop.security.ClientAddressResolver;
+import com.pawnshop.security.LoginRateLimiter;
+import com.pawnshop.service.AccountService;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * JSON login/logout for API clients.
+ * With auth.token.enabled a successful login returns a bearer token and no session is created;
+ * otherwise it falls back to the same session login as the JSP flow.
+ */
+@WebServlet(value = "/api/auth/*", asyncSupported = true)
+public class ApiAuthServlet extends HttpServlet {
+    private static final Logger logger = LoggerFactory.getLogger(ApiAuthServlet.class);
+    private static final String TOKEN_TYPE = "Bearer";
+    private static final int SC_TOO_MANY_REQUESTS = 429;
+    private final Gson gson = new Gson();
+    private AccountService accountService;
+    private AuthTokenCodec tokenCodec;
+
+    @Override
+    public void init() throws ServletException {
+        accountService = new AccountService();
+        try {
+            tokenCodec = AuthTokenCodec.fromConfig().orElse(null);
+        } catch (IllegalStateException e) {
+            throw new ServletException(e.getMessage(), e);
+        }
+        logger.info("ApiAuthServlet initialized: tokenMode={}", tokenCodec != null);
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        try {
+            if ("/login".equals(pathInfo)) {
+                // POST /api/auth/login - Authenticate, returning a token in token mode
+                handleLogin(request, response);
+            } else if ("/logout".equals(pathInfo)) {
+                // POST /api/auth/logout - Revoke tokens or end the session
+                handleLogout(request, response);
+            } else {
+                sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            }
+        } catch (Exception e) {
+            logger.error("Error in POST request", e);
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        }
+    }
+
+    private void handleLogin(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        LoginRequestDTO loginDto = readRequestBody(request, LoginRequestDTO.class);
+
+        if (loginDto == null || loginDto.getUsername() == null || loginDto.getUsername().trim().isEmpty() ||
+                loginDto.getPassword() == null || loginDto.getPassword().isEmpty()) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Username and password are required");
+            return;
+        }
+        loginDto.setUsername(loginDto.getUsername().trim());
+
+        // Throttle before the account lookup and BCrypt check are queued
+        long retryAfterSeconds = LoginRateLimiter.getInstance()
+                .tryAcquire(loginDto.getUsername(), ClientAddressResolver.getInstance().resolve(request));
+        if (retryAfterSeconds > 0) {
+            response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+            sendErrorResponse(response, SC_TOO_MANY_REQUESTS, "Too many login attempts. Please try again later");
+            return;
+        }
+
+        PasswordHashingDispatch.dispatch("apiLogin", request, response,
+                (asyncRequest, asyncResponse) -> authenticate(asyncRequest, asyncResponse, loginDto));
+    }
+
+    private void authenticate(HttpServletRequest request, HttpServletResponse response, LoginRequestDTO loginDto)
+            throws IOException {
+
+        try {
+            AccountResponseDTO accountDto = accountService.login(loginDto);
+
+            if (tokenCodec != null) {
+                // Sign the current version from the database, not a possibly stale cache entry, so a later
+                // revocation invalidates this token
+                AccountService.invalidateAccountStatus(accountDto.getAccountId());
+                int tokenVersion = accountService.getAccountStatus(accountDto.getAccountId()).getTokenVersion();
+                long expiresAt = System.currentTimeMillis() / 1000 + tokenCodec.getTtlSeconds();
+                String token = tokenCodec.issue(accountDto.getAccountId(), tokenVersion, expiresAt);
+
+                logger.info("Token issued: username={}, expiresAt={}", accountDto.getUsername(), expiresAt);
+                sendSuccessResponse(response, HttpServletResponse.SC_OK, "Login successful",
+                        new LoginResponseDTO(accountDto, token, TOKEN_TYPE, expiresAt));
+                return;
+            }
+
+            HttpSession session = request.getSession(true);
+
+            Account account = new Account();
+            account.setAccountId(accountDto.getAccountId());
+            account.setUsername(accountDto.getUsername());
+            account.setRole(Account.Role.valueOf(accountDto.getRole().toUpperCase()));
+            account.setActive(accountDto.isActive());
+            account.setCreatedAt(accountDto.getCreatedAt());
+            account.setUpdatedAt(accountDto.getUpdatedAt());
+
+            session.setAttribute("account", account);
+            session.setMaxInactiveInterval(3600); // 1 hour
+
+            logger.info("User logged in via API: username={}", accountDto.getUsername());
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, "Login successful",
+                    new LoginResponseDTO(accountDto, null, null, null));
+
+        } catch (AccountService.ServiceException e) {
+            logger.warn("API login failed: {}", e.getMessage());
+            sendErrorResponse(response, HttpServletResponse.SC_UNAUTHORIZED, e.getMessage());
+        } catch (Exception e) {
+            logger.error("Unexpected error during API login", e);
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        }
+    }
+
+    private void handleLogout(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        String authorization = request.getHeader("Authorization");
+        Account currentAccount = (Account) request.getAttribute("currentAccount");
+
+        if (tokenCodec != null && authorization != null && authorization.startsWith(TOKEN_TYPE + " ")
+                && currentAccount != null) {
+            // Stateless tokens cannot be deleted; bumping the version revokes all of the account's tokens
+            try {
+                accountService.revokeTokens(currentAccount.getAccountId());
+            } catch (AccountService.ServiceException e) {
+                sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+                return;
+            }
+            logger.info("Tokens revoked on logout: accountId={}", currentAccount.getAccountId());
+        } else {
+            HttpSession session = request.getSession(false);
+            if (session != null) {
+                session.invalidate();
+            }
+        }
+
+        sendSuccessResponse(response, HttpServletResponse.SC_OK, "Logged out successfully", null);
+    }
+
+    private <T> T readRequestBody(HttpServletRequest request, Class<T> clazz) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader reader = request.getReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line);
+            }
+        }
+
+        if (sb.length() == 0) {
+            return null;
+        }
+
+        return gson.fromJson(sb.toString(), clazz);
+    }
+
+    private void sendSuccessResponse(HttpServletResponse response, int status,
+                                     String message, Object data) throws IOException {
+        ApiResponseWriter.writeSuccess(response, status, message, data);
+    }
+
+    private void sendErrorResponse(HttpServletResponse response, int status, String error)
+            throws IOException {
+        ApiResponseWriter.writeError(response, status, error);
+    }
+}
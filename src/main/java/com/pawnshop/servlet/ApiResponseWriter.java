@@ -0,0 +1,113 @@
+package com.pawnshop.servlet;
+
+import com.google.gson.Gson;
+import com.google.gson.JsonIOException;
+import com.google.gson.stream.JsonWriter;
+import com.pawnshop.dto.ApiResponse;
+import com.pawnshop.dto.PageResult;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Writes {@link ApiResponse} envelopes straight to the response output stream through a
+ * Gson {@link JsonWriter}, so no response body is ever materialized as a String.
+ */
+public final class ApiResponseWriter {
+    private static final Logger logger = LoggerFactory.getLogger(ApiResponseWriter.class);
+    private static final Gson gson = new Gson();
+
+    /**
+     * Producer of list elements, typically a service method that walks a DAO result set row by row.
+     */
+    @FunctionalInterface
+    public interface Source<T, E extends Exception> {
+        void forEach(Consumer<T> action) throws E;
+    }
+
+    private ApiResponseWriter() {
+    }
+
+    public static void writeSuccess(HttpServletResponse response, int status, String message, Object data)
+            throws IOException {
+        ApiResponse<Object> apiResponse = message != null
+                ? ApiResponse.success(message, data)
+                : ApiResponse.success(data);
+        write(response, status, apiResponse);
+    }
+
+    public static void writePage(HttpServletResponse response, PageResult<?> page) throws IOException {
+        write(response, HttpServletResponse.SC_OK, ApiResponse.page(page.getItems(), page.getNextCursor()));
+    }
+
+    public static void writeError(HttpServletResponse response, int status, String error) throws IOException {
+        write(response, status, ApiResponse.error(error));
+    }
+
+    public static void write(HttpServletResponse response, int status, ApiResponse<?> apiResponse)
+            throws IOException {
+        prepare(response, status);
+        JsonWriter writer = newJsonWriter(response);
+        gson.toJson(apiResponse, ApiResponse.class, writer);
+        writer.flush();
+    }
+
+    /**
+     * Streams a successful list response, serializing each element as the source produces it.
+     * The envelope is written as {@code {"data":[...],"success":true}} so the outcome can still be
+     * reported after the first bytes have gone out.
+     * <p>
+     * If the source fails before the response is committed, the buffer is discarded and the
+     * exception is rethrown so the caller can send a normal error response. If it fails after
+     * commit, the array is closed and the envelope ends with {@code "success":false} and an error.
+     */
+    public static <T, E extends Exception> void writeStream(HttpServletResponse response, Class<T> elementType,
+                                                            Source<T, E> source) throws IOException, E {
+        prepare(response, HttpServletResponse.SC_OK);
+        JsonWriter writer = newJsonWriter(response);
+        writer.beginObject();
+        writer.name("data");
+        writer.beginArray();
+
+        try {
+            source.forEach(element -> gson.toJson(element, elementType, writer));
+        } catch (JsonIOException e) {
+            // Client went away or the container failed to write; nothing more can be sent
+            throw e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e);
+        } catch (Exception e) {
+            if (!response.isCommitted()) {
+                response.resetBuffer();
+                throw e;
+            }
+            logger.error("Streaming response failed after commit", e);
+            writer.endArray();
+            writer.name("success").value(false);
+            writer.name("error").value(e.getMessage());
+            writer.endObject();
+            writer.flush();
+            return;
+        }
+
+        writer.endArray();
+        writer.name("success").value(true);
+        writer.endObject();
+        writer.flush();
+    }
+
+    private static void prepare(HttpServletResponse response, int status) {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setCharacterEncoding("UTF-8");
+    }
+
+    private static JsonWriter newJsonWriter(HttpServletResponse response) throws IOException {
+        return new JsonWriter(new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8)));
+    }
+}
@@ -3,6 +3,8 @@ package com.pawnshop.servlet;
 import com.pawnshop.dto.LoginRequestDTO;
 import com.pawnshop.dto.AccountResponseDTO;
 import com.pawnshop.model.Account;
+import com.pawnshop.security.ClientAddressResolver;
+import com.pawnshop.security.LoginRateLimiter;
 import com.pawnshop.service.AccountService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -19,7 +21,7 @@ import java.io.IOException;
  * Servlet for JSP-based authentication
  * Handles form-based login/logout with page redirects
  */
-@WebServlet("/auth/*")
+@WebServlet(value = "/auth/*", loadOnStartup = 1, asyncSupported = true)
 public class AuthServlet extends HttpServlet {
     private static final Logger logger = LoggerFactory.getLogger(AuthServlet.class);
     private AccountService accountService;
@@ -37,7 +39,16 @@ public class AuthServlet extends HttpServlet {
         String pathInfo = request.getPathInfo();
 
         if ("/login".equals(pathInfo)) {
-            handleLogin(request, response);
+            long retryAfterSeconds = LoginRateLimiter.getInstance()
+                    .tryAcquire(request.getParameter("username"),
+                            ClientAddressResolver.getInstance().resolve(request));
+            if (retryAfterSeconds > 0) {
+                response.setHeader("Retry-After", String.valueOf(retryAfterSeconds));
+                response.sendRedirect(request.getContextPath() +
+                        "/login.jsp?error=Too many login attempts. Please try again later");
+                return;
+            }
+            PasswordHashingDispatch.dispatch("login", request, response, this::handleLogin);
         } else if ("/logout".equals(pathInfo)) {
             handleLogout(request, response);
         } else {
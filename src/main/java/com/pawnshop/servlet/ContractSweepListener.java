@@ -0,0 +1,41 @@
+package com.pawnshop.servlet;
+
+import com.pawnshop.config.DatabaseConfig;
+import com.pawnshop.service.ContractExpirySweeper;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Starts the contract expiry sweeper with the web application, when enabled, and stops it on
+ * undeploy. Settings are the sweeper.expiry.* keys in database.properties.
+ */
+@WebListener
+public class ContractSweepListener implements ServletContextListener {
+    private static final Logger logger = LoggerFactory.getLogger(ContractSweepListener.class);
+
+    private ContractExpirySweeper sweeper;
+
+    @Override
+    public void contextInitialized(ServletContextEvent event) {
+        if (!Boolean.parseBoolean(DatabaseConfig.getSetting("sweeper.expiry.enabled", "false"))) {
+            logger.info("Contract expiry sweeper disabled");
+            return;
+        }
+
+        sweeper = new ContractExpirySweeper(
+                DatabaseConfig.getIntSetting("sweeper.expiry.chunkSize", 500),
+                DatabaseConfig.getIntSetting("sweeper.expiry.graceDays", 30));
+        sweeper.start(DatabaseConfig.getLongSetting("sweeper.expiry.initialDelaySeconds", 60),
+                DatabaseConfig.getLongSetting("sweeper.expiry.intervalMinutes", 60));
+    }
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        if (sweeper != null) {
+            sweeper.stop();
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.pawnshop.servlet;
 
 import com.google.gson.Gson;
-import com.pawnshop.dto.ApiResponse;
+import com.pawnshop.dto.CustomerOverviewDTO;
 import com.pawnshop.dto.CustomerRequestDTO;
 import com.pawnshop.dto.CustomerResponseDTO;
+import com.pawnshop.dto.CustomerStatsDTO;
+import com.pawnshop.dto.CustomerSuggestionDTO;
+import com.pawnshop.dto.PageCursor;
+import com.pawnshop.dto.PageResult;
 import com.pawnshop.service.CustomerService;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.annotation.WebServlet;
@@ -17,15 +21,29 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.List;
 
-@WebServlet("/api/customers/*")
+@WebServlet(value = "/api/customers/*", loadOnStartup = 1, asyncSupported = true)
 public class CustomerServlet extends HttpServlet {
     private static final Logger logger = LoggerFactory.getLogger(CustomerServlet.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int DEFAULT_SEARCH_LIMIT = 20;
+    private static final int MAX_SEARCH_LIMIT = 100;
+    private static final int DEFAULT_SUGGEST_LIMIT = 10;
+    private static final int MAX_SUGGEST_LIMIT = 50;
+    private static final int DEFAULT_OVERVIEW_TRANSACTIONS = 10;
+    private static final int MAX_OVERVIEW_TRANSACTIONS = 50;
     private final Gson gson = new Gson();
     private CustomerService customerService;
 
     @Override
     public void init() throws ServletException {
         customerService = new CustomerService();
+        try {
+            customerService.loadSuggestIndex();
+        } catch (CustomerService.ServiceException e) {
+            // Not fatal: the index is loaded on the first suggest request instead
+            logger.warn("Customer suggest index not loaded at startup: {}", e.getMessage());
+        }
         logger.info("CustomerServlet initialized");
     }
 
@@ -41,14 +59,21 @@ public class CustomerServlet extends HttpServlet {
             if (pathInfo == null || pathInfo.equals("/")) {
                 if (searchKeyword != null && !searchKeyword.trim().isEmpty()) {
                     handleSearchCustomers(request, response, searchKeyword);
-                } else if ("true".equals(activeOnly)) {
-                    handleGetActiveCustomers(request, response);
                 } else {
-                    handleGetAllCustomers(request, response);
+                    handleGetCustomersPage(request, response, "true".equals(activeOnly));
                 }
+            } else if ("/stats".equals(pathInfo)) {
+                // GET /api/customers/stats - Totals over all customers
+                handleGetCustomerStats(response);
+            } else if ("/suggest".equals(pathInfo)) {
+                handleSuggestCustomers(request, response);
             } else if (pathInfo.matches("/\\d+")) {
                 String customerId = pathInfo.substring(1);
                 handleGetCustomerById(request, response, customerId);
+            } else if (pathInfo.matches("/\\d+/overview")) {
+                // GET /api/customers/{id}/overview?transactions=N - Profile, active contracts, balance, history
+                String customerId = pathInfo.substring(1, pathInfo.indexOf('/', 1));
+                handleGetCustomerOverview(request, response, customerId);
             } else {
                 sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
             }
@@ -69,7 +94,8 @@ public class CustomerServlet extends HttpServlet {
             if (pathInfo == null || pathInfo.equals("/")) {
                 handleCreateCustomer(request, response);
             } else if ("/with-account".equals(pathInfo)) {
-                handleCreateCustomerWithAccount(request, response);
+                PasswordHashingDispatch.dispatch("createCustomerWithAccount", request, response,
+                        this::handleCreateCustomerWithAccount);
             } else {
                 sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
             }
@@ -158,23 +184,64 @@ public class CustomerServlet extends HttpServlet {
         }
     }
 
-    private void handleGetAllCustomers(HttpServletRequest request, HttpServletResponse response)
-            throws IOException {
+    private void handleGetCustomersPage(HttpServletRequest request, HttpServletResponse response,
+                                        boolean activeOnly) throws IOException {
 
+        String limitParam = request.getParameter("limit");
+        int limit;
         try {
-            List<CustomerResponseDTO> customers = customerService.getAllCustomers();
-            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, customers);
+            limit = limitParam != null ? Integer.parseInt(limitParam) : DEFAULT_PAGE_SIZE;
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid limit");
+            return;
+        }
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE);
+            return;
+        }
+
+        PageCursor cursor = null;
+        String after = request.getParameter("after");
+        if (after != null && !after.trim().isEmpty()) {
+            try {
+                cursor = PageCursor.decode(after.trim());
+            } catch (IllegalArgumentException e) {
+                sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid cursor");
+                return;
+            }
+        }
+
+        try {
+            PageResult<CustomerResponseDTO> page = customerService.getCustomersPage(activeOnly, cursor, limit);
+            ApiResponseWriter.writePage(response, page);
         } catch (CustomerService.ServiceException e) {
             sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
                     e.getMessage());
         }
     }
 
-    private void handleGetActiveCustomers(HttpServletRequest request, HttpServletResponse response)
-            throws IOException {
+    private void handleSearchCustomers(HttpServletRequest request, HttpServletResponse response,
+                                       String keyword) throws IOException {
 
+        String limitParam = request.getParameter("limit");
+        int limit;
         try {
-            List<CustomerResponseDTO> customers = customerService.getActiveCustomers();
+            limit = limitParam != null ? Integer.parseInt(limitParam) : DEFAULT_SEARCH_LIMIT;
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid limit");
+            return;
+        }
+
+        if (limit < 1 || limit > MAX_SEARCH_LIMIT) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_SEARCH_LIMIT);
+            return;
+        }
+
+        try {
+            List<CustomerResponseDTO> customers = customerService.searchCustomers(keyword, limit);
             sendSuccessResponse(response, HttpServletResponse.SC_OK, null, customers);
         } catch (CustomerService.ServiceException e) {
             sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
@@ -182,12 +249,42 @@ public class CustomerServlet extends HttpServlet {
         }
     }
 
-    private void handleSearchCustomers(HttpServletRequest request, HttpServletResponse response,
-                                       String keyword) throws IOException {
+    private void handleGetCustomerStats(HttpServletResponse response) throws IOException {
+        try {
+            CustomerStatsDTO stats = customerService.getCustomerStats();
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, stats);
+        } catch (CustomerService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
 
+    private void handleSuggestCustomers(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        String query = request.getParameter("q");
+        if (query == null || query.trim().isEmpty()) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Query parameter q is required");
+            return;
+        }
+
+        String limitParam = request.getParameter("limit");
+        int limit;
         try {
-            List<CustomerResponseDTO> customers = customerService.searchCustomers(keyword);
-            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, customers);
+            limit = limitParam != null ? Integer.parseInt(limitParam) : DEFAULT_SUGGEST_LIMIT;
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid limit");
+            return;
+        }
+
+        if (limit < 1 || limit > MAX_SUGGEST_LIMIT) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_SUGGEST_LIMIT);
+            return;
+        }
+
+        try {
+            List<CustomerSuggestionDTO> suggestions = customerService.suggestCustomers(query.trim(), limit);
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, suggestions);
         } catch (CustomerService.ServiceException e) {
             sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
                     e.getMessage());
@@ -208,6 +305,35 @@ public class CustomerServlet extends HttpServlet {
         }
     }
 
+    private void handleGetCustomerOverview(HttpServletRequest request, HttpServletResponse response,
+                                           String customerIdStr) throws IOException {
+
+        String limitParam = request.getParameter("transactions");
+        int limit;
+        try {
+            limit = limitParam != null ? Integer.parseInt(limitParam) : DEFAULT_OVERVIEW_TRANSACTIONS;
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid transactions limit");
+            return;
+        }
+
+        if (limit < 1 || limit > MAX_OVERVIEW_TRANSACTIONS) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Transactions limit must be between 1 and " + MAX_OVERVIEW_TRANSACTIONS);
+            return;
+        }
+
+        try {
+            Integer customerId = Integer.parseInt(customerIdStr);
+            CustomerOverviewDTO overview = customerService.getCustomerOverview(customerId, limit);
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, overview);
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid customer ID");
+        } catch (CustomerService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+        }
+    }
+
     private void handleUpdateCustomer(HttpServletRequest request, HttpServletResponse response,
                                       String customerIdStr) throws IOException {
 
@@ -264,24 +390,11 @@ public class CustomerServlet extends HttpServlet {
 
     private void sendSuccessResponse(HttpServletResponse response, int status,
                                      String message, Object data) throws IOException {
-        response.setStatus(status);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        ApiResponse<Object> apiResponse = message != null
-                ? ApiResponse.success(message, data)
-                : ApiResponse.success(data);
-
-        response.getWriter().write(gson.toJson(apiResponse));
+        ApiResponseWriter.writeSuccess(response, status, message, data);
     }
 
     private void sendErrorResponse(HttpServletResponse response, int status, String error)
             throws IOException {
-        response.setStatus(status);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        ApiResponse<?> apiResponse = ApiResponse.error(error);
-        response.getWriter().write(gson.toJson(apiResponse));
+        ApiResponseWriter.writeError(response, status, error);
     }
 }
\ No newline at end of file
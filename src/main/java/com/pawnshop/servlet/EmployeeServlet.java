@@ -1,7 +1,6 @@
 package com.pawnshop.servlet;
 
 import com.google.gson.Gson;
-import com.pawnshop.dto.ApiResponse;
 import com.pawnshop.dto.EmployeeRequestDTO;
 import com.pawnshop.dto.EmployeeResponseDTO;
 import com.pawnshop.service.EmployeeService;
@@ -17,7 +16,7 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.List;
 
-@WebServlet("/api/employees/*")
+@WebServlet(value = "/api/employees/*", asyncSupported = true)
 public class EmployeeServlet extends HttpServlet {
     private static final Logger logger = LoggerFactory.getLogger(EmployeeServlet.class);
     private final Gson gson = new Gson();
@@ -73,7 +72,8 @@ public class EmployeeServlet extends HttpServlet {
                 handleCreateEmployee(request, response);
             } else if ("/with-account".equals(pathInfo)) {
                 // POST /api/employees/with-account - Create employee with new account
-                handleCreateEmployeeWithAccount(request, response);
+                PasswordHashingDispatch.dispatch("createEmployeeWithAccount", request, response,
+                        this::handleCreateEmployeeWithAccount);
             } else {
                 sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
             }
@@ -177,8 +177,8 @@ public class EmployeeServlet extends HttpServlet {
             throws IOException {
 
         try {
-            List<EmployeeResponseDTO> employees = employeeService.getAllEmployees();
-            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, employees);
+            ApiResponseWriter.writeStream(response, EmployeeResponseDTO.class,
+                    action -> employeeService.streamEmployees(false, action));
         } catch (EmployeeService.ServiceException e) {
             sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
                     e.getMessage());
@@ -189,8 +189,8 @@ public class EmployeeServlet extends HttpServlet {
             throws IOException {
 
         try {
-            List<EmployeeResponseDTO> employees = employeeService.getActiveEmployees();
-            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, employees);
+            ApiResponseWriter.writeStream(response, EmployeeResponseDTO.class,
+                    action -> employeeService.streamEmployees(true, action));
         } catch (EmployeeService.ServiceException e) {
             sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
                     e.getMessage());
@@ -322,24 +322,11 @@ public class EmployeeServlet extends HttpServlet {
 
     private void sendSuccessResponse(HttpServletResponse response, int status,
                                      String message, Object data) throws IOException {
-        response.setStatus(status);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        ApiResponse<Object> apiResponse = message != null
-                ? ApiResponse.success(message, data)
-                : ApiResponse.success(data);
-
-        response.getWriter().write(gson.toJson(apiResponse));
+        ApiResponseWriter.writeSuccess(response, status, message, data);
     }
 
     private void sendErrorResponse(HttpServletResponse response, int status, String error)
             throws IOException {
-        response.setStatus(status);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        ApiResponse<?> apiResponse = ApiResponse.error(error);
-        response.getWriter().write(gson.toJson(apiResponse));
+        ApiResponseWriter.writeError(response, status, error);
     }
 }
\ No newline at end of file
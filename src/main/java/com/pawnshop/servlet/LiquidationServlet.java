@@ -0,0 +1,168 @@
+package com.pawnshop.servlet;
+
+import com.google.gson.Gson;
+import com.pawnshop.dto.BulkLiquidationRequestDTO;
+import com.pawnshop.dto.BulkLiquidationResultDTO;
+import com.pawnshop.dto.LiquidationDTO;
+import com.pawnshop.dto.LiquidationRequestDTO;
+import com.pawnshop.service.LiquidationService;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+
+@WebServlet("/api/liquidations/*")
+public class LiquidationServlet extends HttpServlet {
+    private static final Logger logger = LoggerFactory.getLogger(LiquidationServlet.class);
+    private final Gson gson = new Gson();
+    private LiquidationService liquidationService;
+
+    @Override
+    public void init() throws ServletException {
+        liquidationService = new LiquidationService();
+        logger.info("LiquidationServlet initialized");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        try {
+            if (pathInfo == null || pathInfo.equals("/")) {
+                // GET /api/liquidations?start=yyyy-MM-dd&end=yyyy-MM-dd - Liquidations in a date range
+                handleGetLiquidations(request, response);
+            } else if (pathInfo.matches("/\\d+")) {
+                // GET /api/liquidations/{id} - One liquidation
+                handleGetLiquidationById(response, pathInfo.substring(1));
+            } else {
+                sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            }
+        } catch (Exception e) {
+            logger.error("Error in GET request", e);
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        try {
+            if (pathInfo == null || pathInfo.equals("/")) {
+                // POST /api/liquidations - Record one sale
+                handleRecordSale(request, response);
+            } else if ("/bulk".equals(pathInfo)) {
+                // POST /api/liquidations/bulk - Record an auction's sales in one transaction
+                handleRecordBulk(request, response);
+            } else {
+                sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            }
+        } catch (Exception e) {
+            logger.error("Error in POST request", e);
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        }
+    }
+
+    private void handleGetLiquidations(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        try {
+            List<LiquidationDTO> liquidations = liquidationService.getLiquidations(
+                    request.getParameter("start"), request.getParameter("end"));
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, liquidations);
+        } catch (LiquidationService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private void handleGetLiquidationById(HttpServletResponse response, String liquidationIdStr)
+            throws IOException {
+
+        try {
+            Integer liquidationId = Integer.parseInt(liquidationIdStr);
+            LiquidationDTO liquidation = liquidationService.getLiquidation(liquidationId);
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, liquidation);
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid liquidation ID");
+        } catch (LiquidationService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+        }
+    }
+
+    private void handleRecordSale(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        LiquidationRequestDTO dto = readRequestBody(request, LiquidationRequestDTO.class);
+
+        if (dto == null) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid request body");
+            return;
+        }
+
+        try {
+            LiquidationDTO result = liquidationService.recordSale(dto);
+            sendSuccessResponse(response, HttpServletResponse.SC_CREATED,
+                    "Liquidation recorded successfully", result);
+        } catch (LiquidationService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private void handleRecordBulk(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        BulkLiquidationRequestDTO dto = readRequestBody(request, BulkLiquidationRequestDTO.class);
+
+        if (dto == null) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid request body");
+            return;
+        }
+
+        try {
+            BulkLiquidationResultDTO result = liquidationService.recordBulk(dto);
+            sendSuccessResponse(response, HttpServletResponse.SC_CREATED,
+                    "Liquidations recorded successfully", result);
+        } catch (LiquidationService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private <T> T readRequestBody(HttpServletRequest request, Class<T> clazz) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader reader = request.getReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line);
+            }
+        }
+
+        if (sb.length() == 0) {
+            return null;
+        }
+
+        return gson.fromJson(sb.toString(), clazz);
+    }
+
+    private void sendSuccessResponse(HttpServletResponse response, int status,
+                                     String message, Object data) throws IOException {
+        ApiResponseWriter.writeSuccess(response, status, message, data);
+    }
+
+    private void sendErrorResponse(HttpServletResponse response, int status, String error)
+            throws IOException {
+        ApiResponseWriter.writeError(response, status, error);
+    }
+}
@@ -0,0 +1,232 @@
+package com.pawnshop.servlet;
+
+import com.pawnshop.security.PasswordHashingExecutor;
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Runs a request handler that hashes or verifies passwords on the {@link PasswordHashingExecutor}
+ * request pool using async servlet processing, so the container thread is released while the
+ * handler waits for BCrypt, which itself runs on the executor's hashing pool.
+ * When the hashing queue is full, or the request times out or fails before the handler has
+ * answered it, the request is answered with 503 and Retry-After. Whichever side answers first
+ * owns the response: a handler that loses to the timeout is stopped at its first write.
+ * The servlet and every filter in front of it must be {@code asyncSupported}.
+ */
+final class PasswordHashingDispatch {
+    private static final Logger logger = LoggerFactory.getLogger(PasswordHashingDispatch.class);
+    private static final long ASYNC_TIMEOUT_MS = 30_000;
+    private static final String RETRY_AFTER_SECONDS = "1";
+
+    @FunctionalInterface
+    interface Handler {
+        void handle(HttpServletRequest request, HttpServletResponse response) throws Exception;
+    }
+
+    private PasswordHashingDispatch() {
+    }
+
+    static void dispatch(String operation, HttpServletRequest request, HttpServletResponse response,
+                         Handler handler) throws IOException {
+        AsyncContext asyncContext = request.startAsync();
+        asyncContext.setTimeout(ASYNC_TIMEOUT_MS);
+
+        AtomicBoolean answered = new AtomicBoolean();
+        asyncContext.addListener(new TimeoutListener(operation, answered));
+
+        try {
+            PasswordHashingExecutor.getInstance().execute(operation, () -> {
+                if (answered.get()) {
+                    logger.warn("Dropping {} request that timed out in the hashing queue", operation);
+                    return;
+                }
+
+                HttpServletRequest asyncRequest = (HttpServletRequest) asyncContext.getRequest();
+                GuardedResponse asyncResponse = new GuardedResponse(
+                        (HttpServletResponse) asyncContext.getResponse(), answered);
+                try {
+                    handler.handle(asyncRequest, asyncResponse);
+                } catch (Exception e) {
+                    if (asyncResponse.lostToTimeout()) {
+                        logger.warn("Discarding {} response, request already answered after timeout", operation);
+                    } else {
+                        logger.error("Error in {} request", operation, e);
+                        sendInternalError(asyncResponse);
+                    }
+                } finally {
+                    if (asyncResponse.claim()) {
+                        complete(asyncContext);
+                    }
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            logger.warn("Password hashing queue full, rejecting {} request", operation);
+            answered.set(true);
+            sendUnavailable(request, response);
+            complete(asyncContext);
+        }
+    }
+
+    private static void sendUnavailable(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        if (response.isCommitted()) {
+            return;
+        }
+        response.setHeader("Retry-After", RETRY_AFTER_SECONDS);
+        if (request.getServletPath().startsWith("/api/")) {
+            ApiResponseWriter.writeError(response, HttpServletResponse.SC_SERVICE_UNAVAILABLE,
+                    "Server is busy, please retry shortly");
+        } else {
+            response.sendError(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        }
+    }
+
+    private static void sendInternalError(HttpServletResponse response) {
+        if (response.isCommitted()) {
+            return;
+        }
+        try {
+            ApiResponseWriter.writeError(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        } catch (IOException | IllegalStateException e) {
+            logger.debug("Could not send error response", e);
+        }
+    }
+
+    private static void complete(AsyncContext asyncContext) {
+        try {
+            asyncContext.complete();
+        } catch (IllegalStateException e) {
+            logger.warn("Async request was already completed");
+        }
+    }
+
+    /**
+     * Answers a request with 503 when it times out or fails while the handler is still queued or
+     * hashing, unless the handler has already started writing its own response.
+     */
+    private static final class TimeoutListener implements AsyncListener {
+        private final String operation;
+        private final AtomicBoolean answered;
+
+        TimeoutListener(String operation, AtomicBoolean answered) {
+            this.operation = operation;
+            this.answered = answered;
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) throws IOException {
+            logger.warn("{} request timed out after {} ms", operation, ASYNC_TIMEOUT_MS);
+            answer(event);
+        }
+
+        @Override
+        public void onError(AsyncEvent event) throws IOException {
+            logger.warn("Async error in {} request", operation, event.getThrowable());
+            answer(event);
+        }
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+
+        private void answer(AsyncEvent event) throws IOException {
+            if (!answered.compareAndSet(false, true)) {
+                return;
+            }
+            AsyncContext asyncContext = event.getAsyncContext();
+            try {
+                sendUnavailable((HttpServletRequest) asyncContext.getRequest(),
+                        (HttpServletResponse) asyncContext.getResponse());
+            } finally {
+                complete(asyncContext);
+            }
+        }
+    }
+
+    /**
+     * Response handed to the handler. Its first attempt to write a body, redirect or error claims
+     * the response; if the timeout listener has already answered, the write fails instead.
+     */
+    private static final class GuardedResponse extends HttpServletResponseWrapper {
+        private final AtomicBoolean answered;
+        private boolean claimed;
+
+        GuardedResponse(HttpServletResponse response, AtomicBoolean answered) {
+            super(response);
+            this.answered = answered;
+        }
+
+        /**
+         * True when this response owns the exchange, claiming it if nobody has answered yet.
+         */
+        boolean claim() {
+            if (!claimed) {
+                claimed = answered.compareAndSet(false, true);
+            }
+            return claimed;
+        }
+
+        boolean lostToTimeout() {
+            return !claimed && answered.get();
+        }
+
+        private void guard() {
+            if (!claim()) {
+                throw new IllegalStateException("Request was already answered after timeout");
+            }
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() throws IOException {
+            guard();
+            return super.getOutputStream();
+        }
+
+        @Override
+        public PrintWriter getWriter() throws IOException {
+            guard();
+            return super.getWriter();
+        }
+
+        @Override
+        public void sendRedirect(String location) throws IOException {
+            guard();
+            super.sendRedirect(location);
+        }
+
+        @Override
+        public void sendError(int sc) throws IOException {
+            guard();
+            super.sendError(sc);
+        }
+
+        @Override
+        public void sendError(int sc, String msg) throws IOException {
+            guard();
+            super.sendError(sc, msg);
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            guard();
+            super.flushBuffer();
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.pawnshop.servlet;
+
+import com.pawnshop.security.PasswordHashingExecutor;
+import jakarta.servlet.ServletContextEvent;
+import jakarta.servlet.ServletContextListener;
+import jakarta.servlet.annotation.WebListener;
+
+/**
+ * Stops the password hashing pools on undeploy, so a redeploy does not leave the previous
+ * application's threads and class loader behind.
+ */
+@WebListener
+public class PasswordHashingListener implements ServletContextListener {
+
+    @Override
+    public void contextDestroyed(ServletContextEvent event) {
+        PasswordHashingExecutor.getInstance().shutdown();
+    }
+}
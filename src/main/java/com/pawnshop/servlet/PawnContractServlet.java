@@ -0,0 +1,205 @@
+package com.pawnshop.servlet;
+
+import com.google.gson.Gson;
+import com.pawnshop.dto.ContractValuationDTO;
+import com.pawnshop.dto.PageResult;
+import com.pawnshop.dto.PawnContractRequestDTO;
+import com.pawnshop.dto.PortfolioValuationDTO;
+import com.pawnshop.service.PawnContractService;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.List;
+
+@WebServlet("/api/contracts/*")
+public class PawnContractServlet extends HttpServlet {
+    private static final Logger logger = LoggerFactory.getLogger(PawnContractServlet.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private final Gson gson = new Gson();
+    private PawnContractService contractService;
+
+    @Override
+    public void init() throws ServletException {
+        contractService = new PawnContractService();
+        logger.info("PawnContractServlet initialized");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        try {
+            if ("/valuation".equals(pathInfo)) {
+                // GET /api/contracts/valuation?asOf=yyyy-MM-dd&after=&limit= - Price a page of open contracts
+                handleGetValuation(request, response);
+            } else if ("/valuation/summary".equals(pathInfo)) {
+                // GET /api/contracts/valuation/summary?asOf=yyyy-MM-dd - Open book totals
+                handleGetValuationSummary(request, response);
+            } else if (pathInfo != null && pathInfo.matches("/customer/\\d+")) {
+                // GET /api/contracts/customer/{customerId} - A customer's contracts
+                handleGetCustomerContracts(response, pathInfo.substring("/customer/".length()));
+            } else if (pathInfo != null && pathInfo.matches("/\\d+")) {
+                // GET /api/contracts/{id} - One contract with its redemption amount
+                handleGetContractById(response, pathInfo.substring(1));
+            } else {
+                sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            }
+        } catch (Exception e) {
+            logger.error("Error in GET request", e);
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        try {
+            if (pathInfo == null || pathInfo.equals("/")) {
+                // POST /api/contracts - Open a contract
+                handleCreateContract(request, response);
+            } else {
+                sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            }
+        } catch (Exception e) {
+            logger.error("Error in POST request", e);
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        }
+    }
+
+    /**
+     * Keyset-paged valuation in due-date order; pass the returned nextCursor as {@code after}.
+     */
+    private void handleGetValuation(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        String limitParam = request.getParameter("limit");
+        int limit;
+        try {
+            limit = limitParam != null ? Integer.parseInt(limitParam) : DEFAULT_PAGE_SIZE;
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid limit");
+            return;
+        }
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE);
+            return;
+        }
+
+        try {
+            PageResult<ContractValuationDTO> page = contractService.valueOpenContracts(
+                    request.getParameter("asOf"), request.getParameter("after"), limit);
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, page);
+        } catch (PawnContractService.ServiceException e) {
+            sendErrorResponse(response, errorStatus(e, HttpServletResponse.SC_BAD_REQUEST), e.getMessage());
+        }
+    }
+
+    private void handleGetValuationSummary(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        try {
+            PortfolioValuationDTO summary = contractService.getPortfolioSummary(request.getParameter("asOf"));
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, summary);
+        } catch (PawnContractService.ServiceException e) {
+            sendErrorResponse(response, errorStatus(e, HttpServletResponse.SC_BAD_REQUEST), e.getMessage());
+        }
+    }
+
+    private void handleGetCustomerContracts(HttpServletResponse response, String customerIdStr)
+            throws IOException {
+
+        try {
+            Integer customerId = Integer.parseInt(customerIdStr);
+            List<ContractValuationDTO> contracts = contractService.getCustomerContracts(customerId);
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, contracts);
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid customer ID");
+        } catch (PawnContractService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR, e.getMessage());
+        }
+    }
+
+    private void handleGetContractById(HttpServletResponse response, String contractIdStr)
+            throws IOException {
+
+        try {
+            Integer contractId = Integer.parseInt(contractIdStr);
+            ContractValuationDTO contract = contractService.getContract(contractId);
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, contract);
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid contract ID");
+        } catch (PawnContractService.ServiceException e) {
+            sendErrorResponse(response, errorStatus(e, HttpServletResponse.SC_NOT_FOUND), e.getMessage());
+        }
+    }
+
+    private void handleCreateContract(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        PawnContractRequestDTO dto = readRequestBody(request, PawnContractRequestDTO.class);
+
+        if (dto == null) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid request body");
+            return;
+        }
+
+        try {
+            ContractValuationDTO result = contractService.createContract(dto);
+            sendSuccessResponse(response, HttpServletResponse.SC_CREATED,
+                    "Contract created successfully", result);
+        } catch (PawnContractService.ServiceException e) {
+            sendErrorResponse(response, errorStatus(e, HttpServletResponse.SC_BAD_REQUEST), e.getMessage());
+        }
+    }
+
+    /**
+     * 500 for a service failure caused by the database, otherwise {@code clientErrorStatus}: the
+     * service only attaches a cause when it wraps an SQLException.
+     */
+    private static int errorStatus(PawnContractService.ServiceException e, int clientErrorStatus) {
+        return e.getCause() != null ? HttpServletResponse.SC_INTERNAL_SERVER_ERROR : clientErrorStatus;
+    }
+
+    private <T> T readRequestBody(HttpServletRequest request, Class<T> clazz) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader reader = request.getReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line);
+            }
+        }
+
+        if (sb.length() == 0) {
+            return null;
+        }
+
+        return gson.fromJson(sb.toString(), clazz);
+    }
+
+    private void sendSuccessResponse(HttpServletResponse response, int status,
+                                     String message, Object data) throws IOException {
+        ApiResponseWriter.writeSuccess(response, status, message, data);
+    }
+
+    private void sendErrorResponse(HttpServletResponse response, int status, String error)
+            throws IOException {
+        ApiResponseWriter.writeError(response, status, error);
+    }
+}
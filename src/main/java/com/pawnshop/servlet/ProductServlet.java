@@ -0,0 +1,218 @@
+package com.pawnshop.servlet;
+
+import com.google.gson.Gson;
+import com.pawnshop.dao.ProductDAO;
+import com.pawnshop.dto.ProductRequestDTO;
+import com.pawnshop.dto.ProductResponseDTO;
+import com.pawnshop.service.ProductService;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.annotation.WebServlet;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+@WebServlet("/api/products/*")
+public class ProductServlet extends HttpServlet {
+    private static final Logger logger = LoggerFactory.getLogger(ProductServlet.class);
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private final Gson gson = new Gson();
+    private ProductService productService;
+
+    @Override
+    public void init() throws ServletException {
+        productService = new ProductService();
+        logger.info("ProductServlet initialized");
+    }
+
+    @Override
+    protected void doGet(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        try {
+            if (pathInfo == null || pathInfo.equals("/")) {
+                // GET /api/products?status=&category=&branch=&minValue=&maxValue=&after=&limit=&view=summary
+                handleGetProductsPage(request, response);
+            } else if (pathInfo.matches("/\\d+")) {
+                // GET /api/products/{id} - One product
+                handleGetProductById(response, pathInfo.substring(1));
+            } else {
+                sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            }
+        } catch (Exception e) {
+            logger.error("Error in GET request", e);
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        }
+    }
+
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        try {
+            if (pathInfo == null || pathInfo.equals("/")) {
+                // POST /api/products - Take an item into inventory
+                handleCreateProduct(request, response);
+            } else {
+                sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            }
+        } catch (Exception e) {
+            logger.error("Error in POST request", e);
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        }
+    }
+
+    @Override
+    protected void doPut(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        try {
+            if (pathInfo != null && pathInfo.matches("/\\d+")) {
+                // PUT /api/products/{id} - Update an item, including its status
+                handleUpdateProduct(request, response, pathInfo.substring(1));
+            } else {
+                sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            }
+        } catch (Exception e) {
+            logger.error("Error in PUT request", e);
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        }
+    }
+
+    /**
+     * Keyset-paged listing. Newest first, or cheapest first when minValue or maxValue is given;
+     * pass the returned nextCursor as {@code after}. {@code view=summary} returns only the
+     * list-view fields.
+     */
+    private void handleGetProductsPage(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        String limitParam = request.getParameter("limit");
+        int limit;
+        try {
+            limit = limitParam != null ? Integer.parseInt(limitParam) : DEFAULT_PAGE_SIZE;
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid limit");
+            return;
+        }
+
+        if (limit < 1 || limit > MAX_PAGE_SIZE) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Limit must be between 1 and " + MAX_PAGE_SIZE);
+            return;
+        }
+
+        try {
+            ProductDAO.Filter filter = productService.buildFilter(
+                    request.getParameter("status"),
+                    request.getParameter("category"),
+                    request.getParameter("branch"),
+                    request.getParameter("minValue"),
+                    request.getParameter("maxValue"));
+            String after = request.getParameter("after");
+
+            Object page = "summary".equals(request.getParameter("view"))
+                    ? productService.getProductSummaryPage(filter, after, limit)
+                    : productService.getProductsPage(filter, after, limit);
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, page);
+        } catch (ProductService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private void handleGetProductById(HttpServletResponse response, String productIdStr)
+            throws IOException {
+
+        try {
+            Integer productId = Integer.parseInt(productIdStr);
+            ProductResponseDTO product = productService.getProductById(productId);
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, product);
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid product ID");
+        } catch (ProductService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, e.getMessage());
+        }
+    }
+
+    private void handleCreateProduct(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        ProductRequestDTO dto = readRequestBody(request, ProductRequestDTO.class);
+
+        if (dto == null) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid request body");
+            return;
+        }
+
+        try {
+            ProductResponseDTO result = productService.createProduct(dto);
+            sendSuccessResponse(response, HttpServletResponse.SC_CREATED,
+                    "Product created successfully", result);
+        } catch (ProductService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private void handleUpdateProduct(HttpServletRequest request, HttpServletResponse response,
+                                     String productIdStr) throws IOException {
+
+        try {
+            Integer productId = Integer.parseInt(productIdStr);
+            ProductRequestDTO dto = readRequestBody(request, ProductRequestDTO.class);
+
+            if (dto == null) {
+                sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST,
+                        "Invalid request body");
+                return;
+            }
+
+            ProductResponseDTO result = productService.updateProduct(productId, dto);
+            sendSuccessResponse(response, HttpServletResponse.SC_OK,
+                    "Product updated successfully", result);
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid product ID");
+        } catch (ProductService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
+
+    private <T> T readRequestBody(HttpServletRequest request, Class<T> clazz) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader reader = request.getReader()) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                sb.append(line);
+            }
+        }
+
+        if (sb.length() == 0) {
+            return null;
+        }
+
+        return gson.fromJson(sb.toString(), clazz);
+    }
+
+    private void sendSuccessResponse(HttpServletResponse response, int status,
+                                     String message, Object data) throws IOException {
+        ApiResponseWriter.writeSuccess(response, status, message, data);
+    }
+
+    private void sendErrorResponse(HttpServletResponse response, int status, String error)
+            throws IOException {
+        ApiResponseWriter.writeError(response, status, error);
+    }
+}
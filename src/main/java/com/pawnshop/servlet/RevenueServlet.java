@@ -1,8 +1,7 @@
 package com.pawnshop.servlet;
 
-import com.google.gson.Gson;
-import com.pawnshop.dto.ApiResponse;
 import com.pawnshop.dto.MonthlyRevenueDTO;
+import com.pawnshop.dto.RevenueDashboardDTO;
 import com.pawnshop.dto.RevenueSummaryDTO;
 import com.pawnshop.service.RevenueService;
 import jakarta.servlet.ServletException;
@@ -15,11 +14,13 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.util.List;
+import java.util.Map;
 
 @WebServlet("/api/revenue/*")
 public class RevenueServlet extends HttpServlet {
     private static final Logger logger = LoggerFactory.getLogger(RevenueServlet.class);
-    private final Gson gson = new Gson();
+    private static final int DEFAULT_MONTHS = 12;
+    private static final int MAX_MONTHS = 60;
     private RevenueService revenueService;
 
     @Override
@@ -43,6 +44,10 @@ public class RevenueServlet extends HttpServlet {
                 handleGetRevenueByRange(request, response);
             } else if ("/summary".equals(pathInfo)) {
                 handleGetSummary(request, response);
+            } else if ("/dashboard".equals(pathInfo)) {
+                handleGetDashboard(request, response);
+            } else if ("/cache/stats".equals(pathInfo)) {
+                sendSuccessResponse(response, HttpServletResponse.SC_OK, null, revenueService.getCacheStats());
             } else {
                 sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
             }
@@ -53,15 +58,30 @@ public class RevenueServlet extends HttpServlet {
         }
     }
 
+    @Override
+    protected void doPost(HttpServletRequest request, HttpServletResponse response)
+            throws ServletException, IOException {
+
+        String pathInfo = request.getPathInfo();
+
+        try {
+            if ("/rollup/rebuild".equals(pathInfo)) {
+                handleRebuildRollup(request, response);
+            } else {
+                sendErrorResponse(response, HttpServletResponse.SC_NOT_FOUND, "Endpoint not found");
+            }
+        } catch (Exception e) {
+            logger.error("Error in POST request", e);
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    "Internal server error");
+        }
+    }
+
     private void handleGetMonthlyRevenue(HttpServletRequest request, HttpServletResponse response)
             throws IOException {
 
-        String monthsParam = request.getParameter("months");
-        int months = monthsParam != null ? Integer.parseInt(monthsParam) : 12;
-
-        if (months < 1 || months > 60) {
-            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST,
-                    "Months must be between 1 and 60");
+        Integer months = readMonths(request, response);
+        if (months == null) {
             return;
         }
 
@@ -74,6 +94,23 @@ public class RevenueServlet extends HttpServlet {
         }
     }
 
+    private void handleGetDashboard(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        Integer months = readMonths(request, response);
+        if (months == null) {
+            return;
+        }
+
+        try {
+            RevenueDashboardDTO dashboard = revenueService.getRevenueDashboard(months);
+            sendSuccessResponse(response, HttpServletResponse.SC_OK, null, dashboard);
+        } catch (RevenueService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_INTERNAL_SERVER_ERROR,
+                    e.getMessage());
+        }
+    }
+
     private void handleGetRevenueByYear(HttpServletRequest request, HttpServletResponse response)
             throws IOException {
 
@@ -119,7 +156,6 @@ public class RevenueServlet extends HttpServlet {
             throws IOException {
 
         String yearParam = request.getParameter("year");
-        String monthsParam = request.getParameter("months");
 
         try {
             RevenueSummaryDTO summary;
@@ -128,7 +164,10 @@ public class RevenueServlet extends HttpServlet {
                 int year = Integer.parseInt(yearParam);
                 summary = revenueService.getRevenueSummaryByYear(year);
             } else {
-                int months = monthsParam != null ? Integer.parseInt(monthsParam) : 12;
+                Integer months = readMonths(request, response);
+                if (months == null) {
+                    return;
+                }
                 summary = revenueService.getRevenueSummary(months);
             }
 
@@ -141,26 +180,47 @@ public class RevenueServlet extends HttpServlet {
         }
     }
 
-    private void sendSuccessResponse(HttpServletResponse response, int status,
-                                     String message, Object data) throws IOException {
-        response.setStatus(status);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
+    /**
+     * The {@code months} parameter, 12 when absent. Sends 400 and returns null unless it is a
+     * number from 1 to 60, which also bounds the report cache keys built from it.
+     */
+    private Integer readMonths(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        String monthsParam = request.getParameter("months");
+        int months;
+        try {
+            months = monthsParam != null ? Integer.parseInt(monthsParam) : DEFAULT_MONTHS;
+        } catch (NumberFormatException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, "Invalid months");
+            return null;
+        }
 
-        ApiResponse<Object> apiResponse = message != null
-                ? ApiResponse.success(message, data)
-                : ApiResponse.success(data);
+        if (months < 1 || months > MAX_MONTHS) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST,
+                    "Months must be between 1 and " + MAX_MONTHS);
+            return null;
+        }
+        return months;
+    }
+
+    private void handleRebuildRollup(HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+
+        try {
+            int months = revenueService.rebuildRollup(request.getParameter("from"), request.getParameter("to"));
+            sendSuccessResponse(response, HttpServletResponse.SC_OK,
+                    "Revenue rollup rebuilt", Map.of("monthsRebuilt", months));
+        } catch (RevenueService.ServiceException e) {
+            sendErrorResponse(response, HttpServletResponse.SC_BAD_REQUEST, e.getMessage());
+        }
+    }
 
-        response.getWriter().write(gson.toJson(apiResponse));
+    private void sendSuccessResponse(HttpServletResponse response, int status,
+                                     String message, Object data) throws IOException {
+        ApiResponseWriter.writeSuccess(response, status, message, data);
     }
 
     private void sendErrorResponse(HttpServletResponse response, int status, String error)
             throws IOException {
-        response.setStatus(status);
-        response.setContentType("application/json");
-        response.setCharacterEncoding("UTF-8");
-
-        ApiResponse<?> apiResponse = ApiResponse.error(error);
-        response.getWriter().write(gson.toJson(apiResponse));
+        ApiResponseWriter.writeError(response, status, error);
     }
 }
\ No newline at end of file
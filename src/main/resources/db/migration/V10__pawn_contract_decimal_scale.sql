@@ -0,0 +1,9 @@
+-- The interest engine prices amounts in cents and monthly rates in hundredths of a percent. Pin
+-- the contract columns to those scales so the value stored is exactly the value priced.
+-- Converting rounds any value with more decimals half-up (MySQL reports each as a note); review
+-- them before applying:
+--   SELECT contract_id, loan_amount, interest_rate FROM pawn_contract
+--   WHERE loan_amount <> ROUND(loan_amount, 2) OR interest_rate <> ROUND(interest_rate, 2);
+ALTER TABLE pawn_contract
+    MODIFY loan_amount   DECIMAL(19, 2) NOT NULL,
+    MODIFY interest_rate DECIMAL(5, 2)  NOT NULL;
@@ -0,0 +1,2 @@
+-- Supports keyset pagination of GET /api/customers/ ordered by (created_at DESC, customer_id DESC)
+CREATE INDEX idx_customer_created_at_id ON customer (created_at, customer_id);
@@ -0,0 +1,17 @@
+-- Pre-aggregated revenue per calendar month, read by RevenueDAO instead of scanning liquidation_contract.
+-- Maintained incrementally by RevenueRollupDAO.applyDelta in the same transaction as each liquidation write;
+-- rebuild with POST /api/revenue/rollup/rebuild after bulk loads that bypass the application.
+CREATE TABLE revenue_monthly_rollup (
+    month_start         DATE           NOT NULL,
+    liquidation_count   BIGINT         NOT NULL DEFAULT 0,
+    total_revenue       DECIMAL(19, 2) NOT NULL DEFAULT 0,
+    revenue_sum_squares DECIMAL(38, 4) NOT NULL DEFAULT 0,
+    updated_at          TIMESTAMP      NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (month_start)
+);
+
+-- Initial backfill
+INSERT INTO revenue_monthly_rollup (month_start, liquidation_count, total_revenue, revenue_sum_squares)
+SELECT CAST(DATE_FORMAT(liquidation_date, '%Y-%m-01') AS DATE), COUNT(*), SUM(price), SUM(price * price)
+FROM liquidation_contract
+GROUP BY CAST(DATE_FORMAT(liquidation_date, '%Y-%m-01') AS DATE);
@@ -0,0 +1,4 @@
+-- Covering index for revenue aggregation: every revenue query filters on a half-open
+-- liquidation_date range and reads only price, so it is answered by an index range scan
+-- without touching the clustered rows. Supersedes any single-column index on liquidation_date.
+CREATE INDEX idx_liquidation_date_price ON liquidation_contract (liquidation_date, price);
@@ -0,0 +1,10 @@
+-- Indexes behind GET /api/customers/?search=. Phone, citizen number and email are searched by
+-- prefix (LIKE 'kw%'), which is a range scan on a plain B-tree index.
+CREATE INDEX idx_customer_phone_number ON customer (phone_number);
+CREATE INDEX idx_customer_citizen_number ON customer (citizen_number);
+CREATE INDEX idx_customer_email ON customer (email);
+
+-- Names and addresses are matched word by word in boolean mode ("+nguyen* +van*") and ranked by
+-- relevance. Words shorter than innodb_ft_min_token_size (default 3) are not indexed; lower it
+-- and rebuild this index if two-letter given names must be searchable.
+CREATE FULLTEXT INDEX ft_customer_name_address ON customer (full_name, address);
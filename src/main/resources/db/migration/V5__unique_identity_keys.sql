@@ -0,0 +1,22 @@
+-- Account and profile creation relies on these keys instead of SELECT-before-INSERT checks;
+-- UnitOfWork.isDuplicateKey maps a violation back to the column through the key name, so each
+-- name must contain its column name. NULLs do not collide, so optional columns stay optional
+-- as long as blanks are stored as NULL.
+-- Skip a statement if the base DDL already declares an equivalent unique key.
+UPDATE customer SET phone_number = NULL WHERE phone_number = '';
+UPDATE customer SET citizen_number = NULL WHERE citizen_number = '';
+UPDATE employee SET phone_number = NULL WHERE phone_number = '';
+UPDATE employee SET email = NULL WHERE email = '';
+UPDATE employee SET citizen_number = NULL WHERE citizen_number = '';
+
+ALTER TABLE account ADD CONSTRAINT uq_account_username UNIQUE (username);
+
+-- Replace the plain search indexes from V4 with unique ones; prefix search uses them the same way
+DROP INDEX idx_customer_phone_number ON customer;
+DROP INDEX idx_customer_citizen_number ON customer;
+ALTER TABLE customer ADD CONSTRAINT uq_customer_phone_number UNIQUE (phone_number);
+ALTER TABLE customer ADD CONSTRAINT uq_customer_citizen_number UNIQUE (citizen_number);
+
+ALTER TABLE employee ADD CONSTRAINT uq_employee_phone_number UNIQUE (phone_number);
+ALTER TABLE employee ADD CONSTRAINT uq_employee_email UNIQUE (email);
+ALTER TABLE employee ADD CONSTRAINT uq_employee_citizen_number UNIQUE (citizen_number);
@@ -0,0 +1,3 @@
+-- Revocation epoch for signed API tokens: a token is only accepted while the version it carries
+-- equals this column. Incremented on password change and token-mode logout.
+ALTER TABLE account ADD COLUMN token_version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,7 @@
+-- Principal repaid so far; interest accrues on loan_amount - principal_paid.
+-- Skip this statement if the base schema already has the column.
+ALTER TABLE pawn_contract ADD COLUMN principal_paid DECIMAL(19, 2) NOT NULL DEFAULT 0;
+
+-- Open-contract scans (valuation, expiry) filter on status and walk due_date in order;
+-- contract_id makes the order total so a scan can resume after the last key it saw.
+CREATE INDEX idx_pawn_contract_status_due ON pawn_contract (status, due_date, contract_id);
@@ -0,0 +1,14 @@
+-- Progress of the contract expiry sweeper, one row per sweeper. A sweep expires active
+-- contracts due before cutoff_date in (due_date, contract_id) order; each chunk commits together
+-- with last_due_date / last_contract_id, so after a restart the sweep resumes after that key.
+-- completed_at is NULL while a sweep is in progress.
+CREATE TABLE contract_sweep_checkpoint (
+    sweeper          VARCHAR(64) NOT NULL PRIMARY KEY,
+    cutoff_date      DATE        NOT NULL,
+    last_due_date    DATE        NULL,
+    last_contract_id INT         NULL,
+    processed_count  BIGINT      NOT NULL DEFAULT 0,
+    started_at       DATETIME    NOT NULL,
+    completed_at     DATETIME    NULL,
+    updated_at       TIMESTAMP   NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP
+);
@@ -0,0 +1,30 @@
+-- Collateral inventory: one row per pawned item, optionally linked to the contract it secures.
+-- The foreign key gets its own index on contract_id.
+CREATE TABLE product (
+    product_id      INT           NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    contract_id     INT           NULL,
+    branch_id       INT           NOT NULL,
+    category        VARCHAR(50)   NOT NULL,
+    name            VARCHAR(200)  NOT NULL,
+    description     TEXT          NULL,
+    appraised_value DECIMAL(19, 2) NOT NULL,
+    status          VARCHAR(20)   NOT NULL DEFAULT 'in_storage',
+    created_at      TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    updated_at      TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    CONSTRAINT fk_product_contract FOREIGN KEY (contract_id) REFERENCES pawn_contract (contract_id)
+);
+
+-- One index per hot filter of GET /api/products/. Each is the filter's equality columns followed by
+-- the listing's sort key, so a page with exactly that filter is an index range read in order that
+-- stops after limit + 1 rows, with no filesort.
+-- status only, newest first: the main browse path (e.g. every in_storage item)
+CREATE INDEX idx_product_status_created ON product (status, created_at, product_id);
+-- status + category, newest first. It cannot serve a status-only filter: with only status bound its
+-- entries are ordered by category before created_at, so every row with that status would be sorted.
+CREATE INDEX idx_product_status_category_created ON product (status, category, created_at, product_id);
+-- holding branch, newest first (status, if given, is checked on the rows read)
+CREATE INDEX idx_product_branch_created ON product (branch_id, created_at, product_id);
+-- appraisal range, cheapest first
+CREATE INDEX idx_product_appraisal ON product (appraised_value, product_id);
+-- unfiltered listing, newest first (category alone is checked on the rows read)
+CREATE INDEX idx_product_created ON product (created_at, product_id);
@@ -342,7 +342,7 @@
             <button class="btn btn-secondary" onclick="filterCustomers('active')" id="btnActive">
                 Active Only
             </button>
-            <button class="btn btn-secondary" onclick="loadCustomers()">
+            <button class="btn btn-secondary" onclick="reloadCustomers()">
                 🔄 Refresh
             </button>
         </div>
@@ -352,6 +352,9 @@
         <div id="customerTable">
             <div class="loading">Loading customers...</div>
         </div>
+        <div id="loadMore" class="loading" style="display: none;">
+            <button class="btn btn-secondary" onclick="loadCustomers()">Load more</button>
+        </div>
     </div>
 </div>
 
@@ -367,29 +370,75 @@
 </div>
 
 <script>
+    const PAGE_SIZE = 50;
     let allCustomers = [];
     let currentFilter = 'all';
+    let nextCursor = null;
+    let loadingPage = false;
+    let searchTimer = null;
+    // Bumped on every reload; a page fetched for an older filter is dropped when it arrives
+    let loadGeneration = 0;
+    let pageRequest = null;
+
+    function reloadCustomers() {
+        loadGeneration++;
+        if (pageRequest) {
+            pageRequest.abort();
+        }
+        loadingPage = false;
+        allCustomers = [];
+        nextCursor = null;
+        document.getElementById('searchInput').value = '';
+        loadCustomers();
+        loadStats();
+    }
 
     async function loadCustomers() {
+        if (loadingPage) {
+            return;
+        }
+        loadingPage = true;
+        const generation = loadGeneration;
+        const controller = new AbortController();
+        pageRequest = controller;
+
         try {
-            const url = currentFilter === 'active'
-                ? '${pageContext.request.contextPath}/api/customers/?active=true'
-                : '${pageContext.request.contextPath}/api/customers/';
+            let url = '${pageContext.request.contextPath}/api/customers/?limit=' + PAGE_SIZE;
+            if (currentFilter === 'active') {
+                url += '&active=true';
+            }
+            if (nextCursor) {
+                url += '&after=' + encodeURIComponent(nextCursor);
+            }
 
-            const response = await fetch(url);
+            const response = await fetch(url, { signal: controller.signal });
             const result = await response.json();
+            if (generation !== loadGeneration) {
+                return;
+            }
 
             if (result.success && result.data) {
-                allCustomers = result.data;
+                allCustomers = allCustomers.concat(result.data);
+                nextCursor = result.nextCursor || null;
                 displayCustomers(allCustomers);
-                updateStats(allCustomers);
             } else {
                 document.getElementById('customerTable').innerHTML =
                     '<div class="alert alert-error">Failed to load customers</div>';
+                nextCursor = null;
             }
         } catch (error) {
+            if (generation !== loadGeneration) {
+                return;
+            }
             document.getElementById('customerTable').innerHTML =
                 '<div class="alert alert-error">Network error occurred</div>';
+            nextCursor = null;
+        } finally {
+            if (generation === loadGeneration) {
+                loadingPage = false;
+                pageRequest = null;
+                document.getElementById('loadMore').style.display = nextCursor ? 'block' : 'none';
+            }
         }
     }
 
@@ -424,21 +473,21 @@
                 : '<span class="badge badge-inactive">Inactive</span>';
 
             const contractBadge = cust.contractCount > 0
-                ? `<span class="badge badge-contracts">${cust.contractCount} contracts</span>`
+                ? `<span class="badge badge-contracts">\${cust.contractCount} contracts</span>`
                 : '-';
 
             html += `
                     <tr>
-                        <td>${cust.customerId}</td>
-                        <td><strong>${cust.fullName}</strong></td>
-                        <td>${cust.username || '-'}</td>
-                        <td>${cust.phoneNumber || '-'}</td>
-                        <td>${cust.email || '-'}</td>
-                        <td>${cust.citizenNumber || '-'}</td>
-                        <td>${contractBadge}</td>
-                        <td>${statusBadge}</td>
+                        <td>\${cust.customerId}</td>
+                        <td><strong>\${cust.fullName}</strong></td>
+                        <td>\${cust.username || '-'}</td>
+                        <td>\${cust.phoneNumber || '-'}</td>
+                        <td>\${cust.email || '-'}</td>
+                        <td>\${cust.citizenNumber || '-'}</td>
+                        <td>\${contractBadge}</td>
+                        <td>\${statusBadge}</td>
                         <td>
-                            <button class="btn btn-info btn-sm" onclick="viewCustomer(${cust.customerId})">
+                            <button class="btn btn-info btn-sm" onclick="viewCustomer(\${cust.customerId})">
                                 👁️ View
                             </button>
                         </td>
@@ -454,39 +503,49 @@
         document.getElementById('customerTable').innerHTML = html;
     }
 
-    function updateStats(customers) {
-        const total = customers.length;
-        const active = customers.filter(c => c.active).length;
-
-        const now = new Date();
-        const firstDayOfMonth = new Date(now.getFullYear(), now.getMonth(), 1);
-        const newThisMonth = customers.filter(c => {
-            const createdDate = new Date(c.createdAt);
-            return createdDate >= firstDayOfMonth;
-        }).length;
+    // Totals come from the server: the table only holds the pages loaded so far
+    async function loadStats() {
+        try {
+            const response = await fetch('${pageContext.request.contextPath}/api/customers/stats');
+            const result = await response.json();
 
-        document.getElementById('totalCustomers').textContent = total;
-        document.getElementById('activeCustomers').textContent = active;
-        document.getElementById('newCustomers').textContent = newThisMonth;
+            if (result.success && result.data) {
+                document.getElementById('totalCustomers').textContent = result.data.totalCustomers;
+                document.getElementById('activeCustomers').textContent = result.data.activeCustomers;
+                document.getElementById('newCustomers').textContent = result.data.newThisMonth;
+            }
+        } catch (error) {
+            // Leave the previous figures in place
+        }
     }
 
     function handleSearch() {
-        const keyword = document.getElementById('searchInput').value.toLowerCase();
+        clearTimeout(searchTimer);
+        searchTimer = setTimeout(searchCustomers, 250);
+    }
+
+    async function searchCustomers() {
+        const keyword = document.getElementById('searchInput').value.trim();
 
         if (!keyword) {
             displayCustomers(allCustomers);
+            document.getElementById('loadMore').style.display = nextCursor ? 'block' : 'none';
             return;
         }
 
-        const filtered = allCustomers.filter(cust =>
-            cust.fullName.toLowerCase().includes(keyword) ||
-            (cust.phoneNumber && cust.phoneNumber.includes(keyword)) ||
-            (cust.email && cust.email.toLowerCase().includes(keyword)) ||
-            (cust.citizenNumber && cust.citizenNumber.includes(keyword)) ||
-            (cust.address && cust.address.toLowerCase().includes(keyword))
-        );
+        try {
+            const response = await fetch('${pageContext.request.contextPath}/api/customers/?search='
+                + encodeURIComponent(keyword));
+            const result = await response.json();
 
-        displayCustomers(filtered);
+            if (result.success && result.data) {
+                displayCustomers(result.data);
+                document.getElementById('loadMore').style.display = 'none';
+            }
+        } catch (error) {
+            document.getElementById('customerTable').innerHTML =
+                '<div class="alert alert-error">Network error occurred</div>';
+        }
     }
 
     function filterCustomers(filter) {
@@ -496,12 +555,12 @@
         document.getElementById('btnAll').className = filter === 'all' ? 'btn btn-primary' : 'btn btn-secondary';
         document.getElementById('btnActive').className = filter === 'active' ? 'btn btn-primary' : 'btn btn-secondary';
 
-        loadCustomers();
+        reloadCustomers();
     }
 
     async function viewCustomer(customerId) {
         try {
-            const response = await fetch('${pageContext.request.contextPath}/api/customers/' + customerId);
+            const response = await fetch('${pageContext.request.contextPath}/api/customers/' + customerId + '/overview');
             const result = await response.json();
 
             if (result.success && result.data) {
@@ -515,7 +574,12 @@
         }
     }
 
-    function displayCustomerDetails(customer) {
+    function formatMoney(value) {
+        return Number(value || 0).toLocaleString('vi-VN') + ' ₫';
+    }
+
+    function displayCustomerDetails(overview) {
+        const customer = overview.profile;
         const statusBadge = customer.active
             ? '<span class="badge badge-active">Active</span>'
             : '<span class="badge badge-inactive">Inactive</span>';
@@ -523,43 +587,95 @@
         const dob = customer.dob ? new Date(customer.dob).toLocaleDateString() : 'Not provided';
         const createdAt = new Date(customer.createdAt).toLocaleString();
 
-        const html = `
+        let html = `
                 <div class="info-grid">
                     <div class="info-label">Customer ID:</div>
-                    <div class="info-value"><strong>#${customer.customerId}</strong></div>
+                    <div class="info-value"><strong>#\${customer.customerId}</strong></div>
 
                     <div class="info-label">Full Name:</div>
-                    <div class="info-value"><strong>${customer.fullName}</strong></div>
+                    <div class="info-value"><strong>\${customer.fullName}</strong></div>
 
                     <div class="info-label">Username:</div>
-                    <div class="info-value">${customer.username || 'N/A'}</div>
+                    <div class="info-value">\${customer.username || 'N/A'}</div>
 
                     <div class="info-label">Account Status:</div>
-                    <div class="info-value">${statusBadge}</div>
+                    <div class="info-value">\${statusBadge}</div>
 
                     <div class="info-label">Citizen Number:</div>
-                    <div class="info-value">${customer.citizenNumber || 'Not provided'}</div>
+                    <div class="info-value">\${customer.citizenNumber || 'Not provided'}</div>
 
                     <div class="info-label">Phone Number:</div>
-                    <div class="info-value">${customer.phoneNumber || 'Not provided'}</div>
+                    <div class="info-value">\${customer.phoneNumber || 'Not provided'}</div>
 
                     <div class="info-label">Email:</div>
-                    <div class="info-value">${customer.email || 'Not provided'}</div>
+                    <div class="info-value">\${customer.email || 'Not provided'}</div>
 
                     <div class="info-label">Address:</div>
-                    <div class="info-value">${customer.address || 'Not provided'}</div>
+                    <div class="info-value">\${customer.address || 'Not provided'}</div>
 
                     <div class="info-label">Date of Birth:</div>
-                    <div class="info-value">${dob}</div>
+                    <div class="info-value">\${dob}</div>
 
                     <div class="info-label">Total Contracts:</div>
-                    <div class="info-value"><span class="badge badge-contracts">${customer.contractCount || 0} contracts</span></div>
+                    <div class="info-value"><span class="badge badge-contracts">\${customer.contractCount || 0} contracts</span></div>
 
                     <div class="info-label">Registered:</div>
-                    <div class="info-value">${createdAt}</div>
+                    <div class="info-value">\${createdAt}</div>
+
+                    <div class="info-label">Active Contracts:</div>
+                    <div class="info-value">\${overview.activeContracts.length} (\${overview.overdueCount} overdue)</div>
+
+                    <div class="info-label">Outstanding:</div>
+                    <div class="info-value"><strong>\${formatMoney(overview.outstandingBalance)}</strong>
+                        (principal \${formatMoney(overview.outstandingPrincipal)},
+                        interest \${formatMoney(overview.accruedInterest)} as of \${overview.asOf})</div>
                 </div>
             `;
 
+        if (overview.activeContracts.length > 0) {
+            html += `
+                <h3 style="margin: 24px 0 12px;">Active Contracts</h3>
+                <table>
+                    <thead>
+                        <tr><th>ID</th><th>Due</th><th>To Redeem</th></tr>
+                    </thead>
+                    <tbody>
+                `;
+            overview.activeContracts.forEach(contract => {
+                const overdueBadge = contract.overdue ? ' <span class="badge badge-inactive">Overdue</span>' : '';
+                html += `
+                        <tr>
+                            <td>#\${contract.contractId}</td>
+                            <td>\${contract.dueDate}\${overdueBadge}</td>
+                            <td>\${formatMoney(contract.redemptionAmount)}</td>
+                        </tr>
+                    `;
+            });
+            html += '</tbody></table>';
+        }
+
+        if (overview.recentTransactions.length > 0) {
+            html += `
+                <h3 style="margin: 24px 0 12px;">Recent Transactions</h3>
+                <table>
+                    <thead>
+                        <tr><th>Date</th><th>Type</th><th>Contract</th><th>Amount</th></tr>
+                    </thead>
+                    <tbody>
+                `;
+            overview.recentTransactions.forEach(tx => {
+                html += `
+                        <tr>
+                            <td>\${tx.transactionDate}</td>
+                            <td>\${tx.type === 'loan' ? 'Loan' : 'Liquidation'}</td>
+                            <td>#\${tx.contractId}</td>
+                            <td>\${formatMoney(tx.amount)}</td>
+                        </tr>
+                    `;
+            });
+            html += '</tbody></table>';
+        }
+
         document.getElementById('customerDetails').innerHTML = html;
     }
 
@@ -575,8 +691,17 @@
         }
     }
 
-    // Load customers on page load
-    window.addEventListener('DOMContentLoaded', loadCustomers);
+    // Fetch the next page when the bottom of the list scrolls into view
+    window.addEventListener('DOMContentLoaded', () => {
+        const observer = new IntersectionObserver(entries => {
+            if (entries[0].isIntersecting && nextCursor && !document.getElementById('searchInput').value.trim()) {
+                loadCustomers();
+            }
+        });
+        observer.observe(document.getElementById('loadMore'));
+        loadCustomers();
+        loadStats();
+    });
 </script>
 </body>
 </html>
\ No newline at end of file
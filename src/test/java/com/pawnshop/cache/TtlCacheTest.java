@@ -0,0 +1,111 @@
+package com.pawnshop.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TtlCacheTest {
+
+    @Test
+    void hitReturnsCachedValueWithoutLoading() {
+        TtlCache<String, String> cache = new TtlCache<>("test", 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals("v1", cache.getOrLoad("k", TtlCache.NO_EXPIRY, () -> "v" + loads.incrementAndGet()));
+        assertEquals("v1", cache.getOrLoad("k", TtlCache.NO_EXPIRY, () -> "v" + loads.incrementAndGet()));
+
+        assertEquals(1, loads.get());
+        TtlCache.Stats stats = cache.stats();
+        assertEquals(1, stats.getHits());
+        assertEquals(1, stats.getMisses());
+        assertEquals(0.5, stats.getHitRatio());
+    }
+
+    @Test
+    void expiredEntryIsReloaded() {
+        TtlCache<String, String> cache = new TtlCache<>("test", 10);
+        AtomicInteger loads = new AtomicInteger();
+
+        // A zero TTL expires the entry as it is stored
+        cache.getOrLoad("k", 0, () -> "v" + loads.incrementAndGet());
+
+        assertEquals("v2", cache.getOrLoad("k", TtlCache.NO_EXPIRY, () -> "v" + loads.incrementAndGet()));
+        assertEquals(0, cache.stats().getHits());
+        assertEquals(2, cache.stats().getMisses());
+    }
+
+    @Test
+    void loadRacingAnInvalidationIsNotCached() {
+        TtlCache<String, String> cache = new TtlCache<>("test", 10);
+
+        assertEquals("stale", cache.getOrLoad("k", TtlCache.NO_EXPIRY, () -> {
+            cache.invalidate("k");
+            return "stale";
+        }));
+        assertEquals(0, cache.size());
+
+        cache.getOrLoad("other", TtlCache.NO_EXPIRY, () -> {
+            cache.invalidateAll();
+            return "stale";
+        });
+        assertEquals("fresh", cache.getOrLoad("other", TtlCache.NO_EXPIRY, () -> "fresh"));
+    }
+
+    @Test
+    void invalidateDropsTheEntry() {
+        TtlCache<String, String> cache = new TtlCache<>("test", 10);
+        cache.getOrLoad("a", TtlCache.NO_EXPIRY, () -> "a1");
+        cache.getOrLoad("b", TtlCache.NO_EXPIRY, () -> "b1");
+
+        cache.invalidate("a");
+
+        assertEquals("a2", cache.getOrLoad("a", TtlCache.NO_EXPIRY, () -> "a2"));
+        assertEquals("b1", cache.getOrLoad("b", TtlCache.NO_EXPIRY, () -> "b2"));
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() throws InterruptedException {
+        TtlCache<String, String> cache = new TtlCache<>("test", 3);
+        for (String key : new String[]{"a", "b", "c"}) {
+            cache.getOrLoad(key, TtlCache.NO_EXPIRY, () -> key);
+            Thread.sleep(1);
+        }
+        cache.getOrLoad("a", TtlCache.NO_EXPIRY, () -> "reloaded");
+        Thread.sleep(1);
+
+        cache.getOrLoad("d", TtlCache.NO_EXPIRY, () -> "d");
+
+        assertEquals(3, cache.size());
+        assertEquals(1, cache.stats().getEvictions());
+        assertEquals("a", cache.getOrLoad("a", TtlCache.NO_EXPIRY, () -> "reloaded"));
+        assertEquals("b2", cache.getOrLoad("b", TtlCache.NO_EXPIRY, () -> "b2"));
+    }
+
+    @Test
+    void fullCacheEvictsATenthAtATime() {
+        TtlCache<Integer, Integer> cache = new TtlCache<>("test", 100);
+        for (int i = 0; i <= 100; i++) {
+            int value = i;
+            cache.getOrLoad(i, TtlCache.NO_EXPIRY, () -> value);
+        }
+
+        assertEquals(90, cache.size());
+        assertEquals(11, cache.stats().getEvictions());
+    }
+
+    @Test
+    void nullIsNotCachedAndLoaderExceptionsPropagate() {
+        TtlCache<String, String> cache = new TtlCache<>("test", 10);
+
+        assertNull(cache.getOrLoad("k", TtlCache.NO_EXPIRY, () -> null));
+        assertEquals(0, cache.size());
+        assertThrows(IllegalStateException.class, () -> cache.getOrLoad("k", TtlCache.NO_EXPIRY, () -> {
+            throw new IllegalStateException("down");
+        }));
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,97 @@
+package com.pawnshop.config;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.net.ConnectException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadRoutingDataSourceTest {
+    private static final long AN_HOUR = 3_600_000;
+
+    private DataSource primary;
+    private DataSource replica;
+    private Connection primaryConnection;
+    private Connection replicaConnection;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        primary = mock(DataSource.class);
+        replica = mock(DataSource.class);
+        primaryConnection = mock(Connection.class);
+        replicaConnection = mock(Connection.class);
+        when(primary.getConnection()).thenReturn(primaryConnection);
+    }
+
+    @Test
+    void usesReplicaWhenAvailable() throws SQLException {
+        when(replica.getConnection()).thenReturn(replicaConnection);
+        ReadRoutingDataSource dataSource = new ReadRoutingDataSource(primary, replica, AN_HOUR);
+
+        assertSame(replicaConnection, dataSource.getConnection());
+        assertEquals(1, dataSource.getReplicaReads());
+        assertEquals(0, dataSource.getPrimaryFallbacks());
+    }
+
+    @Test
+    void unreachableReplicaIsSkippedUntilRetryWindowEnds() throws SQLException {
+        SQLException unreachable = new SQLTransientConnectionException(
+                "replica - Connection is not available, request timed out after 1000ms.", "08S01",
+                new SQLException("Communications link failure", "08S01"));
+        when(replica.getConnection()).thenThrow(unreachable);
+        ReadRoutingDataSource dataSource = new ReadRoutingDataSource(primary, replica, AN_HOUR);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertSame(primaryConnection, dataSource.getConnection());
+
+        assertFalse(dataSource.isReplicaAvailable());
+        verify(replica, times(1)).getConnection();
+        verify(primary, times(2)).getConnection();
+    }
+
+    @Test
+    void saturatedReplicaPoolFallsBackWithoutTrippingBreaker() throws SQLException {
+        SQLException saturated = new SQLTransientConnectionException(
+                "replica - Connection is not available, request timed out after 1000ms.");
+        when(replica.getConnection()).thenThrow(saturated).thenReturn(replicaConnection);
+        ReadRoutingDataSource dataSource = new ReadRoutingDataSource(primary, replica, AN_HOUR);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertTrue(dataSource.isReplicaAvailable());
+        assertSame(replicaConnection, dataSource.getConnection());
+
+        verify(replica, times(2)).getConnection();
+    }
+
+    @Test
+    void replicaIsRetriedOnceWindowHasPassed() throws SQLException {
+        when(replica.getConnection())
+                .thenThrow(new SQLException("Communications link failure", "08S01"))
+                .thenReturn(replicaConnection);
+        ReadRoutingDataSource dataSource = new ReadRoutingDataSource(primary, replica, 0);
+
+        assertSame(primaryConnection, dataSource.getConnection());
+        assertSame(replicaConnection, dataSource.getConnection());
+    }
+
+    @Test
+    void classifiesConnectionFailures() {
+        assertTrue(ReadRoutingDataSource.isConnectionFailure(new SQLException("refused", "08001")));
+        assertTrue(ReadRoutingDataSource.isConnectionFailure(
+                new SQLTransientConnectionException("timed out", null, new ConnectException("refused"))));
+        assertFalse(ReadRoutingDataSource.isConnectionFailure(new SQLTransientConnectionException("timed out")));
+        assertFalse(ReadRoutingDataSource.isConnectionFailure(new SQLException("Access denied", "28000")));
+    }
+}
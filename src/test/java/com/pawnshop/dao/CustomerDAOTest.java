@@ -0,0 +1,166 @@
+package com.pawnshop.dao;
+
+import com.pawnshop.model.CustomerTransaction;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerDAOTest {
+
+    private final CustomerDAO customerDAO = new CustomerDAO();
+
+    @ParameterizedTest
+    @CsvSource({"1, 1", "1000, 1", "1001, 2"})
+    void countContractsIssuesOneStatementPerThousandIds(int customerCount, int expectedStatements)
+            throws SQLException {
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+
+        customerDAO.countContractsByCustomerIds(conn, ids(customerCount));
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(conn, times(expectedStatements)).prepareStatement(sql.capture());
+        verify(stmt, times(expectedStatements)).executeQuery();
+        verify(stmt, times(customerCount)).setInt(anyInt(), anyInt());
+
+        int placeholders = sql.getAllValues().stream()
+                .mapToInt(statement -> (int) statement.chars().filter(c -> c == '?').count())
+                .sum();
+        assertEquals(customerCount, placeholders);
+        sql.getAllValues().forEach(statement -> assertTrue(statement.contains("GROUP BY customer_id")));
+    }
+
+    @Test
+    void countContractsReadsCountsFromEveryChunk() throws SQLException {
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet first = mock(ResultSet.class);
+        ResultSet second = mock(ResultSet.class);
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(first, second);
+        when(first.next()).thenReturn(true, false);
+        when(first.getInt("customer_id")).thenReturn(7);
+        when(first.getInt("contract_count")).thenReturn(3);
+        when(second.next()).thenReturn(true, false);
+        when(second.getInt("customer_id")).thenReturn(1001);
+        when(second.getInt("contract_count")).thenReturn(1);
+
+        Map<Integer, Integer> counts = customerDAO.countContractsByCustomerIds(conn, ids(1001));
+
+        assertEquals(Map.of(7, 3, 1001, 1), counts);
+    }
+
+    @Test
+    void countContractsWithoutIdsIssuesNoStatement() throws SQLException {
+        Connection conn = mock(Connection.class);
+
+        assertTrue(customerDAO.countContractsByCustomerIds(conn, List.of()).isEmpty());
+
+        verify(conn, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void textSearchFiltersShortNamePartsWithLike() {
+        CustomerDAO.TextSearch search = CustomerDAO.TextSearch.of("Le Van Nam");
+
+        assertTrue(search.sql.contains("MATCH (c.full_name, c.address) AGAINST"));
+        assertTrue(search.sql.contains("c.full_name LIKE ?"));
+        assertEquals(List.of("+Van* +Nam*", "+Van* +Nam*", "Le%", "% Le%", "Le%", "% Le%"),
+                search.params);
+    }
+
+    @Test
+    void textSearchWithOnlyShortWordsSkipsFulltext() {
+        CustomerDAO.TextSearch search = CustomerDAO.TextSearch.of("Vu Ly");
+
+        assertFalse(search.sql.contains("MATCH"));
+        assertEquals(List.of("Vu%", "% Vu%", "Vu%", "% Vu%", "Ly%", "% Ly%", "Ly%", "% Ly%"),
+                search.params);
+        assertEquals(8, search.sql.chars().filter(c -> c == '?').count() - 1);
+    }
+
+    @Test
+    void textSearchStripsOperatorsAndEscapesLikeWildcards() {
+        CustomerDAO.TextSearch search = CustomerDAO.TextSearch.of("+Ho* \"Tran\" a_");
+
+        assertEquals(List.of("+Tran*", "+Tran*", "Ho%", "% Ho%", "Ho%", "% Ho%",
+                "a\\_%", "% a\\_%", "a\\_%", "% a\\_%"), search.params);
+        assertNull(CustomerDAO.TextSearch.of("+-*"));
+    }
+
+    @Test
+    void recentTransactionsBindEachBranchAndMapRowsOfBothTypes() throws SQLException {
+        Connection conn = mock(Connection.class);
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        ResultSet rs = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(4);
+        when(metaData.getColumnLabel(1)).thenReturn("txn_type");
+        when(metaData.getColumnLabel(2)).thenReturn("contract_id");
+        when(metaData.getColumnLabel(3)).thenReturn("txn_date");
+        when(metaData.getColumnLabel(4)).thenReturn("amount");
+        when(rs.next()).thenReturn(true).thenReturn(true).thenReturn(true).thenReturn(false);
+        when(rs.getString(1)).thenReturn("liquidation").thenReturn("loan").thenReturn("loan");
+        when(rs.getInt(2)).thenReturn(12).thenReturn(15).thenReturn(12);
+        when(rs.getDate(3)).thenReturn(Date.valueOf("2024-06-01"))
+                .thenReturn(Date.valueOf("2024-05-20"))
+                .thenReturn(Date.valueOf("2024-01-05"));
+        when(rs.getBigDecimal(4)).thenReturn(new BigDecimal("800.00"))
+                .thenReturn(new BigDecimal("2000.00"))
+                .thenReturn(new BigDecimal("1500.00"));
+
+        List<CustomerTransaction> transactions = customerDAO.findRecentTransactions(conn, 42, 10);
+
+        verify(stmt).setInt(1, 42);
+        verify(stmt).setInt(2, 10);
+        verify(stmt).setInt(3, 42);
+        verify(stmt).setInt(4, 10);
+        verify(stmt).setInt(5, 10);
+
+        assertEquals(List.of(CustomerTransaction.Type.LIQUIDATION, CustomerTransaction.Type.LOAN,
+                CustomerTransaction.Type.LOAN), transactions.stream().map(CustomerTransaction::getType)
+                .collect(Collectors.toList()));
+        assertEquals(List.of(LocalDate.of(2024, 6, 1), LocalDate.of(2024, 5, 20), LocalDate.of(2024, 1, 5)),
+                transactions.stream().map(CustomerTransaction::getTransactionDate).collect(Collectors.toList()));
+        assertEquals(List.of(12, 15, 12),
+                transactions.stream().map(CustomerTransaction::getContractId).collect(Collectors.toList()));
+        assertEquals(List.of(new BigDecimal("800.00"), new BigDecimal("2000.00"), new BigDecimal("1500.00")),
+                transactions.stream().map(CustomerTransaction::getAmount).collect(Collectors.toList()));
+    }
+
+    private static List<Integer> ids(int count) {
+        return IntStream.rangeClosed(1, count).boxed().collect(Collectors.toList());
+    }
+}
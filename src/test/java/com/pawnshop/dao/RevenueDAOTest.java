@@ -0,0 +1,149 @@
+package com.pawnshop.dao;
+
+import com.pawnshop.dto.MonthlyRevenueDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.atLeast;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The ranges each revenue statement is bound to. Whole months must come from the rollup and
+ * partial edge months from half-open liquidation_date ranges that never cross a month boundary.
+ */
+class RevenueDAOTest {
+
+    private final RevenueDAO revenueDAO = new RevenueDAO();
+    private final List<String> statements = new ArrayList<>();
+    private Connection conn;
+    private PreparedStatement rollupStmt;
+    private PreparedStatement rangeStmt;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = mock(Connection.class);
+        rollupStmt = mock(PreparedStatement.class);
+        rangeStmt = mock(PreparedStatement.class);
+        ResultSet empty = mock(ResultSet.class);
+        when(rollupStmt.executeQuery()).thenReturn(empty);
+        when(rangeStmt.executeQuery()).thenReturn(empty);
+        when(conn.prepareStatement(anyString())).thenAnswer(invocation -> {
+            String sql = invocation.getArgument(0);
+            statements.add(sql);
+            return sql.contains("FROM revenue_monthly_rollup") ? rollupStmt : rangeStmt;
+        });
+    }
+
+    @Test
+    void midMonthRangeReadsWholeMonthsFromRollupAndEdgesFromBaseTable() throws SQLException {
+        revenueDAO.getRevenueByDateRange(conn, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 4, 10));
+
+        assertEquals(List.of(d("2024-02-01"), d("2024-04-01")), boundDates(rollupStmt));
+        assertEquals(List.of(
+                d("2024-01-15"), d("2024-02-01"),
+                d("2024-04-01"), d("2024-04-11")), boundDates(rangeStmt));
+    }
+
+    @Test
+    void rangeWithinOneMonthIsOneHalfOpenRange() throws SQLException {
+        revenueDAO.getRevenueByDateRange(conn, LocalDate.of(2024, 3, 5), LocalDate.of(2024, 3, 20));
+
+        verify(rollupStmt, never()).executeQuery();
+        assertEquals(List.of(d("2024-03-05"), d("2024-03-21")), boundDates(rangeStmt));
+    }
+
+    @Test
+    void partialRangeAcrossMonthBoundaryIsSplitPerMonth() throws SQLException {
+        revenueDAO.getRevenueByDateRange(conn, LocalDate.of(2024, 1, 20), LocalDate.of(2024, 2, 10));
+
+        verify(rollupStmt, never()).executeQuery();
+        assertEquals(List.of(
+                d("2024-01-20"), d("2024-02-01"),
+                d("2024-02-01"), d("2024-02-11")), boundDates(rangeStmt));
+    }
+
+    @Test
+    void wholeMonthsNeverTouchBaseTable() throws SQLException {
+        revenueDAO.getRevenueByDateRange(conn, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 3, 31));
+
+        assertEquals(List.of(d("2024-01-01"), d("2024-04-01")), boundDates(rollupStmt));
+        verify(rangeStmt, never()).executeQuery();
+    }
+
+    @Test
+    void yearEndRangeRollsIntoNextYear() throws SQLException {
+        revenueDAO.getRevenueByDateRange(conn, LocalDate.of(2023, 12, 10), LocalDate.of(2023, 12, 31));
+
+        assertEquals(List.of(d("2023-12-10"), d("2024-01-01")), boundDates(rangeStmt));
+    }
+
+    @Test
+    void noStatementAppliesAFunctionToLiquidationDate() throws SQLException {
+        revenueDAO.getRevenueByDateRange(conn, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 4, 10));
+
+        verify(conn, atLeast(2)).prepareStatement(anyString());
+        for (String sql : statements) {
+            String upper = sql.toUpperCase(Locale.ROOT);
+            assertFalse(upper.contains("YEAR("), sql);
+            assertFalse(upper.contains("MONTH("), sql);
+            assertFalse(upper.contains("DATE_FORMAT("), sql);
+        }
+    }
+
+    @Test
+    void partialMonthRowsAreLabelledByCalendarMonth() throws SQLException {
+        ResultSet row = mock(ResultSet.class);
+        when(rangeStmt.executeQuery()).thenReturn(row);
+        when(row.next()).thenReturn(true);
+        when(row.getLong("total_liquidations")).thenReturn(2L);
+        when(row.getBigDecimal("total_revenue")).thenReturn(new BigDecimal("300.00"));
+
+        List<MonthlyRevenueDTO> months = revenueDAO.getRevenueByDateRange(
+                conn, LocalDate.of(2024, 1, 20), LocalDate.of(2024, 2, 10));
+
+        assertEquals(List.of("2024-02", "2024-01"), months.stream().map(MonthlyRevenueDTO::getMonth).toList());
+        assertEquals(new BigDecimal("150.00"), months.get(0).getAverageRevenue());
+    }
+
+    @Test
+    void monthsWithoutSalesAreZeroRows() throws SQLException {
+        List<MonthlyRevenueDTO> months = revenueDAO.getRevenueByDateRange(
+                conn, LocalDate.of(2024, 1, 15), LocalDate.of(2024, 4, 10));
+
+        assertEquals(List.of("2024-04", "2024-03", "2024-02", "2024-01"),
+                months.stream().map(MonthlyRevenueDTO::getMonth).toList());
+        for (MonthlyRevenueDTO month : months) {
+            assertEquals(0L, month.getTotalLiquidations());
+            assertEquals(BigDecimal.ZERO, month.getTotalRevenue());
+        }
+    }
+
+    private static List<Date> boundDates(PreparedStatement stmt) throws SQLException {
+        ArgumentCaptor<Date> dates = ArgumentCaptor.forClass(Date.class);
+        verify(stmt, atLeast(0)).setDate(anyInt(), dates.capture());
+        return dates.getAllValues();
+    }
+
+    private static Date d(String date) {
+        return Date.valueOf(date);
+    }
+}
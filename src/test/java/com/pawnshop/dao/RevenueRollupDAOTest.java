@@ -0,0 +1,142 @@
+package com.pawnshop.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RevenueRollupDAOTest {
+
+    private final RevenueRollupDAO rollupDAO = new RevenueRollupDAO();
+    private Connection conn;
+    private PreparedStatement bounds;
+    private PreparedStatement delete;
+    private PreparedStatement insert;
+    private ResultSet boundsRow;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        conn = mock(Connection.class);
+        bounds = mock(PreparedStatement.class);
+        delete = mock(PreparedStatement.class);
+        insert = mock(PreparedStatement.class);
+        boundsRow = mock(ResultSet.class);
+        when(conn.prepareStatement(startsWith("SELECT MIN"))).thenReturn(bounds);
+        when(conn.prepareStatement(startsWith("DELETE"))).thenReturn(delete);
+        when(conn.prepareStatement(startsWith("INSERT"))).thenReturn(insert);
+        when(bounds.executeQuery()).thenReturn(boundsRow);
+    }
+
+    @Test
+    void deltasAreSummedPerMonthAndSentAsOneBatch() throws SQLException {
+        Map<LocalDate, RevenueRollupDAO.MonthDelta> deltas = RevenueRollupDAO.MonthDelta.newMap();
+        RevenueRollupDAO.MonthDelta.accumulate(deltas, LocalDate.of(2024, 3, 31), new BigDecimal("30.00"));
+        RevenueRollupDAO.MonthDelta.accumulate(deltas, LocalDate.of(2024, 2, 1), new BigDecimal("100.00"));
+        RevenueRollupDAO.MonthDelta.accumulate(deltas, LocalDate.of(2024, 2, 29), new BigDecimal("50.00"));
+
+        rollupDAO.applyDeltas(conn, deltas.values());
+
+        InOrder order = inOrder(insert);
+        order.verify(insert).setDate(1, Date.valueOf("2024-02-01"));
+        order.verify(insert).setLong(2, 2);
+        order.verify(insert).setBigDecimal(3, new BigDecimal("150.00"));
+        order.verify(insert).setBigDecimal(4, new BigDecimal("12500.0000"));
+        order.verify(insert).addBatch();
+        order.verify(insert).setDate(1, Date.valueOf("2024-03-01"));
+        order.verify(insert).setLong(2, 1);
+        order.verify(insert).setBigDecimal(3, new BigDecimal("30.00"));
+        order.verify(insert).setBigDecimal(4, new BigDecimal("900.0000"));
+        order.verify(insert).addBatch();
+        order.verify(insert).executeBatch();
+        order.verify(insert).close();
+    }
+
+    @Test
+    void noDeltasTouchNothing() throws SQLException {
+        rollupDAO.applyDeltas(conn, List.of());
+
+        verify(conn, never()).prepareStatement(anyString());
+    }
+
+    @Test
+    void rebuildReplacesEachMonthBetweenTheFirstAndLastSale() throws SQLException {
+        when(boundsRow.next()).thenReturn(true);
+        when(boundsRow.getDate(1)).thenReturn(Date.valueOf("2024-01-15"));
+        when(boundsRow.getDate(2)).thenReturn(Date.valueOf("2024-03-03"));
+        // February had no sales, so its INSERT ... SELECT ... HAVING inserts nothing
+        when(insert.executeBatch()).thenReturn(new int[]{1, 0, 1});
+
+        int months = rollupDAO.rebuild(conn, LocalDate.of(2023, 12, 20), LocalDate.of(2024, 6, 10));
+
+        assertEquals(2, months);
+        verify(delete).setDate(1, Date.valueOf("2023-12-01"));
+        verify(delete).setDate(2, Date.valueOf("2024-06-01"));
+        verify(bounds).setDate(1, Date.valueOf("2023-12-01"));
+        verify(bounds).setDate(2, Date.valueOf("2024-06-01"));
+
+        InOrder order = inOrder(conn, delete, insert);
+        order.verify(conn).setAutoCommit(false);
+        order.verify(delete).executeUpdate();
+        for (String month : new String[]{"2024-01-01", "2024-02-01", "2024-03-01"}) {
+            order.verify(insert).setDate(1, Date.valueOf(month));
+            order.verify(insert).setDate(2, Date.valueOf(month));
+            order.verify(insert).setDate(3, Date.valueOf(LocalDate.parse(month).plusMonths(1)));
+            order.verify(insert).addBatch();
+        }
+        order.verify(insert).executeBatch();
+        order.verify(conn).commit();
+        order.verify(conn).setAutoCommit(true);
+        verify(conn, never()).rollback();
+    }
+
+    @Test
+    void rebuildOfAnEmptyRangeOnlyDeletes() throws SQLException {
+        when(boundsRow.next()).thenReturn(true);
+        when(boundsRow.getDate(1)).thenReturn(null);
+
+        assertEquals(0, rollupDAO.rebuild(conn, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)));
+
+        verify(delete).executeUpdate();
+        verify(insert, never()).addBatch();
+        verify(insert, never()).executeBatch();
+        verify(conn).commit();
+    }
+
+    @Test
+    void failedRebuildRollsBackAndRestoresAutoCommit() throws SQLException {
+        when(boundsRow.next()).thenReturn(true);
+        when(boundsRow.getDate(1)).thenReturn(Date.valueOf("2024-01-15"));
+        when(boundsRow.getDate(2)).thenReturn(Date.valueOf("2024-01-20"));
+        when(insert.executeBatch()).thenThrow(new SQLException("lock wait timeout"));
+
+        assertThrows(SQLException.class,
+                () -> rollupDAO.rebuild(conn, LocalDate.of(2024, 1, 1), LocalDate.of(2024, 2, 1)));
+
+        verify(conn, never()).commit();
+        InOrder order = inOrder(conn);
+        order.verify(conn).rollback();
+        order.verify(conn).setAutoCommit(true);
+        verify(insert).close();
+        verify(delete).close();
+        verify(bounds).close();
+    }
+}
@@ -0,0 +1,97 @@
+package com.pawnshop.dao;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class RowMapperTest {
+
+    private final RowMapper<Row> mapper = RowMapper.builder(Row::new)
+            .column("c.customer_id", RowMapper.INT, (row, value) -> row.id = value)
+            .column("c.full_name", RowMapper.STRING, (row, value) -> row.name = value)
+            .column("a.username", RowMapper.STRING, (row, value) -> row.username = value)
+            .build();
+
+    @Test
+    void columnListRendersExpressionsInBindingOrder() {
+        assertEquals("c.customer_id, c.full_name, a.username", mapper.columnList());
+    }
+
+    @Test
+    void selectListInBindingOrderResolvesPositionally() throws SQLException {
+        ResultSet rs = resultSet("CUSTOMER_ID", "full_name", "username");
+        when(rs.getInt(1)).thenReturn(7);
+        when(rs.getString(2)).thenReturn("Le Van Nam");
+        when(rs.getString(3)).thenReturn("nam");
+
+        List<Row> rows = mapper.list(rs);
+
+        assertEquals(1, rows.size());
+        assertEquals(7, rows.get(0).id);
+        assertEquals("Le Van Nam", rows.get(0).name);
+        assertEquals("nam", rows.get(0).username);
+        // One label check per binding, no scan
+        verify(rs.getMetaData(), times(3)).getColumnLabel(anyInt());
+    }
+
+    @Test
+    void otherSelectShapesResolveByLabel() throws SQLException {
+        ResultSet rs = resultSet("search_rank", "username", "customer_id", "full_name");
+        when(rs.getInt(3)).thenReturn(9);
+        when(rs.getString(4)).thenReturn("Tran Thi Mai");
+        when(rs.getString(2)).thenReturn("mai");
+
+        Row row = mapper.first(rs).orElseThrow();
+
+        assertEquals(9, row.id);
+        assertEquals("Tran Thi Mai", row.name);
+        assertEquals("mai", row.username);
+    }
+
+    @Test
+    void missingColumnFailsBeforeAnyRowIsRead() throws SQLException {
+        ResultSet rs = resultSet("customer_id", "full_name");
+
+        SQLException e = assertThrows(SQLException.class, () -> mapper.forEach(rs, row -> { }));
+        assertEquals("Column not in result set: username", e.getMessage());
+        verify(rs, times(0)).next();
+    }
+
+    @Test
+    void nullableIntKeepsSqlNull() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(rs.getObject(1, Integer.class)).thenReturn(null);
+
+        assertNull(RowMapper.NULLABLE_INT.read(rs, 1));
+    }
+
+    private static ResultSet resultSet(String... labels) throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        ResultSetMetaData metaData = mock(ResultSetMetaData.class);
+        when(rs.getMetaData()).thenReturn(metaData);
+        when(metaData.getColumnCount()).thenReturn(labels.length);
+        for (int i = 0; i < labels.length; i++) {
+            when(metaData.getColumnLabel(i + 1)).thenReturn(labels[i]);
+        }
+        when(rs.next()).thenReturn(true, false);
+        return rs;
+    }
+
+    private static final class Row {
+        Integer id;
+        String name;
+        String username;
+    }
+}
@@ -0,0 +1,127 @@
+package com.pawnshop.dao;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class UnitOfWorkTest {
+
+    private final DataSource dataSource = mock(DataSource.class);
+    private final Connection conn = mock(Connection.class);
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        when(dataSource.getConnection()).thenReturn(conn);
+    }
+
+    @Test
+    void workIsCommittedOnItsConnection() throws SQLException {
+        String result = UnitOfWork.inTransaction(dataSource, c -> {
+            assertSame(conn, c);
+            return "done";
+        });
+
+        assertEquals("done", result);
+        InOrder order = inOrder(conn);
+        order.verify(conn).setAutoCommit(false);
+        order.verify(conn).commit();
+        order.verify(conn).close();
+        verify(conn, never()).rollback();
+    }
+
+    @Test
+    void sqlExceptionRollsBackAndIsRethrown() throws SQLException {
+        SQLException failure = new SQLException("insert failed");
+
+        SQLException thrown = assertThrows(SQLException.class,
+                () -> UnitOfWork.inTransaction(dataSource, c -> {
+                    throw failure;
+                }));
+
+        assertSame(failure, thrown);
+        InOrder order = inOrder(conn);
+        order.verify(conn).rollback();
+        order.verify(conn).close();
+        verify(conn, never()).commit();
+    }
+
+    @Test
+    void runtimeExceptionRollsBack() throws SQLException {
+        assertThrows(IllegalStateException.class, () -> UnitOfWork.inTransaction(dataSource, c -> {
+            throw new IllegalStateException("bug");
+        }));
+
+        verify(conn).rollback();
+        verify(conn, never()).commit();
+        verify(conn).close();
+    }
+
+    @Test
+    void failedCommitRollsBack() throws SQLException {
+        doThrow(new SQLException("lock wait timeout")).when(conn).commit();
+
+        assertThrows(SQLException.class, () -> UnitOfWork.inTransaction(dataSource, c -> 1));
+
+        verify(conn).rollback();
+        verify(conn).close();
+    }
+
+    @Test
+    void rollbackFailureIsSuppressedOnTheOriginalError() throws SQLException {
+        SQLException rollbackError = new SQLException("connection lost");
+        doThrow(rollbackError).when(conn).rollback();
+
+        SQLException thrown = assertThrows(SQLException.class,
+                () -> UnitOfWork.inTransaction(dataSource, c -> {
+                    throw new SQLException("insert failed");
+                }));
+
+        assertEquals("insert failed", thrown.getMessage());
+        assertSame(rollbackError, thrown.getSuppressed()[0]);
+        verify(conn).close();
+    }
+
+    @Test
+    void duplicateKeyMatchesTheKeyName() {
+        SQLException duplicate = new SQLException(
+                "Duplicate entry 'alice' for key 'account.uq_account_username'", "23000", 1062);
+
+        assertTrue(UnitOfWork.isDuplicateKey(duplicate, "username"));
+        assertFalse(UnitOfWork.isDuplicateKey(duplicate, "email"));
+        // The entry value is not part of the key name
+        assertFalse(UnitOfWork.isDuplicateKey(duplicate, "alice"));
+    }
+
+    @Test
+    void duplicateKeyIsFoundInTheExceptionChain() {
+        SQLException wrapper = new SQLException("batch failed", "HY000", 0);
+        wrapper.setNextException(new SQLException(
+                "Duplicate entry 'x' for key 'customer.uq_customer_email'", "23000", 1062));
+
+        assertTrue(UnitOfWork.isDuplicateKey(wrapper, "email"));
+    }
+
+    @Test
+    void otherErrorsAreNotDuplicateKeys() {
+        assertFalse(UnitOfWork.isDuplicateKey(
+                new SQLException("Cannot add or update a child row: a foreign key constraint fails", "23000", 1452),
+                "username"));
+        assertFalse(UnitOfWork.isDuplicateKey(new SQLException(null, "23000", 1062), "username"));
+    }
+}
@@ -0,0 +1,76 @@
+package com.pawnshop.dto;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CursorTest {
+
+    @Test
+    void pageCursorRoundTrips() {
+        LocalDateTime createdAt = LocalDateTime.of(2024, 5, 17, 9, 30, 15, 123_000_000);
+        String encoded = new PageCursor(createdAt, 4821).encode();
+
+        PageCursor decoded = PageCursor.decode(encoded);
+
+        assertEquals(createdAt, decoded.getCreatedAt());
+        assertEquals(4821, decoded.getId());
+    }
+
+    @Test
+    void pageCursorRoundTripsWholeMinute() {
+        // LocalDateTime.toString() drops zero seconds ("2024-01-01T00:00")
+        LocalDateTime createdAt = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+        assertEquals(createdAt, PageCursor.decode(new PageCursor(createdAt, 1).encode()).getCreatedAt());
+    }
+
+    @Test
+    void appraisalCursorRoundTripsValueAndScale() {
+        for (String value : new String[]{"0.00", "1500000.50", "1E+3", "999999999999.99"}) {
+            AppraisalCursor decoded = AppraisalCursor.decode(new AppraisalCursor(new BigDecimal(value), 77).encode());
+
+            assertEquals(0, new BigDecimal(value).compareTo(decoded.getValue()), value);
+            assertEquals(77, decoded.getId());
+        }
+    }
+
+    @Test
+    void dueDateCursorRoundTrips() {
+        DueDateCursor decoded = DueDateCursor.decode(new DueDateCursor(LocalDate.of(2024, 2, 29), 315).encode());
+
+        assertEquals(LocalDate.of(2024, 2, 29), decoded.getDueDate());
+        assertEquals(315, decoded.getId());
+        assertThrows(IllegalArgumentException.class, () -> DueDateCursor.decode(encode("2024-02-30|1")));
+    }
+
+    @Test
+    void encodedCursorIsUrlSafe() {
+        String encoded = new AppraisalCursor(new BigDecimal("123456789.99"), Integer.MAX_VALUE).encode();
+
+        assertFalse(encoded.contains("+") || encoded.contains("/") || encoded.contains("="), encoded);
+    }
+
+    @Test
+    void malformedCursorIsRejected() {
+        for (String cursor : new String[]{"not base64!", "", encode("no-separator"), encode("abc|1"), encode("1.00|x")}) {
+            assertThrows(IllegalArgumentException.class, () -> AppraisalCursor.decode(cursor), cursor);
+        }
+        for (String cursor : new String[]{"not base64!", "", encode("no-separator"), encode("yesterday|1"),
+                encode("2024-01-01T00:00|x")}) {
+            assertThrows(IllegalArgumentException.class, () -> PageCursor.decode(cursor), cursor);
+        }
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,87 @@
+package com.pawnshop.filter;
+
+import com.pawnshop.filter.AccessRuleTrie.Access;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class AccessRuleTrieTest {
+
+    private final AccessRuleTrie trie = new AccessRuleTrie.Builder()
+            .prefix("/api/", Access.AUTHENTICATED)
+            .prefix("/api/accounts/", Access.ADMIN_OR_EMPLOYEE)
+            .prefix("/api/accounts/login", Access.PUBLIC)
+            .prefix("/api/accounts/login-limits/", Access.ADMIN)
+            .exact("/api/reports", Access.ADMIN)
+            .prefix("/api/reports", Access.ADMIN_OR_EMPLOYEE)
+            .build();
+
+    @ParameterizedTest
+    @CsvSource({
+            "/api/accounts/login-limits/5, ADMIN",
+            "/api/accounts/login-limits/, ADMIN",
+            "/api/accounts/login-limits, PUBLIC",
+            "/api/accounts/login, PUBLIC",
+            "/api/accounts/42, ADMIN_OR_EMPLOYEE",
+            "/api/accounts/, ADMIN_OR_EMPLOYEE",
+            "/api/accounts, AUTHENTICATED",
+            "/api/other, AUTHENTICATED"
+    })
+    void longestMatchingPrefixWins(String path, Access expected) {
+        assertEquals(expected, trie.resolve(path, 0));
+    }
+
+    @Test
+    void exactRuleBeatsPrefixRuleOnTheSamePathOnly() {
+        assertEquals(Access.ADMIN, trie.resolve("/api/reports", 0));
+        assertEquals(Access.ADMIN_OR_EMPLOYEE, trie.resolve("/api/reports/monthly", 0));
+        assertEquals(Access.ADMIN_OR_EMPLOYEE, trie.resolve("/api/reportsx", 0));
+    }
+
+    @Test
+    void pathsWithoutRuleRequireLogin() {
+        assertEquals(Access.AUTHENTICATED, trie.resolve("/dashboard.jsp", 0));
+        assertEquals(Access.AUTHENTICATED, trie.resolve("/ap", 0));
+        assertEquals(Access.AUTHENTICATED, trie.resolve("", 0));
+    }
+
+    @Test
+    void resolvesFromOffsetPastContextPath() {
+        String uri = "/pawnshop/api/accounts/login-limits/5";
+
+        assertEquals(Access.ADMIN, trie.resolve(uri, "/pawnshop".length()));
+        assertEquals(Access.AUTHENTICATED, trie.resolve(uri, 0));
+    }
+
+    @Test
+    void shippedRulesResolveKeyPaths() throws IOException {
+        AccessRuleTrie rules;
+        try (InputStream input = AccessRuleTrie.class.getClassLoader().getResourceAsStream("access-rules.conf")) {
+            rules = AccessRuleTrie.load(input);
+        }
+
+        assertEquals(Access.PUBLIC, rules.resolve("/api/auth/login", 0));
+        assertEquals(Access.ADMIN, rules.resolve("/api/accounts/login-limits/7", 0));
+        assertEquals(Access.ADMIN_OR_EMPLOYEE, rules.resolve("/api/contracts", 0));
+        assertEquals(Access.ADMIN_OR_EMPLOYEE, rules.resolve("/api/contracts/12/valuation", 0));
+        assertEquals(Access.ADMIN, rules.resolve("/reports.jsp", 0));
+        assertEquals(Access.AUTHENTICATED, rules.resolve("/reports.jsp.bak", 0));
+    }
+
+    @Test
+    void malformedRuleIsRejectedWithLineNumber() {
+        String rules = "# comment\n\nPUBLIC prefix /css/\nADMIN sometimes /api/admin/\n";
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> AccessRuleTrie.load(new ByteArrayInputStream(rules.getBytes(StandardCharsets.UTF_8))));
+        assertEquals("Unknown match 'sometimes' at line 4", e.getMessage());
+    }
+}
@@ -0,0 +1,143 @@
+package com.pawnshop.metrics;
+
+import com.pawnshop.dao.CustomerDAO;
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class InstrumentedDataSourceTest {
+
+    private final JdbcMetrics metrics = new JdbcMetrics();
+    private HikariDataSource pool;
+    private Connection conn;
+    private PreparedStatement stmt;
+    private InstrumentedDataSource dataSource;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        pool = mock(HikariDataSource.class);
+        conn = mock(Connection.class);
+        stmt = mock(PreparedStatement.class);
+        when(pool.getPoolName()).thenReturn("test");
+        when(pool.getConnection()).thenReturn(conn);
+        when(conn.prepareStatement(anyString())).thenReturn(stmt);
+        dataSource = new InstrumentedDataSource(pool, metrics);
+    }
+
+    @Test
+    void rowsReadAreCountedAsTheResultSetAdvances() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, true, false);
+
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement s = c.prepareStatement("SELECT 1");
+             ResultSet r = s.executeQuery()) {
+            while (r.next()) {
+                r.getInt(1);
+            }
+        }
+
+        JdbcMetrics.QueryStats stats = metrics.query("other");
+        assertEquals(2, stats.rows.sum());
+        assertEquals(1, total(stats.latency));
+        assertEquals(0, stats.errors.sum());
+        verify(rs, times(2)).getInt(1);
+        verify(rs).close();
+        verify(stmt).close();
+        verify(conn).close();
+    }
+
+    @Test
+    void rowsAffectedAreCountedFromUpdatesAndBatches() throws SQLException {
+        when(stmt.executeUpdate()).thenReturn(3);
+        when(stmt.executeBatch()).thenReturn(new int[]{1, Statement.SUCCESS_NO_INFO, 2});
+
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement s = c.prepareStatement("UPDATE t SET x = ?")) {
+            s.setInt(1, 5);
+            assertEquals(3, s.executeUpdate());
+            s.addBatch();
+            s.executeBatch();
+        }
+
+        JdbcMetrics.QueryStats stats = metrics.query("other");
+        assertEquals(6, stats.rows.sum());
+        assertEquals(2, total(stats.latency));
+        verify(stmt).setInt(1, 5);
+    }
+
+    @Test
+    void failedStatementIsCountedAndItsExceptionRethrown() throws SQLException {
+        SQLTimeoutException timeout = new SQLTimeoutException("Statement cancelled");
+        when(stmt.executeQuery()).thenThrow(timeout);
+
+        try (Connection c = dataSource.getConnection();
+             PreparedStatement s = c.prepareStatement("SELECT 1")) {
+            assertSame(timeout, assertThrows(SQLTimeoutException.class, s::executeQuery));
+        }
+
+        JdbcMetrics.QueryStats stats = metrics.query("other");
+        assertEquals(1, stats.errors.sum());
+        assertEquals(0, total(stats.latency));
+    }
+
+    @Test
+    void statementsAreAttributedToTheCallingDaoMethod() throws SQLException {
+        ResultSet rs = mock(ResultSet.class);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(true, false);
+
+        try (Connection c = dataSource.getConnection()) {
+            Map<Integer, Integer> counts = new CustomerDAO().countContractsByCustomerIds(c, List.of(1, 2));
+            assertEquals(1, counts.size());
+        }
+
+        assertEquals(1, metrics.query("CustomerDAO.countContractsByCustomerIds").rows.sum());
+        assertEquals(0, metrics.query("other").rows.sum());
+    }
+
+    @Test
+    void borrowsAreTimedAndFailuresCounted() throws SQLException {
+        dataSource.getConnection().close();
+        SQLTimeoutException exhausted = new SQLTimeoutException("Connection is not available");
+        when(pool.getConnection()).thenThrow(exhausted);
+
+        assertSame(exhausted, assertThrows(SQLTimeoutException.class, dataSource::getConnection));
+
+        JdbcMetrics.PoolStats stats = metrics.pool("test");
+        assertEquals(1, total(stats.borrowTime));
+        assertEquals(1, stats.borrowErrors.sum());
+    }
+
+    @Test
+    void unwrapReturnsThePool() throws SQLException {
+        assertSame(pool, dataSource.unwrap(HikariDataSource.class));
+    }
+
+    private static long total(LatencyHistogram histogram) {
+        long total = 0;
+        for (long count : histogram.counts()) {
+            total += count;
+        }
+        return total;
+    }
+}
@@ -0,0 +1,70 @@
+package com.pawnshop.search;
+
+import com.pawnshop.dto.CustomerSuggestionDTO;
+import com.pawnshop.model.Customer;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CustomerSuggestIndexTest {
+
+    @Test
+    void changesMadeDuringRebuildSurviveTheSwap() {
+        CustomerSuggestIndex index = new CustomerSuggestIndex();
+        index.rebuild(action -> action.accept(customer(1, "Tran Van An", "0901111111")));
+
+        // The snapshot still holds customer 1 and predates customer 2
+        index.rebuild(action -> {
+            index.put(customer(2, "Le Thi Hoa", "0902222222"));
+            index.remove(1);
+            action.accept(customer(1, "Tran Van An", "0901111111"));
+        });
+
+        assertEquals(List.of(2), ids(index.search("hoa", 10)));
+        assertTrue(index.search("tran", 10).isEmpty());
+        assertEquals(1, index.size());
+    }
+
+    @Test
+    void lastChangeDuringRebuildWins() {
+        CustomerSuggestIndex index = new CustomerSuggestIndex();
+
+        index.rebuild(action -> {
+            action.accept(customer(3, "Pham Minh", "0903333333"));
+            index.put(customer(3, "Pham Minh Duc", "0903333333"));
+            index.remove(3);
+            index.put(customer(3, "Vu Minh Duc", "0903333333"));
+        });
+
+        assertEquals(List.of(3), ids(index.search("vu minh", 10)));
+        assertTrue(index.search("pham", 10).isEmpty());
+    }
+
+    @Test
+    void changesAfterRebuildAreAppliedDirectly() {
+        CustomerSuggestIndex index = new CustomerSuggestIndex();
+        index.rebuild(action -> action.accept(customer(4, "Do Van Binh", "0904444444")));
+
+        index.put(customer(5, "Ho Thi Lan", "0905555555"));
+
+        assertEquals(List.of(5), ids(index.search("0905", 10)));
+        assertEquals(2, index.size());
+    }
+
+    private static List<Integer> ids(List<CustomerSuggestionDTO> suggestions) {
+        return suggestions.stream().map(CustomerSuggestionDTO::getCustomerId).collect(Collectors.toList());
+    }
+
+    private static Customer customer(int id, String fullName, String phoneNumber) {
+        Customer customer = new Customer();
+        customer.setCustomerId(id);
+        customer.setFullName(fullName);
+        customer.setPhoneNumber(phoneNumber);
+        customer.setCitizenNumber("0790" + id);
+        return customer;
+    }
+}
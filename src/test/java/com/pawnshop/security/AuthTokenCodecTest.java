@@ -0,0 +1,139 @@
+package com.pawnshop.security;
+
+import org.junit.jupiter.api.Test;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class AuthTokenCodecTest {
+
+    private static final byte[] SECRET = secret((byte) 7);
+    private static final long NOW = 1_700_000_000L;
+
+    private final AuthTokenCodec codec = new AuthTokenCodec(SECRET, 900);
+
+    @Test
+    void issuedTokenVerifies() {
+        String token = codec.issue(42, 3, NOW + 900);
+
+        AuthTokenCodec.Claims claims = codec.verify(token, NOW).orElseThrow();
+
+        assertEquals(42, claims.getAccountId());
+        assertEquals(3, claims.getTokenVersion());
+        assertEquals(NOW + 900, claims.getExpiresAt());
+    }
+
+    @Test
+    void tokenIsUrlSafe() {
+        String token = codec.issue(Integer.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+        assertTrue(token.matches("[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+"), token);
+    }
+
+    @Test
+    void tokenExpiresAtItsExpiryTime() {
+        String token = codec.issue(42, 3, NOW);
+
+        assertTrue(codec.verify(token, NOW - 1).isPresent());
+        assertTrue(codec.verify(token, NOW).isEmpty());
+        assertTrue(codec.verify(token, NOW + 1).isEmpty());
+    }
+
+    @Test
+    void tamperedPayloadIsRejected() {
+        String token = codec.issue(42, 3, NOW + 900);
+        String signature = token.substring(token.indexOf('.') + 1);
+
+        // Another account, a later expiry and a bumped version, each keeping the original signature
+        for (String payload : new String[]{"v1.1.3." + (NOW + 900), "v1.42.3." + (NOW + 90_000), "v1.42.4." + (NOW + 900)}) {
+            assertTrue(codec.verify(encode(payload) + "." + signature, NOW).isEmpty(), payload);
+        }
+    }
+
+    @Test
+    void tamperedSignatureIsRejected() {
+        String token = codec.issue(42, 3, NOW + 900);
+        int separator = token.indexOf('.');
+        byte[] signature = Base64.getUrlDecoder().decode(token.substring(separator + 1));
+        signature[0] ^= 1;
+
+        String tampered = token.substring(0, separator + 1) + Base64.getUrlEncoder().withoutPadding().encodeToString(signature);
+
+        assertTrue(codec.verify(tampered, NOW).isEmpty());
+    }
+
+    @Test
+    void tokenFromAnotherSecretIsRejected() {
+        String token = new AuthTokenCodec(secret((byte) 8), 900).issue(42, 3, NOW + 900);
+
+        assertTrue(codec.verify(token, NOW).isEmpty());
+    }
+
+    @Test
+    void otherFormatVersionIsRejectedEvenWhenSigned() {
+        for (String payload : new String[]{"v2.42.3." + (NOW + 900), "42.3." + (NOW + 900), "v1.42.3." + (NOW + 900) + ".x"}) {
+            assertTrue(codec.verify(signed(payload), NOW).isEmpty(), payload);
+        }
+        assertTrue(codec.verify(signed("v1.42.3." + (NOW + 900)), NOW).isPresent());
+    }
+
+    @Test
+    void signedPayloadWithBadNumbersIsRejected() {
+        for (String payload : new String[]{"v1.x.3." + (NOW + 900), "v1.42.3.tomorrow", "v1.99999999999.3." + (NOW + 900)}) {
+            assertTrue(codec.verify(signed(payload), NOW).isEmpty(), payload);
+        }
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        String token = codec.issue(42, 3, NOW + 900);
+        for (String malformed : new String[]{null, "", ".", "abc", token.substring(0, token.indexOf('.') + 1),
+                token.substring(token.indexOf('.')), "not base64!." + token.substring(token.indexOf('.') + 1)}) {
+            Optional<AuthTokenCodec.Claims> claims = codec.verify(malformed, NOW);
+            assertTrue(claims.isEmpty(), String.valueOf(malformed));
+        }
+    }
+
+    @Test
+    void tokensForDifferentVersionsDiffer() {
+        assertNotEquals(codec.issue(42, 3, NOW + 900), codec.issue(42, 4, NOW + 900));
+    }
+
+    @Test
+    void shortSecretAndNonPositiveTtlAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new AuthTokenCodec(new byte[31], 900));
+        assertThrows(IllegalArgumentException.class, () -> new AuthTokenCodec(null, 900));
+        assertThrows(IllegalArgumentException.class, () -> new AuthTokenCodec(SECRET, 0));
+    }
+
+    private static String signed(String payload) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(new SecretKeySpec(SECRET, "HmacSHA256"));
+            byte[] bytes = payload.getBytes(StandardCharsets.US_ASCII);
+            return encode(payload) + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(mac.doFinal(bytes));
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String encode(String payload) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(payload.getBytes(StandardCharsets.US_ASCII));
+    }
+
+    private static byte[] secret(byte fill) {
+        byte[] secret = new byte[32];
+        Arrays.fill(secret, fill);
+        return secret;
+    }
+}
@@ -0,0 +1,35 @@
+package com.pawnshop.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientAddressResolverTest {
+
+    private final ClientAddressResolver resolver = new ClientAddressResolver(List.of("10.0.0.1", "10.0.0.2"));
+
+    @Test
+    void headerFromUntrustedPeerIsIgnored() {
+        assertEquals("203.0.113.9", resolver.resolve("203.0.113.9", List.of("198.51.100.1")));
+    }
+
+    @Test
+    void firstUntrustedHopFromTheRightIsTheClient() {
+        assertEquals("198.51.100.7",
+                resolver.resolve("10.0.0.1", List.of("1.2.3.4, 198.51.100.7, 10.0.0.2")));
+    }
+
+    @Test
+    void forgedLeftmostEntryDoesNotChooseTheAddress() {
+        assertEquals("198.51.100.7", resolver.resolve("10.0.0.1", List.of("6.6.6.6", "198.51.100.7")));
+    }
+
+    @Test
+    void onlyTrustedHopsFallBackToTheLeftmostProxy() {
+        assertEquals("10.0.0.2", resolver.resolve("10.0.0.1", List.of("10.0.0.2")));
+        assertEquals("10.0.0.1", resolver.resolve("10.0.0.1", List.of()));
+        assertEquals("10.0.0.1", resolver.resolve("10.0.0.1", List.of(" , ")));
+    }
+}
@@ -0,0 +1,106 @@
+package com.pawnshop.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LoginRateLimiterTest {
+
+    @Test
+    void burstIsAllowedAndTheNextAttemptWaitsOneInterval() {
+        // One token a minute: the fourth attempt waits for the first to drip out
+        LoginRateLimiter.Buckets buckets = new LoginRateLimiter.Buckets(16, 3, 1);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, buckets.tryAcquire("alice"), "attempt " + i);
+        }
+        long waitNanos = buckets.tryAcquire("alice");
+
+        assertTrue(waitNanos > TimeUnit.SECONDS.toNanos(59) && waitNanos <= TimeUnit.MINUTES.toNanos(1),
+                String.valueOf(waitNanos));
+        // A rejected attempt does not push the bucket further out
+        assertTrue(buckets.tryAcquire("alice") <= waitNanos);
+    }
+
+    @Test
+    void exhaustedUsernameIsRejectedWithRetryAfter() {
+        LoginRateLimiter limiter = limiter(2, 100);
+
+        assertEquals(0, limiter.tryAcquire("alice", "198.51.100.7"));
+        // Usernames are trimmed and case-folded into one bucket
+        assertEquals(0, limiter.tryAcquire(" Alice ", "198.51.100.8"));
+        assertEquals(60, limiter.tryAcquire("ALICE", "198.51.100.9"));
+
+        LoginRateLimiter.Stats stats = limiter.stats();
+        assertEquals(2, stats.getAllowed());
+        assertEquals(1, stats.getRejectedByUsername());
+        assertEquals(0, stats.getRejectedByAddress());
+    }
+
+    @Test
+    void addressIsCheckedBeforeUsername() {
+        LoginRateLimiter limiter = limiter(1, 1);
+
+        assertEquals(0, limiter.tryAcquire("alice", "198.51.100.7"));
+        assertEquals(60, limiter.tryAcquire("bob", "198.51.100.7"));
+
+        // The address rejection did not spend bob's token
+        assertEquals(0, limiter.tryAcquire("bob", "203.0.113.9"));
+        LoginRateLimiter.Stats stats = limiter.stats();
+        assertEquals(1, stats.getRejectedByAddress());
+        assertEquals(0, stats.getRejectedByUsername());
+    }
+
+    @Test
+    void missingKeysAreNotChecked() {
+        LoginRateLimiter limiter = limiter(1, 1);
+
+        assertEquals(0, limiter.tryAcquire(null, null));
+        assertEquals(0, limiter.tryAcquire(" ", null));
+        assertEquals(0, limiter.tryAcquire(null, "198.51.100.7"));
+        assertEquals(60, limiter.tryAcquire(null, "198.51.100.7"));
+    }
+
+    @Test
+    void disabledLimiterAllowsEverything() {
+        LoginRateLimiter limiter = new LoginRateLimiter(false,
+                new LoginRateLimiter.Buckets(1, 1, 1), new LoginRateLimiter.Buckets(1, 1, 1));
+
+        for (int i = 0; i < 5; i++) {
+            assertEquals(0, limiter.tryAcquire("alice", "198.51.100.7"));
+        }
+    }
+
+    @Test
+    void retryAfterRoundsUpToWholeSeconds() {
+        assertEquals(1, LoginRateLimiter.toRetrySeconds(1));
+        assertEquals(1, LoginRateLimiter.toRetrySeconds(TimeUnit.SECONDS.toNanos(1)));
+        assertEquals(2, LoginRateLimiter.toRetrySeconds(TimeUnit.SECONDS.toNanos(1) + 1));
+        assertEquals(60, LoginRateLimiter.toRetrySeconds(TimeUnit.SECONDS.toNanos(59) + 1));
+    }
+
+    @Test
+    void slotsRoundUpToAPowerOfTwo() {
+        int[][] cases = {{1, 1}, {2, 2}, {3, 4}, {4, 4}, {5, 8}, {1000, 1024}, {16384, 16384}};
+        for (int[] c : cases) {
+            assertEquals(c[1], new LoginRateLimiter.Buckets(c[0], 1, 1).size(), "slots " + c[0]);
+        }
+    }
+
+    @Test
+    void nonPositiveSettingsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new LoginRateLimiter.Buckets(0, 1, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LoginRateLimiter.Buckets(16, 0, 1));
+        assertThrows(IllegalArgumentException.class, () -> new LoginRateLimiter.Buckets(16, 1, 0));
+    }
+
+    private static LoginRateLimiter limiter(int usernameBurst, int addressBurst) {
+        return new LoginRateLimiter(true,
+                new LoginRateLimiter.Buckets(64, usernameBurst, 1),
+                new LoginRateLimiter.Buckets(64, addressBurst, 1));
+    }
+}
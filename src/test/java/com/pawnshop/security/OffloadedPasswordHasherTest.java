@@ -0,0 +1,62 @@
+package com.pawnshop.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OffloadedPasswordHasherTest {
+
+    @Test
+    void hashAndVerifyRunOnTheHashingPool() {
+        RecordingHasher delegate = new RecordingHasher();
+        PasswordHasher hasher = new OffloadedPasswordHasher(delegate, PasswordHashingExecutor.getInstance());
+
+        assertEquals("hashed:secret", hasher.hash("secret"));
+        assertTrue(hasher.verify("secret", "hashed:secret"));
+        assertFalse(hasher.needsRehash("hashed:secret"));
+
+        assertEquals(3, delegate.threads.size());
+        assertTrue(delegate.threads.get(0).startsWith("password-hashing-"), delegate.threads.get(0));
+        assertTrue(delegate.threads.get(1).startsWith("password-hashing-"), delegate.threads.get(1));
+        assertEquals(Thread.currentThread().getName(), delegate.threads.get(2));
+    }
+
+    @Test
+    void failureInTheHasherReachesTheCaller() {
+        PasswordHashingExecutor executor = PasswordHashingExecutor.getInstance();
+
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> executor.compute(() -> {
+                    throw new IllegalArgumentException("bad salt");
+                }));
+        assertEquals("bad salt", e.getMessage());
+    }
+
+    private static final class RecordingHasher implements PasswordHasher {
+        final List<String> threads = new ArrayList<>();
+
+        @Override
+        public synchronized String hash(String password) {
+            threads.add(Thread.currentThread().getName());
+            return "hashed:" + password;
+        }
+
+        @Override
+        public synchronized boolean verify(String password, String hash) {
+            threads.add(Thread.currentThread().getName());
+            return hash.equals("hashed:" + password);
+        }
+
+        @Override
+        public synchronized boolean needsRehash(String hash) {
+            threads.add(Thread.currentThread().getName());
+            return false;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.pawnshop.service;
+
+import com.pawnshop.dao.AccountDAO;
+import com.pawnshop.model.Account;
+import com.pawnshop.security.PasswordHasher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class AccountServiceTest {
+    private static final int ACCOUNT_ID = 900_001;
+
+    private AccountDAO accountDAO;
+    private AccountService accountService;
+
+    @BeforeEach
+    void setUp() {
+        accountDAO = mock(AccountDAO.class);
+        accountService = new AccountService(accountDAO, mock(PasswordHasher.class));
+        AccountService.invalidateAccountStatus(ACCOUNT_ID);
+    }
+
+    @Test
+    void tokenAheadOfCachedVersionRereadsStatus() throws Exception {
+        when(accountDAO.findById(ACCOUNT_ID))
+                .thenReturn(Optional.of(account(1)))
+                .thenReturn(Optional.of(account(2)));
+
+        assertEquals(1, accountService.getAccountStatus(ACCOUNT_ID).getTokenVersion());
+        assertEquals(2, accountService.getAccountStatus(ACCOUNT_ID, 2).getTokenVersion());
+        assertEquals(2, accountService.getAccountStatus(ACCOUNT_ID).getTokenVersion());
+
+        verify(accountDAO, times(2)).findById(ACCOUNT_ID);
+    }
+
+    @Test
+    void matchingOrRevokedTokenVersionUsesCachedStatus() throws Exception {
+        when(accountDAO.findById(ACCOUNT_ID)).thenReturn(Optional.of(account(3)));
+
+        assertEquals(3, accountService.getAccountStatus(ACCOUNT_ID, 3).getTokenVersion());
+        assertEquals(3, accountService.getAccountStatus(ACCOUNT_ID, 1).getTokenVersion());
+
+        verify(accountDAO, times(1)).findById(ACCOUNT_ID);
+    }
+
+    private static Account account(int tokenVersion) {
+        Account account = new Account();
+        account.setAccountId(ACCOUNT_ID);
+        account.setRole(Account.Role.EMPLOYEE);
+        account.setActive(true);
+        account.setTokenVersion(tokenVersion);
+        return account;
+    }
+}
@@ -0,0 +1,82 @@
+package com.pawnshop.service;
+
+import com.pawnshop.dao.PawnContractDAO;
+import com.pawnshop.dao.SweepCheckpointDAO;
+import com.pawnshop.model.PawnContract;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.sql.Connection;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+class ContractExpirySweeperTest {
+    private static final LocalDate CUTOFF = LocalDate.of(2024, 5, 1);
+    private static final LocalDate KEY_START = LocalDate.of(1000, 1, 1);
+
+    private PawnContractDAO contractDAO;
+    private SweepCheckpointDAO checkpointDAO;
+    private ContractExpirySweeper sweeper;
+
+    @BeforeEach
+    void setUp() {
+        contractDAO = mock(PawnContractDAO.class);
+        checkpointDAO = mock(SweepCheckpointDAO.class);
+        sweeper = new ContractExpirySweeper(contractDAO, checkpointDAO, 500, 30);
+    }
+
+    @Test
+    void chunkIsMarkedExpiredAndCheckpointed() throws Exception {
+        Connection conn = mock(Connection.class);
+        when(contractDAO.lockExpiredChunk(conn, CUTOFF, KEY_START, 0, 500))
+                .thenReturn(List.of(contract(11, LocalDate.of(2024, 3, 2)), contract(12, LocalDate.of(2024, 3, 9))));
+
+        List<PawnContract> chunk = sweeper.expireChunk(conn, CUTOFF, KEY_START, 0);
+
+        assertEquals(2, chunk.size());
+        verify(contractDAO).updateStatusBatch(conn, List.of(11, 12), PawnContract.Status.EXPIRED);
+        verify(checkpointDAO).advance(conn, ContractExpirySweeper.NAME, LocalDate.of(2024, 3, 9), 12, 2);
+    }
+
+    @Test
+    void emptyChunkChangesNothing() throws Exception {
+        Connection conn = mock(Connection.class);
+        when(contractDAO.lockExpiredChunk(conn, CUTOFF, KEY_START, 0, 500)).thenReturn(List.of());
+
+        assertTrue(sweeper.expireChunk(conn, CUTOFF, KEY_START, 0).isEmpty());
+
+        verify(contractDAO, never()).updateStatusBatch(any(), anyList(), any());
+        verify(checkpointDAO, never()).advance(any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void sweepIsSkippedWhileAnotherNodeHoldsTheLock() throws Exception {
+        when(checkpointDAO.tryLock(ContractExpirySweeper.NAME)).thenReturn(Optional.empty());
+
+        assertEquals(0, sweeper.sweep());
+
+        verify(checkpointDAO, never()).find(any());
+        verify(checkpointDAO, never()).start(any(), any());
+        verifyNoInteractions(contractDAO);
+    }
+
+    private static PawnContract contract(int id, LocalDate dueDate) {
+        PawnContract contract = new PawnContract();
+        contract.setContractId(id);
+        contract.setDueDate(dueDate);
+        contract.setStatus(PawnContract.Status.ACTIVE);
+        return contract;
+    }
+}
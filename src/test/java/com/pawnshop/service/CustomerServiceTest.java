@@ -0,0 +1,49 @@
+package com.pawnshop.service;
+
+import com.pawnshop.dao.AccountDAO;
+import com.pawnshop.dao.CustomerDAO;
+import com.pawnshop.dao.PawnContractDAO;
+import com.pawnshop.dto.CustomerResponseDTO;
+import com.pawnshop.model.Customer;
+import com.pawnshop.security.PasswordHasher;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class CustomerServiceTest {
+
+    private final CustomerDAO customerDAO = mock(CustomerDAO.class);
+    private final CustomerService customerService = new CustomerService(customerDAO, mock(AccountDAO.class),
+            mock(PawnContractDAO.class), mock(PasswordHasher.class));
+
+    @Test
+    void listingCountsContractsWithOneBulkCall() throws Exception {
+        List<Customer> customers = new ArrayList<>();
+        for (int id = 1; id <= 2500; id++) {
+            Customer customer = new Customer();
+            customer.setCustomerId(id);
+            customers.add(customer);
+        }
+        when(customerDAO.findAll()).thenReturn(customers);
+        when(customerDAO.countContractsByCustomerIds(anyCollection())).thenReturn(Map.of(2, 4));
+
+        List<CustomerResponseDTO> result = customerService.getAllCustomers();
+
+        assertEquals(2500, result.size());
+        assertEquals(0, result.get(0).getContractCount());
+        assertEquals(4, result.get(1).getContractCount());
+        verify(customerDAO, times(1)).countContractsByCustomerIds(anyCollection());
+        verify(customerDAO, never()).countContracts(any(Integer.class));
+    }
+}
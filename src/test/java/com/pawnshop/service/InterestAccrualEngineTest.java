@@ -0,0 +1,86 @@
+package com.pawnshop.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Random;
+
+import static com.pawnshop.service.InterestAccrualEngine.AMOUNT_SCALE;
+import static com.pawnshop.service.InterestAccrualEngine.RATE_SCALE;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class InterestAccrualEngineTest {
+    private static final long MAX_LOAN_CENTS = 99_999_999_999_999L;
+    private static final long MAX_RATE_HUNDREDTHS = 10_000;
+    private static final long HUNDRED_YEARS_DAYS = 36_500;
+
+    @Test
+    void matchesReferenceOnRandomContracts() {
+        Random random = new Random(20240601L);
+        for (int i = 0; i < 200_000; i++) {
+            long principal = random.nextInt(4) == 0
+                    ? (long) (random.nextDouble() * MAX_LOAN_CENTS)
+                    : random.nextInt(100_000_000);
+            long rate = random.nextInt((int) MAX_RATE_HUNDREDTHS + 1);
+            long days = 1 + random.nextInt((int) HUNDRED_YEARS_DAYS);
+
+            assertMatchesReference(principal, rate, days);
+        }
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            // max loan, max rate, long terms
+            "99999999999999, 10000, 36500",
+            "99999999999999, 10000, 1",
+            "99999999999999, 1, 36500",
+            "1, 10000, 36500",
+            "0, 10000, 36500",
+            "99999999999999, 0, 36500",
+            // exactly half a cent rounds up, just below rounds down (divisor is 300000)
+            "150000, 1, 1",
+            "149999, 1, 1",
+            "450000, 1, 1",
+            "50000, 3, 1",
+            "75000, 1, 2",
+            "299999, 1, 1",
+            "300001, 1, 1"
+    })
+    void matchesReferenceOnBoundaries(long principal, long rate, long days) {
+        assertMatchesReference(principal, rate, days);
+    }
+
+    @Test
+    void halfCentRoundsUp() {
+        assertEquals(1, InterestAccrualEngine.interestCents(150_000, 1, 1));
+        assertEquals(0, InterestAccrualEngine.interestCents(149_999, 1, 1));
+    }
+
+    @Test
+    void overflowingContractIsPricedWithReference() {
+        // rate * days * (principal % 300000) overflows a long; the interest itself does not
+        BigDecimal loan = new BigDecimal("2999.99");
+        BigDecimal rate = new BigDecimal("100.00");
+        long days = 3_000_000_000L;
+        LocalDate start = LocalDate.of(2000, 1, 1);
+        LocalDate asOf = start.plusDays(days);
+
+        InterestAccrualEngine.Batch batch = new InterestAccrualEngine.Batch(1);
+        batch.add(1, loan, null, rate, start, asOf);
+        InterestAccrualEngine.accrue(batch, asOf);
+
+        assertEquals(InterestAccrualEngine.referenceInterest(loan, rate, days), batch.interest(0));
+    }
+
+    private static void assertMatchesReference(long principal, long rate, long days) {
+        BigDecimal expected = InterestAccrualEngine.referenceInterest(
+                BigDecimal.valueOf(principal, AMOUNT_SCALE), BigDecimal.valueOf(rate, RATE_SCALE), days);
+        long actual = InterestAccrualEngine.interestCents(principal, rate, days);
+
+        assertEquals(expected, BigDecimal.valueOf(actual, AMOUNT_SCALE),
+                () -> "principal=" + principal + " rate=" + rate + " days=" + days);
+    }
+}
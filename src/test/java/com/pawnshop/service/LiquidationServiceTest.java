@@ -0,0 +1,68 @@
+package com.pawnshop.service;
+
+import com.pawnshop.model.Liquidation;
+import com.pawnshop.model.PawnContract;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class LiquidationServiceTest {
+
+    private static final LocalDate DUE = LocalDate.of(2024, 3, 10);
+
+    @Test
+    void expiredContractIsSellable() {
+        assertDoesNotThrow(() -> LiquidationService.checkSellable(
+                contract(PawnContract.Status.EXPIRED), sale(DUE.plusDays(45))));
+    }
+
+    @Test
+    void activeContractPastDueIsSellable() {
+        assertDoesNotThrow(() -> LiquidationService.checkSellable(
+                contract(PawnContract.Status.ACTIVE), sale(DUE.plusDays(1))));
+    }
+
+    @Test
+    void saleOnOrBeforeDueDateIsRejected() {
+        for (PawnContract.Status status : new PawnContract.Status[]{
+                PawnContract.Status.ACTIVE, PawnContract.Status.EXPIRED}) {
+            assertThrows(LiquidationService.SaleRejectedException.class,
+                    () -> LiquidationService.checkSellable(contract(status), sale(DUE)));
+            assertThrows(LiquidationService.SaleRejectedException.class,
+                    () -> LiquidationService.checkSellable(contract(status), sale(DUE.minusDays(1))));
+        }
+    }
+
+    @Test
+    void closedContractIsRejected() {
+        for (PawnContract.Status status : new PawnContract.Status[]{
+                PawnContract.Status.REDEEMED, PawnContract.Status.LIQUIDATED}) {
+            assertThrows(LiquidationService.SaleRejectedException.class,
+                    () -> LiquidationService.checkSellable(contract(status), sale(DUE.plusDays(45))));
+        }
+    }
+
+    @Test
+    void missingContractIsRejected() {
+        assertThrows(LiquidationService.SaleRejectedException.class,
+                () -> LiquidationService.checkSellable(null, sale(DUE.plusDays(45))));
+    }
+
+    private static PawnContract contract(PawnContract.Status status) {
+        PawnContract contract = new PawnContract();
+        contract.setContractId(7);
+        contract.setStatus(status);
+        contract.setDueDate(DUE);
+        return contract;
+    }
+
+    private static Liquidation sale(LocalDate date) {
+        Liquidation liquidation = new Liquidation();
+        liquidation.setContractId(7);
+        liquidation.setLiquidationDate(date);
+        return liquidation;
+    }
+}
@@ -0,0 +1,84 @@
+package com.pawnshop.service;
+
+import com.pawnshop.dao.CustomerDAO;
+import com.pawnshop.dao.PawnContractDAO;
+import com.pawnshop.dto.ContractValuationDTO;
+import com.pawnshop.dto.DueDateCursor;
+import com.pawnshop.dto.PageResult;
+import com.pawnshop.model.PawnContract;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PawnContractServiceTest {
+
+    private final PawnContractDAO contractDAO = mock(PawnContractDAO.class);
+    private final PawnContractService service = new PawnContractService(contractDAO, mock(CustomerDAO.class));
+
+    @Test
+    void valuationPageStopsAtLimitAndPointsAfterItsLastContract() throws Exception {
+        when(contractDAO.findOpenPage(null, null, 3)).thenReturn(List.of(
+                contract(1, "2024-03-01"), contract(2, "2024-03-05"), contract(3, "2024-03-05")));
+
+        PageResult<ContractValuationDTO> page = service.valueOpenContracts("2024-03-10", null, 2);
+
+        assertEquals(List.of(1, 2), ids(page));
+        assertEquals(new BigDecimal("30.00"), page.getItems().get(0).getAccruedInterest());
+        DueDateCursor next = DueDateCursor.decode(page.getNextCursor());
+        assertEquals(LocalDate.of(2024, 3, 5), next.getDueDate());
+        assertEquals(2, next.getId());
+    }
+
+    @Test
+    void valuationPageResumesAfterCursor() throws Exception {
+        String after = new DueDateCursor(LocalDate.of(2024, 3, 5), 2).encode();
+        when(contractDAO.findOpenPage(LocalDate.of(2024, 3, 5), 2, 3))
+                .thenReturn(List.of(contract(3, "2024-03-05")));
+
+        PageResult<ContractValuationDTO> page = service.valueOpenContracts("2024-03-10", after, 2);
+
+        assertEquals(List.of(3), ids(page));
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void invalidCursorIsAClientError() throws SQLException {
+        PawnContractService.ServiceException e = assertThrows(PawnContractService.ServiceException.class,
+                () -> service.valueOpenContracts(null, "not-a-cursor", 10));
+
+        assertNull(e.getCause());
+        verify(contractDAO, never()).findOpenPage(any(), any(), anyInt());
+    }
+
+    private static List<Integer> ids(PageResult<ContractValuationDTO> page) {
+        return page.getItems().stream().map(ContractValuationDTO::getContractId).collect(Collectors.toList());
+    }
+
+    // 1000.00 at 3 %/month from 2024-02-09: 30 days of interest on 2024-03-10
+    private static PawnContract contract(int id, String dueDate) {
+        PawnContract contract = new PawnContract();
+        contract.setContractId(id);
+        contract.setCustomerId(7);
+        contract.setLoanAmount(new BigDecimal("1000.00"));
+        contract.setInterestRate(new BigDecimal("3.00"));
+        contract.setPrincipalPaid(BigDecimal.ZERO);
+        contract.setStartDate(LocalDate.of(2024, 2, 9));
+        contract.setDueDate(LocalDate.parse(dueDate));
+        contract.setStatus(PawnContract.Status.ACTIVE);
+        return contract;
+    }
+}
@@ -0,0 +1,92 @@
+package com.pawnshop.service;
+
+import com.pawnshop.dto.MonthlyRevenueDTO;
+import com.pawnshop.dto.RevenueSummaryDTO;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class RevenueSeriesAnalyzerTest {
+
+    @Test
+    void growthIsAgainstThePreviousCalendarMonth() {
+        List<MonthlyRevenueDTO> series = List.of(
+                month("2024-01", 2, "200.00", "20000.00"),
+                month("2024-02", 0, "0", "0"),
+                month("2024-03", 1, "300.00", "90000.00"),
+                month("2024-04", 3, "450.00", "70000.00"));
+
+        RevenueSummaryDTO summary = RevenueSeriesAnalyzer.analyze(series);
+
+        assertNull(series.get(0).getGrowthPercentage());
+        assertEquals(new BigDecimal("-100.00"), series.get(1).getGrowthPercentage());
+        // No revenue the month before: undefined, not measured against January
+        assertNull(series.get(2).getGrowthPercentage());
+        assertEquals(new BigDecimal("50.00"), series.get(3).getGrowthPercentage());
+        assertEquals(new BigDecimal("50.00"), summary.getLatestGrowthPercentage());
+    }
+
+    @Test
+    void averagePerMonthCountsMonthsWithoutSales() {
+        RevenueSummaryDTO summary = RevenueSeriesAnalyzer.analyze(List.of(
+                month("2024-01", 2, "200.00", "20000.00"),
+                month("2024-02", 0, "0", "0"),
+                month("2024-03", 1, "300.00", "90000.00"),
+                month("2024-04", 3, "450.00", "70000.00")));
+
+        assertEquals(new BigDecimal("950.00"), summary.getTotalRevenue());
+        assertEquals(6L, summary.getTotalLiquidations());
+        assertEquals(new BigDecimal("237.50"), summary.getAveragePerMonth());
+        assertEquals(new BigDecimal("158.33"), summary.getAveragePerLiquidation());
+        assertEquals("2024-04", summary.getHighestRevenueMonth());
+        assertEquals("2024-02", summary.getLowestRevenueMonth());
+        assertEquals(new BigDecimal("0"), summary.getLowestRevenueAmount());
+    }
+
+    @Test
+    void newestFirstSeriesIsWalkedOldestFirst() {
+        List<MonthlyRevenueDTO> series = new ArrayList<>(List.of(
+                month("2024-03", 1, "150.00", "22500.00"),
+                month("2024-02", 1, "100.00", "10000.00")));
+
+        RevenueSummaryDTO summary = RevenueSeriesAnalyzer.analyze(series);
+
+        assertEquals(new BigDecimal("50.00"), series.get(0).getGrowthPercentage());
+        assertNull(series.get(1).getGrowthPercentage());
+        assertEquals(new BigDecimal("50.00"), summary.getLatestGrowthPercentage());
+    }
+
+    @Test
+    void varianceIsOverLiquidationPrices() {
+        // Prices 100, 100 in January and 400 in February: mean 200, variance 20000
+        RevenueSummaryDTO summary = RevenueSeriesAnalyzer.analyze(List.of(
+                month("2024-01", 2, "200.00", "20000.00"),
+                month("2024-02", 1, "400.00", "160000.00")));
+
+        assertEquals(new BigDecimal("20000.00"), summary.getLiquidationPriceVariance());
+        assertEquals(new BigDecimal("141.42"), summary.getLiquidationPriceStdDev());
+    }
+
+    @Test
+    void emptySeriesHasZeroTotals() {
+        RevenueSummaryDTO summary = RevenueSeriesAnalyzer.analyze(List.of());
+
+        assertEquals(BigDecimal.ZERO, summary.getTotalRevenue());
+        assertEquals(0L, summary.getTotalLiquidations());
+        assertNull(summary.getAveragePerMonth());
+    }
+
+    private static MonthlyRevenueDTO month(String month, long liquidations, String revenue, String sumSquares) {
+        MonthlyRevenueDTO dto = new MonthlyRevenueDTO();
+        dto.setMonth(month);
+        dto.setTotalLiquidations(liquidations);
+        dto.setTotalRevenue(new BigDecimal(revenue));
+        dto.setRevenueSumSquares(new BigDecimal(sumSquares));
+        return dto;
+    }
+}
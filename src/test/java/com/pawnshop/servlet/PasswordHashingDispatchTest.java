@@ -0,0 +1,165 @@
+package com.pawnshop.servlet;
+
+import jakarta.servlet.AsyncContext;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import com.pawnshop.security.PasswordHashingExecutor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class PasswordHashingDispatchTest {
+
+    private HttpServletRequest request;
+    private HttpServletResponse response;
+    private AsyncContext asyncContext;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        request = mock(HttpServletRequest.class);
+        response = mock(HttpServletResponse.class);
+        asyncContext = mock(AsyncContext.class);
+        when(request.startAsync()).thenReturn(asyncContext);
+        when(request.getServletPath()).thenReturn("/api/auth");
+        when(asyncContext.getRequest()).thenReturn(request);
+        when(asyncContext.getResponse()).thenReturn(response);
+        when(response.getOutputStream()).thenReturn(new BufferStream());
+    }
+
+    @Test
+    void timeoutAnswers503AndStopsTheHandlerFromWriting() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch hashing = new CountDownLatch(1);
+        CountDownLatch handled = new CountDownLatch(1);
+        AtomicReference<Exception> handlerFailure = new AtomicReference<>();
+
+        PasswordHashingDispatch.dispatch("test", request, response, (req, res) -> {
+            try {
+                started.countDown();
+                hashing.await(5, TimeUnit.SECONDS);
+                res.sendRedirect("/dashboard.jsp");
+            } catch (Exception e) {
+                handlerFailure.set(e);
+                throw e;
+            } finally {
+                handled.countDown();
+            }
+        });
+
+        assertTrue(started.await(5, TimeUnit.SECONDS));
+        listener().onTimeout(new AsyncEvent(asyncContext));
+        hashing.countDown();
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(response).setHeader("Retry-After", "1");
+        verify(response, never()).sendRedirect(any());
+        assertInstanceOf(IllegalStateException.class, handlerFailure.get());
+        verify(asyncContext, timeout(1000).times(1)).complete();
+    }
+
+    @Test
+    void timeoutAfterTheHandlerAnsweredIsIgnored() throws Exception {
+        CountDownLatch handled = new CountDownLatch(1);
+
+        PasswordHashingDispatch.dispatch("test", request, response, (req, res) -> {
+            res.sendRedirect("/dashboard.jsp");
+            handled.countDown();
+        });
+
+        assertTrue(handled.await(5, TimeUnit.SECONDS));
+        verify(asyncContext, timeout(1000)).complete();
+        listener().onTimeout(new AsyncEvent(asyncContext));
+
+        verify(response).sendRedirect("/dashboard.jsp");
+        verify(response, never()).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(asyncContext, times(1)).complete();
+    }
+
+    @Test
+    void requestThatTimedOutInTheQueueIsNeverHandled() throws Exception {
+        int threads = PasswordHashingExecutor.getInstance().stats().getThreads();
+        CountDownLatch blocker = new CountDownLatch(1);
+        CountDownLatch blocking = new CountDownLatch(threads);
+        // Occupy every request thread so the request under test stays queued
+        for (int i = 0; i < threads; i++) {
+            PasswordHashingExecutor.getInstance().execute("test", () -> {
+                blocking.countDown();
+                awaitQuietly(blocker);
+            });
+        }
+        assertTrue(blocking.await(5, TimeUnit.SECONDS));
+
+        AtomicBoolean handled = new AtomicBoolean();
+        PasswordHashingDispatch.dispatch("test", request, response, (req, res) -> handled.set(true));
+        listener().onTimeout(new AsyncEvent(asyncContext));
+        blocker.countDown();
+
+        // Once every thread is inside a drain task at the same time, the queued request has been run
+        CountDownLatch drained = new CountDownLatch(threads);
+        for (int i = 0; i < threads; i++) {
+            PasswordHashingExecutor.getInstance().execute("test", () -> {
+                drained.countDown();
+                awaitQuietly(drained);
+            });
+        }
+        assertTrue(drained.await(5, TimeUnit.SECONDS));
+
+        assertFalse(handled.get());
+        verify(response).setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+        verify(asyncContext, times(1)).complete();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private AsyncListener listener() {
+        ArgumentCaptor<AsyncListener> listener = ArgumentCaptor.forClass(AsyncListener.class);
+        verify(asyncContext).addListener(listener.capture());
+        return listener.getValue();
+    }
+
+    private static final class BufferStream extends ServletOutputStream {
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        @Override
+        public void write(int b) {
+            buffer.write(b);
+        }
+
+        @Override
+        public boolean isReady() {
+            return true;
+        }
+
+        @Override
+        public void setWriteListener(WriteListener writeListener) {
+        }
+    }
+}